@@ -0,0 +1,205 @@
+package com.hotelsystems.ai.bookingmanagement.service.adapter.offer.impl;
+
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierCode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Supplier offerId encode/decode: SupplierOfferIdCodec vs the previous SupplierOfferAdapter code
+ * (String.format + three Base64 encodings; substring/indexOf parsing + three decodes).
+ *
+ * Run main() (GC profiler on) and compare ops/us and gc.alloc.rate.norm (bytes/op). Built by the
+ * jmh Maven profile, see "Benchmarks (JMH)" in README.md.
+ *
+ * The rate key is shaped like a Hotelbeds rate key, the longest segment in practice.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SupplierOfferIdCodecBenchmark {
+
+    private static final String SUPPLIER_HOTEL_ID = "12345";
+    private static final String RATE_KEY =
+            "20261101|20261103|W|1|12345|DBL.ST|ID_B2B_26|RO|NRF|1~2~0||N@07~~2001a~-1234567890~~~~2A4B6C8D";
+    private static final String ROOM_CODE = "DBL.ST";
+
+    private final SupplierOfferIdCodec codec = new SupplierOfferIdCodec();
+    private final SupplierOfferIdCodec.View view = new SupplierOfferIdCodec.View();
+    private final String legacyId = Baseline.encode(SupplierCode.HOTELBEDS, SUPPLIER_HOTEL_ID, RATE_KEY, ROOM_CODE);
+    private final String v2Id = codec.encode(SupplierCode.HOTELBEDS, SUPPLIER_HOTEL_ID, RATE_KEY, ROOM_CODE);
+
+    @Benchmark
+    public String encodeBaseline() {
+        return Baseline.encode(SupplierCode.HOTELBEDS, SUPPLIER_HOTEL_ID, RATE_KEY, ROOM_CODE);
+    }
+
+    @Benchmark
+    public String encodeV2() {
+        return codec.encode(SupplierCode.HOTELBEDS, SUPPLIER_HOTEL_ID, RATE_KEY, ROOM_CODE);
+    }
+
+    @Benchmark
+    public void decodeBaseline(Blackhole blackhole) {
+        Baseline.Parsed parsed = Baseline.parse(legacyId);
+        blackhole.consume(parsed.supplierCode);
+        blackhole.consume(parsed.supplierHotelId);
+        blackhole.consume(parsed.rateKey);
+        blackhole.consume(parsed.roomCode);
+    }
+
+    /**
+     * Decode only: what routing needs (supplier code) without materializing segments
+     */
+    @Benchmark
+    public SupplierCode decodeV2View() {
+        codec.decode(v2Id, view);
+        return view.supplierCode();
+    }
+
+    /**
+     * Decode plus every segment as a String: what recheck needs
+     */
+    @Benchmark
+    public void decodeV2Strings(Blackhole blackhole) {
+        codec.decode(v2Id, view);
+        blackhole.consume(view.supplierCode());
+        blackhole.consume(view.supplierHotelId());
+        blackhole.consume(view.rateKey());
+        blackhole.consume(view.roomCode());
+    }
+
+    /**
+     * Already-issued legacy ids through the new decoder
+     */
+    @Benchmark
+    public void decodeLegacyStrings(Blackhole blackhole) {
+        codec.decodeLegacy(legacyId, view);
+        blackhole.consume(view.supplierCode());
+        blackhole.consume(view.supplierHotelId());
+        blackhole.consume(view.rateKey());
+        blackhole.consume(view.roomCode());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SupplierOfferIdCodecBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+    /**
+     * The offerId code SupplierOfferAdapter used before SupplierOfferIdCodec, kept verbatim as the baseline
+     */
+    static final class Baseline {
+
+        static final class Parsed {
+            SupplierCode supplierCode;
+            String supplierHotelId;
+            String rateKey;
+            String roomCode;
+
+            Parsed(SupplierCode supplierCode, String supplierHotelId, String rateKey, String roomCode) {
+                this.supplierCode = supplierCode;
+                this.supplierHotelId = supplierHotelId;
+                this.rateKey = rateKey;
+                this.roomCode = roomCode;
+            }
+        }
+
+        static String encode(SupplierCode supplierCode, String supplierHotelId, String rateKey, String roomCode) {
+            String encodedSupplierHotelId = base64UrlEncode(supplierHotelId);
+            String encodedRateKey = (rateKey != null && !rateKey.isEmpty())
+                    ? base64UrlEncode(rateKey)
+                    : base64UrlEncode("NA");
+            String encodedRoomCode = (roomCode != null && !roomCode.isEmpty())
+                    ? base64UrlEncode(roomCode)
+                    : base64UrlEncode("NA");
+
+            return String.format("SUP-%s-%s-%s-%s",
+                    supplierCode,
+                    encodedSupplierHotelId,
+                    encodedRateKey,
+                    encodedRoomCode);
+        }
+
+        static Parsed parse(String offerId) {
+            if (offerId == null || !offerId.startsWith("SUP-")) {
+                return new Parsed(null, null, null, null);
+            }
+            String withoutPrefix = offerId.substring(4);
+            int firstDash = withoutPrefix.indexOf('-');
+            if (firstDash < 0) {
+                return new Parsed(null, null, null, null);
+            }
+            SupplierCode supplierCode;
+            try {
+                supplierCode = SupplierCode.valueOf(withoutPrefix.substring(0, firstDash));
+            } catch (IllegalArgumentException e) {
+                return new Parsed(null, null, null, null);
+            }
+            String remaining = withoutPrefix.substring(firstDash + 1);
+            int secondDash = remaining.indexOf('-');
+            if (secondDash < 0) {
+                return new Parsed(null, null, null, null);
+            }
+            String encodedSupplierHotelId = remaining.substring(0, secondDash);
+            String afterSecond = remaining.substring(secondDash + 1);
+            int thirdDash = afterSecond.indexOf('-');
+            if (thirdDash < 0) {
+                return new Parsed(null, null, null, null);
+            }
+            String encodedRateKey = afterSecond.substring(0, thirdDash);
+            String encodedRoomCode = afterSecond.substring(thirdDash + 1);
+
+            String supplierHotelId = base64UrlDecode(encodedSupplierHotelId);
+            String rateKey = base64UrlDecode(encodedRateKey);
+            String roomCode = base64UrlDecode(encodedRoomCode);
+            if ("NA".equals(rateKey)) {
+                rateKey = null;
+            }
+            if ("NA".equals(roomCode)) {
+                roomCode = null;
+            }
+            return new Parsed(supplierCode, supplierHotelId, rateKey, roomCode);
+        }
+
+        private static String base64UrlEncode(String value) {
+            if (value == null) {
+                return base64UrlEncode("NA");
+            }
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static String base64UrlDecode(String encoded) {
+            if (encoded == null || encoded.isEmpty()) {
+                return null;
+            }
+            try {
+                return new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.hotelsystems.ai.bookingmanagement.service.adapter.offer.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.PerNightRateDto;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierCode;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierOfferDto;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.TaxesAndFeesPlaceholderDto;
+import com.hotelsystems.ai.bookingmanagement.supplier.entity.SupplierHotelMappingEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Supplier offer normalization for one hotel's search response: SupplierOfferNormalizer vs the
+ * previous SupplierOfferAdapter code (two readTree calls per offer for key extraction,
+ * valueToTree for per-night breakdown and taxes).
+ *
+ * Payloads are shaped like Hotelbeds rates: the rate key sits after the nested cancellation
+ * policies, daily rates and promotions, so the key scan has to walk past real content. Each
+ * iteration normalizes a whole response (rates param) with a 3-night stay.
+ *
+ * Run main() (GC profiler on) and compare us/op and gc.alloc.rate.norm (bytes/op). Built by the
+ * jmh Maven profile, see "Benchmarks (JMH)" in README.md.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SupplierOfferNormalizerBenchmark {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2026, 11, 1);
+    private static final int NIGHTS = 3;
+
+    @Param({"40", "200"})
+    int rates;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final SupplierOfferNormalizer normalizer = new SupplierOfferNormalizer(objectMapper);
+    private final Baseline baseline = new Baseline(objectMapper);
+    private final SupplierHotelMappingEntity mapping = new SupplierHotelMappingEntity();
+    private List<SupplierOfferDto> offers;
+
+    @Setup
+    public void setUp() {
+        mapping.setHotelId("hotel-1");
+        mapping.setSupplierCode(SupplierCode.HOTELBEDS);
+        mapping.setSupplierHotelId("12345");
+
+        String[] rooms = {"DBL.ST", "DBL.SU", "TWN.ST", "SGL.ST", "JSU.ST", "DBL.DX-SV"};
+        String[] boards = {"RO", "BB", "HB", "FB", "AI"};
+        offers = new ArrayList<>(rates);
+        for (int i = 0; i < rates; i++) {
+            String room = rooms[i % rooms.length];
+            String board = boards[i % boards.length];
+            BigDecimal nightly = BigDecimal.valueOf(8000 + i * 137L, 2);
+            offers.add(offer(i, room, board, nightly));
+        }
+    }
+
+    @Benchmark
+    public void normalizeBaseline(Blackhole blackhole) {
+        for (SupplierOfferDto offer : offers) {
+            String rateKey = baseline.safeJsonExtract(offer.getRawPayloadJson(),
+                    "rateKey", "rate_key", "rateId", "bookingKey");
+            String roomCode = baseline.safeJsonExtract(offer.getRawPayloadJson(),
+                    "roomCode", "room_code", "roomId");
+            blackhole.consume(baseline.payload(offer, mapping, rateKey, roomCode));
+        }
+    }
+
+    @Benchmark
+    public void normalizeSinglePass(Blackhole blackhole) {
+        for (SupplierOfferDto offer : offers) {
+            SupplierOfferNormalizer.RawOfferKeys keys = normalizer.scan(offer.getRawPayloadJson());
+            blackhole.consume(normalizer.payload(offer, mapping, keys));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SupplierOfferNormalizerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+    private static SupplierOfferDto offer(int index, String room, String board, BigDecimal nightly) {
+        BigDecimal total = nightly.multiply(BigDecimal.valueOf(NIGHTS));
+        String rateKey = "20261101|20261104|W|1|12345|" + room + "|ID_B2B_26|" + board + "|NRF-" + index
+                + "|1~2~0||N@07~~2001a~-" + (1234567890L + index) + "~~~~2A4B6C8D";
+
+        List<PerNightRateDto> nights = new ArrayList<>(NIGHTS);
+        StringBuilder dailyRates = new StringBuilder();
+        for (int n = 0; n < NIGHTS; n++) {
+            nights.add(new PerNightRateDto(CHECK_IN.plusDays(n), nightly));
+            dailyRates.append(n == 0 ? "" : ",")
+                    .append("{\"offset\":").append(n + 1)
+                    .append(",\"dailyNet\":\"").append(nightly).append("\"}");
+        }
+
+        String raw = "{\"rateClass\":\"NOR\",\"rateType\":\"BOOKABLE\",\"net\":\"" + total + "\","
+                + "\"allotment\":" + (3 + index % 7) + ",\"paymentType\":\"AT_WEB\",\"packaging\":false,"
+                + "\"boardCode\":\"" + board + "\",\"boardName\":\"BOARD " + board + "\","
+                + "\"cancellationPolicies\":[{\"amount\":\"" + nightly + "\",\"from\":\"2026-10-30T23:59:00+01:00\"},"
+                + "{\"amount\":\"" + total + "\",\"from\":\"2026-10-31T23:59:00+01:00\"}],"
+                + "\"taxes\":{\"taxes\":[{\"included\":true,\"amount\":\"6.00\",\"currency\":\"EUR\","
+                + "\"type\":\"TAXESANDFEES\"}],\"allIncluded\":true},"
+                + "\"rooms\":1,\"adults\":2,\"children\":0,"
+                + "\"dailyRates\":[" + dailyRates + "],"
+                + "\"promotions\":[{\"code\":\"EBD\",\"name\":\"Early booking discount\"}],"
+                + "\"rateComments\":\"Check-in hour 15:00 - 23:00. Car park YES (with additional debit notes).\","
+                + "\"rateKey\":\"" + rateKey.replace("\"", "\\\"") + "\","
+                + "\"roomCode\":\"" + room + "\"}";
+
+        SupplierOfferDto offer = new SupplierOfferDto();
+        offer.setSupplierCode(SupplierCode.HOTELBEDS);
+        offer.setSupplierHotelId("12345");
+        offer.setRoomName(room);
+        offer.setBoard(board);
+        offer.setTotalPrice(total);
+        offer.setCurrency("EUR");
+        offer.setPerNightBreakdown(nights);
+        offer.setCancellationSummary("Non-refundable");
+        offer.setTaxesAndFees(new TaxesAndFeesPlaceholderDto(true, new BigDecimal("6.00"), "City tax"));
+        offer.setRawPayloadJson(raw);
+        return offer;
+    }
+
+    /**
+     * The normalization code SupplierOfferAdapter used before SupplierOfferNormalizer, kept as the baseline
+     */
+    static final class Baseline {
+
+        private final ObjectMapper objectMapper;
+
+        Baseline(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+        }
+
+        ObjectNode payload(SupplierOfferDto supplierOffer, SupplierHotelMappingEntity mapping,
+                           String rateKey, String roomCode) {
+            ObjectNode payload = objectMapper.createObjectNode();
+            payload.put("supplierCode", mapping.getSupplierCode().toString());
+            payload.put("supplierHotelId", mapping.getSupplierHotelId());
+            if (rateKey != null) {
+                payload.put("rateKey", rateKey);
+            } else {
+                payload.putNull("rateKey");
+            }
+            if (roomCode != null) {
+                payload.put("roomCode", roomCode);
+            } else {
+                payload.putNull("roomCode");
+            }
+            payload.put("currency", supplierOffer.getCurrency() != null ? supplierOffer.getCurrency() : "USD");
+            payload.put("totalPrice", supplierOffer.getTotalPrice() != null
+                    ? supplierOffer.getTotalPrice().doubleValue()
+                    : 0.0);
+            if (supplierOffer.getBoard() != null) {
+                payload.put("board", supplierOffer.getBoard());
+            } else {
+                payload.putNull("board");
+            }
+            if (supplierOffer.getRoomName() != null) {
+                payload.put("roomName", supplierOffer.getRoomName());
+            } else {
+                payload.putNull("roomName");
+            }
+            if (supplierOffer.getPerNightBreakdown() != null) {
+                JsonNode perNightBreakdown = objectMapper.valueToTree(supplierOffer.getPerNightBreakdown());
+                payload.set("perNightBreakdown", perNightBreakdown);
+            } else {
+                payload.putNull("perNightBreakdown");
+            }
+            if (supplierOffer.getTaxesAndFees() != null) {
+                JsonNode taxesAndFees = objectMapper.valueToTree(supplierOffer.getTaxesAndFees());
+                payload.set("taxesAndFees", taxesAndFees);
+            } else {
+                payload.putNull("taxesAndFees");
+            }
+            if (supplierOffer.getRawPayloadJson() != null) {
+                payload.put("rawPayloadJson", supplierOffer.getRawPayloadJson());
+            } else {
+                payload.putNull("rawPayloadJson");
+            }
+            return payload;
+        }
+
+        String safeJsonExtract(String jsonString, String... keys) {
+            if (jsonString == null || jsonString.isEmpty()) {
+                return null;
+            }
+            try {
+                JsonNode jsonNode = objectMapper.readTree(jsonString);
+                for (String key : keys) {
+                    if (jsonNode.has(key) && jsonNode.get(key).isTextual()) {
+                        return jsonNode.get(key).asText();
+                    }
+                }
+            } catch (Exception e) {
+                // Same as before: unparseable payloads yield no key
+            }
+            return null;
+        }
+    }
+}
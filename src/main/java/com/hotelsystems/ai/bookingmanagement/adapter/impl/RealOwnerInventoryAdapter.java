@@ -1,7 +1,10 @@
 package com.hotelsystems.ai.bookingmanagement.adapter.impl;
 
 import com.hotelsystems.ai.bookingmanagement.domain.entity.BookingEntity;
+import com.hotelsystems.ai.bookingmanagement.dto.request.CartLineDto;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.AvailabilityService;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.reservation.CartReservationLine;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.reservation.ReservationLockManager;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.reservation.ReservationService;
 import com.hotelsystems.ai.bookingmanagement.service.adapter.OwnerInventoryAdapter;
 import com.hotelsystems.ai.bookingmanagement.service.adapter.RecheckResult;
@@ -10,7 +13,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 /**
  * Real implementation of OwnerInventoryAdapter.
@@ -27,12 +36,15 @@ public class RealOwnerInventoryAdapter implements OwnerInventoryAdapter {
     
     private final AvailabilityService availabilityService;
     private final ReservationService reservationService;
+    private final ReservationLockManager reservationLockManager;
     
     public RealOwnerInventoryAdapter(
             AvailabilityService availabilityService,
-            ReservationService reservationService) {
+            ReservationService reservationService,
+            ReservationLockManager reservationLockManager) {
         this.availabilityService = availabilityService;
         this.reservationService = reservationService;
+        this.reservationLockManager = reservationLockManager;
     }
     
     /**
@@ -136,6 +148,95 @@ public class RealOwnerInventoryAdapter implements OwnerInventoryAdapter {
         return confirmationRef;
     }
     
+    /**
+     * Recheck every cart line with one batched availability read.
+     * 
+     * @param booking Booking entity to recheck (hotel and stay)
+     * @param lines Cart lines to check
+     * @return RecheckResult with status and details
+     */
+    @Override
+    public RecheckResult recheckCart(BookingEntity booking, List<CartLineDto> lines) {
+        log.info("Rechecking owner inventory cart - bookingId: {}, hotelId: {}, lines: {}",
+                booking.getId(), booking.getHotelId(), lines.size());
+        
+        List<CartReservationLine> cartLines = toCartLines(lines);
+        List<String> roomTypeIds = new ArrayList<>();
+        cartLines.forEach(line -> roomTypeIds.add(line.getRoomTypeId()));
+        
+        Map<String, Integer> minAvailable = availabilityService.minAvailableByRoomType(
+                booking.getHotelId(), roomTypeIds, booking.getCheckIn(), booking.getCheckOut());
+        
+        // Same room type may appear on several lines - compare against the merged demand
+        Map<String, Integer> requested = new HashMap<>();
+        cartLines.forEach(line -> requested.merge(line.getRoomTypeId(), line.getRoomsCount(), Integer::sum));
+        for (Map.Entry<String, Integer> line : requested.entrySet()) {
+            if (minAvailable.getOrDefault(line.getKey(), 0) < line.getValue()) {
+                log.warn("Owner inventory cart line not available - bookingId: {}, roomTypeId: {}, requested: {}",
+                        booking.getId(), line.getKey(), line.getValue());
+                return RecheckResult.builder()
+                        .status(RecheckStatus.SOLD_OUT)
+                        .message("Room type " + line.getKey() + " is sold out or no longer available for the requested dates")
+                        .build();
+            }
+        }
+        
+        log.info("Owner inventory cart available - bookingId: {}", booking.getId());
+        return RecheckResult.builder()
+                .status(RecheckStatus.OK)
+                .message("Owner inventory cart recheck successful - all room types are available")
+                .build();
+    }
+    
+    /**
+     * Reserve every cart line in one transaction and confirm.
+     * 
+     * @param booking Booking entity to reserve and confirm (hotel and stay)
+     * @param lines Cart lines to reserve
+     * @return Internal confirmation reference in format "OWN-RES-{firstReservationId}"
+     */
+    @Override
+    public String reserveCartAndConfirm(BookingEntity booking, List<CartLineDto> lines) {
+        log.info("Reserving and confirming owner inventory cart - bookingId: {}, hotelId: {}, lines: {}",
+                booking.getId(), booking.getHotelId(), lines.size());
+        
+        if (booking.getHotelId() == null || booking.getHotelId().trim().isEmpty() ||
+            booking.getCheckIn() == null || booking.getCheckOut() == null) {
+            throw new IllegalArgumentException("Invalid booking data: missing hotelId or dates");
+        }
+        
+        List<UUID> reservationIds = reservationService.reserveCart(
+                booking.getId(),
+                booking.getHotelId(),
+                booking.getCheckIn(),
+                booking.getCheckOut(),
+                toCartLines(lines)
+        );
+        
+        // Release is by bookingId, so the first reservation is enough to reference the cart
+        String confirmationRef = "OWN-RES-" + reservationIds.get(0);
+        log.info("Owner inventory cart reserved and confirmed - bookingId: {}, reservations: {}, confirmationRef: {}",
+                booking.getId(), reservationIds.size(), confirmationRef);
+        
+        return confirmationRef;
+    }
+    
+    /**
+     * Run a confirm step under the striped reservation locks for the booking's hotel and room types.
+     * 
+     * @param booking Booking entity being confirmed
+     * @param roomTypeIds Room types the confirm will reserve
+     * @param action Confirm step to run
+     * @return Result of the action
+     */
+    @Override
+    public <T> T withReservationLock(BookingEntity booking, List<String> roomTypeIds, Supplier<T> action) {
+        if (booking.getHotelId() == null || roomTypeIds == null || roomTypeIds.isEmpty()) {
+            return action.get();
+        }
+        return reservationLockManager.withLocks(booking.getHotelId(), roomTypeIds, action);
+    }
+    
     /**
      * Release booking from owner inventory.
      * 
@@ -158,5 +259,23 @@ public class RealOwnerInventoryAdapter implements OwnerInventoryAdapter {
         
         log.info("Owner inventory released - bookingId: {}", bookingId);
     }
+    
+    @Override
+    public int releaseExpiredDrafts(Collection<UUID> bookingIds) {
+        int released = reservationService.releaseByBookingIds(bookingIds);
+        if (released > 0) {
+            log.info("Owner inventory released for expired drafts - bookings: {}, reservations: {}",
+                    bookingIds.size(), released);
+        }
+        return released;
+    }
+    
+    private List<CartReservationLine> toCartLines(List<CartLineDto> lines) {
+        List<CartReservationLine> cartLines = new ArrayList<>();
+        for (CartLineDto line : lines) {
+            int rooms = (line.getRooms() != null && line.getRooms() > 0) ? line.getRooms() : 1;
+            cartLines.add(new CartReservationLine(line.getRoomTypeId(), rooms));
+        }
+        return cartLines;
+    }
 }
-
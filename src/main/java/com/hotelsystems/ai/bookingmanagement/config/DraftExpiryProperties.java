@@ -0,0 +1,87 @@
+package com.hotelsystems.ai.bookingmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for draft booking expiry.
+ * Sizes the in-memory timing wheel and the batches the sweeper writes per transaction.
+ */
+@ConfigurationProperties(prefix = "booking.draft-expiry")
+public class DraftExpiryProperties {
+    
+    private boolean enabled = true;
+    private long tickMs = 1000; // Wheel resolution and sweep interval
+    private int wheelSize = 64; // Slots per level
+    private int levels = 3; // 64^3 one-second ticks ~ 3 days before overflow
+    private int batchSize = 500; // Bookings expired per UPDATE / transaction
+    private int rebuildPageSize = 1000; // Keyset page size when reloading drafts at startup
+    private long catchUpIntervalMs = 60000; // Index-range sweep for drafts this node never scheduled
+    private long catchUpGraceMs = 30000; // Only catch up drafts this far past expiry
+    
+    public DraftExpiryProperties() {
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public long getTickMs() {
+        return tickMs;
+    }
+    
+    public void setTickMs(long tickMs) {
+        this.tickMs = tickMs;
+    }
+    
+    public int getWheelSize() {
+        return wheelSize;
+    }
+    
+    public void setWheelSize(int wheelSize) {
+        this.wheelSize = wheelSize;
+    }
+    
+    public int getLevels() {
+        return levels;
+    }
+    
+    public void setLevels(int levels) {
+        this.levels = levels;
+    }
+    
+    public int getBatchSize() {
+        return batchSize;
+    }
+    
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+    
+    public int getRebuildPageSize() {
+        return rebuildPageSize;
+    }
+    
+    public void setRebuildPageSize(int rebuildPageSize) {
+        this.rebuildPageSize = rebuildPageSize;
+    }
+    
+    public long getCatchUpIntervalMs() {
+        return catchUpIntervalMs;
+    }
+    
+    public void setCatchUpIntervalMs(long catchUpIntervalMs) {
+        this.catchUpIntervalMs = catchUpIntervalMs;
+    }
+    
+    public long getCatchUpGraceMs() {
+        return catchUpGraceMs;
+    }
+    
+    public void setCatchUpGraceMs(long catchUpGraceMs) {
+        this.catchUpGraceMs = catchUpGraceMs;
+    }
+}
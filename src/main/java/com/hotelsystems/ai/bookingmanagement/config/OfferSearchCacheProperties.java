@@ -0,0 +1,52 @@
+package com.hotelsystems.ai.bookingmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the offer search result cache.
+ * Owner results are also invalidated on inventory writes, so they can live longer than
+ * supplier results, which only expire by TTL.
+ */
+@ConfigurationProperties(prefix = "offers.search.cache")
+public class OfferSearchCacheProperties {
+    
+    private boolean enabled = true;
+    private int maxEntries = 10000; // Search results kept in memory (LRU beyond this)
+    private long ownerTtlMs = 60000; // Owner results; inventory writes evict them earlier
+    private long supplierTtlMs = 30000; // Supplier results; no change feed, TTL only
+    
+    public OfferSearchCacheProperties() {
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+    
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+    
+    public long getOwnerTtlMs() {
+        return ownerTtlMs;
+    }
+    
+    public void setOwnerTtlMs(long ownerTtlMs) {
+        this.ownerTtlMs = ownerTtlMs;
+    }
+    
+    public long getSupplierTtlMs() {
+        return supplierTtlMs;
+    }
+    
+    public void setSupplierTtlMs(long supplierTtlMs) {
+        this.supplierTtlMs = supplierTtlMs;
+    }
+}
@@ -0,0 +1,34 @@
+package com.hotelsystems.ai.bookingmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for coalescing identical concurrent offer searches.
+ * A search that finds an identical one already running waits for its result instead of
+ * calling the source again, for at most maxWaitMs; after that it runs its own search.
+ */
+@ConfigurationProperties(prefix = "offers.search.coalescing")
+public class OfferSearchCoalescingProperties {
+    
+    private boolean enabled = true;
+    private long maxWaitMs = 3000; // Longest a joined search waits for the running one (matches the supplier deadline)
+    
+    public OfferSearchCoalescingProperties() {
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public long getMaxWaitMs() {
+        return maxWaitMs;
+    }
+    
+    public void setMaxWaitMs(long maxWaitMs) {
+        this.maxWaitMs = maxWaitMs;
+    }
+}
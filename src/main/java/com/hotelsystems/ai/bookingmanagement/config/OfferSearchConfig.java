@@ -0,0 +1,25 @@
+package com.hotelsystems.ai.bookingmanagement.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Offer Search Configuration
+ * 
+ * Executor for fan-out offer searches. Source calls are mostly blocking I/O (DB reads,
+ * supplier HTTP), so each runs on its own virtual thread instead of a request thread.
+ */
+@Configuration
+@EnableConfigurationProperties({OfferSearchProperties.class, OfferSearchCacheProperties.class, OwnerOfferIdProperties.class,
+        OfferSnapshotProperties.class, OfferSearchCoalescingProperties.class})
+public class OfferSearchConfig {
+    
+    @Bean(destroyMethod = "close")
+    public ExecutorService offerSearchExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
@@ -0,0 +1,71 @@
+package com.hotelsystems.ai.bookingmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for offer search.
+ * Per-source deadlines for fan-out searches; a source that misses its deadline is
+ * reported as TIMED_OUT and left out of the merged response. Multi-hotel searches are
+ * bounded by hotel count, parallelism and one overall deadline.
+ */
+@ConfigurationProperties(prefix = "offers.search")
+public class OfferSearchProperties {
+    
+    private boolean fanOutDefault = false; // Fan-out when the request does not say
+    private long ownerDeadlineMs = 1000; // Owner inventory is a local DB read
+    private long supplierDeadlineMs = 3000; // Supplier APIs are remote and slower
+    private int multiMaxHotels = 50; // Hotels accepted by one offers:search-multi call
+    private int multiConcurrency = 8; // Hotels searched in parallel per offers:search-multi call
+    private long multiDeadlineMs = 5000; // Overall deadline for offers:search-multi
+    
+    public OfferSearchProperties() {
+    }
+    
+    public boolean isFanOutDefault() {
+        return fanOutDefault;
+    }
+    
+    public void setFanOutDefault(boolean fanOutDefault) {
+        this.fanOutDefault = fanOutDefault;
+    }
+    
+    public long getOwnerDeadlineMs() {
+        return ownerDeadlineMs;
+    }
+    
+    public void setOwnerDeadlineMs(long ownerDeadlineMs) {
+        this.ownerDeadlineMs = ownerDeadlineMs;
+    }
+    
+    public long getSupplierDeadlineMs() {
+        return supplierDeadlineMs;
+    }
+    
+    public void setSupplierDeadlineMs(long supplierDeadlineMs) {
+        this.supplierDeadlineMs = supplierDeadlineMs;
+    }
+    
+    public int getMultiMaxHotels() {
+        return multiMaxHotels;
+    }
+    
+    public void setMultiMaxHotels(int multiMaxHotels) {
+        this.multiMaxHotels = multiMaxHotels;
+    }
+    
+    public int getMultiConcurrency() {
+        return multiConcurrency;
+    }
+    
+    public void setMultiConcurrency(int multiConcurrency) {
+        this.multiConcurrency = multiConcurrency;
+    }
+    
+    public long getMultiDeadlineMs() {
+        return multiDeadlineMs;
+    }
+    
+    public void setMultiDeadlineMs(long multiDeadlineMs) {
+        this.multiDeadlineMs = multiDeadlineMs;
+    }
+}
@@ -0,0 +1,70 @@
+package com.hotelsystems.ai.bookingmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the offer snapshot store.
+ * Every issued offer is kept for ttlMs so recheck and booking can resolve it by offerId;
+ * the TTL should cover search -> recheck -> draft booking (15 minutes) with some margin.
+ */
+@ConfigurationProperties(prefix = "offers.snapshot")
+public class OfferSnapshotProperties {
+    
+    private boolean enabled = true;
+    private long ttlMs = 1800000; // How long an issued offer can be resolved by id
+    private long maxBytes = 67108864; // Serialized bytes kept in memory (oldest evicted beyond this)
+    private boolean compress = true; // Deflate snapshots in memory; supplier payloads shrink well
+    private boolean spillEnabled = false; // Write size-evicted snapshots to offer_snapshots
+    private long spillPurgeIntervalMs = 300000; // How often expired spilled snapshots are deleted
+    
+    public OfferSnapshotProperties() {
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public long getTtlMs() {
+        return ttlMs;
+    }
+    
+    public void setTtlMs(long ttlMs) {
+        this.ttlMs = ttlMs;
+    }
+    
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+    
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+    
+    public boolean isCompress() {
+        return compress;
+    }
+    
+    public void setCompress(boolean compress) {
+        this.compress = compress;
+    }
+    
+    public boolean isSpillEnabled() {
+        return spillEnabled;
+    }
+    
+    public void setSpillEnabled(boolean spillEnabled) {
+        this.spillEnabled = spillEnabled;
+    }
+    
+    public long getSpillPurgeIntervalMs() {
+        return spillPurgeIntervalMs;
+    }
+    
+    public void setSpillPurgeIntervalMs(long spillPurgeIntervalMs) {
+        this.spillPurgeIntervalMs = spillPurgeIntervalMs;
+    }
+}
@@ -0,0 +1,35 @@
+package com.hotelsystems.ai.bookingmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for owner offer identifiers.
+ * The signing key makes offerIds tamper-evident; every node must share it, and rotating it
+ * invalidates offers already handed out. It has no default: OwnerOfferIdCodec refuses to start
+ * without a key of at least 32 bytes (only the h2/dev profiles and tests configure one).
+ */
+@ConfigurationProperties(prefix = "offers.owner-offer-id")
+public class OwnerOfferIdProperties {
+    
+    private String signingKey; // Required, at least 32 bytes (OWNER_OFFER_ID_SIGNING_KEY)
+    private boolean acceptLegacy = true; // Accept pre-v2 hash ids (catalog scan) during migration
+    
+    public OwnerOfferIdProperties() {
+    }
+    
+    public String getSigningKey() {
+        return signingKey;
+    }
+    
+    public void setSigningKey(String signingKey) {
+        this.signingKey = signingKey;
+    }
+    
+    public boolean isAcceptLegacy() {
+        return acceptLegacy;
+    }
+    
+    public void setAcceptLegacy(boolean acceptLegacy) {
+        this.acceptLegacy = acceptLegacy;
+    }
+}
@@ -0,0 +1,199 @@
+package com.hotelsystems.ai.bookingmanagement.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.InterceptingClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pooled Client HTTP Request Factory
+ * 
+ * RestTemplate request factory on one java.net.http.HttpClient per pool (supplier, pricing):
+ * 
+ * - Keep-alive: connections go back to the client's pool after each response and are reused,
+ *   so TLS handshakes happen once per connection instead of once per call
+ * - HTTP/2 when enabled: negotiated via ALPN on https (many calls share one connection),
+ *   HTTP/1.1 otherwise
+ * - maxConnections: at most this many requests in flight, i.e. open HTTP/1.1 connections;
+ *   a request waits up to acquireTimeout for a slot and then fails with HttpTimeoutException
+ *   (RestTemplate reports it as ResourceAccessException)
+ * - Separate connect (socket/TLS), read (response) and acquire (slot) timeouts
+ * - Idle eviction is not per pool: the JDK client closes connections idle longer than the
+ *   JVM-wide system property jdk.httpclient.keepalive.timeout (seconds, JDK default 1200).
+ *   Set it once for the whole service on the command line, e.g.
+ *   -Djdk.httpclient.keepalive.timeout=30, below the shortest keep-alive of the servers called
+ * 
+ * A slot is held from execute() until the response is closed, which is when RestTemplate has
+ * read the body and the connection is reusable.
+ * 
+ * Metrics (tag pool): http.client.pool.max, http.client.pool.leased, http.client.pool.pending
+ * (gauges) and http.client.pool.acquire.timeouts (counter).
+ */
+@Slf4j
+public class PooledClientHttpRequestFactory implements ClientHttpRequestFactory, AutoCloseable {
+    
+    /**
+     * Pool settings
+     * 
+     * @param maxConnections Requests in flight at once (HTTP/1.1 connections)
+     * @param connectTimeout Socket connect and TLS handshake
+     * @param readTimeout Waiting for the response
+     * @param acquireTimeout Waiting for a free slot when maxConnections are in use
+     * @param http2 Prefer HTTP/2 (falls back to HTTP/1.1 when the server does not offer it)
+     */
+    public record Settings(int maxConnections, Duration connectTimeout, Duration readTimeout,
+                           Duration acquireTimeout, boolean http2) {
+    }
+    
+    private final String name;
+    private final Settings settings;
+    private final HttpClient httpClient;
+    private final ClientHttpRequestFactory delegate;
+    private final Semaphore slots;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Counter acquireTimeouts;
+    
+    public PooledClientHttpRequestFactory(String name, Settings settings, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.settings = settings;
+        this.slots = new Semaphore(settings.maxConnections(), true);
+        
+        this.httpClient = HttpClient.newBuilder()
+                .version(settings.http2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(settings.connectTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        JdkClientHttpRequestFactory jdkFactory = new JdkClientHttpRequestFactory(httpClient);
+        jdkFactory.setReadTimeout(settings.readTimeout());
+        this.delegate = new InterceptingClientHttpRequestFactory(jdkFactory, List.of(
+                (request, body, execution) -> {
+                    acquire();
+                    try {
+                        return new SlotReleasingResponse(execution.execute(request, body), slots);
+                    } catch (IOException | RuntimeException e) {
+                        slots.release();
+                        throw e;
+                    }
+                }));
+        
+        Gauge.builder("http.client.pool.max", settings, Settings::maxConnections)
+            .description("Maximum requests in flight (HTTP/1.1 connections) for the pool")
+            .tag("pool", name)
+            .register(meterRegistry);
+        Gauge.builder("http.client.pool.leased", this, PooledClientHttpRequestFactory::leased)
+            .description("Requests currently holding a pool slot")
+            .tag("pool", name)
+            .register(meterRegistry);
+        Gauge.builder("http.client.pool.pending", pending, AtomicInteger::get)
+            .description("Requests waiting for a pool slot")
+            .tag("pool", name)
+            .register(meterRegistry);
+        this.acquireTimeouts = Counter.builder("http.client.pool.acquire.timeouts")
+            .description("Requests that gave up waiting for a pool slot")
+            .tag("pool", name)
+            .register(meterRegistry);
+        
+        log.info("HTTP client pool {} - maxConnections: {}, connect: {} ms, read: {} ms, acquire: {} ms, http2: {}",
+                name, settings.maxConnections(), settings.connectTimeout().toMillis(),
+                settings.readTimeout().toMillis(), settings.acquireTimeout().toMillis(), settings.http2());
+    }
+    
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        return delegate.createRequest(uri, httpMethod);
+    }
+    
+    int leased() {
+        return settings.maxConnections() - slots.availablePermits();
+    }
+    
+    /**
+     * Closes the client's connections (called on context shutdown)
+     */
+    @Override
+    public void close() {
+        httpClient.shutdownNow();
+    }
+    
+    private void acquire() throws IOException {
+        pending.incrementAndGet();
+        try {
+            if (!slots.tryAcquire(settings.acquireTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                acquireTimeouts.increment();
+                throw new HttpTimeoutException("No free connection in HTTP client pool " + name
+                        + " after " + settings.acquireTimeout().toMillis() + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for HTTP client pool " + name, e);
+        } finally {
+            pending.decrementAndGet();
+        }
+    }
+    
+    /**
+     * Response that gives its pool slot back when closed (once)
+     */
+    private static final class SlotReleasingResponse implements ClientHttpResponse {
+        
+        private final ClientHttpResponse response;
+        private final Semaphore slots;
+        private final AtomicBoolean released = new AtomicBoolean();
+        
+        SlotReleasingResponse(ClientHttpResponse response, Semaphore slots) {
+            this.response = response;
+            this.slots = slots;
+        }
+        
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+        
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+        
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+        
+        @Override
+        public InputStream getBody() throws IOException {
+            return response.getBody();
+        }
+        
+        @Override
+        public void close() {
+            try {
+                response.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    slots.release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.hotelsystems.ai.bookingmanagement.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling Configuration
+ * 
+ * Enables @Scheduled background jobs (draft expiry sweeps) and their configuration properties.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(DraftExpiryProperties.class)
+public class SchedulingConfig {
+}
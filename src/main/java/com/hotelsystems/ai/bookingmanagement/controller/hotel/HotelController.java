@@ -1,11 +1,17 @@
 package com.hotelsystems.ai.bookingmanagement.controller.hotel;
 
 import com.hotelsystems.ai.bookingmanagement.dto.hotel.HotelResponse;
+import com.hotelsystems.ai.bookingmanagement.service.hotel.AvailabilityCalendarService;
 import com.hotelsystems.ai.bookingmanagement.service.hotel.BookingHotelService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
 
 /**
  * Hotel Controller
@@ -19,6 +25,7 @@ import org.springframework.web.bind.annotation.*;
 public class HotelController {
     
     private final BookingHotelService hotelService;
+    private final AvailabilityCalendarService availabilityCalendarService;
     
     /**
      * Get hotel by slug
@@ -34,5 +41,27 @@ public class HotelController {
         
         return ResponseEntity.ok(response);
     }
+    
+    /**
+     * Get per-night availability, stop-sell and price for all active room types
+     * 
+     * GET /v1/hotels/{slug}/availability-calendar?startDate=...&endDate=...&currency=USD
+     * 
+     * The response is streamed as it is serialized.
+     */
+    @GetMapping("/{slug}/availability-calendar")
+    public ResponseEntity<StreamingResponseBody> getAvailabilityCalendar(
+            @PathVariable String slug,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "USD") String currency) {
+        
+        log.info("GET /v1/hotels/{}/availability-calendar - startDate: {}, endDate: {}", slug, startDate, endDate);
+        
+        StreamingResponseBody body = availabilityCalendarService.calendar(slug, startDate, endDate, currency);
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
 }
-
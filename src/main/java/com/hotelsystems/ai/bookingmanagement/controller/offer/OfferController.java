@@ -1,15 +1,24 @@
 package com.hotelsystems.ai.bookingmanagement.controller.offer;
 
+import com.hotelsystems.ai.bookingmanagement.dto.offer.FlexibleOffersSearchRequest;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.MultiHotelOffersSearchRequest;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.MultiHotelOffersSearchResponse;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OfferProjection;
 import com.hotelsystems.ai.bookingmanagement.dto.offer.OffersRecheckRequest;
 import com.hotelsystems.ai.bookingmanagement.dto.offer.OffersRecheckResponse;
 import com.hotelsystems.ai.bookingmanagement.dto.offer.OffersSearchRequest;
 import com.hotelsystems.ai.bookingmanagement.dto.offer.OffersSearchResponse;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.ProjectedOffersSearchResponse;
+import com.hotelsystems.ai.bookingmanagement.service.offer.MultiHotelOfferSearchService;
 import com.hotelsystems.ai.bookingmanagement.service.offer.OfferService;
+import com.hotelsystems.ai.bookingmanagement.service.offer.OfferStreamService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Offer Controller
@@ -22,26 +31,104 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 public class OfferController {
     
+    static final String CACHE_BYPASS_HEADER = "X-Offer-Cache-Bypass";
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    
     private final OfferService offerService;
+    private final MultiHotelOfferSearchService multiHotelOfferSearchService;
+    private final OfferStreamService offerStreamService;
     
     /**
      * Search offers for a hotel
      * 
      * POST /v1/hotels/{slug}/offers:search
+     * 
+     * Header X-Offer-Cache-Bypass: true skips the offer search cache (debugging).
+     * Query view=summary|full and fields=a,b,payload.c project each offer (see OfferProjection).
      */
     @PostMapping("/hotels/{slug}/offers:search")
-    public ResponseEntity<OffersSearchResponse> searchOffers(
+    public ResponseEntity<Object> searchOffers(
             @PathVariable String slug,
+            @RequestHeader(value = CACHE_BYPASS_HEADER, defaultValue = "false") boolean bypassCache,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
             @Valid @RequestBody OffersSearchRequest request) {
         
         log.info("POST /v1/hotels/{}/offers:search - checkIn: {}, checkOut: {}, guests: {}",
                 slug, request.getCheckIn(), request.getCheckOut(), request.getGuests());
         
-        OffersSearchResponse response = offerService.searchOffers(slug, request);
+        OfferProjection projection = OfferProjection.of(view, fields);
+        OffersSearchResponse response = offerService.searchOffers(slug, request, bypassCache);
+        
+        return ResponseEntity.ok(project(response, projection));
+    }
+    
+    /**
+     * Search offers for a hotel, streaming each offer as soon as its source produces it
+     * 
+     * POST /v1/hotels/{slug}/offers:stream
+     * 
+     * Response is NDJSON: one {"type":"offer"} line per offer, then one {"type":"summary"} line.
+     */
+    @PostMapping("/hotels/{slug}/offers:stream")
+    public ResponseEntity<StreamingResponseBody> streamOffers(
+            @PathVariable String slug,
+            @RequestHeader(value = CACHE_BYPASS_HEADER, defaultValue = "false") boolean bypassCache,
+            @Valid @RequestBody OffersSearchRequest request) {
+        
+        log.info("POST /v1/hotels/{}/offers:stream - checkIn: {}, checkOut: {}, guests: {}",
+                slug, request.getCheckIn(), request.getCheckOut(), request.getGuests());
+        
+        StreamingResponseBody body = offerStreamService.streamOffers(slug, request, bypassCache);
+        
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(body);
+    }
+    
+    /**
+     * Search offers for several hotels with shared dates and occupancy
+     * 
+     * POST /v1/offers:search-multi
+     * 
+     * Header X-Offer-Cache-Bypass: true skips the offer search cache (debugging).
+     */
+    @PostMapping("/offers:search-multi")
+    public ResponseEntity<MultiHotelOffersSearchResponse> searchMultiHotelOffers(
+            @RequestHeader(value = CACHE_BYPASS_HEADER, defaultValue = "false") boolean bypassCache,
+            @Valid @RequestBody MultiHotelOffersSearchRequest request) {
+        
+        log.info("POST /v1/offers:search-multi - slugs: {}, hotelIds: {}, checkIn: {}, checkOut: {}, guests: {}",
+                request.getSlugs(), request.getHotelIds(), request.getCheckIn(), request.getCheckOut(), request.getGuests());
+        
+        MultiHotelOffersSearchResponse response = multiHotelOfferSearchService.search(request, bypassCache);
         
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Flexible-date offer search for a hotel
+     * 
+     * POST /v1/hotels/{slug}/offers:searchFlexible
+     * 
+     * Query view and fields as for offers:search.
+     */
+    @PostMapping("/hotels/{slug}/offers:searchFlexible")
+    public ResponseEntity<Object> searchFlexibleOffers(
+            @PathVariable String slug,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
+            @Valid @RequestBody FlexibleOffersSearchRequest request) {
+        
+        log.info("POST /v1/hotels/{}/offers:searchFlexible - windowStart: {}, windowEnd: {}, lengthsOfStay: {}, guests: {}",
+                slug, request.getWindowStart(), request.getWindowEnd(), request.getLengthsOfStay(), request.getGuests());
+        
+        OfferProjection projection = OfferProjection.of(view, fields);
+        OffersSearchResponse response = offerService.searchFlexibleOffers(slug, request);
+        
+        return ResponseEntity.ok(project(response, projection));
+    }
+    
     /**
      * Recheck offer availability and validity
      * 
@@ -58,5 +145,12 @@ public class OfferController {
         
         return ResponseEntity.ok(response);
     }
+    
+    /**
+     * Full projection keeps the plain DTO; anything narrower is written by the projection
+     */
+    private Object project(OffersSearchResponse response, OfferProjection projection) {
+        return projection.isFull() ? response : new ProjectedOffersSearchResponse(response, projection);
+    }
 }
 
@@ -27,6 +27,7 @@ import java.util.UUID;
     indexes = {
         @Index(name = "idx_bookings_core_hotel_id", columnList = "hotel_id"),
         @Index(name = "idx_bookings_core_status", columnList = "status"),
+        @Index(name = "idx_bookings_core_status_expires_at", columnList = "status, expires_at"),
         @Index(name = "idx_bookings_core_created_at", columnList = "created_at"),
         @Index(name = "idx_bookings_core_user_id", columnList = "user_id"),
         @Index(name = "idx_bookings_core_idempotency_key", columnList = "idempotency_key"),
@@ -196,6 +197,12 @@ public class BookingEntity {
     @Column(name = "next_actions_json", columnDefinition = "TEXT")
     private String nextActionsJson;
     
+    /**
+     * Cart lines for multi-room-type owner bookings (stored as JSON)
+     */
+    @Column(name = "cart_lines_json", columnDefinition = "TEXT")
+    private String cartLinesJson;
+    
     /**
      * Failure reason (when booking status is FAILED)
      */
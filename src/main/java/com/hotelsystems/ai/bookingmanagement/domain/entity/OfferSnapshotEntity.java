@@ -0,0 +1,41 @@
+package com.hotelsystems.ai.bookingmanagement.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Offer Snapshot Entity
+ * 
+ * Spilled offer snapshot mapped to offer_snapshots table.
+ * Written by OfferSnapshotStore when a live snapshot is pushed out of memory by the size
+ * bound; rows past expires_at are deleted by the store's purge job.
+ */
+@Entity
+@Table(
+    name = "offer_snapshots",
+    indexes = {
+        @Index(name = "idx_offer_snapshots_expires_at", columnList = "expires_at")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OfferSnapshotEntity {
+    
+    @Id
+    @Column(name = "offer_id", nullable = false, updatable = false, length = 512)
+    private String offerId;
+    
+    @Column(name = "snapshot_json", nullable = false, columnDefinition = "TEXT")
+    private String snapshotJson;
+    
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+    
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
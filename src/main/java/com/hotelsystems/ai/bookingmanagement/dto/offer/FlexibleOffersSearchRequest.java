@@ -0,0 +1,56 @@
+package com.hotelsystems.ai.bookingmanagement.dto.offer;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Flexible-Date Offers Search Request DTO
+ * 
+ * Finds every stay of the given length(s) that fits inside [windowStart, windowEnd).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlexibleOffersSearchRequest {
+    
+    /**
+     * Earliest check-in date (yyyy-MM-dd)
+     */
+    @NotNull(message = "Window start date is required")
+    private LocalDate windowStart;
+    
+    /**
+     * Latest check-out date (yyyy-MM-dd, exclusive end of the window)
+     */
+    @NotNull(message = "Window end date is required")
+    private LocalDate windowEnd;
+    
+    /**
+     * Lengths of stay in nights, e.g. [3] or [2, 3]
+     */
+    @NotEmpty(message = "At least one length of stay is required")
+    private List<@NotNull @Min(value = 1, message = "Length of stay must be at least 1 night") Integer> lengthsOfStay;
+    
+    /**
+     * Number of guests
+     */
+    @NotNull(message = "Number of guests is required")
+    @Min(value = 1, message = "Number of guests must be at least 1")
+    private Integer guests;
+    
+    /**
+     * Number of rooms (optional, default 1)
+     */
+    @Min(value = 1, message = "Number of rooms must be at least 1")
+    @Builder.Default
+    private Integer roomsCount = 1;
+}
@@ -0,0 +1,58 @@
+package com.hotelsystems.ai.bookingmanagement.dto.offer;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.hotelsystems.ai.bookingmanagement.enums.HotelSearchStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Hotel Offers Result DTO
+ * 
+ * Outcome of one hotel in a multi-hotel offer search.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class HotelOffersResultDto {
+    
+    /**
+     * Hotel slug (null if requested by an unknown hotelId)
+     */
+    private String slug;
+    
+    /**
+     * Hotel identifier (null if requested by an unknown slug)
+     */
+    private String hotelId;
+    
+    /**
+     * OK, NOT_FOUND, TIMED_OUT or FAILED
+     */
+    private HotelSearchStatus status;
+    
+    /**
+     * Error message when status is not OK
+     */
+    private String error;
+    
+    /**
+     * Offers (status OK only)
+     */
+    private List<OfferDto> offers;
+    
+    /**
+     * Per-source outcome (fan-out searches only)
+     */
+    private List<SourceResultDto> sources;
+    
+    /**
+     * True when a source timed out or failed (fan-out searches only)
+     */
+    private Boolean partial;
+}
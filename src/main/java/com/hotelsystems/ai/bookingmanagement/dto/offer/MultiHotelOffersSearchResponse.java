@@ -0,0 +1,28 @@
+package com.hotelsystems.ai.bookingmanagement.dto.offer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Multi-Hotel Offers Search Response DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MultiHotelOffersSearchResponse {
+    
+    /**
+     * One result per requested hotel, in request order (slugs first, then hotelIds)
+     */
+    private List<HotelOffersResultDto> results;
+    
+    /**
+     * True when any hotel is not OK
+     */
+    private boolean partial;
+}
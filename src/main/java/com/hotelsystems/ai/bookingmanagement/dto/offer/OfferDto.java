@@ -1,18 +1,33 @@
 package com.hotelsystems.ai.bookingmanagement.dto.offer;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 import com.hotelsystems.ai.bookingmanagement.enums.OfferSource;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
+import java.io.IOException;
 import java.time.LocalDate;
 
 /**
  * Offer DTO
  * 
  * Normalized offer representation.
+ * 
+ * The payload may be given as a PayloadSource instead of a tree (supplier offers): it is built
+ * on the first getPayload(), and serialization writes it straight from the source, so
+ * responses and snapshots that never read it never materialize a tree.
+ * 
+ * Offers kept by the search cache are never handed out themselves; callers get copy()s.
  */
 @Data
 @Builder
@@ -63,6 +78,80 @@ public class OfferDto {
     /**
      * Raw payload (JsonNode or String) - holds supplier raw payload when needed
      */
+    @JsonIgnore
     private JsonNode payload;
+    
+    /**
+     * Payload not built yet (alternative to payload)
+     */
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient PayloadSource payloadSource;
+    
+    /**
+     * Payload, built from payloadSource on first access
+     */
+    public synchronized JsonNode getPayload() {
+        if (payload == null && payloadSource != null) {
+            payload = payloadSource.build();
+            payloadSource = null;
+        }
+        return payload;
+    }
+    
+    @JsonProperty("payload")
+    public synchronized void setPayload(JsonNode payload) {
+        this.payload = payload;
+        this.payloadSource = null;
+    }
+    
+    /**
+     * Copy that can be modified (and have its payload built) without affecting this offer.
+     * A payload not built yet stays unbuilt - the PayloadSource is shared, it only reads its
+     * inputs - and a built one is deep-copied.
+     */
+    public synchronized OfferDto copy() {
+        MoneyDto totalPriceCopy = totalPrice != null
+                ? new MoneyDto(totalPrice.getAmount(), totalPrice.getCurrency())
+                : null;
+        return new OfferDto(offerId, source, hotelId, roomTypeId, checkIn, checkOut, totalPriceCopy,
+                cancellationPolicySummary, payload != null ? payload.deepCopy() : null, payloadSource);
+    }
+    
+    /**
+     * Payload for serialization: the tree when built, otherwise written from payloadSource
+     */
+    @JsonProperty("payload")
+    synchronized Object serializedPayload() {
+        if (payload != null || payloadSource == null) {
+            return payload;
+        }
+        PayloadSource source = payloadSource;
+        return new JsonSerializable.Base() {
+            @Override
+            public void serialize(JsonGenerator json, SerializerProvider provider) throws IOException {
+                source.write(json);
+            }
+            
+            @Override
+            public void serializeWithType(JsonGenerator json, SerializerProvider provider, TypeSerializer typeSer)
+                    throws IOException {
+                source.write(json);
+            }
+        };
+    }
+    
+    /**
+     * A payload that is built or written on demand
+     * 
+     * build() and write() must produce the same JSON.
+     */
+    public interface PayloadSource {
+        
+        JsonNode build();
+        
+        void write(JsonGenerator json) throws IOException;
+    }
 }
 
@@ -0,0 +1,165 @@
+package com.hotelsystems.ai.bookingmanagement.dto.offer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.hotelsystems.ai.bookingmanagement.exception.BadRequestException;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Offer Projection
+ * 
+ * Which parts of each OfferDto a search response carries:
+ * 
+ * - view=full (default): every field, whole payload
+ * - view=summary: every field except payload
+ * - fields=a,b,payload.c: exactly these fields, added on top of the view when both are given;
+ *   payload.{key} selects single top-level payload keys (e.g. payload.rateKey)
+ * 
+ * Offers are written field by field straight to the JsonGenerator: omitted fields are never
+ * read, so a payload left out is never built (see OfferDto.PayloadSource). The whole payload
+ * is written from its source without a tree; a payload subset reads the (built) payload node.
+ */
+public final class OfferProjection {
+    
+    public static final String VIEW_FULL = "full";
+    public static final String VIEW_SUMMARY = "summary";
+    private static final String PAYLOAD_PREFIX = "payload.";
+    
+    public static final OfferProjection FULL = new OfferProjection(EnumSet.allOf(Field.class), true, Set.of());
+    public static final OfferProjection SUMMARY = new OfferProjection(EnumSet.allOf(Field.class), false, Set.of());
+    
+    /**
+     * Top-level OfferDto fields, in response order (payload is handled separately)
+     */
+    enum Field {
+        OFFER_ID("offerId", OfferDto::getOfferId),
+        SOURCE("source", OfferDto::getSource),
+        HOTEL_ID("hotelId", OfferDto::getHotelId),
+        ROOM_TYPE_ID("roomTypeId", OfferDto::getRoomTypeId),
+        CHECK_IN("checkIn", OfferDto::getCheckIn),
+        CHECK_OUT("checkOut", OfferDto::getCheckOut),
+        TOTAL_PRICE("totalPrice", OfferDto::getTotalPrice),
+        CANCELLATION_POLICY_SUMMARY("cancellationPolicySummary", OfferDto::getCancellationPolicySummary);
+        
+        private final String jsonName;
+        private final Function<OfferDto, Object> accessor;
+        
+        Field(String jsonName, Function<OfferDto, Object> accessor) {
+            this.jsonName = jsonName;
+            this.accessor = accessor;
+        }
+        
+        static Field byJsonName(String name) {
+            for (Field field : values()) {
+                if (field.jsonName.equals(name)) {
+                    return field;
+                }
+            }
+            return null;
+        }
+    }
+    
+    private final Set<Field> fields;
+    private final boolean wholePayload;
+    private final Set<String> payloadFields;
+    
+    private OfferProjection(Set<Field> fields, boolean wholePayload, Set<String> payloadFields) {
+        this.fields = fields;
+        this.wholePayload = wholePayload;
+        this.payloadFields = payloadFields;
+    }
+    
+    /**
+     * Resolve the projection for request parameters
+     * 
+     * @param view Predefined view (full, summary), null for full unless fields are given
+     * @param fields Comma-separated field selector, null for none
+     * @throws BadRequestException for an unknown view or field
+     */
+    public static OfferProjection of(String view, String fields) {
+        boolean hasView = StringUtils.hasText(view);
+        boolean hasFields = StringUtils.hasText(fields);
+        if (!hasFields) {
+            return hasView ? view(view) : FULL;
+        }
+        
+        OfferProjection base = hasView ? view(view) : null;
+        Set<Field> selected = base != null ? EnumSet.copyOf(base.fields) : EnumSet.noneOf(Field.class);
+        boolean wholePayload = base != null && base.wholePayload;
+        Set<String> payloadFields = new LinkedHashSet<>();
+        for (String name : fields.split(",")) {
+            name = name.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (name.equals("payload")) {
+                wholePayload = true;
+            } else if (name.startsWith(PAYLOAD_PREFIX) && name.length() > PAYLOAD_PREFIX.length()) {
+                payloadFields.add(name.substring(PAYLOAD_PREFIX.length()));
+            } else {
+                Field field = Field.byJsonName(name);
+                if (field == null) {
+                    throw new BadRequestException("Unknown offer field: " + name);
+                }
+                selected.add(field);
+            }
+        }
+        return new OfferProjection(selected, wholePayload,
+                wholePayload ? Set.of() : Collections.unmodifiableSet(payloadFields));
+    }
+    
+    private static OfferProjection view(String view) {
+        return switch (view.trim()) {
+            case VIEW_FULL -> FULL;
+            case VIEW_SUMMARY -> SUMMARY;
+            default -> throw new BadRequestException("Unknown offer view: " + view
+                    + " (expected " + VIEW_FULL + " or " + VIEW_SUMMARY + ")");
+        };
+    }
+    
+    /**
+     * True if offers are written unchanged (plain OfferDto serialization applies)
+     */
+    public boolean isFull() {
+        return wholePayload && fields.size() == Field.values().length;
+    }
+    
+    /**
+     * Write one offer with the selected fields
+     */
+    public void write(OfferDto offer, JsonGenerator json, SerializerProvider provider) throws IOException {
+        json.writeStartObject();
+        for (Field field : fields) {
+            provider.defaultSerializeField(field.jsonName, field.accessor.apply(offer), json);
+        }
+        if (wholePayload) {
+            provider.defaultSerializeField("payload", offer.serializedPayload(), json);
+        } else if (!payloadFields.isEmpty()) {
+            writePayloadFields(offer.getPayload(), json, provider);
+        }
+        json.writeEndObject();
+    }
+    
+    private void writePayloadFields(JsonNode payload, JsonGenerator json, SerializerProvider provider) throws IOException {
+        if (payload == null || !payload.isObject()) {
+            provider.defaultSerializeField("payload", payload, json);
+            return;
+        }
+        json.writeObjectFieldStart("payload");
+        for (String key : payloadFields) {
+            JsonNode value = payload.get(key);
+            if (value != null) {
+                provider.defaultSerializeField(key, value, json);
+            }
+        }
+        json.writeEndObject();
+    }
+}
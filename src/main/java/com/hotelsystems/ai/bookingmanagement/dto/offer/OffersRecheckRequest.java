@@ -30,29 +30,26 @@ public class OffersRecheckRequest {
     private JsonNode offerPayload;
     
     /**
-     * Check-in date
+     * Check-in date (optional when offerId resolves to an issued offer)
      */
-    @NotNull(message = "Check-in date is required")
     private LocalDate checkIn;
     
     /**
-     * Check-out date
+     * Check-out date (optional when offerId resolves to an issued offer)
      */
-    @NotNull(message = "Check-out date is required")
     private LocalDate checkOut;
     
     /**
-     * Number of guests
+     * Number of guests (required; never taken from the issued offer)
      */
     @NotNull(message = "Number of guests is required")
     @Min(value = 1, message = "Number of guests must be at least 1")
     private Integer guests;
     
     /**
-     * Number of rooms
+     * Number of rooms (optional, defaults to 1)
      */
     @Min(value = 1, message = "Number of rooms must be at least 1")
-    @Builder.Default
-    private Integer roomsCount = 1;
+    private Integer roomsCount;
 }
 
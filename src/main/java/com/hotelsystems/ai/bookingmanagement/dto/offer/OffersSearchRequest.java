@@ -43,5 +43,10 @@ public class OffersSearchRequest {
     @Min(value = 1, message = "Number of rooms must be at least 1")
     @Builder.Default
     private Integer roomsCount = 1;
+    
+    /**
+     * Query owner and supplier sources concurrently and merge whatever answers in time
+     * (optional, default from offers.search.fan-out-default)
+     */
+    private Boolean fanOut;
 }
-
@@ -1,5 +1,6 @@
 package com.hotelsystems.ai.bookingmanagement.dto.offer;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -20,5 +21,16 @@ public class OffersSearchResponse {
      * List of offers
      */
     private List<OfferDto> offers;
+    
+    /**
+     * Per-source outcome (fan-out searches only)
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<SourceResultDto> sources;
+    
+    /**
+     * True when at least one source timed out or failed (fan-out searches only)
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean partial;
 }
-
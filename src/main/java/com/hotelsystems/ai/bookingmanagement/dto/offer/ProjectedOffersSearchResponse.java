@@ -0,0 +1,61 @@
+package com.hotelsystems.ai.bookingmanagement.dto.offer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+
+/**
+ * Projected Offers Search Response
+ * 
+ * OffersSearchResponse written through an OfferProjection. Same JSON shape as
+ * OffersSearchResponse (sources and partial only when set); each offer carries only the
+ * projected fields.
+ */
+public class ProjectedOffersSearchResponse extends JsonSerializable.Base {
+    
+    private final OffersSearchResponse response;
+    private final OfferProjection projection;
+    
+    public ProjectedOffersSearchResponse(OffersSearchResponse response, OfferProjection projection) {
+        this.response = response;
+        this.projection = projection;
+    }
+    
+    public OffersSearchResponse getResponse() {
+        return response;
+    }
+    
+    public OfferProjection getProjection() {
+        return projection;
+    }
+    
+    @Override
+    public void serialize(JsonGenerator json, SerializerProvider provider) throws IOException {
+        json.writeStartObject();
+        if (response.getOffers() == null) {
+            json.writeNullField("offers");
+        } else {
+            json.writeArrayFieldStart("offers");
+            for (OfferDto offer : response.getOffers()) {
+                projection.write(offer, json, provider);
+            }
+            json.writeEndArray();
+        }
+        if (response.getSources() != null) {
+            provider.defaultSerializeField("sources", response.getSources(), json);
+        }
+        if (response.getPartial() != null) {
+            json.writeBooleanField("partial", response.getPartial());
+        }
+        json.writeEndObject();
+    }
+    
+    @Override
+    public void serializeWithType(JsonGenerator json, SerializerProvider provider, TypeSerializer typeSer)
+            throws IOException {
+        serialize(json, provider);
+    }
+}
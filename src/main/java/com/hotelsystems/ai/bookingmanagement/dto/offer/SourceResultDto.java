@@ -0,0 +1,40 @@
+package com.hotelsystems.ai.bookingmanagement.dto.offer;
+
+import com.hotelsystems.ai.bookingmanagement.enums.OfferSource;
+import com.hotelsystems.ai.bookingmanagement.enums.SourceSearchStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Source Result DTO
+ * 
+ * Per-source outcome of a fan-out offer search.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SourceResultDto {
+    
+    /**
+     * Offer source (OWNER or SUPPLIER)
+     */
+    private OfferSource source;
+    
+    /**
+     * OK, TIMED_OUT or FAILED
+     */
+    private SourceSearchStatus status;
+    
+    /**
+     * Number of offers this source contributed
+     */
+    private int offerCount;
+    
+    /**
+     * Time until the source answered, or until its deadline passed
+     */
+    private long latencyMs;
+}
@@ -0,0 +1,33 @@
+package com.hotelsystems.ai.bookingmanagement.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cart Line DTO
+ * 
+ * One room type line of a multi-room-type (cart) owner booking.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartLineDto {
+    
+    /**
+     * Room type to reserve
+     */
+    @NotBlank(message = "Cart line room type ID is required")
+    private String roomTypeId;
+    
+    /**
+     * Number of rooms of this type (minimum 1)
+     */
+    @Min(value = 1, message = "Cart line rooms must be at least 1")
+    @Builder.Default
+    private Integer rooms = 1;
+}
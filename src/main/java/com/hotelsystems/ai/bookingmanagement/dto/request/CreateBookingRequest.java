@@ -20,6 +20,7 @@ import java.util.List;
  * - Offer references
  * - Price/policy snapshots
  * - Idempotency key
+ * - Booking by offerId plus occupancy and guests (see BookingOrchestrationService.applyOfferSnapshot)
  * 
  * Note: Existing fields (guestName, guestEmail, guestPhone) are kept for backward compatibility.
  * When guests list is provided, it takes precedence.
@@ -30,16 +31,13 @@ import java.util.List;
 @AllArgsConstructor
 public class CreateBookingRequest {
     
-    @NotBlank(message = "Hotel ID is required")
+    // Required unless offerId resolves to an issued offer; validated in service layer
     private String hotelId;
     
-    @NotBlank(message = "Room type ID is required")
     private String roomTypeId;
     
-    @NotNull(message = "Check-in date is required")
     private LocalDate checkIn;
     
-    @NotNull(message = "Check-out date is required")
     private LocalDate checkOut;
     
     // Legacy guest fields (kept for backward compatibility)
@@ -74,7 +72,8 @@ public class CreateBookingRequest {
     private List<GuestDto> guests;
     
     /**
-     * Offer ID reference (optional)
+     * Offer ID reference (optional).
+     * When it resolves to an issued offer, hotel, room type, dates, payload and price are taken from it.
      */
     private String offerId;
     
@@ -96,7 +95,7 @@ public class CreateBookingRequest {
     private String idempotencyKey;
     
     /**
-     * Number of rooms (optional, defaults to 1)
+     * Number of rooms (optional, defaults to 1; required with offerId unless cartLines are sent)
      */
     private Integer roomsCount;
     
@@ -104,4 +103,11 @@ public class CreateBookingRequest {
      * Children ages as list of integers (optional, required if children > 0)
      */
     private List<Integer> childrenAges;
+    
+    /**
+     * Cart lines for a multi-room-type owner booking (optional).
+     * When provided, every line is reserved atomically on confirm and roomsCount becomes the total.
+     */
+    @Valid
+    private List<CartLineDto> cartLines;
 }
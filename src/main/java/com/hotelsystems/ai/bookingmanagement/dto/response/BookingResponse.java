@@ -1,5 +1,6 @@
 package com.hotelsystems.ai.bookingmanagement.dto.response;
 
+import com.hotelsystems.ai.bookingmanagement.dto.request.CartLineDto;
 import com.hotelsystems.ai.bookingmanagement.dto.request.GuestDto;
 import com.hotelsystems.ai.bookingmanagement.dto.request.OccupancyDto;
 import com.hotelsystems.ai.bookingmanagement.dto.request.PolicySnapshotDto;
@@ -134,4 +135,9 @@ public class BookingResponse {
      * Idempotency key (if provided during booking creation)
      */
     private String idempotencyKey;
+    
+    /**
+     * Cart lines (multi-room-type owner bookings only)
+     */
+    private List<CartLineDto> cartLines;
 }
@@ -34,6 +34,11 @@ public enum BookingStatus {
     /**
      * Booking has been cancelled
      */
-    CANCELLED
+    CANCELLED,
+    
+    /**
+     * Draft was not confirmed before its expiresAt deadline
+     */
+    EXPIRED
 }
 
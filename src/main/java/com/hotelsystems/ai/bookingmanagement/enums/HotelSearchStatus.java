@@ -0,0 +1,28 @@
+package com.hotelsystems.ai.bookingmanagement.enums;
+
+/**
+ * Hotel Search Status Enum
+ * 
+ * Outcome of one hotel in a multi-hotel offer search.
+ */
+public enum HotelSearchStatus {
+    /**
+     * Search completed; offers (possibly none) are in the result
+     */
+    OK,
+    
+    /**
+     * No active hotel for the requested slug or hotelId
+     */
+    NOT_FOUND,
+    
+    /**
+     * Search did not finish before the overall deadline
+     */
+    TIMED_OUT,
+    
+    /**
+     * Search failed; see the error message
+     */
+    FAILED
+}
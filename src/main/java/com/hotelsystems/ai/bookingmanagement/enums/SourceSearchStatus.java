@@ -0,0 +1,29 @@
+package com.hotelsystems.ai.bookingmanagement.enums;
+
+/**
+ * Source Search Status Enum
+ * 
+ * Outcome of one offer source in a fan-out search.
+ */
+public enum SourceSearchStatus {
+    /**
+     * Source answered before its deadline
+     */
+    OK,
+    
+    /**
+     * Source missed its deadline; its offers are not in the response
+     */
+    TIMED_OUT,
+    
+    /**
+     * Source call failed; its offers are not in the response
+     */
+    FAILED,
+    
+    /**
+     * Source does not serve this hotel (e.g. no active supplier mapping), so it was not searched;
+     * does not make the response partial
+     */
+    SKIPPED
+}
@@ -1,5 +1,6 @@
 package com.hotelsystems.ai.bookingmanagement.exception;
 
+import com.hotelsystems.ai.bookingmanagement.supplier.error.SupplierUnavailableException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -152,6 +153,27 @@ public class BookingExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
     
+    /**
+     * Handle SupplierUnavailableException (503) - supplier circuit breaker open or bulkhead full
+     */
+    @ExceptionHandler(SupplierUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleSupplierUnavailableException(
+            SupplierUnavailableException ex,
+            HttpServletRequest request) {
+        
+        log.warn("Supplier unavailable ({}): {}", ex.getErrorCode(), ex.getMessage());
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(Instant.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase())
+                .message("Supplier temporarily unavailable")
+                .path(request.getRequestURI())
+                .build();
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+    
     /**
      * Handle all other exceptions (500)
      */
@@ -0,0 +1,80 @@
+package com.hotelsystems.ai.bookingmanagement.ownerinventory.availability;
+
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.InventoryAllotmentEntity;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * Immutable per-(hotel, room type) availability snapshot indexed by day offset from startDate.
+ * Nights without an allotment row are absent from {@code present}; stop-sell nights are set in {@code stopSell}.
+ * Instances are never mutated after construction, so readers need no locking.
+ */
+final class AvailabilityGrid {
+    
+    private final LocalDate startDate;
+    private final int[] available;
+    private final BitSet present;
+    private final BitSet stopSell;
+    private final long loadedAtMillis;
+    
+    private AvailabilityGrid(LocalDate startDate, int[] available, BitSet present, BitSet stopSell, long loadedAtMillis) {
+        this.startDate = startDate;
+        this.available = available;
+        this.present = present;
+        this.stopSell = stopSell;
+        this.loadedAtMillis = loadedAtMillis;
+    }
+    
+    /**
+     * Builds a grid covering [startDate, startDate + days) from allotment rows.
+     */
+    static AvailabilityGrid fromAllotments(LocalDate startDate, int days, List<InventoryAllotmentEntity> allotments, long nowMillis) {
+        int[] available = new int[days];
+        BitSet present = new BitSet(days);
+        BitSet stopSell = new BitSet(days);
+        
+        for (InventoryAllotmentEntity allotment : allotments) {
+            long offset = ChronoUnit.DAYS.between(startDate, allotment.getDate());
+            if (offset < 0 || offset >= days) {
+                continue;
+            }
+            int i = (int) offset;
+            present.set(i);
+            if (allotment.isStopSell()) {
+                stopSell.set(i);
+            }
+            available[i] = Math.max(0, allotment.getAllotmentQty() - allotment.getReservedQty());
+        }
+        
+        return new AvailabilityGrid(startDate, available, present, stopSell, nowMillis);
+    }
+    
+    /**
+     * Minimum available rooms over [checkIn, checkOut), or empty if the stay is outside this grid.
+     */
+    OptionalInt minAvailable(LocalDate checkIn, LocalDate checkOut) {
+        long from = ChronoUnit.DAYS.between(startDate, checkIn);
+        long to = ChronoUnit.DAYS.between(startDate, checkOut);
+        if (from < 0 || to > available.length || from >= to) {
+            return OptionalInt.empty();
+        }
+        
+        int min = Integer.MAX_VALUE;
+        for (int i = (int) from; i < to; i++) {
+            // Missing allotment row or stopSell -> availability = 0
+            if (!present.get(i) || stopSell.get(i)) {
+                return OptionalInt.of(0);
+            }
+            min = Math.min(min, available[i]);
+        }
+        return OptionalInt.of(min);
+    }
+    
+    boolean isExpired(long nowMillis, long maxAgeMs) {
+        return nowMillis - loadedAtMillis > maxAgeMs;
+    }
+}
@@ -0,0 +1,288 @@
+package com.hotelsystems.ai.bookingmanagement.ownerinventory.availability;
+
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.config.AvailabilityCacheProperties;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.InventoryAllotmentEntity;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.InventoryAllotmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process cache of per-(hotel, room type) availability grids for the search path.
+ * 
+ * Each grid covers [today, today + horizonDays) and answers minAvailable with an array scan,
+ * so repeated searches do not hit the database. Grids are evicted on every inventory write
+ * (and again after the writing transaction completes) and reloaded lazily.
+ * 
+ * The reservation path never trusts this cache: it validates against locked rows, so a stale
+ * grid can at worst show a room that the subsequent reserve rejects - it cannot oversell.
+ * 
+ * Lookups take no lock: grids live in a ConcurrentHashMap and a hit only stamps its entry's
+ * last access time. Once a load pushes the cache past maxEntries, the entries with the oldest
+ * stamps are evicted (approximately LRU: concurrent hits may land in either order).
+ */
+@Component
+public class AvailabilityGridCache {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityGridCache.class);
+    
+    private final InventoryAllotmentRepository allotmentRepository;
+    private final AvailabilityCacheProperties properties;
+    private final Clock clock;
+    
+    private final ConcurrentHashMap<String, Entry> grids = new ConcurrentHashMap<>(256);
+    // Token per in-flight load; eviction drops it so a load that raced with a write is not installed.
+    // Holds only keys being loaded
+    private final ConcurrentHashMap<String, Object> loads = new ConcurrentHashMap<>();
+    
+    public AvailabilityGridCache(InventoryAllotmentRepository allotmentRepository,
+                                 AvailabilityCacheProperties properties) {
+        this(allotmentRepository, properties, Clock.systemUTC());
+    }
+    
+    AvailabilityGridCache(InventoryAllotmentRepository allotmentRepository,
+                          AvailabilityCacheProperties properties,
+                          Clock clock) {
+        this.allotmentRepository = allotmentRepository;
+        this.properties = properties;
+        this.clock = clock;
+    }
+    
+    /**
+     * Returns the minimum available rooms over [checkIn, checkOut) from the cached grid.
+     * 
+     * @return the value, or empty if the cache is disabled or the stay falls outside the grid window
+     */
+    public OptionalInt minAvailable(String hotelId, String roomTypeId, LocalDate checkIn, LocalDate checkOut) {
+        if (!properties.isEnabled()) {
+            return OptionalInt.empty();
+        }
+        
+        LocalDate today = LocalDate.now(clock);
+        LocalDate horizonEnd = today.plusDays(properties.getHorizonDays());
+        if (checkIn.isBefore(today) || checkOut.isAfter(horizonEnd)) {
+            return OptionalInt.empty();
+        }
+        
+        AvailabilityGrid grid = cached(key(hotelId, roomTypeId), clock.millis());
+        if (grid == null) {
+            grid = load(hotelId, List.of(roomTypeId), today).get(roomTypeId);
+        }
+        return grid.minAvailable(checkIn, checkOut);
+    }
+    
+    /**
+     * Returns the minimum available rooms over [checkIn, checkOut) for several room types of one hotel.
+     * 
+     * Grids that are missing or expired are loaded together with one hotel-wide query, so a cold
+     * cache costs one query no matter how many room types are requested.
+     * 
+     * @return the value per room type, or an empty map if the cache is disabled or the stay falls
+     *         outside the grid window
+     */
+    public Map<String, OptionalInt> minAvailableByRoomType(String hotelId, Collection<String> roomTypeIds,
+                                                           LocalDate checkIn, LocalDate checkOut) {
+        if (!properties.isEnabled()) {
+            return Map.of();
+        }
+        
+        LocalDate today = LocalDate.now(clock);
+        LocalDate horizonEnd = today.plusDays(properties.getHorizonDays());
+        if (checkIn.isBefore(today) || checkOut.isAfter(horizonEnd)) {
+            return Map.of();
+        }
+        
+        long now = clock.millis();
+        Map<String, AvailabilityGrid> found = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String roomTypeId : roomTypeIds) {
+            AvailabilityGrid grid = cached(key(hotelId, roomTypeId), now);
+            if (grid == null) {
+                misses.add(roomTypeId);
+            } else {
+                found.put(roomTypeId, grid);
+            }
+        }
+        if (!misses.isEmpty()) {
+            found.putAll(load(hotelId, misses, today));
+        }
+        
+        Map<String, OptionalInt> result = new HashMap<>();
+        for (String roomTypeId : roomTypeIds) {
+            result.put(roomTypeId, found.get(roomTypeId).minAvailable(checkIn, checkOut));
+        }
+        return result;
+    }
+    
+    /**
+     * Evicts the grid for a hotel/room type. When called inside a transaction the grid is
+     * evicted again after completion, so a reload during the transaction cannot survive it.
+     */
+    public void invalidate(String hotelId, String roomTypeId) {
+        String key = key(hotelId, roomTypeId);
+        evict(key);
+        afterCompletion(() -> evict(key));
+    }
+    
+    /**
+     * Evicts all grids for a hotel (used when the affected room types are not known),
+     * again after completion when called inside a transaction.
+     */
+    public void invalidateHotel(String hotelId) {
+        String prefix = hotelId + "|";
+        evictPrefix(prefix);
+        afterCompletion(() -> evictPrefix(prefix));
+    }
+    
+    int size() {
+        return grids.size();
+    }
+    
+    /**
+     * Returns the cached grid and marks it used, or null when it is missing or expired
+     */
+    private AvailabilityGrid cached(String key, long now) {
+        Entry entry = grids.get(key);
+        if (entry == null || entry.grid.isExpired(now, properties.getMaxAgeMs())) {
+            return null;
+        }
+        entry.lastAccessNanos = System.nanoTime();
+        return entry.grid;
+    }
+    
+    /**
+     * Loads the grids of the given room types with a single query: filtered by room type when
+     * there is one, hotel-wide otherwise. Room types without allotment rows get an empty grid.
+     */
+    private Map<String, AvailabilityGrid> load(String hotelId, List<String> roomTypeIds, LocalDate today) {
+        Map<String, Object> tokens = new HashMap<>();
+        for (String roomTypeId : roomTypeIds) {
+            Object token = new Object();
+            tokens.put(roomTypeId, token);
+            loads.put(key(hotelId, roomTypeId), token);
+        }
+        int days = properties.getHorizonDays();
+        
+        List<InventoryAllotmentEntity> allotments;
+        try {
+            String roomTypeFilter = roomTypeIds.size() == 1 ? roomTypeIds.get(0) : null;
+            allotments = allotmentRepository
+                .findByHotelIdAndOptionalRoomTypeIdAndDateRange(hotelId, roomTypeFilter, today, today.plusDays(days));
+        } catch (RuntimeException e) {
+            tokens.forEach((roomTypeId, token) -> loads.remove(key(hotelId, roomTypeId), token));
+            throw e;
+        }
+        
+        Map<String, List<InventoryAllotmentEntity>> byRoomType = new HashMap<>();
+        for (InventoryAllotmentEntity allotment : allotments) {
+            if (tokens.containsKey(allotment.getRoomTypeId())) {
+                byRoomType.computeIfAbsent(allotment.getRoomTypeId(), k -> new ArrayList<>()).add(allotment);
+            }
+        }
+        long loadedAt = clock.millis();
+        Map<String, AvailabilityGrid> loaded = new HashMap<>();
+        for (String roomTypeId : roomTypeIds) {
+            loaded.put(roomTypeId, AvailabilityGrid.fromAllotments(
+                today, days, byRoomType.getOrDefault(roomTypeId, List.of()), loadedAt));
+        }
+        
+        // Only install grids whose key no write invalidated (and no newer load claimed) while we were loading.
+        // The token check runs inside compute, so it is atomic with respect to evict's grids.remove
+        for (String roomTypeId : roomTypeIds) {
+            String key = key(hotelId, roomTypeId);
+            Object token = tokens.get(roomTypeId);
+            grids.compute(key, (k, current) -> {
+                if (loads.remove(k, token)) {
+                    return new Entry(loaded.get(roomTypeId));
+                }
+                logger.debug("Discarding availability grid load for {} - invalidated during load", k);
+                return current;
+            });
+        }
+        if (grids.size() > properties.getMaxEntries()) {
+            evictOverflow();
+        }
+        return loaded;
+    }
+    
+    // Token first: a load installing after this finds its token gone, one that installed before is removed below
+    private void evict(String key) {
+        loads.remove(key);
+        grids.remove(key);
+    }
+    
+    private void evictPrefix(String prefix) {
+        loads.keySet().removeIf(key -> key.startsWith(prefix));
+        grids.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+    
+    /**
+     * Keeps the cache within maxEntries by dropping the grids with the oldest access stamps.
+     * Runs only after a load overflows the cache, so the scan is paid on the (database-bound)
+     * miss path, never on a hit; synchronized so concurrent loads do not evict twice.
+     */
+    private synchronized void evictOverflow() {
+        int excess = grids.size() - properties.getMaxEntries();
+        if (excess <= 0) {
+            return;
+        }
+        // The excess eldest entries, youngest of them on top
+        PriorityQueue<Map.Entry<String, Entry>> eldest = new PriorityQueue<>(
+            Comparator.comparingLong((Map.Entry<String, Entry> e) -> e.getValue().lastAccessNanos).reversed());
+        for (Map.Entry<String, Entry> entry : grids.entrySet()) {
+            eldest.add(entry);
+            if (eldest.size() > excess) {
+                eldest.poll();
+            }
+        }
+        for (Map.Entry<String, Entry> entry : eldest) {
+            grids.remove(entry.getKey(), entry.getValue());
+        }
+    }
+    
+    /**
+     * Runs the eviction again after the current transaction completes, so a grid reloaded
+     * from not-yet-committed (or rolled back) rows cannot survive it.
+     */
+    private static void afterCompletion(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+    
+    private static String key(String hotelId, String roomTypeId) {
+        return hotelId + "|" + roomTypeId;
+    }
+    
+    /**
+     * A cached grid and when it was last used (System.nanoTime, written racily by lookups)
+     */
+    private static final class Entry {
+        
+        private final AvailabilityGrid grid;
+        private volatile long lastAccessNanos = System.nanoTime();
+        
+        Entry(AvailabilityGrid grid) {
+            this.grid = grid;
+        }
+    }
+}
@@ -1,39 +1,44 @@
 package com.hotelsystems.ai.bookingmanagement.ownerinventory.availability;
 
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.InventoryAllotmentEntity;
-import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.InventoryReservationEntity;
-import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.ReservationStatus;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.InventoryAllotmentRepository;
-import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.InventoryReservationRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalInt;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
- * Service for calculating availability based on allotments and reservations.
+ * Service for calculating availability based on allotments and reserved counters.
  * Nights are calculated as [checkIn, checkOut) - checkIn inclusive, checkOut exclusive.
  */
 @Service
 public class AvailabilityService {
     
     private final InventoryAllotmentRepository allotmentRepository;
-    private final InventoryReservationRepository reservationRepository;
+    private final AvailabilityGridCache gridCache;
     
-    public AvailabilityService(
-            InventoryAllotmentRepository allotmentRepository,
-            InventoryReservationRepository reservationRepository) {
+    public AvailabilityService(InventoryAllotmentRepository allotmentRepository,
+                               AvailabilityGridCache gridCache) {
         this.allotmentRepository = allotmentRepository;
-        this.reservationRepository = reservationRepository;
+        this.gridCache = gridCache;
     }
     
     /**
      * Returns the minimum available rooms across all nights in the date range.
      * 
+     * Served from the in-memory availability grid when the stay is inside the cached window;
+     * otherwise reads the maintained reserved_qty counters on inventory_allotments with a
+     * single indexed range scan computing MIN(allotment_qty - reserved_qty).
+     * 
      * @param hotelId Hotel identifier
      * @param roomTypeId Room type identifier
      * @param checkIn Check-in date (inclusive)
@@ -42,52 +47,127 @@ public class AvailabilityService {
      */
     @Transactional(readOnly = true)
     public int minAvailable(String hotelId, String roomTypeId, LocalDate checkIn, LocalDate checkOut) {
-        // Load allotments for the date range [checkIn, checkOut)
-        List<InventoryAllotmentEntity> allotments = allotmentRepository
-            .findByHotelIdAndRoomTypeIdAndDateBetween(hotelId, roomTypeId, checkIn, checkOut.minusDays(1));
+        long expectedNights = ChronoUnit.DAYS.between(checkIn, checkOut);
+        if (expectedNights <= 0) {
+            return 0;
+        }
         
-        // Create a map for quick lookup: date -> allotment
-        Map<LocalDate, InventoryAllotmentEntity> allotmentMap = allotments.stream()
-            .collect(Collectors.toMap(InventoryAllotmentEntity::getDate, a -> a));
+        OptionalInt cached = gridCache.minAvailable(hotelId, roomTypeId, checkIn, checkOut);
+        if (cached.isPresent()) {
+            return cached.getAsInt();
+        }
         
-        // Load all overlapping reservations with RESERVED status
-        List<InventoryReservationEntity> reservations = reservationRepository
-            .findByHotelIdAndRoomTypeIdAndStatusAndCheckInLessThanAndCheckOutGreaterThan(
-                hotelId, roomTypeId, ReservationStatus.RESERVED, checkOut, checkIn);
+        InventoryAllotmentRepository.AvailabilityWindow window = allotmentRepository
+            .findAvailabilityWindow(hotelId, roomTypeId, checkIn, checkOut);
         
-        int minAvailable = Integer.MAX_VALUE;
+        // Rule: If any allotment row is missing -> availability = 0
+        if (window == null || window.getNights() == null || window.getNights() < expectedNights) {
+            return 0;
+        }
         
-        // Iterate through each night [checkIn, checkOut)
-        LocalDate currentDate = checkIn;
-        while (currentDate.isBefore(checkOut)) {
-            final LocalDate night = currentDate; // Make effectively final for lambda
-            InventoryAllotmentEntity allotment = allotmentMap.get(night);
-            
-            // Rule: If allotment row is missing -> availability = 0
-            if (allotment == null) {
-                return 0;
+        // Rule: If stopSell = true on any night -> availability = 0
+        if (window.getStopSellNights() != null && window.getStopSellNights() > 0) {
+            return 0;
+        }
+        
+        // availableNight = max(0, allotmentQty - reservedQty), minimum across the stay
+        return window.getMinAvailable() == null ? 0 : Math.max(0, window.getMinAvailable());
+    }
+    
+    /**
+     * Returns the minimum available rooms for several room types of one hotel over the same stay.
+     * 
+     * Inside the grid window every room type is answered from the grid cache, which loads all
+     * missing grids with one hotel-wide query; outside it the room types are resolved together
+     * with one hotel-wide allotment range scan. Either way the number of queries does not grow
+     * with the number of room types.
+     * 
+     * @param hotelId Hotel identifier
+     * @param roomTypeIds Room type identifiers to evaluate
+     * @param checkIn Check-in date (inclusive)
+     * @param checkOut Check-out date (exclusive)
+     * @return Minimum available rooms per room type (0 if any night is unavailable), in input order
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Integer> minAvailableByRoomType(String hotelId, Collection<String> roomTypeIds,
+                                                       LocalDate checkIn, LocalDate checkOut) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        long expectedNights = ChronoUnit.DAYS.between(checkIn, checkOut);
+        if (expectedNights <= 0) {
+            roomTypeIds.forEach(id -> result.put(id, 0));
+            return result;
+        }
+        
+        Map<String, OptionalInt> cachedByRoomType = gridCache.minAvailableByRoomType(hotelId, roomTypeIds, checkIn, checkOut);
+        List<String> misses = new ArrayList<>();
+        for (String roomTypeId : roomTypeIds) {
+            OptionalInt cached = cachedByRoomType.getOrDefault(roomTypeId, OptionalInt.empty());
+            if (cached.isPresent()) {
+                result.put(roomTypeId, cached.getAsInt());
+            } else {
+                result.put(roomTypeId, 0);
+                misses.add(roomTypeId);
             }
-            
-            // Rule: If stopSell = true -> availability = 0
-            if (allotment.isStopSell()) {
-                return 0;
+        }
+        if (misses.isEmpty()) {
+            return result;
+        }
+        
+        // One range scan for the whole hotel, folded per room type
+        Map<String, int[]> windows = new HashMap<>(); // roomTypeId -> {nights, minAvailable}
+        List<InventoryAllotmentEntity> allotments = allotmentRepository
+            .findByHotelIdAndOptionalRoomTypeIdAndDateRange(hotelId, null, checkIn, checkOut);
+        for (InventoryAllotmentEntity allotment : allotments) {
+            int[] window = windows.computeIfAbsent(allotment.getRoomTypeId(), k -> new int[] {0, Integer.MAX_VALUE});
+            window[0]++;
+            // Rule: If stopSell = true on any night -> availability = 0
+            int available = allotment.isStopSell() ? 0 : allotment.getAllotmentQty() - allotment.getReservedQty();
+            window[1] = Math.min(window[1], available);
+        }
+        
+        for (String roomTypeId : misses) {
+            int[] window = windows.get(roomTypeId);
+            // Rule: If any allotment row is missing -> availability = 0
+            if (window != null && window[0] >= expectedNights) {
+                result.put(roomTypeId, Math.max(0, window[1]));
             }
-            
-            // Calculate reservedCount: sum of roomsCount from RESERVED reservations that overlap this night
-            int reservedCount = reservations.stream()
-                .filter(reservation -> overlapsNight(reservation, night))
-                .mapToInt(InventoryReservationEntity::getRoomsCount)
-                .sum();
-            
-            // Calculate availableNight = max(0, allotmentQty - reservedCount)
-            int availableNight = Math.max(0, allotment.getAllotmentQty() - reservedCount);
-            
-            minAvailable = Math.min(minAvailable, availableNight);
-            
-            currentDate = currentDate.plusDays(1);
+        }
+        return result;
+    }
+    
+    /**
+     * Returns per-night availability for several room types of one hotel over a date window.
+     * 
+     * One hotel-wide allotment range scan; the maintained reserved_qty counters already carry
+     * every RESERVED reservation, so no reservation rows are read. Each allotment row is
+     * visited once and written into its room type's night array.
+     * 
+     * @param hotelId Hotel identifier
+     * @param roomTypeIds Room type identifiers to include (every one gets an entry)
+     * @param startDate Start date (inclusive)
+     * @param endDate End date (exclusive)
+     * @return Nightly availability per room type, in input order
+     */
+    @Transactional(readOnly = true)
+    public Map<String, NightlyAvailability> nightlyAvailability(String hotelId, Collection<String> roomTypeIds,
+                                                                LocalDate startDate, LocalDate endDate) {
+        int nights = (int) Math.max(0, ChronoUnit.DAYS.between(startDate, endDate));
+        Map<String, NightlyAvailability> result = new LinkedHashMap<>();
+        roomTypeIds.forEach(id -> result.put(id, new NightlyAvailability(id, startDate, nights)));
+        if (nights == 0 || result.isEmpty()) {
+            return result;
         }
         
-        return minAvailable == Integer.MAX_VALUE ? 0 : minAvailable;
+        List<InventoryAllotmentEntity> allotments = allotmentRepository
+            .findByHotelIdAndOptionalRoomTypeIdAndDateRange(hotelId, null, startDate, endDate);
+        for (InventoryAllotmentEntity allotment : allotments) {
+            NightlyAvailability nightly = result.get(allotment.getRoomTypeId());
+            if (nightly != null) {
+                int offset = (int) ChronoUnit.DAYS.between(startDate, allotment.getDate());
+                nightly.set(offset, allotment.getAllotmentQty() - allotment.getReservedQty(), allotment.isStopSell());
+            }
+        }
+        return result;
     }
     
     /**
@@ -119,17 +199,5 @@ public class AvailabilityService {
     public boolean isAvailable(UUID hotelId, UUID roomTypeId, LocalDate checkIn, LocalDate checkOut) {
         return isBookable(hotelId.toString(), roomTypeId.toString(), checkIn, checkOut, 1);
     }
-    
-    /**
-     * Checks if a reservation overlaps a specific night.
-     * A reservation overlaps a night if: reservation.checkIn <= night < reservation.checkOut
-     * 
-     * @param reservation The reservation to check
-     * @param night The night date to check
-     * @return true if the reservation overlaps the night, false otherwise
-     */
-    private boolean overlapsNight(InventoryReservationEntity reservation, LocalDate night) {
-        return !night.isBefore(reservation.getCheckIn()) && night.isBefore(reservation.getCheckOut());
-    }
 }
 
@@ -0,0 +1,22 @@
+package com.hotelsystems.ai.bookingmanagement.ownerinventory.availability;
+
+import java.time.LocalDate;
+
+/**
+ * Callback for components that keep derived owner-inventory state (e.g. search result caches)
+ * outside this module. Beans implementing it are notified by InventoryChangeNotifier whenever
+ * allotments or reserved counters change.
+ */
+public interface InventoryChangeListener {
+    
+    /**
+     * Inventory of a room type changed for nights in [startDate, endDate).
+     * Must be cheap and must not throw; it runs on the writing thread.
+     * 
+     * @param hotelId Hotel identifier
+     * @param roomTypeId Room type identifier
+     * @param startDate First affected night (inclusive)
+     * @param endDate Last affected night (exclusive)
+     */
+    void onInventoryChanged(String hotelId, String roomTypeId, LocalDate startDate, LocalDate endDate);
+}
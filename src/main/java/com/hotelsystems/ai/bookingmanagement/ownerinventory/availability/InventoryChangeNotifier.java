@@ -0,0 +1,60 @@
+package com.hotelsystems.ai.bookingmanagement.ownerinventory.availability;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Fans inventory writes out to every InventoryChangeListener bean.
+ * 
+ * Same timing as AvailabilityGridCache.invalidate: listeners are called immediately and, when a
+ * transaction is active, once more after it completes, so a reload that raced with the write
+ * cannot outlive it.
+ */
+@Component
+public class InventoryChangeNotifier {
+    
+    private static final Logger logger = LoggerFactory.getLogger(InventoryChangeNotifier.class);
+    
+    private final List<InventoryChangeListener> listeners;
+    
+    public InventoryChangeNotifier(ObjectProvider<InventoryChangeListener> listeners) {
+        this.listeners = listeners.orderedStream().toList();
+    }
+    
+    /**
+     * Notifies listeners that nights [startDate, endDate) of a room type changed.
+     */
+    public void inventoryChanged(String hotelId, String roomTypeId, LocalDate startDate, LocalDate endDate) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        notifyListeners(hotelId, roomTypeId, startDate, endDate);
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    notifyListeners(hotelId, roomTypeId, startDate, endDate);
+                }
+            });
+        }
+    }
+    
+    private void notifyListeners(String hotelId, String roomTypeId, LocalDate startDate, LocalDate endDate) {
+        for (InventoryChangeListener listener : listeners) {
+            try {
+                listener.onInventoryChanged(hotelId, roomTypeId, startDate, endDate);
+            } catch (RuntimeException e) {
+                // A listener must never fail the inventory write
+                logger.warn("Inventory change listener {} failed: {}", listener.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.hotelsystems.ai.bookingmanagement.ownerinventory.availability;
+
+import java.time.LocalDate;
+
+/**
+ * Per-night availability of one room type over [startDate, startDate + nights).
+ * Arrays are indexed by day offset from startDate; a night without an allotment row
+ * has available = 0 and loaded = false.
+ */
+public class NightlyAvailability {
+    
+    private final String roomTypeId;
+    private final LocalDate startDate;
+    private final int[] available;
+    private final boolean[] stopSell;
+    private final boolean[] loaded;
+    
+    NightlyAvailability(String roomTypeId, LocalDate startDate, int nights) {
+        this.roomTypeId = roomTypeId;
+        this.startDate = startDate;
+        this.available = new int[nights];
+        this.stopSell = new boolean[nights];
+        this.loaded = new boolean[nights];
+    }
+    
+    void set(int offset, int availableQty, boolean stopSellNight) {
+        // Rule: If stopSell = true -> availability = 0 for that night
+        available[offset] = stopSellNight ? 0 : Math.max(0, availableQty);
+        stopSell[offset] = stopSellNight;
+        loaded[offset] = true;
+    }
+    
+    public String getRoomTypeId() {
+        return roomTypeId;
+    }
+    
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+    
+    public int getNights() {
+        return available.length;
+    }
+    
+    public LocalDate dateAt(int offset) {
+        return startDate.plusDays(offset);
+    }
+    
+    /**
+     * Rooms sellable on the night at offset (0 when stop-sell or no allotment row).
+     */
+    public int availableAt(int offset) {
+        return available[offset];
+    }
+    
+    public boolean isStopSellAt(int offset) {
+        return stopSell[offset];
+    }
+    
+    public boolean isLoadedAt(int offset) {
+        return loaded[offset];
+    }
+    
+    /**
+     * Minimum availability of every stay of the given length that fits in this window,
+     * indexed by check-in offset. O(nights) via SlidingWindowMinimum.
+     */
+    public int[] minAvailableByCheckIn(int lengthOfStay) {
+        return SlidingWindowMinimum.of(available, lengthOfStay);
+    }
+}
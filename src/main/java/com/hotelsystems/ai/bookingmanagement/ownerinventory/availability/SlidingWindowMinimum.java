@@ -0,0 +1,52 @@
+package com.hotelsystems.ai.bookingmanagement.ownerinventory.availability;
+
+/**
+ * Sliding-window minimum over nightly availability.
+ * 
+ * Uses a monotonic deque of indexes (stored in an int array) whose values increase from head
+ * to tail, so every index is pushed and popped at most once: O(n) for the whole array
+ * regardless of the window length.
+ */
+public final class SlidingWindowMinimum {
+    
+    private SlidingWindowMinimum() {
+    }
+    
+    /**
+     * Returns min(values[i .. i + window)) for every start index i in [0, values.length - window].
+     * 
+     * @param values Nightly values, indexed by day offset
+     * @param window Window length in nights (must be >= 1)
+     * @return Minimum per window start (empty when window > values.length)
+     */
+    public static int[] of(int[] values, int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("window must be >= 1");
+        }
+        if (window > values.length) {
+            return new int[0];
+        }
+        
+        int[] minimums = new int[values.length - window + 1];
+        int[] deque = new int[values.length];
+        int head = 0;
+        int tail = 0;
+        
+        for (int i = 0; i < values.length; i++) {
+            // Drop indexes whose value can never be a minimum again
+            while (tail > head && values[deque[tail - 1]] >= values[i]) {
+                tail--;
+            }
+            deque[tail++] = i;
+            
+            // Drop the head once it slides out of the window
+            if (deque[head] <= i - window) {
+                head++;
+            }
+            if (i >= window - 1) {
+                minimums[i - window + 1] = values[deque[head]];
+            }
+        }
+        return minimums;
+    }
+}
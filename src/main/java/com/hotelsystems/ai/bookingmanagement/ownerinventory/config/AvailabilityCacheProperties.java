@@ -0,0 +1,51 @@
+package com.hotelsystems.ai.bookingmanagement.ownerinventory.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the in-process owner availability grid cache.
+ * Defaults are safe for local/testing; the cache only serves search-path reads.
+ */
+@ConfigurationProperties(prefix = "owner-inventory.availability-cache")
+public class AvailabilityCacheProperties {
+    
+    private boolean enabled = true;
+    private int maxEntries = 10000; // (hotelId, roomTypeId) grids kept in memory
+    private int horizonDays = 400; // Days from today covered by each grid
+    private long maxAgeMs = 600000; // Reload a grid after 10 minutes even without writes
+    
+    public AvailabilityCacheProperties() {
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+    
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+    
+    public int getHorizonDays() {
+        return horizonDays;
+    }
+    
+    public void setHorizonDays(int horizonDays) {
+        this.horizonDays = horizonDays;
+    }
+    
+    public long getMaxAgeMs() {
+        return maxAgeMs;
+    }
+    
+    public void setMaxAgeMs(long maxAgeMs) {
+        this.maxAgeMs = maxAgeMs;
+    }
+}
@@ -8,7 +8,12 @@ import org.springframework.context.annotation.Configuration;
  * This configuration keeps the owner inventory module separate from orchestration.
  */
 @Configuration
-@EnableConfigurationProperties(PricingIntelligenceProperties.class)
+@EnableConfigurationProperties({
+    PricingIntelligenceProperties.class,
+    AvailabilityCacheProperties.class,
+    ReservationProperties.class,
+    ReservationArchiveProperties.class
+})
 public class OwnerInventoryConfig {
     
     // Configuration properties and beans for owner inventory can be added here
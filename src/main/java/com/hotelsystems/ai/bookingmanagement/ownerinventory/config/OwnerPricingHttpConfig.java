@@ -1,7 +1,10 @@
 package com.hotelsystems.ai.bookingmanagement.ownerinventory.config;
 
+import com.hotelsystems.ai.bookingmanagement.config.PooledClientHttpRequestFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -9,16 +12,16 @@ import org.springframework.http.HttpRequest;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * HTTP configuration for Owner Pricing service.
- * Provides RestTemplate with timeouts and safe logging interceptor.
+ * Provides RestTemplate on a pooled keep-alive client with timeouts and safe logging interceptor.
  */
 @Configuration
 @EnableConfigurationProperties(PricingIntelligenceProperties.class)
@@ -27,21 +30,40 @@ public class OwnerPricingHttpConfig {
     private static final Logger logger = LoggerFactory.getLogger(OwnerPricingHttpConfig.class);
     
     /**
-     * RestTemplate bean for pricing intelligence service.
-     * Note: Currently not used as PricingIntelligenceClient uses dummy pricing for local/testing.
-     * Kept for potential future use or production scenarios.
+     * Pooled keep-alive HTTP client for the pricing intelligence service.
      */
-    @Bean
-    public RestTemplate pricingIntelligenceRestTemplate(PricingIntelligenceProperties properties) {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+    @Bean(destroyMethod = "close")
+    public PooledClientHttpRequestFactory pricingIntelligenceHttpRequestFactory(PricingIntelligenceProperties properties,
+                                                                                MeterRegistry meterRegistry) {
         // Use default timeout if not configured (safe for local/testing)
         int timeout = (properties != null && properties.getTimeoutMs() > 0) 
             ? properties.getTimeoutMs() 
             : 5000; // Default 5 seconds
-        factory.setConnectTimeout(timeout);
-        factory.setReadTimeout(timeout);
+        int maxConnections = (properties != null && properties.getMaxConnections() > 0)
+            ? properties.getMaxConnections()
+            : 20;
+        int acquireTimeout = (properties != null && properties.getPoolAcquireTimeoutMs() > 0)
+            ? properties.getPoolAcquireTimeoutMs()
+            : 1000;
+        boolean http2 = properties == null || properties.isHttp2();
         
-        RestTemplate restTemplate = new RestTemplate(factory);
+        return new PooledClientHttpRequestFactory("pricing-intelligence", new PooledClientHttpRequestFactory.Settings(
+                maxConnections,
+                Duration.ofMillis(timeout),
+                Duration.ofMillis(timeout),
+                Duration.ofMillis(acquireTimeout),
+                http2), meterRegistry);
+    }
+    
+    /**
+     * RestTemplate bean for pricing intelligence service.
+     * Note: Currently not used as PricingIntelligenceClient uses dummy pricing for local/testing.
+     * Kept for potential future use or production scenarios.
+     */
+    @Bean
+    public RestTemplate pricingIntelligenceRestTemplate(
+            @Qualifier("pricingIntelligenceHttpRequestFactory") PooledClientHttpRequestFactory requestFactory) {
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
         
         // Add safe logging interceptor
         List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>();
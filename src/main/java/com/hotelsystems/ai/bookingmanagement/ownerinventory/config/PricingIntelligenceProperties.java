@@ -11,7 +11,10 @@ public class PricingIntelligenceProperties {
     
     private String baseUrl;
     private String apiKey;
-    private int timeoutMs = 5000; // Default 5 seconds
+    private int timeoutMs = 5000; // Default 5 seconds (connect and read)
+    private int maxConnections = 20; // Requests in flight to the pricing service
+    private int poolAcquireTimeoutMs = 1000; // Waiting for a free connection when max-connections are in use
+    private boolean http2 = true; // Negotiated on https, HTTP/1.1 otherwise
     
     // Default constructor for cases where configuration is not provided
     public PricingIntelligenceProperties() {
@@ -40,5 +43,28 @@ public class PricingIntelligenceProperties {
     public void setTimeoutMs(int timeoutMs) {
         this.timeoutMs = timeoutMs;
     }
+    
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+    
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+    
+    public int getPoolAcquireTimeoutMs() {
+        return poolAcquireTimeoutMs;
+    }
+    
+    public void setPoolAcquireTimeoutMs(int poolAcquireTimeoutMs) {
+        this.poolAcquireTimeoutMs = poolAcquireTimeoutMs;
+    }
+    
+    public boolean isHttp2() {
+        return http2;
+    }
+    
+    public void setHttp2(boolean http2) {
+        this.http2 = http2;
+    }
 }
-
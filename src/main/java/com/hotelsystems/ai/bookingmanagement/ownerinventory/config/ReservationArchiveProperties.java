@@ -0,0 +1,79 @@
+package com.hotelsystems.ai.bookingmanagement.ownerinventory.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for archiving inventory reservations.
+ * Controls which rows ReservationArchiver moves out of inventory_reservations and how much
+ * work one run may do, plus how far ahead monthly partitions are created on PostgreSQL.
+ */
+@ConfigurationProperties(prefix = "owner-inventory.reservation-archive")
+public class ReservationArchiveProperties {
+    
+    private boolean enabled = true;
+    private long intervalMs = 300000; // Delay between archiver runs
+    private int batchSize = 500; // Rows moved per transaction
+    private int maxBatchesPerRun = 20; // Bounds one run to batchSize * maxBatchesPerRun rows
+    private int pastStayRetentionDays = 30; // Keep finished stays this long (reconciliation window)
+    private long releasedRetentionMs = 86400000; // Keep RELEASED rows this long after release
+    private int partitionMonthsAhead = 12; // PostgreSQL: monthly check_out partitions kept ahead of today
+    
+    public ReservationArchiveProperties() {
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public long getIntervalMs() {
+        return intervalMs;
+    }
+    
+    public void setIntervalMs(long intervalMs) {
+        this.intervalMs = intervalMs;
+    }
+    
+    public int getBatchSize() {
+        return batchSize;
+    }
+    
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+    
+    public int getMaxBatchesPerRun() {
+        return maxBatchesPerRun;
+    }
+    
+    public void setMaxBatchesPerRun(int maxBatchesPerRun) {
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+    
+    public int getPastStayRetentionDays() {
+        return pastStayRetentionDays;
+    }
+    
+    public void setPastStayRetentionDays(int pastStayRetentionDays) {
+        this.pastStayRetentionDays = pastStayRetentionDays;
+    }
+    
+    public long getReleasedRetentionMs() {
+        return releasedRetentionMs;
+    }
+    
+    public void setReleasedRetentionMs(long releasedRetentionMs) {
+        this.releasedRetentionMs = releasedRetentionMs;
+    }
+    
+    public int getPartitionMonthsAhead() {
+        return partitionMonthsAhead;
+    }
+    
+    public void setPartitionMonthsAhead(int partitionMonthsAhead) {
+        this.partitionMonthsAhead = partitionMonthsAhead;
+    }
+}
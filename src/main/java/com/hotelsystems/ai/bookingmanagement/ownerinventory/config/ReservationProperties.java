@@ -0,0 +1,80 @@
+package com.hotelsystems.ai.bookingmanagement.ownerinventory.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for owner inventory reservations.
+ * Selects how ReservationService guards allotment counters against concurrent bookings,
+ * and sizes the in-process lock that serializes same room type confirms.
+ */
+@ConfigurationProperties(prefix = "owner-inventory.reservation")
+public class ReservationProperties {
+    
+    /**
+     * How reserve/release update the per-night reserved_qty counters.
+     */
+    public enum Strategy {
+        /** SELECT ... FOR UPDATE on every night, validate in memory, then increment. */
+        PESSIMISTIC_LOCK,
+        /** Single guarded UPDATE per stay; the affected row count proves capacity on every night. */
+        CONDITIONAL_UPDATE
+    }
+    
+    private Strategy strategy = Strategy.PESSIMISTIC_LOCK;
+    private int maxRetries = 2; // Extra guarded-update attempts after a partial match
+    private long retryBackoffMs = 5; // Base backoff between attempts (multiplied by attempt number)
+    private boolean lockEnabled = true; // In-process striped lock around owner confirms
+    private int lockStripes = 256; // Fixed number of locks that hotelId+roomTypeId hash onto
+    private long lockTimeoutMs = 2000; // Fail fast with 409 instead of queueing longer than this
+    
+    public ReservationProperties() {
+    }
+    
+    public Strategy getStrategy() {
+        return strategy;
+    }
+    
+    public void setStrategy(Strategy strategy) {
+        this.strategy = strategy;
+    }
+    
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+    
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+    
+    public long getRetryBackoffMs() {
+        return retryBackoffMs;
+    }
+    
+    public void setRetryBackoffMs(long retryBackoffMs) {
+        this.retryBackoffMs = retryBackoffMs;
+    }
+    
+    public boolean isLockEnabled() {
+        return lockEnabled;
+    }
+    
+    public void setLockEnabled(boolean lockEnabled) {
+        this.lockEnabled = lockEnabled;
+    }
+    
+    public int getLockStripes() {
+        return lockStripes;
+    }
+    
+    public void setLockStripes(int lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+    
+    public long getLockTimeoutMs() {
+        return lockTimeoutMs;
+    }
+    
+    public void setLockTimeoutMs(long lockTimeoutMs) {
+        this.lockTimeoutMs = lockTimeoutMs;
+    }
+}
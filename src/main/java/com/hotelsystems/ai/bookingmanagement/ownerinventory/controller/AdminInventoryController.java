@@ -1,13 +1,17 @@
 package com.hotelsystems.ai.bookingmanagement.ownerinventory.controller;
 
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.AvailabilityGridCache;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.InventoryChangeNotifier;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.dto.BulkUpsertInventoryRequest;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.dto.InventoryAllotmentResponse;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.dto.PricingQuote;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.dto.ReservedQtyDriftResponse;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.InventoryAllotmentEntity;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.RoomTypeEntity;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.pricing.PricingIntelligenceClient;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.InventoryAllotmentRepository;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.RoomTypeRepository;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.reservation.ReservedQuantityReconciliationService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,6 +19,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -28,14 +33,23 @@ public class AdminInventoryController {
     private final InventoryAllotmentRepository allotmentRepository;
     private final PricingIntelligenceClient pricingClient;
     private final RoomTypeRepository roomTypeRepository;
+    private final ReservedQuantityReconciliationService reconciliationService;
+    private final AvailabilityGridCache gridCache;
+    private final InventoryChangeNotifier changeNotifier;
     
     public AdminInventoryController(
             InventoryAllotmentRepository allotmentRepository,
             PricingIntelligenceClient pricingClient,
-            RoomTypeRepository roomTypeRepository) {
+            RoomTypeRepository roomTypeRepository,
+            ReservedQuantityReconciliationService reconciliationService,
+            AvailabilityGridCache gridCache,
+            InventoryChangeNotifier changeNotifier) {
         this.allotmentRepository = allotmentRepository;
         this.pricingClient = pricingClient;
         this.roomTypeRepository = roomTypeRepository;
+        this.reconciliationService = reconciliationService;
+        this.gridCache = gridCache;
+        this.changeNotifier = changeNotifier;
     }
     
     /**
@@ -111,15 +125,20 @@ public class AdminInventoryController {
                     request.getRoomTypeId()));
         }
         
+        // Lock the existing rows (same lock as ReservationService) so a concurrent reservation's
+        // reserved_qty change is not overwritten by this save
+        Map<LocalDate, InventoryAllotmentEntity> existingByDate = allotmentRepository
+            .findLockedAllotmentsForDateRange(hotelId, request.getRoomTypeId(), request.getStartDate(), request.getEndDate())
+            .stream()
+            .collect(Collectors.toMap(InventoryAllotmentEntity::getDate, allotment -> allotment));
+        
         // Upsert one row per date from startDate (inclusive) to endDate (exclusive)
         LocalDate currentDate = request.getStartDate();
         int upsertedCount = 0;
         
         while (currentDate.isBefore(request.getEndDate())) {
             // Check if allotment already exists
-            InventoryAllotmentEntity existing = allotmentRepository
-                .findByHotelIdAndRoomTypeIdAndDate(hotelId, request.getRoomTypeId(), currentDate)
-                .orElse(null);
+            InventoryAllotmentEntity existing = existingByDate.get(currentDate);
             
             if (existing != null) {
                 // Update existing
@@ -138,6 +157,10 @@ public class AdminInventoryController {
             currentDate = currentDate.plusDays(1);
         }
         
+        // Drop the cached availability grid so searches see the new allotments
+        gridCache.invalidate(hotelId, request.getRoomTypeId());
+        changeNotifier.inventoryChanged(hotelId, request.getRoomTypeId(), request.getStartDate(), request.getEndDate());
+        
         return ResponseEntity.ok(
             String.format("Successfully upserted %d inventory allotment(s)", upsertedCount));
     }
@@ -195,6 +218,30 @@ public class AdminInventoryController {
         return ResponseEntity.ok(responses);
     }
     
+    /**
+     * Reconcile maintained reserved_qty counters against RESERVED reservations.
+     * 
+     * POST /v1/admin/hotels/{hotelId}/inventory/reconcile?roomTypeId=...&start=...&end=...&repair=false
+     * 
+     * @param hotelId Hotel identifier from path
+     * @param roomTypeId Optional room type filter (query parameter)
+     * @param start Start date (inclusive)
+     * @param end End date (exclusive)
+     * @param repair Whether drifted counters should be corrected (default false = report only)
+     * @return List of drifted nights (empty when counters are consistent)
+     */
+    @PostMapping("/reconcile")
+    public ResponseEntity<List<ReservedQtyDriftResponse>> reconcileReservedQty(
+            @PathVariable String hotelId,
+            @RequestParam(required = false) String roomTypeId,
+            @RequestParam LocalDate start,
+            @RequestParam LocalDate end,
+            @RequestParam(defaultValue = "false") boolean repair) {
+        
+        return ResponseEntity.ok(
+            reconciliationService.reconcile(hotelId, roomTypeId, start, end, repair));
+    }
+    
     /**
      * Converts InventoryAllotmentEntity to InventoryAllotmentResponse.
      * Includes dummy pricing for local/testing.
@@ -207,6 +254,7 @@ public class AdminInventoryController {
         response.setDate(entity.getDate());
         response.setAllotmentQty(entity.getAllotmentQty());
         response.setStopSell(entity.isStopSell());
+        response.setReservedQty(entity.getReservedQty());
         response.setCreatedAt(entity.getCreatedAt());
         response.setUpdatedAt(entity.getUpdatedAt());
         
@@ -1,5 +1,7 @@
 package com.hotelsystems.ai.bookingmanagement.ownerinventory.controller;
 
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.AvailabilityGridCache;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.InventoryChangeNotifier;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.dto.InventoryAllotmentResponse;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.dto.InventoryUpdateRequest;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.dto.PricingQuote;
@@ -24,12 +26,18 @@ public class AdminInventoryUpdateController {
     
     private final InventoryAllotmentRepository allotmentRepository;
     private final PricingIntelligenceClient pricingClient;
+    private final AvailabilityGridCache gridCache;
+    private final InventoryChangeNotifier changeNotifier;
     
     public AdminInventoryUpdateController(
             InventoryAllotmentRepository allotmentRepository,
-            PricingIntelligenceClient pricingClient) {
+            PricingIntelligenceClient pricingClient,
+            AvailabilityGridCache gridCache,
+            InventoryChangeNotifier changeNotifier) {
         this.allotmentRepository = allotmentRepository;
         this.pricingClient = pricingClient;
+        this.gridCache = gridCache;
+        this.changeNotifier = changeNotifier;
     }
     
     /**
@@ -48,8 +56,8 @@ public class AdminInventoryUpdateController {
             @PathVariable UUID inventoryRowId,
             @Valid @RequestBody InventoryUpdateRequest request) {
         
-        // Find inventory row or throw NotFoundException
-        InventoryAllotmentEntity entity = allotmentRepository.findById(inventoryRowId)
+        // Find and lock the inventory row (a concurrent reservation must not be overwritten)
+        InventoryAllotmentEntity entity = allotmentRepository.findLockedById(inventoryRowId)
             .orElseThrow(() -> new NotFoundException("Inventory row with id '" + inventoryRowId + "' not found"));
         
         // Update only provided fields
@@ -67,6 +75,9 @@ public class AdminInventoryUpdateController {
         
         // Save updated entity (updatedAt will be auto-set by @PreUpdate)
         InventoryAllotmentEntity updatedEntity = allotmentRepository.save(entity);
+        gridCache.invalidate(updatedEntity.getHotelId(), updatedEntity.getRoomTypeId());
+        changeNotifier.inventoryChanged(updatedEntity.getHotelId(), updatedEntity.getRoomTypeId(),
+            updatedEntity.getDate(), updatedEntity.getDate().plusDays(1));
         
         // Convert to response DTO
         InventoryAllotmentResponse response = toResponse(updatedEntity);
@@ -86,6 +97,7 @@ public class AdminInventoryUpdateController {
         response.setDate(entity.getDate());
         response.setAllotmentQty(entity.getAllotmentQty());
         response.setStopSell(entity.isStopSell());
+        response.setReservedQty(entity.getReservedQty());
         response.setCreatedAt(entity.getCreatedAt());
         response.setUpdatedAt(entity.getUpdatedAt());
         
@@ -15,6 +15,7 @@ public class InventoryAllotmentResponse {
     private LocalDate date;
     private int allotmentQty;
     private boolean stopSell;
+    private int reservedQty;
     private Instant createdAt;
     private Instant updatedAt;
     
@@ -73,6 +74,14 @@ public class InventoryAllotmentResponse {
         this.stopSell = stopSell;
     }
     
+    public int getReservedQty() {
+        return reservedQty;
+    }
+    
+    public void setReservedQty(int reservedQty) {
+        this.reservedQty = reservedQty;
+    }
+    
     public Instant getCreatedAt() {
         return createdAt;
     }
@@ -1,5 +1,7 @@
 package com.hotelsystems.ai.bookingmanagement.ownerinventory.dto;
 
+import java.util.List;
+
 /**
  * DTO representing a pricing quote from the pricing intelligence service.
  */
@@ -7,8 +9,7 @@ public class PricingQuote {
     
     private String currency;
     private long totalPriceMinor; // Price in minor units (e.g., paise for INR)
-    
-    // Note: Additional API fields (e.g., List<NightlyRate> nightlyRates) can be added when available
+    private List<Long> nightlyPricesMinor; // One per night from checkIn, summing to totalPriceMinor; null when only the total is known
     
     public PricingQuote() {
     }
@@ -18,6 +19,12 @@ public class PricingQuote {
         this.totalPriceMinor = totalPriceMinor;
     }
     
+    public PricingQuote(String currency, long totalPriceMinor, List<Long> nightlyPricesMinor) {
+        this.currency = currency;
+        this.totalPriceMinor = totalPriceMinor;
+        this.nightlyPricesMinor = nightlyPricesMinor;
+    }
+    
     public String getCurrency() {
         return currency;
     }
@@ -33,5 +40,13 @@ public class PricingQuote {
     public void setTotalPriceMinor(long totalPriceMinor) {
         this.totalPriceMinor = totalPriceMinor;
     }
+    
+    public List<Long> getNightlyPricesMinor() {
+        return nightlyPricesMinor;
+    }
+    
+    public void setNightlyPricesMinor(List<Long> nightlyPricesMinor) {
+        this.nightlyPricesMinor = nightlyPricesMinor;
+    }
 }
 
@@ -0,0 +1,78 @@
+package com.hotelsystems.ai.bookingmanagement.ownerinventory.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Response DTO for a night whose maintained reserved_qty does not match
+ * the sum of RESERVED reservations overlapping it.
+ */
+public class ReservedQtyDriftResponse {
+    
+    private UUID inventoryRowId;
+    private String hotelId;
+    private String roomTypeId;
+    private LocalDate date;
+    private int storedReservedQty;
+    private int expectedReservedQty;
+    private boolean repaired;
+    
+    public ReservedQtyDriftResponse() {
+    }
+    
+    public UUID getInventoryRowId() {
+        return inventoryRowId;
+    }
+    
+    public void setInventoryRowId(UUID inventoryRowId) {
+        this.inventoryRowId = inventoryRowId;
+    }
+    
+    public String getHotelId() {
+        return hotelId;
+    }
+    
+    public void setHotelId(String hotelId) {
+        this.hotelId = hotelId;
+    }
+    
+    public String getRoomTypeId() {
+        return roomTypeId;
+    }
+    
+    public void setRoomTypeId(String roomTypeId) {
+        this.roomTypeId = roomTypeId;
+    }
+    
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+    
+    public int getStoredReservedQty() {
+        return storedReservedQty;
+    }
+    
+    public void setStoredReservedQty(int storedReservedQty) {
+        this.storedReservedQty = storedReservedQty;
+    }
+    
+    public int getExpectedReservedQty() {
+        return expectedReservedQty;
+    }
+    
+    public void setExpectedReservedQty(int expectedReservedQty) {
+        this.expectedReservedQty = expectedReservedQty;
+    }
+    
+    public boolean isRepaired() {
+        return repaired;
+    }
+    
+    public void setRepaired(boolean repaired) {
+        this.repaired = repaired;
+    }
+}
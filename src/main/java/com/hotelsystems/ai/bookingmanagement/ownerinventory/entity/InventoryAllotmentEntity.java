@@ -33,6 +33,13 @@ public class InventoryAllotmentEntity {
     @Column(name = "stop_sell", nullable = false)
     private boolean stopSell = false;
     
+    /**
+     * Rooms held by RESERVED reservations overlapping this night.
+     * Maintained by ReservationService in the same transaction as the reservation row.
+     */
+    @Column(name = "reserved_qty", nullable = false)
+    private int reservedQty = 0;
+    
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
     
@@ -49,6 +56,7 @@ public class InventoryAllotmentEntity {
         this.date = date;
         this.allotmentQty = allotmentQty;
         this.stopSell = false;
+        this.reservedQty = 0;
     }
     
     @PrePersist
@@ -112,6 +120,14 @@ public class InventoryAllotmentEntity {
         this.stopSell = stopSell;
     }
     
+    public int getReservedQty() {
+        return reservedQty;
+    }
+    
+    public void setReservedQty(int reservedQty) {
+        this.reservedQty = reservedQty;
+    }
+    
     public Instant getCreatedAt() {
         return createdAt;
     }
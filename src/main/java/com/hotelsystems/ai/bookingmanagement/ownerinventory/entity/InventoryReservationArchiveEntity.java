@@ -0,0 +1,103 @@
+package com.hotelsystems.ai.bookingmanagement.ownerinventory.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Archived inventory reservation.
+ * Same columns as inventory_reservations plus archived_at; rows are moved here by
+ * ReservationArchiver once the stay is over or the reservation was RELEASED.
+ */
+@Entity
+@Table(name = "inventory_reservations_archive",
+       indexes = {
+           @Index(name = "idx_reservations_archive_booking_id", columnList = "booking_id"),
+           @Index(name = "idx_reservations_archive_check_out", columnList = "check_out")
+       })
+public class InventoryReservationArchiveEntity {
+    
+    @Id
+    private UUID id;
+    
+    @Column(name = "booking_id", nullable = false)
+    private UUID bookingId;
+    
+    @Column(name = "hotel_id", nullable = false)
+    private String hotelId;
+    
+    @Column(name = "room_type_id", nullable = false)
+    private String roomTypeId;
+    
+    @Column(name = "check_in", nullable = false)
+    private LocalDate checkIn;
+    
+    @Column(name = "check_out", nullable = false)
+    private LocalDate checkOut;
+    
+    @Column(name = "rooms_count", nullable = false)
+    private int roomsCount;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReservationStatus status;
+    
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+    
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+    
+    // Constructors
+    public InventoryReservationArchiveEntity() {
+    }
+    
+    // Getters
+    public UUID getId() {
+        return id;
+    }
+    
+    public UUID getBookingId() {
+        return bookingId;
+    }
+    
+    public String getHotelId() {
+        return hotelId;
+    }
+    
+    public String getRoomTypeId() {
+        return roomTypeId;
+    }
+    
+    public LocalDate getCheckIn() {
+        return checkIn;
+    }
+    
+    public LocalDate getCheckOut() {
+        return checkOut;
+    }
+    
+    public int getRoomsCount() {
+        return roomsCount;
+    }
+    
+    public ReservationStatus getStatus() {
+        return status;
+    }
+    
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+    
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public Instant getArchivedAt() {
+        return archivedAt;
+    }
+}
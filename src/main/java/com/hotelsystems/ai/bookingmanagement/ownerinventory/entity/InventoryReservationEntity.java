@@ -9,7 +9,11 @@ import java.util.UUID;
 @Table(name = "inventory_reservations",
        indexes = {
            @Index(name = "idx_booking_id", columnList = "booking_id"),
-           @Index(name = "idx_hotel_roomtype", columnList = "hotel_id,room_type_id")
+           @Index(name = "idx_hotel_roomtype", columnList = "hotel_id,room_type_id"),
+           @Index(name = "idx_inventory_reservations_covering",
+                  columnList = "hotel_id,room_type_id,status,check_in,check_out"),
+           @Index(name = "idx_inventory_reservations_status_updated_at", columnList = "status,updated_at"),
+           @Index(name = "idx_inventory_reservations_check_out", columnList = "check_out")
        })
 public class InventoryReservationEntity {
     
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.Collections;
 
 /**
  * Internal Pricing Intelligence Service.
@@ -26,7 +27,7 @@ public class PricingIntelligenceService {
      * @param checkOut Check-out date (required, exclusive)
      * @param guests Number of guests
      * @param currency Currency code (optional, defaults to "INR")
-     * @return PricingQuote with currency and total price in minor units
+     * @return PricingQuote with currency, total price and the price of each night in minor units
      * @throws org.springframework.web.server.ResponseStatusException if validation fails
      */
     public PricingQuote getQuote(String hotelId, String roomTypeId, LocalDate checkIn, 
@@ -74,7 +75,7 @@ public class PricingIntelligenceService {
         logger.info("PRICING_INTERNAL quote - hotelId: {}, roomTypeId: {}, checkIn: {}, checkOut: {}, guests: {}, nights: {}, currency: {}, totalPriceMinor: {}",
             hotelId, roomTypeId, checkIn, checkOut, guests, nights, resolvedCurrency, totalPriceMinor);
         
-        return new PricingQuote(resolvedCurrency, totalPriceMinor);
+        return new PricingQuote(resolvedCurrency, totalPriceMinor, Collections.nCopies((int) nights, baseRate));
     }
     
     /**
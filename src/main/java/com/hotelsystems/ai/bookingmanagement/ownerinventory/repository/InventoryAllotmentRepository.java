@@ -4,11 +4,14 @@ import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.InventoryAllo
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -47,6 +50,33 @@ public interface InventoryAllotmentRepository extends JpaRepository<InventoryAll
         @Param("checkIn") LocalDate checkIn,
         @Param("checkOut") LocalDate checkOut);
     
+    /**
+     * Finds one allotment row by id with pessimistic write lock.
+     * Used by admin edits so they cannot write back a reserved_qty that a concurrent
+     * reservation has already changed.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT ia FROM InventoryAllotmentEntity ia WHERE ia.id = :id")
+    Optional<InventoryAllotmentEntity> findLockedById(@Param("id") UUID id);
+    
+    /**
+     * Locks allotments for several room types of one hotel over [checkIn, checkOut).
+     * Rows are returned - and therefore locked - in canonical (roomTypeId, date) order, so
+     * concurrent multi-room-type reservations always acquire row locks in the same order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT ia FROM InventoryAllotmentEntity ia " +
+           "WHERE ia.hotelId = :hotelId " +
+           "AND ia.roomTypeId IN :roomTypeIds " +
+           "AND ia.date >= :checkIn " +
+           "AND ia.date < :checkOut " +
+           "ORDER BY ia.roomTypeId, ia.date")
+    List<InventoryAllotmentEntity> findLockedAllotmentsForRoomTypes(
+        @Param("hotelId") String hotelId,
+        @Param("roomTypeIds") Collection<String> roomTypeIds,
+        @Param("checkIn") LocalDate checkIn,
+        @Param("checkOut") LocalDate checkOut);
+    
     /**
      * Finds allotments for a hotel and optional room type within a date range.
      */
@@ -61,5 +91,75 @@ public interface InventoryAllotmentRepository extends JpaRepository<InventoryAll
         @Param("roomTypeId") String roomTypeId,
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate);
+    
+    /**
+     * Aggregates the per-night counters for a stay in a single range scan.
+     * Returns the number of allotment rows found, how many of them are stop-sell,
+     * and MIN(allotment_qty - reserved_qty) across the range [checkIn, checkOut).
+     */
+    @Query("SELECT COUNT(ia) AS nights, " +
+           "SUM(CASE WHEN ia.stopSell = true THEN 1 ELSE 0 END) AS stopSellNights, " +
+           "MIN(ia.allotmentQty - ia.reservedQty) AS minAvailable " +
+           "FROM InventoryAllotmentEntity ia " +
+           "WHERE ia.hotelId = :hotelId " +
+           "AND ia.roomTypeId = :roomTypeId " +
+           "AND ia.date >= :checkIn " +
+           "AND ia.date < :checkOut")
+    AvailabilityWindow findAvailabilityWindow(
+        @Param("hotelId") String hotelId,
+        @Param("roomTypeId") String roomTypeId,
+        @Param("checkIn") LocalDate checkIn,
+        @Param("checkOut") LocalDate checkOut);
+    
+    /**
+     * Guarded increment of reserved_qty over [checkIn, checkOut).
+     * Only nights that are sellable and still have :rooms free are updated, so the caller
+     * must compare the affected row count with the number of nights in the stay.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE InventoryAllotmentEntity ia " +
+           "SET ia.reservedQty = ia.reservedQty + :rooms, ia.updatedAt = :now " +
+           "WHERE ia.hotelId = :hotelId " +
+           "AND ia.roomTypeId = :roomTypeId " +
+           "AND ia.date >= :checkIn " +
+           "AND ia.date < :checkOut " +
+           "AND ia.stopSell = false " +
+           "AND ia.allotmentQty - ia.reservedQty >= :rooms")
+    int incrementReservedQtyIfAvailable(
+        @Param("hotelId") String hotelId,
+        @Param("roomTypeId") String roomTypeId,
+        @Param("checkIn") LocalDate checkIn,
+        @Param("checkOut") LocalDate checkOut,
+        @Param("rooms") int rooms,
+        @Param("now") Instant now);
+    
+    /**
+     * Decrements reserved_qty over [checkIn, checkOut), never going below zero.
+     * Used to release a stay and to undo a partially applied guarded increment.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE InventoryAllotmentEntity ia " +
+           "SET ia.reservedQty = CASE WHEN ia.reservedQty >= :rooms THEN ia.reservedQty - :rooms ELSE 0 END, " +
+           "ia.updatedAt = :now " +
+           "WHERE ia.hotelId = :hotelId " +
+           "AND ia.roomTypeId = :roomTypeId " +
+           "AND ia.date >= :checkIn " +
+           "AND ia.date < :checkOut")
+    int decrementReservedQty(
+        @Param("hotelId") String hotelId,
+        @Param("roomTypeId") String roomTypeId,
+        @Param("checkIn") LocalDate checkIn,
+        @Param("checkOut") LocalDate checkOut,
+        @Param("rooms") int rooms,
+        @Param("now") Instant now);
+    
+    /**
+     * Projection for {@link #findAvailabilityWindow}.
+     * Aggregates are null when no rows match.
+     */
+    interface AvailabilityWindow {
+        Long getNights();
+        Long getStopSellNights();
+        Integer getMinAvailable();
+    }
 }
-
@@ -0,0 +1,31 @@
+package com.hotelsystems.ai.bookingmanagement.ownerinventory.repository;
+
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.InventoryReservationArchiveEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface InventoryReservationArchiveRepository extends JpaRepository<InventoryReservationArchiveEntity, UUID> {
+    
+    /**
+     * Finds archived RESERVED reservations for a hotel and optional room type that overlap [startDate, endDate).
+     * Their rooms are still counted in reserved_qty of the (past) nights they cover.
+     */
+    @Query("SELECT ira FROM InventoryReservationArchiveEntity ira " +
+           "WHERE ira.hotelId = :hotelId " +
+           "AND (:roomTypeId IS NULL OR ira.roomTypeId = :roomTypeId) " +
+           "AND ira.status = com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.ReservationStatus.RESERVED " +
+           "AND ira.checkIn < :endDate " +
+           "AND ira.checkOut > :startDate")
+    List<InventoryReservationArchiveEntity> findReservedOverlapping(
+        @Param("hotelId") String hotelId,
+        @Param("roomTypeId") String roomTypeId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+}
@@ -2,10 +2,16 @@ package com.hotelsystems.ai.bookingmanagement.ownerinventory.repository;
 
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.InventoryReservationEntity;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.ReservationStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -17,6 +23,11 @@ public interface InventoryReservationRepository extends JpaRepository<InventoryR
      */
     List<InventoryReservationEntity> findByBookingId(UUID bookingId);
     
+    /**
+     * Finds reservations in a given status for a batch of bookings.
+     */
+    List<InventoryReservationEntity> findByBookingIdInAndStatus(Collection<UUID> bookingIds, ReservationStatus status);
+    
     /**
      * Finds overlapping reservations for a hotel and room type.
      * This query finds reservations where:
@@ -32,5 +43,59 @@ public interface InventoryReservationRepository extends JpaRepository<InventoryR
         ReservationStatus status,
         LocalDate checkOut,
         LocalDate checkIn);
+    
+    /**
+     * Finds RESERVED reservations for a hotel and optional room type that overlap [startDate, endDate).
+     */
+    @Query("SELECT ir FROM InventoryReservationEntity ir " +
+           "WHERE ir.hotelId = :hotelId " +
+           "AND (:roomTypeId IS NULL OR ir.roomTypeId = :roomTypeId) " +
+           "AND ir.status = com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.ReservationStatus.RESERVED " +
+           "AND ir.checkIn < :endDate " +
+           "AND ir.checkOut > :startDate")
+    List<InventoryReservationEntity> findReservedOverlapping(
+        @Param("hotelId") String hotelId,
+        @Param("roomTypeId") String roomTypeId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+    
+    /**
+     * Ids of reservations whose stay ended before the cutoff (any status), oldest first.
+     * Range scan on check_out; on PostgreSQL this also prunes to the older partitions.
+     */
+    @Query("SELECT ir.id FROM InventoryReservationEntity ir " +
+           "WHERE ir.checkOut < :cutoff " +
+           "ORDER BY ir.checkOut")
+    List<UUID> findIdsWithCheckOutBefore(@Param("cutoff") LocalDate cutoff, Pageable pageable);
+    
+    /**
+     * Ids of reservations in the given status last updated before the cutoff.
+     */
+    @Query("SELECT ir.id FROM InventoryReservationEntity ir " +
+           "WHERE ir.status = :status " +
+           "AND ir.updatedAt < :cutoff")
+    List<UUID> findIdsByStatusAndUpdatedAtBefore(
+        @Param("status") ReservationStatus status,
+        @Param("cutoff") Instant cutoff,
+        Pageable pageable);
+    
+    /**
+     * Copies reservations into inventory_reservations_archive, stamping archived_at.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO inventory_reservations_archive " +
+                   "(id, booking_id, hotel_id, room_type_id, check_in, check_out, rooms_count, status, " +
+                   "created_at, updated_at, archived_at) " +
+                   "SELECT id, booking_id, hotel_id, room_type_id, check_in, check_out, rooms_count, status, " +
+                   "created_at, updated_at, :archivedAt " +
+                   "FROM inventory_reservations WHERE id IN (:ids)",
+           nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<UUID> ids, @Param("archivedAt") Instant archivedAt);
+    
+    /**
+     * Deletes reservations by id (after they were copied to the archive).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM InventoryReservationEntity ir WHERE ir.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
 }
-
@@ -0,0 +1,23 @@
+package com.hotelsystems.ai.bookingmanagement.ownerinventory.reservation;
+
+/**
+ * One (roomTypeId, rooms) line of a cart reservation.
+ */
+public class CartReservationLine {
+    
+    private final String roomTypeId;
+    private final int roomsCount;
+    
+    public CartReservationLine(String roomTypeId, int roomsCount) {
+        this.roomTypeId = roomTypeId;
+        this.roomsCount = roomsCount;
+    }
+    
+    public String getRoomTypeId() {
+        return roomTypeId;
+    }
+    
+    public int getRoomsCount() {
+        return roomsCount;
+    }
+}
@@ -0,0 +1,124 @@
+package com.hotelsystems.ai.bookingmanagement.ownerinventory.reservation;
+
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.config.ReservationArchiveProperties;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.ReservationStatus;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.InventoryReservationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Background archiver for inventory_reservations.
+ * 
+ * Moves two kinds of rows to inventory_reservations_archive so availability and overlap
+ * queries only see reservations that can still matter:
+ * - finished stays: check_out older than pastStayRetentionDays (any status)
+ * - RELEASED reservations older than releasedRetentionMs
+ * 
+ * Each batch is copied and deleted in its own transaction, and one run moves at most
+ * batchSize * maxBatchesPerRun rows, so the archiver never holds long locks.
+ * Counters on inventory_allotments are unaffected: RELEASED rows were already subtracted, and
+ * finished RESERVED stays keep their rooms in reserved_qty of past nights -
+ * ReservedQuantityReconciliationService counts archived RESERVED rows for that reason.
+ */
+@Component
+public class ReservationArchiver {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReservationArchiver.class);
+    
+    private final InventoryReservationRepository reservationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReservationArchiveProperties properties;
+    private final Counter archivedCounter;
+    private final Clock clock;
+    
+    public ReservationArchiver(InventoryReservationRepository reservationRepository,
+                               TransactionTemplate transactionTemplate,
+                               ReservationArchiveProperties properties,
+                               MeterRegistry meterRegistry) {
+        this(reservationRepository, transactionTemplate, properties, meterRegistry, Clock.systemUTC());
+    }
+    
+    ReservationArchiver(InventoryReservationRepository reservationRepository,
+                        TransactionTemplate transactionTemplate,
+                        ReservationArchiveProperties properties,
+                        MeterRegistry meterRegistry,
+                        Clock clock) {
+        this.reservationRepository = reservationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.clock = clock;
+        this.archivedCounter = Counter.builder("owner.inventory.reservation.archived")
+            .description("Inventory reservations moved to inventory_reservations_archive")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Runs one bounded archival pass.
+     * 
+     * @return number of reservations archived
+     */
+    @Scheduled(fixedDelayString = "${owner-inventory.reservation-archive.interval-ms:300000}",
+               initialDelayString = "${owner-inventory.reservation-archive.interval-ms:300000}")
+    public int archive() {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+        
+        LocalDate pastStayCutoff = LocalDate.now(clock).minusDays(properties.getPastStayRetentionDays());
+        Instant releasedCutoff = clock.instant().minusMillis(properties.getReleasedRetentionMs());
+        PageRequest page = PageRequest.of(0, Math.max(1, properties.getBatchSize()));
+        
+        int archived = 0;
+        int batches = 0;
+        boolean pastStaysDone = false;
+        boolean releasedDone = false;
+        
+        while (batches < properties.getMaxBatchesPerRun() && !(pastStaysDone && releasedDone)) {
+            List<UUID> ids = !pastStaysDone
+                ? reservationRepository.findIdsWithCheckOutBefore(pastStayCutoff, page)
+                : reservationRepository.findIdsByStatusAndUpdatedAtBefore(ReservationStatus.RELEASED, releasedCutoff, page);
+            
+            if (ids.size() < page.getPageSize()) {
+                if (pastStaysDone) {
+                    releasedDone = true;
+                } else {
+                    pastStaysDone = true;
+                }
+            }
+            if (ids.isEmpty()) {
+                continue;
+            }
+            
+            archived += moveBatch(ids);
+            batches++;
+        }
+        
+        if (archived > 0) {
+            logger.info("Archived inventory reservations - rows: {}, batches: {}, pastStayCutoff: {}, releasedCutoff: {}",
+                archived, batches, pastStayCutoff, releasedCutoff);
+        }
+        return archived;
+    }
+    
+    private int moveBatch(List<UUID> ids) {
+        Integer moved = transactionTemplate.execute(status -> {
+            reservationRepository.copyToArchive(ids, clock.instant());
+            return reservationRepository.deleteByIdIn(ids);
+        });
+        int count = moved != null ? moved : 0;
+        archivedCounter.increment(count);
+        return count;
+    }
+}
@@ -0,0 +1,73 @@
+package com.hotelsystems.ai.bookingmanagement.ownerinventory.reservation;
+
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.config.ReservationArchiveProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Keeps monthly check_out partitions of inventory_reservations ahead of today on PostgreSQL.
+ * 
+ * Only acts when inventory_reservations is a partitioned table (created by the PostgreSQL
+ * V7 migration); on H2, or when Hibernate created a plain table, it does nothing.
+ */
+@Component
+public class ReservationPartitionManager {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReservationPartitionManager.class);
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final ReservationArchiveProperties properties;
+    
+    public ReservationPartitionManager(JdbcTemplate jdbcTemplate, ReservationArchiveProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+    
+    /**
+     * Creates any missing monthly partitions from this month through partitionMonthsAhead.
+     * Runs at startup and daily.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelay = 86400000, initialDelay = 86400000)
+    public void ensurePartitions() {
+        if (!isPartitioned()) {
+            return;
+        }
+        
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        for (int i = 0; i <= properties.getPartitionMonthsAhead(); i++, month = month.plusMonths(1)) {
+            String partition = "inventory_reservations_p" + month.format(PARTITION_SUFFIX);
+            try {
+                jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF inventory_reservations FOR VALUES FROM ('%s') TO ('%s')",
+                    partition, month, month.plusMonths(1)));
+            } catch (DataAccessException e) {
+                // Typically rows for this month already sit in the DEFAULT partition
+                logger.warn("Could not create reservation partition {}: {}", partition, e.getMessage());
+            }
+        }
+    }
+    
+    private boolean isPartitioned() {
+        String product = jdbcTemplate.execute(
+            (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equalsIgnoreCase(product)) {
+            return false;
+        }
+        Integer partitioned = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid " +
+            "WHERE c.relname = 'inventory_reservations'", Integer.class);
+        return partitioned != null && partitioned > 0;
+    }
+}
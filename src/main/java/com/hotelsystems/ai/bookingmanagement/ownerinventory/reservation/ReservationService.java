@@ -1,16 +1,32 @@
 package com.hotelsystems.ai.bookingmanagement.ownerinventory.reservation;
 
-import com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.AvailabilityService;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.AvailabilityGridCache;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.InventoryChangeNotifier;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.config.ReservationProperties;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.InventoryAllotmentEntity;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.InventoryReservationEntity;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.ReservationStatus;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.exception.ConflictException;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.InventoryAllotmentRepository;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.InventoryReservationRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 
 /**
@@ -20,28 +36,43 @@ import java.util.UUID;
 @Service
 public class ReservationService {
     
+    private static final Logger logger = LoggerFactory.getLogger(ReservationService.class);
+    
     private final InventoryAllotmentRepository allotmentRepository;
     private final InventoryReservationRepository reservationRepository;
-    private final AvailabilityService availabilityService;
+    private final AvailabilityGridCache gridCache;
+    private final InventoryChangeNotifier changeNotifier;
+    private final ReservationProperties properties;
+    private final EntityManager entityManager;
     
     public ReservationService(
             InventoryAllotmentRepository allotmentRepository,
             InventoryReservationRepository reservationRepository,
-            AvailabilityService availabilityService) {
+            AvailabilityGridCache gridCache,
+            InventoryChangeNotifier changeNotifier,
+            ReservationProperties properties,
+            EntityManager entityManager) {
         this.allotmentRepository = allotmentRepository;
         this.reservationRepository = reservationRepository;
-        this.availabilityService = availabilityService;
+        this.gridCache = gridCache;
+        this.changeNotifier = changeNotifier;
+        this.properties = properties;
+        this.entityManager = entityManager;
     }
     
     /**
      * Reserves inventory for a booking.
      * 
-     * Flow:
+     * Flow (strategy PESSIMISTIC_LOCK, the default):
      * 1) Lock allotment rows for date range using PESSIMISTIC_WRITE query
-     * 2) Compute isBookable(...) after lock
+     * 2) Check the locked rows: every night present, no stopSell, allotmentQty - reservedQty >= roomsCount
      * 3) If not bookable -> throw ConflictException("Insufficient owner inventory")
-     * 4) Insert InventoryReservationEntity(status=RESERVED)
-     * 5) Return reservationId
+     * 4) Increment reservedQty on every locked night
+     * 5) Insert InventoryReservationEntity(status=RESERVED)
+     * 6) Return reservationId
+     * 
+     * With strategy CONDITIONAL_UPDATE, steps 1-4 are replaced by one guarded UPDATE
+     * (see {@link #incrementWithGuardedUpdate}); no rows are locked before the write.
      * 
      * Note: If allotments are missing for any night, it's treated as not bookable.
      * 
@@ -57,30 +88,79 @@ public class ReservationService {
     @Transactional
     public UUID reserve(UUID bookingId, String hotelId, String roomTypeId, 
                        LocalDate checkIn, LocalDate checkOut, int roomsCount) {
-        // Step 1: Lock allotment rows for date range using PESSIMISTIC_WRITE
-        // This ensures exclusive access during concurrent reservation operations
-        allotmentRepository.findLockedAllotmentsForDateRange(hotelId, roomTypeId, checkIn, checkOut);
-        
-        // Step 2: Compute isBookable(...) after lock
-        // This checks availability including missing allotments and stopSell flags
-        boolean bookable = availabilityService.isBookable(hotelId, roomTypeId, checkIn, checkOut, roomsCount);
-        
-        // Step 3: If not bookable -> throw ConflictException
-        if (!bookable) {
-            throw new ConflictException("Insufficient owner inventory");
+        if (properties.getStrategy() == ReservationProperties.Strategy.CONDITIONAL_UPDATE) {
+            incrementWithGuardedUpdate(hotelId, roomTypeId, checkIn, checkOut, roomsCount);
+        } else {
+            incrementWithRowLocks(hotelId, roomTypeId, checkIn, checkOut, roomsCount);
         }
+        gridCache.invalidate(hotelId, roomTypeId);
+        changeNotifier.inventoryChanged(hotelId, roomTypeId, checkIn, checkOut);
         
-        // Step 4: Insert InventoryReservationEntity(status=RESERVED)
+        // Step 5: Insert InventoryReservationEntity(status=RESERVED)
         InventoryReservationEntity reservation = new InventoryReservationEntity(
             bookingId, hotelId, roomTypeId, checkIn, checkOut, roomsCount);
         reservation.setStatus(ReservationStatus.RESERVED);
         
         InventoryReservationEntity savedReservation = reservationRepository.save(reservation);
         
-        // Step 5: Return reservationId
+        // Step 6: Return reservationId
         return savedReservation.getId();
     }
     
+    /**
+     * Reserves several room types of one hotel for the same stay in a single transaction.
+     * 
+     * Lines for the same room type are merged and processed in roomTypeId order. With
+     * PESSIMISTIC_LOCK, all rows are locked by one query in (roomTypeId, date) order - a canonical
+     * order, so concurrent carts cannot deadlock - and every line is validated against that one
+     * read before any counter changes. With CONDITIONAL_UPDATE, each line's guarded update runs
+     * in the same order. Either every line is reserved or none is.
+     * 
+     * @param bookingId Booking identifier (shared by every reservation row)
+     * @param hotelId Hotel identifier
+     * @param checkIn Check-in date (inclusive)
+     * @param checkOut Check-out date (exclusive)
+     * @param lines Room type lines to reserve
+     * @return Reservation ids, one per distinct room type, in roomTypeId order
+     * @throws ConflictException if any line has insufficient inventory
+     */
+    @Transactional
+    public List<UUID> reserveCart(UUID bookingId, String hotelId,
+                                  LocalDate checkIn, LocalDate checkOut, List<CartReservationLine> lines) {
+        if (lines == null || lines.isEmpty()) {
+            throw new IllegalArgumentException("Cart must contain at least one line");
+        }
+        
+        // Merge duplicate room types; TreeMap gives the canonical roomTypeId order
+        Map<String, Integer> roomsByType = new TreeMap<>();
+        for (CartReservationLine line : lines) {
+            if (line.getRoomsCount() <= 0) {
+                throw new IllegalArgumentException("Cart line rooms must be greater than 0");
+            }
+            roomsByType.merge(line.getRoomTypeId(), line.getRoomsCount(), Integer::sum);
+        }
+        
+        if (properties.getStrategy() == ReservationProperties.Strategy.CONDITIONAL_UPDATE) {
+            for (Map.Entry<String, Integer> line : roomsByType.entrySet()) {
+                incrementWithGuardedUpdate(hotelId, line.getKey(), checkIn, checkOut, line.getValue());
+            }
+        } else {
+            incrementCartWithRowLocks(hotelId, checkIn, checkOut, roomsByType);
+        }
+        
+        List<UUID> reservationIds = new ArrayList<>();
+        for (Map.Entry<String, Integer> line : roomsByType.entrySet()) {
+            gridCache.invalidate(hotelId, line.getKey());
+            changeNotifier.inventoryChanged(hotelId, line.getKey(), checkIn, checkOut);
+            
+            InventoryReservationEntity reservation = new InventoryReservationEntity(
+                bookingId, hotelId, line.getKey(), checkIn, checkOut, line.getValue());
+            reservation.setStatus(ReservationStatus.RESERVED);
+            reservationIds.add(reservationRepository.save(reservation).getId());
+        }
+        return reservationIds;
+    }
+    
     /**
      * Releases inventory reservations for a booking.
      * 
@@ -88,7 +168,7 @@ public class ReservationService {
      * - Find by bookingId
      * - If none -> no-op
      * - If already RELEASED -> no-op (idempotent)
-     * - Else set RELEASED and save
+     * - Else lock the stay's allotment rows, decrement reservedQty, set RELEASED and save
      * 
      * @param bookingId Booking identifier
      */
@@ -102,6 +182,28 @@ public class ReservationService {
             return;
         }
         
+        releaseReservations(reservations);
+    }
+    
+    /**
+     * Releases the RESERVED holds of many bookings at once (draft expiry batches).
+     * One IN query on the booking_id index instead of a lookup per booking.
+     * 
+     * @param bookingIds Booking identifiers
+     * @return number of reservations released
+     */
+    @Transactional
+    public int releaseByBookingIds(Collection<UUID> bookingIds) {
+        if (bookingIds.isEmpty()) {
+            return 0;
+        }
+        List<InventoryReservationEntity> reservations =
+            reservationRepository.findByBookingIdInAndStatus(bookingIds, ReservationStatus.RESERVED);
+        releaseReservations(reservations);
+        return reservations.size();
+    }
+    
+    private void releaseReservations(List<InventoryReservationEntity> reservations) {
         // Process each reservation
         for (InventoryReservationEntity reservation : reservations) {
             // If already RELEASED -> no-op (idempotent)
@@ -109,7 +211,25 @@ public class ReservationService {
                 continue;
             }
             
-            // Else set RELEASED and save
+            // Give the rooms back to every night of the stay
+            if (properties.getStrategy() == ReservationProperties.Strategy.CONDITIONAL_UPDATE) {
+                allotmentRepository.decrementReservedQty(
+                    reservation.getHotelId(), reservation.getRoomTypeId(),
+                    reservation.getCheckIn(), reservation.getCheckOut(),
+                    reservation.getRoomsCount(), Instant.now());
+            } else {
+                List<InventoryAllotmentEntity> lockedAllotments = allotmentRepository.findLockedAllotmentsForDateRange(
+                    reservation.getHotelId(), reservation.getRoomTypeId(), 
+                    reservation.getCheckIn(), reservation.getCheckOut());
+                for (InventoryAllotmentEntity allotment : lockedAllotments) {
+                    allotment.setReservedQty(Math.max(0, allotment.getReservedQty() - reservation.getRoomsCount()));
+                }
+            }
+            gridCache.invalidate(reservation.getHotelId(), reservation.getRoomTypeId());
+            changeNotifier.inventoryChanged(reservation.getHotelId(), reservation.getRoomTypeId(),
+                reservation.getCheckIn(), reservation.getCheckOut());
+            
+            // Set RELEASED and save
             reservation.setStatus(ReservationStatus.RELEASED);
             reservationRepository.save(reservation);
         }
@@ -149,5 +269,129 @@ public class ReservationService {
         // Actual release should be done by bookingId, which is handled in releaseByBookingId
         // This is a placeholder implementation
     }
+    
+    /**
+     * PESSIMISTIC_LOCK strategy: lock every night, validate the locked rows, then increment.
+     * The increments are flushed with the reservation insert.
+     */
+    private void incrementWithRowLocks(String hotelId, String roomTypeId,
+                                       LocalDate checkIn, LocalDate checkOut, int roomsCount) {
+        // Lock allotment rows for date range using PESSIMISTIC_WRITE
+        // This ensures exclusive access during concurrent reservation operations
+        List<InventoryAllotmentEntity> lockedAllotments = 
+            allotmentRepository.findLockedAllotmentsForDateRange(hotelId, roomTypeId, checkIn, checkOut);
+        
+        // Validate against the locked rows
+        if (!hasCapacity(lockedAllotments, ChronoUnit.DAYS.between(checkIn, checkOut), roomsCount)) {
+            throw new ConflictException("Insufficient owner inventory");
+        }
+        
+        // Maintain the per-night reserved counters
+        for (InventoryAllotmentEntity allotment : lockedAllotments) {
+            allotment.setReservedQty(allotment.getReservedQty() + roomsCount);
+        }
+    }
+    
+    /**
+     * PESSIMISTIC_LOCK strategy for carts: one locking read for every line, validate all, then increment.
+     */
+    private void incrementCartWithRowLocks(String hotelId, LocalDate checkIn, LocalDate checkOut,
+                                           Map<String, Integer> roomsByType) {
+        List<InventoryAllotmentEntity> lockedAllotments = allotmentRepository
+            .findLockedAllotmentsForRoomTypes(hotelId, roomsByType.keySet(), checkIn, checkOut);
+        
+        Map<String, List<InventoryAllotmentEntity>> lockedByType = new HashMap<>();
+        for (InventoryAllotmentEntity allotment : lockedAllotments) {
+            lockedByType.computeIfAbsent(allotment.getRoomTypeId(), k -> new ArrayList<>()).add(allotment);
+        }
+        
+        // Validate every line before touching any counter
+        long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
+        for (Map.Entry<String, Integer> line : roomsByType.entrySet()) {
+            List<InventoryAllotmentEntity> rows = lockedByType.getOrDefault(line.getKey(), List.of());
+            if (!hasCapacity(rows, nights, line.getValue())) {
+                throw new ConflictException("Insufficient owner inventory for room type " + line.getKey());
+            }
+        }
+        
+        for (Map.Entry<String, Integer> line : roomsByType.entrySet()) {
+            for (InventoryAllotmentEntity allotment : lockedByType.get(line.getKey())) {
+                allotment.setReservedQty(allotment.getReservedQty() + line.getValue());
+            }
+        }
+    }
+    
+    /**
+     * CONDITIONAL_UPDATE strategy: one guarded UPDATE over the stay.
+     * 
+     * The database only increments nights that still have capacity, so the stay is bookable
+     * exactly when the affected row count equals the number of nights. Each attempt runs under
+     * a JDBC savepoint; on a partial match the attempt is rolled back to the savepoint and retried
+     * up to maxRetries times (a concurrent release may free the missing night).
+     */
+    private void incrementWithGuardedUpdate(String hotelId, String roomTypeId,
+                                            LocalDate checkIn, LocalDate checkOut, int roomsCount) {
+        long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
+        if (nights <= 0 || roomsCount <= 0) {
+            throw new ConflictException("Insufficient owner inventory");
+        }
+        
+        // Push pending entity changes first: the savepoint must not swallow them
+        entityManager.flush();
+        Session session = entityManager.unwrap(Session.class);
+        
+        int attempts = Math.max(0, properties.getMaxRetries()) + 1;
+        for (int attempt = 1; attempt <= attempts; attempt++) {
+            Savepoint savepoint = session.doReturningWork(Connection::setSavepoint);
+            int updated = allotmentRepository.incrementReservedQtyIfAvailable(
+                hotelId, roomTypeId, checkIn, checkOut, roomsCount, Instant.now());
+            if (updated == nights) {
+                session.doWork(connection -> connection.releaseSavepoint(savepoint));
+                return;
+            }
+            
+            // Undo exactly the nights this attempt incremented
+            session.doWork(connection -> connection.rollback(savepoint));
+            
+            // Nothing matched: sold out, stop-sell or missing rows - retrying will not help
+            if (updated == 0 || attempt == attempts) {
+                break;
+            }
+            
+            logger.debug("Guarded reserve matched {}/{} nights - hotelId: {}, roomTypeId: {}, attempt: {}",
+                updated, nights, hotelId, roomTypeId, attempt);
+            backoff(attempt);
+        }
+        
+        throw new ConflictException("Insufficient owner inventory");
+    }
+    
+    private void backoff(int attempt) {
+        long delayMs = properties.getRetryBackoffMs() * attempt;
+        if (delayMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Reservation interrupted");
+        }
+    }
+    
+    /**
+     * Checks locked allotment rows for capacity.
+     * Every night must be present, not stop-sell, and have roomsCount rooms left.
+     */
+    private boolean hasCapacity(List<InventoryAllotmentEntity> allotments, long nights, int roomsCount) {
+        if (nights <= 0 || allotments.size() < nights) {
+            return false;
+        }
+        for (InventoryAllotmentEntity allotment : allotments) {
+            if (allotment.isStopSell() || allotment.getAllotmentQty() - allotment.getReservedQty() < roomsCount) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
-
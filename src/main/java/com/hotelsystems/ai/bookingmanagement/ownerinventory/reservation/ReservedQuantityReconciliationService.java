@@ -0,0 +1,169 @@
+package com.hotelsystems.ai.bookingmanagement.ownerinventory.reservation;
+
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.AvailabilityGridCache;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.InventoryChangeNotifier;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.dto.ReservedQtyDriftResponse;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.InventoryAllotmentEntity;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.InventoryReservationArchiveEntity;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.InventoryReservationEntity;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.InventoryAllotmentRepository;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.InventoryReservationArchiveRepository;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.InventoryReservationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reconciliation check for the reserved_qty counters on inventory_allotments.
+ * Recomputes the expected per-night counter from RESERVED reservations and reports
+ * (and optionally repairs) every night where the stored value has drifted.
+ * 
+ * Finished stays moved to inventory_reservations_archive by ReservationArchiver keep their
+ * rooms in reserved_qty, so archived RESERVED rows are counted as well.
+ */
+@Service
+public class ReservedQuantityReconciliationService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReservedQuantityReconciliationService.class);
+    
+    private final InventoryAllotmentRepository allotmentRepository;
+    private final InventoryReservationRepository reservationRepository;
+    private final InventoryReservationArchiveRepository archiveRepository;
+    private final AvailabilityGridCache gridCache;
+    private final InventoryChangeNotifier changeNotifier;
+    
+    public ReservedQuantityReconciliationService(
+            InventoryAllotmentRepository allotmentRepository,
+            InventoryReservationRepository reservationRepository,
+            InventoryReservationArchiveRepository archiveRepository,
+            AvailabilityGridCache gridCache,
+            InventoryChangeNotifier changeNotifier) {
+        this.allotmentRepository = allotmentRepository;
+        this.reservationRepository = reservationRepository;
+        this.archiveRepository = archiveRepository;
+        this.gridCache = gridCache;
+        this.changeNotifier = changeNotifier;
+    }
+    
+    /**
+     * Compares stored reserved_qty with the sum of overlapping RESERVED reservations,
+     * live and archived.
+     * 
+     * When repair is true the allotment rows are locked with PESSIMISTIC_WRITE (same lock
+     * as ReservationService.reserve) before reservations are read, and drifted rows are corrected.
+     * 
+     * @param hotelId Hotel identifier
+     * @param roomTypeId Optional room type filter (null for all room types)
+     * @param startDate Start date (inclusive)
+     * @param endDate End date (exclusive)
+     * @param repair Whether drifted counters should be overwritten with the expected value
+     * @return One entry per drifted night (empty when counters are consistent)
+     */
+    @Transactional
+    public List<ReservedQtyDriftResponse> reconcile(String hotelId, String roomTypeId,
+                                                    LocalDate startDate, LocalDate endDate, boolean repair) {
+        if (startDate == null || endDate == null || !startDate.isBefore(endDate)) {
+            throw new IllegalArgumentException("startDate must be before endDate");
+        }
+        
+        List<InventoryAllotmentEntity> allotments = allotmentRepository
+            .findByHotelIdAndOptionalRoomTypeIdAndDateRange(hotelId, roomTypeId, startDate, endDate);
+        
+        if (repair) {
+            // Re-read under lock so concurrent reserve/release cannot interleave with the repair
+            Set<String> roomTypeIds = new LinkedHashSet<>();
+            allotments.forEach(a -> roomTypeIds.add(a.getRoomTypeId()));
+            allotments = new ArrayList<>();
+            for (String lockedRoomTypeId : roomTypeIds) {
+                allotments.addAll(allotmentRepository.findLockedAllotmentsForDateRange(
+                    hotelId, lockedRoomTypeId, startDate, endDate));
+            }
+        }
+        
+        Map<String, int[]> expectedByRoomType = expectedReservedQty(
+            reservationRepository.findReservedOverlapping(hotelId, roomTypeId, startDate, endDate),
+            archiveRepository.findReservedOverlapping(hotelId, roomTypeId, startDate, endDate),
+            startDate, endDate);
+        
+        List<ReservedQtyDriftResponse> drifts = new ArrayList<>();
+        for (InventoryAllotmentEntity allotment : allotments) {
+            int[] expected = expectedByRoomType.get(allotment.getRoomTypeId());
+            int offset = (int) ChronoUnit.DAYS.between(startDate, allotment.getDate());
+            int expectedQty = expected != null ? expected[offset] : 0;
+            
+            if (expectedQty == allotment.getReservedQty()) {
+                continue;
+            }
+            
+            ReservedQtyDriftResponse drift = new ReservedQtyDriftResponse();
+            drift.setInventoryRowId(allotment.getId());
+            drift.setHotelId(allotment.getHotelId());
+            drift.setRoomTypeId(allotment.getRoomTypeId());
+            drift.setDate(allotment.getDate());
+            drift.setStoredReservedQty(allotment.getReservedQty());
+            drift.setExpectedReservedQty(expectedQty);
+            
+            if (repair) {
+                allotment.setReservedQty(expectedQty);
+                gridCache.invalidate(allotment.getHotelId(), allotment.getRoomTypeId());
+                changeNotifier.inventoryChanged(allotment.getHotelId(), allotment.getRoomTypeId(),
+                    allotment.getDate(), allotment.getDate().plusDays(1));
+                drift.setRepaired(true);
+            }
+            drifts.add(drift);
+        }
+        
+        if (!drifts.isEmpty()) {
+            logger.warn("reserved_qty drift detected - hotelId: {}, roomTypeId: {}, start: {}, end: {}, driftedNights: {}, repaired: {}",
+                hotelId, roomTypeId, startDate, endDate, drifts.size(), repair);
+        }
+        
+        return drifts;
+    }
+    
+    /**
+     * Sweeps reservation intervals with a per-room-type difference array.
+     * Result arrays are indexed by day offset from startDate.
+     */
+    private Map<String, int[]> expectedReservedQty(List<InventoryReservationEntity> reservations,
+                                                   List<InventoryReservationArchiveEntity> archived,
+                                                   LocalDate startDate, LocalDate endDate) {
+        int days = (int) ChronoUnit.DAYS.between(startDate, endDate);
+        Map<String, int[]> diffs = new HashMap<>();
+        
+        for (InventoryReservationEntity reservation : reservations) {
+            addInterval(diffs, reservation.getRoomTypeId(), reservation.getCheckIn(), reservation.getCheckOut(),
+                reservation.getRoomsCount(), startDate, days);
+        }
+        for (InventoryReservationArchiveEntity reservation : archived) {
+            addInterval(diffs, reservation.getRoomTypeId(), reservation.getCheckIn(), reservation.getCheckOut(),
+                reservation.getRoomsCount(), startDate, days);
+        }
+        
+        for (int[] diff : diffs.values()) {
+            for (int i = 1; i <= days; i++) {
+                diff[i] += diff[i - 1];
+            }
+        }
+        return diffs;
+    }
+    
+    private static void addInterval(Map<String, int[]> diffs, String roomTypeId, LocalDate checkIn, LocalDate checkOut,
+                                    int roomsCount, LocalDate startDate, int days) {
+        int[] diff = diffs.computeIfAbsent(roomTypeId, k -> new int[days + 1]);
+        int from = (int) Math.max(0, ChronoUnit.DAYS.between(startDate, checkIn));
+        int to = (int) Math.min(days, ChronoUnit.DAYS.between(startDate, checkOut));
+        diff[from] += roomsCount;
+        diff[to] -= roomsCount;
+    }
+}
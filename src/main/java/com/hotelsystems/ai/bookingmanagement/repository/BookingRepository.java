@@ -2,12 +2,16 @@ package com.hotelsystems.ai.bookingmanagement.repository;
 
 import com.hotelsystems.ai.bookingmanagement.domain.entity.BookingEntity;
 import com.hotelsystems.ai.bookingmanagement.enums.BookingStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -59,5 +63,72 @@ public interface BookingRepository extends JpaRepository<BookingEntity, UUID> {
             @Param("checkInDate") LocalDate checkInDate,
             @Param("checkOutDate") LocalDate checkOutDate,
             @Param("statuses") List<BookingStatus> statuses);
+    
+    /**
+     * Keyset page of DRAFT bookings expiring after (afterExpiresAt, afterId), ordered by expiresAt then id.
+     * Used to rebuild the draft expiry timing wheel at startup; a range scan on idx_bookings_core_status_expires_at.
+     */
+    @Query("SELECT b.id AS id, b.expiresAt AS expiresAt FROM BookingEntity b " +
+           "WHERE b.status = com.hotelsystems.ai.bookingmanagement.enums.BookingStatus.DRAFT " +
+           "AND (b.expiresAt > :afterExpiresAt OR (b.expiresAt = :afterExpiresAt AND b.id > :afterId)) " +
+           "ORDER BY b.expiresAt, b.id")
+    List<DraftExpiry> findDraftExpiriesAfter(
+            @Param("afterExpiresAt") Instant afterExpiresAt,
+            @Param("afterId") UUID afterId,
+            Pageable pageable);
+    
+    /**
+     * Ids of DRAFT bookings whose expiresAt is at or before the cutoff, oldest first.
+     * Used by the catch-up sweep for drafts the timing wheel never saw (other nodes, restarts).
+     */
+    @Query("SELECT b.id FROM BookingEntity b " +
+           "WHERE b.status = com.hotelsystems.ai.bookingmanagement.enums.BookingStatus.DRAFT " +
+           "AND b.expiresAt <= :cutoff " +
+           "ORDER BY b.expiresAt")
+    List<UUID> findExpiredDraftIds(@Param("cutoff") Instant cutoff, Pageable pageable);
+    
+    /**
+     * Moves a batch of bookings from DRAFT to EXPIRED in one statement.
+     * Only rows still in DRAFT and past expiresAt are touched, so bookings confirmed
+     * in the meantime are left alone.
+     * 
+     * @return number of bookings expired
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BookingEntity b " +
+           "SET b.status = com.hotelsystems.ai.bookingmanagement.enums.BookingStatus.EXPIRED, b.updatedAt = :now " +
+           "WHERE b.id IN :ids " +
+           "AND b.status = com.hotelsystems.ai.bookingmanagement.enums.BookingStatus.DRAFT " +
+           "AND b.expiresAt <= :now")
+    int expireDrafts(@Param("ids") Collection<UUID> ids, @Param("now") Instant now);
+    
+    /**
+     * Moves one booking from DRAFT to RECHECKING when confirm starts.
+     * Only a DRAFT that has not expired is touched, so a draft the expiry sweep has
+     * (or is about to have) moved to EXPIRED cannot be confirmed.
+     * 
+     * @return 1 if the booking moved to RECHECKING, 0 otherwise
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BookingEntity b " +
+           "SET b.status = com.hotelsystems.ai.bookingmanagement.enums.BookingStatus.RECHECKING, b.updatedAt = :now " +
+           "WHERE b.id = :id " +
+           "AND b.status = com.hotelsystems.ai.bookingmanagement.enums.BookingStatus.DRAFT " +
+           "AND (b.expiresAt IS NULL OR b.expiresAt > :now)")
+    int startRecheck(@Param("id") UUID id, @Param("now") Instant now);
+    
+    /**
+     * Ids among the given bookings that are currently in the given status.
+     */
+    @Query("SELECT b.id FROM BookingEntity b WHERE b.id IN :ids AND b.status = :status")
+    List<UUID> findIdsByIdInAndStatus(@Param("ids") Collection<UUID> ids, @Param("status") BookingStatus status);
+    
+    /**
+     * Booking id and expiry projection for the draft expiry engine.
+     */
+    interface DraftExpiry {
+        UUID getId();
+        
+        Instant getExpiresAt();
+    }
 }
-
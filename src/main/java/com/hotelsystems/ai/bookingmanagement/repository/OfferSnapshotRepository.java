@@ -0,0 +1,30 @@
+package com.hotelsystems.ai.bookingmanagement.repository;
+
+import com.hotelsystems.ai.bookingmanagement.domain.entity.OfferSnapshotEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Offer Snapshot Repository
+ * 
+ * JPA repository for offer snapshots spilled out of OfferSnapshotStore.
+ */
+@Repository
+public interface OfferSnapshotRepository extends JpaRepository<OfferSnapshotEntity, String> {
+    
+    /**
+     * Delete snapshots that expired at or before now
+     * 
+     * @return number of rows deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OfferSnapshotEntity s WHERE s.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
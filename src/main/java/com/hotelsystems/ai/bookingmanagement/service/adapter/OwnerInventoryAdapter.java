@@ -1,6 +1,12 @@
 package com.hotelsystems.ai.bookingmanagement.service.adapter;
 
 import com.hotelsystems.ai.bookingmanagement.domain.entity.BookingEntity;
+import com.hotelsystems.ai.bookingmanagement.dto.request.CartLineDto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
 
 /**
  * Owner Inventory Adapter Interface
@@ -26,10 +32,56 @@ public interface OwnerInventoryAdapter {
      */
     String reserveAndConfirm(BookingEntity booking);
     
+    /**
+     * Recheck every line of a multi-room-type (cart) booking with owner inventory
+     * 
+     * @param booking Booking entity to recheck (hotel and stay)
+     * @param lines Cart lines to check
+     * @return RecheckResult - SOLD_OUT if any line is unavailable
+     */
+    RecheckResult recheckCart(BookingEntity booking, List<CartLineDto> lines);
+    
+    /**
+     * Reserve every line of a cart booking atomically and confirm it
+     * 
+     * @param booking Booking entity to reserve and confirm (hotel and stay)
+     * @param lines Cart lines to reserve
+     * @return Internal confirmation reference
+     */
+    String reserveCartAndConfirm(BookingEntity booking, List<CartLineDto> lines);
+    
     /**
      * Release booking from owner inventory
      * 
      * @param booking Booking entity to release
      */
     void release(BookingEntity booking);
+    
+    /**
+     * Release any holds still attached to a batch of expired draft bookings
+     * 
+     * Called by the draft expiry sweeper in the same transaction that marks the drafts EXPIRED.
+     * Default: no holds are taken before confirm, so nothing to release.
+     * 
+     * @param bookingIds Bookings that were just expired
+     * @return Number of holds released
+     */
+    default int releaseExpiredDrafts(Collection<UUID> bookingIds) {
+        return 0;
+    }
+    
+    /**
+     * Run a confirm step while holding the owner inventory's reservation lock for this booking
+     * 
+     * Called before the confirm transaction starts, so implementations can queue same room type
+     * confirms in memory instead of on database row locks. Default: no lock.
+     * 
+     * @param booking Booking entity being confirmed
+     * @param roomTypeIds Room types the confirm will reserve (one for single bookings, every line for carts)
+     * @param action Confirm step to run
+     * @return Result of the action
+     */
+    default <T> T withReservationLock(BookingEntity booking, List<String> roomTypeIds, Supplier<T> action) {
+        return action.get();
+    }
 }
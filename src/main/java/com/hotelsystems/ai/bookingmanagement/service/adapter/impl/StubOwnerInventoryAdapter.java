@@ -1,12 +1,14 @@
 package com.hotelsystems.ai.bookingmanagement.service.adapter.impl;
 
 import com.hotelsystems.ai.bookingmanagement.domain.entity.BookingEntity;
+import com.hotelsystems.ai.bookingmanagement.dto.request.CartLineDto;
 import com.hotelsystems.ai.bookingmanagement.service.adapter.OwnerInventoryAdapter;
 import com.hotelsystems.ai.bookingmanagement.service.adapter.RecheckResult;
 import com.hotelsystems.ai.bookingmanagement.service.adapter.RecheckStatus;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -42,6 +44,29 @@ public class StubOwnerInventoryAdapter implements OwnerInventoryAdapter {
         return confirmationRef;
     }
     
+    @Override
+    public RecheckResult recheckCart(BookingEntity booking, List<CartLineDto> lines) {
+        log.info("STUB: Rechecking owner inventory cart - bookingId: {}, hotelId: {}, lines: {}",
+                booking.getId(), booking.getHotelId(), lines.size());
+        
+        // Stub: Always return OK
+        return RecheckResult.builder()
+                .status(RecheckStatus.OK)
+                .message("STUB: Owner inventory cart recheck successful (stub implementation)")
+                .build();
+    }
+    
+    @Override
+    public String reserveCartAndConfirm(BookingEntity booking, List<CartLineDto> lines) {
+        log.info("STUB: Reserving and confirming owner inventory cart - bookingId: {}, hotelId: {}, lines: {}",
+                booking.getId(), booking.getHotelId(), lines.size());
+        
+        // Stub: Return mock internal confirmation reference
+        String confirmationRef = "OWN-" + UUID.randomUUID();
+        log.info("STUB: Created owner cart confirmation reference: {}", confirmationRef);
+        return confirmationRef;
+    }
+    
     @Override
     public void release(BookingEntity booking) {
         log.info("STUB: Releasing owner inventory - bookingId: {}, confirmationRef: {}",
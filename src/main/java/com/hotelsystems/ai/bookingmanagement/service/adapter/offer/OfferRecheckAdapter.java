@@ -1,5 +1,6 @@
 package com.hotelsystems.ai.bookingmanagement.service.adapter.offer;
 
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OfferDto;
 import com.hotelsystems.ai.bookingmanagement.dto.offer.OffersRecheckResponse;
 
 import java.time.LocalDate;
@@ -29,5 +30,27 @@ public interface OfferRecheckAdapter {
             Integer guests,
             Integer roomsCount
     );
+    
+    /**
+     * Recheck an offer resolved from its snapshot (OfferSnapshotStore)
+     * 
+     * Implementations may take the offer's identifiers from the issued offer instead of
+     * decoding its offerId; by default the offerId is rechecked as usual.
+     * 
+     * @param issued Offer as issued by a search
+     * @param checkIn Check-in date
+     * @param checkOut Check-out date
+     * @param guests Number of guests
+     * @param roomsCount Number of rooms
+     * @return Recheck response with result and updated offer if available
+     */
+    default OffersRecheckResponse recheck(
+            OfferDto issued,
+            LocalDate checkIn,
+            LocalDate checkOut,
+            Integer guests,
+            Integer roomsCount) {
+        return recheck(issued.getOfferId(), checkIn, checkOut, guests, roomsCount);
+    }
 }
 
@@ -3,7 +3,9 @@ package com.hotelsystems.ai.bookingmanagement.service.adapter.offer;
 import com.hotelsystems.ai.bookingmanagement.dto.offer.OfferDto;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Offer Search Adapter Interface
@@ -30,5 +32,59 @@ public interface OfferSearchAdapter {
             Integer guests,
             Integer roomsCount
     );
+    
+    /**
+     * Search for offers and hand each one to the sink as soon as it is ready
+     * 
+     * Default: runs searchOffers and replays the list. Adapters that receive offers
+     * incrementally (e.g. supplier responses) should override this.
+     * 
+     * @param hotelId Hotel identifier
+     * @param checkIn Check-in date
+     * @param checkOut Check-out date
+     * @param guests Number of guests
+     * @param roomsCount Number of rooms
+     * @param sink Receives each offer
+     */
+    default void streamOffers(
+            String hotelId,
+            LocalDate checkIn,
+            LocalDate checkOut,
+            Integer guests,
+            Integer roomsCount,
+            Consumer<OfferDto> sink) {
+        searchOffers(hotelId, checkIn, checkOut, guests, roomsCount).forEach(sink);
+    }
+    
+    /**
+     * Search for offers for every stay of the given length(s) inside [windowStart, windowEnd)
+     * 
+     * Default: one searchOffers call per check-in date and length of stay.
+     * Adapters that can read nightly availability once should override this.
+     * 
+     * @param hotelId Hotel identifier
+     * @param windowStart Earliest check-in date
+     * @param windowEnd Latest check-out date (exclusive end of the window)
+     * @param lengthsOfStay Lengths of stay in nights
+     * @param guests Number of guests
+     * @param roomsCount Number of rooms
+     * @return Available offers, each with its own checkIn/checkOut
+     */
+    default List<OfferDto> searchFlexibleOffers(
+            String hotelId,
+            LocalDate windowStart,
+            LocalDate windowEnd,
+            List<Integer> lengthsOfStay,
+            Integer guests,
+            Integer roomsCount) {
+        List<OfferDto> offers = new ArrayList<>();
+        for (Integer lengthOfStay : lengthsOfStay) {
+            for (LocalDate checkIn = windowStart;
+                 !checkIn.plusDays(lengthOfStay).isAfter(windowEnd);
+                 checkIn = checkIn.plusDays(1)) {
+                offers.addAll(searchOffers(hotelId, checkIn, checkIn.plusDays(lengthOfStay), guests, roomsCount));
+            }
+        }
+        return offers;
+    }
 }
-
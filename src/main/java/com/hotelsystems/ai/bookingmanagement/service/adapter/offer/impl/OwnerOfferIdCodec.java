@@ -0,0 +1,126 @@
+package com.hotelsystems.ai.bookingmanagement.service.adapter.offer.impl;
+
+import com.hotelsystems.ai.bookingmanagement.config.OwnerOfferIdProperties;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Owner Offer ID Codec
+ * 
+ * Self-describing, tamper-evident owner offer identifiers:
+ * 
+ *   OWN-v2.{base64Url(hotelId \n roomTypeId \n checkIn \n checkOut)}.{base64Url(hmacSha256[0..16))}
+ * 
+ * Recheck decodes the id instead of searching for it, so the lookup is one primary-key read.
+ * The truncated HMAC (128 bits) rejects edited or forged ids; it is compared in constant time.
+ * The application does not start without a signing key of at least 32 bytes.
+ */
+@Component
+public class OwnerOfferIdCodec {
+    
+    static final String PREFIX = "OWN-";
+    static final String V2_PREFIX = PREFIX + "v2.";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_BYTES = 16;
+    private static final int MIN_KEY_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    
+    private final SecretKeySpec signingKey;
+    
+    public OwnerOfferIdCodec(OwnerOfferIdProperties properties) {
+        String key = properties.getSigningKey();
+        if (key == null || key.isBlank()) {
+            throw new IllegalStateException(
+                    "offers.owner-offer-id.signing-key is not set (OWNER_OFFER_ID_SIGNING_KEY)");
+        }
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length < MIN_KEY_BYTES) {
+            throw new IllegalStateException("offers.owner-offer-id.signing-key must be at least "
+                    + MIN_KEY_BYTES + " bytes");
+        }
+        this.signingKey = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+    }
+    
+    /**
+     * Decoded owner offer
+     */
+    public record OwnerOfferId(String hotelId, String roomTypeId, LocalDate checkIn, LocalDate checkOut) {
+    }
+    
+    /**
+     * Encode an owner offer as a signed v2 offerId
+     */
+    public String encode(String hotelId, String roomTypeId, LocalDate checkIn, LocalDate checkOut) {
+        String body = ENCODER.encodeToString(
+                (hotelId + "\n" + roomTypeId + "\n" + checkIn + "\n" + checkOut).getBytes(StandardCharsets.UTF_8));
+        return V2_PREFIX + body + "." + ENCODER.encodeToString(sign(body));
+    }
+    
+    /**
+     * True if the offerId uses the v2 format (it may still fail verification)
+     */
+    public boolean isV2(String offerId) {
+        return offerId != null && offerId.startsWith(V2_PREFIX);
+    }
+    
+    /**
+     * Decode and verify a v2 offerId
+     * 
+     * @return the decoded offer, or empty if the id is malformed or its signature does not match
+     */
+    public Optional<OwnerOfferId> decode(String offerId) {
+        if (!isV2(offerId)) {
+            return Optional.empty();
+        }
+        String rest = offerId.substring(V2_PREFIX.length());
+        int dot = rest.indexOf('.');
+        if (dot <= 0 || dot == rest.length() - 1) {
+            return Optional.empty();
+        }
+        String body = rest.substring(0, dot);
+        
+        try {
+            byte[] signature = DECODER.decode(rest.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, sign(body))) {
+                return Optional.empty();
+            }
+            String[] fields = new String(DECODER.decode(body), StandardCharsets.UTF_8).split("\n", -1);
+            if (fields.length != 4) {
+                return Optional.empty();
+            }
+            return Optional.of(new OwnerOfferId(fields[0], fields[1], LocalDate.parse(fields[2]), LocalDate.parse(fields[3])));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+    
+    /**
+     * Pre-v2 format: OWN-{8 hex chars of String.hashCode}. Kept for migration only.
+     */
+    public String encodeLegacy(String hotelId, String roomTypeId, LocalDate checkIn, LocalDate checkOut) {
+        String input = hotelId + "-" + roomTypeId + "-" + checkIn + "-" + checkOut;
+        int hash = input.hashCode();
+        return PREFIX + String.format("%08x", Math.abs(hash));
+    }
+    
+    private byte[] sign(String body) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            return Arrays.copyOf(mac.doFinal(body.getBytes(StandardCharsets.US_ASCII)), SIGNATURE_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
@@ -2,12 +2,14 @@ package com.hotelsystems.ai.bookingmanagement.service.adapter.offer.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hotelsystems.ai.bookingmanagement.config.OwnerOfferIdProperties;
 import com.hotelsystems.ai.bookingmanagement.dto.offer.MoneyDto;
 import com.hotelsystems.ai.bookingmanagement.dto.offer.OfferDto;
 import com.hotelsystems.ai.bookingmanagement.dto.offer.OffersRecheckResponse;
 import com.hotelsystems.ai.bookingmanagement.enums.OfferSource;
 import com.hotelsystems.ai.bookingmanagement.enums.RecheckResult;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.AvailabilityService;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.NightlyAvailability;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.RoomTypeEntity;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.pricing.PricingIntelligenceClient;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.RoomTypeRepository;
@@ -22,7 +24,10 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Real Owner Offer Adapter
@@ -40,6 +45,8 @@ public class RealOwnerOfferAdapter implements OfferSearchAdapter, OfferRecheckAd
     private final AvailabilityService availabilityService;
     private final PricingIntelligenceClient pricingClient;
     private final ObjectMapper objectMapper;
+    private final OwnerOfferIdCodec offerIdCodec;
+    private final OwnerOfferIdProperties offerIdProperties;
     
     @Override
     public List<OfferDto> searchOffers(
@@ -63,31 +70,20 @@ public class RealOwnerOfferAdapter implements OfferSearchAdapter, OfferRecheckAd
             return new ArrayList<>();
         }
         
+        // Filter room types that can host the request before touching inventory
+        List<RoomTypeEntity> candidates = filterCandidates(roomTypes, guests);
+        
+        // Check actual availability for all candidate room types in one batch
+        List<String> candidateIds = new ArrayList<>();
+        candidates.forEach(roomType -> candidateIds.add(roomType.getId()));
+        Map<String, Integer> minAvailableByRoomType = availabilityService.minAvailableByRoomType(
+                hotelId, candidateIds, checkIn, checkOut);
+        
         List<OfferDto> offers = new ArrayList<>();
         
-        // For each room type, check availability and create offer if available
-        for (RoomTypeEntity roomType : roomTypes) {
-            // Skip inactive room types
-            if (!roomType.isActive()) {
-                log.debug("Skipping inactive room type: {}", roomType.getId());
-                continue;
-            }
-            
-            // Check if room type has enough capacity for guests
-            if (roomType.getMaxGuests() != null && guests != null && roomType.getMaxGuests() < guests) {
-                log.debug("Room type {} maxGuests ({}) is less than requested guests ({})", 
-                        roomType.getId(), roomType.getMaxGuests(), guests);
-                continue;
-            }
-            
-            // Check actual availability using AvailabilityService
-            boolean isAvailable = availabilityService.isBookable(
-                    hotelId, 
-                    roomType.getId(), 
-                    checkIn, 
-                    checkOut, 
-                    rooms
-            );
+        // For each available room type, create offer
+        for (RoomTypeEntity roomType : candidates) {
+            boolean isAvailable = minAvailableByRoomType.getOrDefault(roomType.getId(), 0) >= rooms;
             
             if (!isAvailable) {
                 log.debug("Room type {} not available for dates {} to {}", 
@@ -95,59 +91,76 @@ public class RealOwnerOfferAdapter implements OfferSearchAdapter, OfferRecheckAd
                 continue;
             }
             
-            // Get pricing from PricingIntelligenceClient
-            long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
-            com.hotelsystems.ai.bookingmanagement.ownerinventory.dto.PricingQuote pricingQuote;
-            try {
-                pricingQuote = pricingClient.getQuote(
-                        hotelId,
-                        roomType.getId(),
-                        checkIn,
-                        checkOut,
-                        guests != null ? guests : 1,
-                        "USD"
-                );
-            } catch (Exception e) {
-                log.warn("Failed to get pricing quote for room type {}, using default: {}", 
-                        roomType.getId(), e.getMessage());
-                // Use default pricing if pricing service fails
-                pricingQuote = new com.hotelsystems.ai.bookingmanagement.ownerinventory.dto.PricingQuote(
-                        "USD", 
-                        nights * 10000L // Default 100 per night in minor units
-                );
-            }
-            
-            // Convert pricing from minor units to BigDecimal
-            BigDecimal totalPrice = BigDecimal.valueOf(pricingQuote.getTotalPriceMinor())
-                    .divide(BigDecimal.valueOf(100)); // Convert from minor units (cents) to dollars
-            
-            // Generate deterministic offer ID
-            String offerId = "OWN-" + generateOfferId(hotelId, roomType.getId(), checkIn, checkOut);
-            
-            // Create offer
-            OfferDto offer = OfferDto.builder()
-                    .offerId(offerId)
-                    .source(OfferSource.OWNER)
-                    .hotelId(hotelId)
-                    .roomTypeId(roomType.getId())
-                    .checkIn(checkIn)
-                    .checkOut(checkOut)
-                    .totalPrice(MoneyDto.builder()
-                            .amount(totalPrice)
-                            .currency(pricingQuote.getCurrency())
-                            .build())
-                    .cancellationPolicySummary("Free cancellation up to 48 hours before check-in")
-                    .payload(createPayload(roomType, totalPrice, pricingQuote.getCurrency()))
-                    .build();
-            
+            OfferDto offer = buildOffer(hotelId, roomType, checkIn, checkOut, guests);
             offers.add(offer);
-            log.debug("Created offer for room type {}: {}", roomType.getId(), offerId);
+            log.debug("Created offer for room type {}: {}", roomType.getId(), offer.getOfferId());
         }
         
         log.info("Found {} available offers for hotel: {}", offers.size(), hotelId);
         return offers;
     }
     
+    /**
+     * Flexible-date search over owner inventory.
+     * 
+     * Nightly availability for every candidate room type is read once for the whole window;
+     * bookable check-ins for each length of stay come from a sliding-window minimum over that
+     * array, so the cost is O(days) per room type and length instead of one query per date.
+     * Prices work the same way: each room type is quoted once for the window and every stay's
+     * total is a difference of prefix sums over the nightly prices. Only when the pricing
+     * source gives no nightly breakdown is each stay quoted on its own.
+     */
+    @Override
+    public List<OfferDto> searchFlexibleOffers(
+            String hotelId,
+            LocalDate windowStart,
+            LocalDate windowEnd,
+            List<Integer> lengthsOfStay,
+            Integer guests,
+            Integer roomsCount) {
+        
+        log.info("Searching flexible owner offers - hotelId: {}, windowStart: {}, windowEnd: {}, lengthsOfStay: {}, guests: {}, rooms: {}",
+                hotelId, windowStart, windowEnd, lengthsOfStay, guests, roomsCount);
+        
+        int rooms = (roomsCount != null && roomsCount > 0) ? roomsCount : 1;
+        
+        List<RoomTypeEntity> candidates = filterCandidates(roomTypeRepository.findByHotelId(hotelId), guests);
+        if (candidates.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        List<String> candidateIds = new ArrayList<>();
+        candidates.forEach(roomType -> candidateIds.add(roomType.getId()));
+        Map<String, NightlyAvailability> nightlyByRoomType = availabilityService.nightlyAvailability(
+                hotelId, candidateIds, windowStart, windowEnd);
+        
+        List<OfferDto> offers = new ArrayList<>();
+        for (RoomTypeEntity roomType : candidates) {
+            NightlyAvailability nightly = nightlyByRoomType.get(roomType.getId());
+            WindowPrices prices = null;
+            for (Integer lengthOfStay : lengthsOfStay) {
+                int[] minAvailable = nightly.minAvailableByCheckIn(lengthOfStay);
+                for (int offset = 0; offset < minAvailable.length; offset++) {
+                    if (minAvailable[offset] < rooms) {
+                        continue;
+                    }
+                    if (prices == null) {
+                        prices = quoteWindow(hotelId, roomType, windowStart, nightly.getNights(), guests);
+                    }
+                    LocalDate checkIn = nightly.dateAt(offset);
+                    LocalDate checkOut = checkIn.plusDays(lengthOfStay);
+                    offers.add(prices == WindowPrices.NONE
+                            ? buildOffer(hotelId, roomType, checkIn, checkOut, guests)
+                            : offer(hotelId, roomType, checkIn, checkOut,
+                                    prices.stay(offset, lengthOfStay)));
+                }
+            }
+        }
+        
+        log.info("Found {} flexible offers for hotel: {}", offers.size(), hotelId);
+        return offers;
+    }
+    
     @Override
     public OffersRecheckResponse recheck(
             String offerId,
@@ -162,7 +175,6 @@ public class RealOwnerOfferAdapter implements OfferSearchAdapter, OfferRecheckAd
         // Default roomsCount
         int rooms = (roomsCount != null && roomsCount > 0) ? roomsCount : 1;
         
-        // Extract hash from offerId (format: OWN-{hash})
         if (offerId == null || !offerId.startsWith("OWN-")) {
             log.warn("Invalid offerId format: {}", offerId);
             return OffersRecheckResponse.builder()
@@ -171,109 +183,276 @@ public class RealOwnerOfferAdapter implements OfferSearchAdapter, OfferRecheckAd
                     .build();
         }
         
-        // Extract offer identifier (remove "OWN-" prefix)
-        // Note: Currently not used for lookup, but kept for future use
-        // In production, you'd store offer metadata or use a different ID format
-        @SuppressWarnings("unused")
-        String offerIdentifier = offerId.substring(4);
+        // Resolve the room type: v2 ids decode to one primary-key lookup; legacy ids need a catalog scan
+        RoomTypeEntity roomType;
+        if (offerIdCodec.isV2(offerId)) {
+            Optional<OwnerOfferIdCodec.OwnerOfferId> decoded = offerIdCodec.decode(offerId);
+            if (decoded.isEmpty()) {
+                log.warn("Offer {} failed decoding or signature check", offerId);
+                return OffersRecheckResponse.builder()
+                        .result(RecheckResult.SOLD_OUT)
+                        .message("Invalid offer ID format")
+                        .build();
+            }
+            OwnerOfferIdCodec.OwnerOfferId ownerOffer = decoded.get();
+            if (!ownerOffer.checkIn().equals(checkIn) || !ownerOffer.checkOut().equals(checkOut)) {
+                return OffersRecheckResponse.builder()
+                        .result(RecheckResult.SOLD_OUT)
+                        .message("Offer does not match the requested dates")
+                        .build();
+            }
+            roomType = roomTypeRepository.findById(ownerOffer.roomTypeId())
+                    .filter(candidate -> ownerOffer.hotelId().equals(candidate.getHotelId()))
+                    .orElse(null);
+        } else if (offerIdProperties.isAcceptLegacy()) {
+            roomType = findLegacyRoomType(offerId, checkIn, checkOut);
+        } else {
+            log.warn("Legacy offerId rejected: {}", offerId);
+            return OffersRecheckResponse.builder()
+                    .result(RecheckResult.SOLD_OUT)
+                    .message("Invalid offer ID format")
+                    .build();
+        }
+        
+        return recheckRoomType(offerId, roomType, checkIn, checkOut, guests, rooms);
+    }
+    
+    /**
+     * Recheck an offer resolved from its snapshot: the room type is read by the issued offer's
+     * hotel and room type ids, without decoding or verifying the offerId (it was issued here)
+     */
+    @Override
+    public OffersRecheckResponse recheck(
+            OfferDto issued,
+            LocalDate checkIn,
+            LocalDate checkOut,
+            Integer guests,
+            Integer roomsCount) {
+        
+        if (issued.getRoomTypeId() == null || issued.getHotelId() == null) {
+            return recheck(issued.getOfferId(), checkIn, checkOut, guests, roomsCount);
+        }
+        
+        log.info("Rechecking owner offer from snapshot - offerId: {}, checkIn: {}, checkOut: {}",
+                issued.getOfferId(), checkIn, checkOut);
+        
+        int rooms = (roomsCount != null && roomsCount > 0) ? roomsCount : 1;
+        if (!checkIn.equals(issued.getCheckIn()) || !checkOut.equals(issued.getCheckOut())) {
+            return OffersRecheckResponse.builder()
+                    .result(RecheckResult.SOLD_OUT)
+                    .message("Offer does not match the requested dates")
+                    .build();
+        }
+        RoomTypeEntity roomType = roomTypeRepository.findById(issued.getRoomTypeId())
+                .filter(candidate -> issued.getHotelId().equals(candidate.getHotelId()))
+                .orElse(null);
+        return recheckRoomType(issued.getOfferId(), roomType, checkIn, checkOut, guests, rooms);
+    }
+    
+    /**
+     * Availability and price of a resolved room type (null when it does not exist)
+     */
+    private OffersRecheckResponse recheckRoomType(String offerId, RoomTypeEntity roomType,
+                                                  LocalDate checkIn, LocalDate checkOut,
+                                                  Integer guests, int rooms) {
+        if (roomType == null || !roomType.isActive()
+                || (roomType.getMaxGuests() != null && guests != null && roomType.getMaxGuests() < guests)) {
+            log.warn("Offer {} not found in database", offerId);
+            return OffersRecheckResponse.builder()
+                    .result(RecheckResult.SOLD_OUT)
+                    .message("Offer not found or no longer available")
+                    .build();
+        }
+        
+        // Check availability
+        boolean isAvailable = availabilityService.isBookable(
+                roomType.getHotelId(),
+                roomType.getId(),
+                checkIn,
+                checkOut,
+                rooms
+        );
         
-        // Try to find the offer by checking all room types
-        // This is not optimal but works for MVP
-        List<RoomTypeEntity> allRoomTypes = roomTypeRepository.findAll();
+        if (!isAvailable) {
+            log.info("Offer {} no longer available", offerId);
+            return OffersRecheckResponse.builder()
+                    .result(RecheckResult.SOLD_OUT)
+                    .message("Room is sold out or no longer available for the requested dates")
+                    .build();
+        }
+        
+        // Get updated pricing
+        com.hotelsystems.ai.bookingmanagement.ownerinventory.dto.PricingQuote pricingQuote;
+        try {
+            pricingQuote = pricingClient.getQuote(
+                    roomType.getHotelId(),
+                    roomType.getId(),
+                    checkIn,
+                    checkOut,
+                    guests != null ? guests : 1,
+                    "USD"
+            );
+        } catch (Exception e) {
+            log.warn("Failed to get pricing quote: {}", e.getMessage());
+            pricingQuote = new com.hotelsystems.ai.bookingmanagement.ownerinventory.dto.PricingQuote(
+                    "USD",
+                    ChronoUnit.DAYS.between(checkIn, checkOut) * 10000L
+            );
+        }
         
-        for (RoomTypeEntity roomType : allRoomTypes) {
+        BigDecimal totalPrice = BigDecimal.valueOf(pricingQuote.getTotalPriceMinor())
+                .divide(BigDecimal.valueOf(100));
+        
+        // Build updated offer
+        OfferDto updatedOffer = OfferDto.builder()
+                .offerId(offerId)
+                .source(OfferSource.OWNER)
+                .hotelId(roomType.getHotelId())
+                .roomTypeId(roomType.getId())
+                .checkIn(checkIn)
+                .checkOut(checkOut)
+                .totalPrice(MoneyDto.builder()
+                        .amount(totalPrice)
+                        .currency(pricingQuote.getCurrency())
+                        .build())
+                .cancellationPolicySummary("Free cancellation up to 48 hours before check-in")
+                .payload(createPayload(roomType, totalPrice, pricingQuote.getCurrency()))
+                .build();
+        
+        log.info("Offer {} recheck successful - still available", offerId);
+        return OffersRecheckResponse.builder()
+                .result(RecheckResult.OK)
+                .offer(updatedOffer)
+                .message("Offer is still available")
+                .build();
+    }
+    
+    /**
+     * Active room types that can host the requested number of guests
+     */
+    private List<RoomTypeEntity> filterCandidates(List<RoomTypeEntity> roomTypes, Integer guests) {
+        List<RoomTypeEntity> candidates = new ArrayList<>();
+        for (RoomTypeEntity roomType : roomTypes) {
+            // Skip inactive room types
             if (!roomType.isActive()) {
+                log.debug("Skipping inactive room type: {}", roomType.getId());
                 continue;
             }
             
-            // Check if guests fit
+            // Check if room type has enough capacity for guests
             if (roomType.getMaxGuests() != null && guests != null && roomType.getMaxGuests() < guests) {
+                log.debug("Room type {} maxGuests ({}) is less than requested guests ({})", 
+                        roomType.getId(), roomType.getMaxGuests(), guests);
                 continue;
             }
             
-            // Try to regenerate offerId and see if it matches
-            String testOfferId = "OWN-" + generateOfferId(roomType.getHotelId(), roomType.getId(), checkIn, checkOut);
-            
-            if (testOfferId.equals(offerId)) {
-                // Found matching offer! Now check availability
-                boolean isAvailable = availabilityService.isBookable(
-                        roomType.getHotelId(),
-                        roomType.getId(),
-                        checkIn,
-                        checkOut,
-                        rooms
-                );
-                
-                if (!isAvailable) {
-                    log.info("Offer {} no longer available", offerId);
-                    return OffersRecheckResponse.builder()
-                            .result(RecheckResult.SOLD_OUT)
-                            .message("Room is sold out or no longer available for the requested dates")
-                            .build();
-                }
-                
-                // Get updated pricing
-                com.hotelsystems.ai.bookingmanagement.ownerinventory.dto.PricingQuote pricingQuote;
-                try {
-                    pricingQuote = pricingClient.getQuote(
-                            roomType.getHotelId(),
-                            roomType.getId(),
-                            checkIn,
-                            checkOut,
-                            guests != null ? guests : 1,
-                            "USD"
-                    );
-                } catch (Exception e) {
-                    log.warn("Failed to get pricing quote: {}", e.getMessage());
-                    pricingQuote = new com.hotelsystems.ai.bookingmanagement.ownerinventory.dto.PricingQuote(
-                            "USD",
-                            ChronoUnit.DAYS.between(checkIn, checkOut) * 10000L
-                    );
-                }
-                
-                BigDecimal totalPrice = BigDecimal.valueOf(pricingQuote.getTotalPriceMinor())
-                        .divide(BigDecimal.valueOf(100));
-                
-                // Build updated offer
-                OfferDto updatedOffer = OfferDto.builder()
-                        .offerId(offerId)
-                        .source(OfferSource.OWNER)
-                        .hotelId(roomType.getHotelId())
-                        .roomTypeId(roomType.getId())
-                        .checkIn(checkIn)
-                        .checkOut(checkOut)
-                        .totalPrice(MoneyDto.builder()
-                                .amount(totalPrice)
-                                .currency(pricingQuote.getCurrency())
-                                .build())
-                        .cancellationPolicySummary("Free cancellation up to 48 hours before check-in")
-                        .payload(createPayload(roomType, totalPrice, pricingQuote.getCurrency()))
-                        .build();
-                
-                log.info("Offer {} recheck successful - still available", offerId);
-                return OffersRecheckResponse.builder()
-                        .result(RecheckResult.OK)
-                        .offer(updatedOffer)
-                        .message("Offer is still available")
-                        .build();
-            }
+            candidates.add(roomType);
+        }
+        return candidates;
+    }
+    
+    /**
+     * Quotes a room type once for every night of the window. Falls back to the default
+     * 100 per night when the pricing service fails, and returns WindowPrices.NONE when it
+     * only gives a total, so stays have to be quoted one by one.
+     */
+    private WindowPrices quoteWindow(String hotelId, RoomTypeEntity roomType,
+                                     LocalDate windowStart, int nights, Integer guests) {
+        com.hotelsystems.ai.bookingmanagement.ownerinventory.dto.PricingQuote pricingQuote;
+        try {
+            pricingQuote = pricingClient.getQuote(
+                    hotelId,
+                    roomType.getId(),
+                    windowStart,
+                    windowStart.plusDays(nights),
+                    guests != null ? guests : 1,
+                    "USD"
+            );
+        } catch (Exception e) {
+            log.warn("Failed to get window pricing quote for room type {}, using default: {}",
+                    roomType.getId(), e.getMessage());
+            return WindowPrices.of("USD", Collections.nCopies(nights, 10000L));
         }
+        List<Long> nightlyPrices = pricingQuote.getNightlyPricesMinor();
+        if (nightlyPrices == null || nightlyPrices.size() != nights) {
+            return WindowPrices.NONE;
+        }
+        return WindowPrices.of(pricingQuote.getCurrency(), nightlyPrices);
+    }
+    
+    /**
+     * Price a stay with the PricingIntelligenceClient and build the owner offer
+     */
+    private OfferDto buildOffer(String hotelId, RoomTypeEntity roomType,
+                                LocalDate checkIn, LocalDate checkOut, Integer guests) {
+        // Get pricing from PricingIntelligenceClient
+        long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
+        com.hotelsystems.ai.bookingmanagement.ownerinventory.dto.PricingQuote pricingQuote;
+        try {
+            pricingQuote = pricingClient.getQuote(
+                    hotelId,
+                    roomType.getId(),
+                    checkIn,
+                    checkOut,
+                    guests != null ? guests : 1,
+                    "USD"
+            );
+        } catch (Exception e) {
+            log.warn("Failed to get pricing quote for room type {}, using default: {}", 
+                    roomType.getId(), e.getMessage());
+            // Use default pricing if pricing service fails
+            pricingQuote = new com.hotelsystems.ai.bookingmanagement.ownerinventory.dto.PricingQuote(
+                    "USD", 
+                    nights * 10000L // Default 100 per night in minor units
+            );
+        }
+        return offer(hotelId, roomType, checkIn, checkOut, pricingQuote);
+    }
+    
+    /**
+     * Build the owner offer for a priced stay
+     */
+    private OfferDto offer(String hotelId, RoomTypeEntity roomType, LocalDate checkIn, LocalDate checkOut,
+                           com.hotelsystems.ai.bookingmanagement.ownerinventory.dto.PricingQuote pricingQuote) {
+        // Convert pricing from minor units to BigDecimal
+        BigDecimal totalPrice = BigDecimal.valueOf(pricingQuote.getTotalPriceMinor())
+                .divide(BigDecimal.valueOf(100)); // Convert from minor units (cents) to dollars
         
-        // Offer not found
-        log.warn("Offer {} not found in database", offerId);
-        return OffersRecheckResponse.builder()
-                .result(RecheckResult.SOLD_OUT)
-                .message("Offer not found or no longer available")
+        // Signed, self-describing offer ID (decoded again on recheck)
+        String offerId = offerIdCodec.encode(hotelId, roomType.getId(), checkIn, checkOut);
+        
+        // Create offer
+        OfferDto offer = OfferDto.builder()
+                .offerId(offerId)
+                .source(OfferSource.OWNER)
+                .hotelId(hotelId)
+                .roomTypeId(roomType.getId())
+                .checkIn(checkIn)
+                .checkOut(checkOut)
+                .totalPrice(MoneyDto.builder()
+                        .amount(totalPrice)
+                        .currency(pricingQuote.getCurrency())
+                        .build())
+                .cancellationPolicySummary("Free cancellation up to 48 hours before check-in")
+                .payload(createPayload(roomType, totalPrice, pricingQuote.getCurrency()))
                 .build();
+        
+        return offer;
     }
     
     /**
-     * Generate deterministic offer ID
+     * Legacy (pre-v2) offerIds carry only a 32-bit hash, so the room type is found by
+     * re-hashing every active room type. Only used while acceptLegacy is on.
      */
-    private String generateOfferId(String hotelId, String roomTypeId, LocalDate checkIn, LocalDate checkOut) {
-        String input = hotelId + "-" + roomTypeId + "-" + checkIn + "-" + checkOut;
-        int hash = input.hashCode();
-        return String.format("%08x", Math.abs(hash));
+    private RoomTypeEntity findLegacyRoomType(String offerId, LocalDate checkIn, LocalDate checkOut) {
+        for (RoomTypeEntity roomType : roomTypeRepository.findAll()) {
+            if (roomType.isActive()
+                    && offerId.equals(offerIdCodec.encodeLegacy(roomType.getHotelId(), roomType.getId(), checkIn, checkOut))) {
+                log.info("Offer {} matched with legacy offerId format", offerId);
+                return roomType;
+            }
+        }
+        return null;
     }
     
     /**
@@ -292,5 +471,26 @@ public class RealOwnerOfferAdapter implements OfferSearchAdapter, OfferRecheckAd
         payload.put("source", "OWNER");
         return payload;
     }
+    
+    /**
+     * Nightly prices of one room type over a window, as prefix sums so any stay is priced in O(1)
+     */
+    private record WindowPrices(String currency, long[] prefixSums) {
+        
+        static final WindowPrices NONE = new WindowPrices(null, new long[0]);
+        
+        static WindowPrices of(String currency, List<Long> nightlyPricesMinor) {
+            long[] prefixSums = new long[nightlyPricesMinor.size() + 1];
+            for (int i = 0; i < nightlyPricesMinor.size(); i++) {
+                prefixSums[i + 1] = prefixSums[i] + nightlyPricesMinor.get(i);
+            }
+            return new WindowPrices(currency, prefixSums);
+        }
+        
+        com.hotelsystems.ai.bookingmanagement.ownerinventory.dto.PricingQuote stay(int offset, int nights) {
+            return new com.hotelsystems.ai.bookingmanagement.ownerinventory.dto.PricingQuote(
+                    currency, prefixSums[offset + nights] - prefixSums[offset]);
+        }
+    }
 }
 
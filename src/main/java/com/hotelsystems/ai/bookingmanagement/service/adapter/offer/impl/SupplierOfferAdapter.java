@@ -23,12 +23,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Supplier Offer Adapter (Bridge)
@@ -47,6 +46,8 @@ public class SupplierOfferAdapter implements OfferSearchAdapter, OfferRecheckAda
     private final SupplierAdapterRegistry supplierAdapterRegistry;
     private final SupplierMappingService supplierMappingService;
     private final ObjectMapper objectMapper;
+    private final SupplierOfferIdCodec offerIdCodec;
+    private final SupplierOfferNormalizer offerNormalizer;
     
     @Override
     public List<OfferDto> searchOffers(
@@ -56,7 +57,27 @@ public class SupplierOfferAdapter implements OfferSearchAdapter, OfferRecheckAda
             Integer guests,
             Integer roomsCount) {
         
-        log.debug("SupplierOfferAdapter.searchOffers - hotelId: {}, checkIn: {}, checkOut: {}, guests: {}, rooms: {}",
+        List<OfferDto> offers = new ArrayList<>();
+        streamOffers(hotelId, checkIn, checkOut, guests, roomsCount, offers::add);
+        
+        log.debug("Normalized {} supplier offers to OfferDto", offers.size());
+        return offers;
+    }
+    
+    /**
+     * Streams supplier offers: each SupplierOfferDto is normalized and handed to the sink
+     * as the supplier adapter produces it, not after the whole list has been collected.
+     */
+    @Override
+    public void streamOffers(
+            String hotelId,
+            LocalDate checkIn,
+            LocalDate checkOut,
+            Integer guests,
+            Integer roomsCount,
+            Consumer<OfferDto> sink) {
+        
+        log.debug("SupplierOfferAdapter.streamOffers - hotelId: {}, checkIn: {}, checkOut: {}, guests: {}, rooms: {}",
                 hotelId, checkIn, checkOut, guests, roomsCount);
         
         // Step 1: Get active mapping
@@ -80,28 +101,17 @@ public class SupplierOfferAdapter implements OfferSearchAdapter, OfferRecheckAda
         // Step 3: Get supplier adapter
         SupplierOfferSearchAdapter adapter = supplierAdapterRegistry.getOfferSearchAdapter(supplierCode);
         
-        // Step 4: Call supplier search
-        List<SupplierOfferDto> supplierOffers = adapter.searchOffers(
+        // Step 4 + 5: Call supplier search, normalizing SupplierOfferDto -> OfferDto per offer
+        adapter.streamOffers(
                 hotelId,
                 supplierHotelId,
                 checkIn,
                 checkOut,
                 adults,
                 children,
-                rooms
+                rooms,
+                supplierOffer -> sink.accept(normalizeToOfferDto(supplierOffer, hotelId, checkIn, checkOut, mappingEntity))
         );
-        
-        log.debug("Supplier adapter returned {} offers", supplierOffers.size());
-        
-        // Step 5: Normalize SupplierOfferDto -> OfferDto
-        List<OfferDto> offers = new ArrayList<>();
-        for (SupplierOfferDto supplierOffer : supplierOffers) {
-            OfferDto offer = normalizeToOfferDto(supplierOffer, hotelId, checkIn, checkOut, mappingEntity);
-            offers.add(offer);
-        }
-        
-        log.debug("Normalized {} supplier offers to OfferDto", offers.size());
-        return offers;
     }
     
     @Override
@@ -120,29 +130,66 @@ public class SupplierOfferAdapter implements OfferSearchAdapter, OfferRecheckAda
             throw new IllegalArgumentException("OfferId must start with 'SUP-': " + offerId);
         }
         
-        // Step 2: Parse offerId segments
-        ParsedOfferIdSegments segments = parseOfferIdSegments(offerId);
-        if (segments.supplierCode == null) {
+        // Step 2: Decode offerId (v2 layout, or the legacy dash-separated format)
+        SupplierOfferIdCodec.View segments = new SupplierOfferIdCodec.View();
+        boolean decoded = offerIdCodec.isV2(offerId)
+                ? offerIdCodec.decode(offerId, segments)
+                : offerIdCodec.decodeLegacy(offerId, segments);
+        if (!decoded) {
             throw new IllegalArgumentException("Could not parse supplierCode from offerId: " + offerId);
         }
+        return recheckWithSupplier(offerId, segments.supplierCode(), segments.supplierHotelId(),
+                segments.rateKey(), segments.roomCode(), checkIn, checkOut);
+    }
+    
+    /**
+     * Recheck an offer resolved from its snapshot
+     * 
+     * The supplier identifiers are read from the issued payload, so the offerId is not decoded;
+     * a payload without them (e.g. a snapshot from before the payload carried supplierCode)
+     * falls back to decoding.
+     */
+    @Override
+    public OffersRecheckResponse recheck(
+            OfferDto issued,
+            LocalDate checkIn,
+            LocalDate checkOut,
+            Integer guests,
+            Integer roomsCount) {
         
+        JsonNode payload = issued.getPayload();
+        SupplierCode supplierCode = payload != null ? supplierCode(payload.path("supplierCode").asText(null)) : null;
+        String supplierHotelId = payload != null ? payload.path("supplierHotelId").asText(null) : null;
+        if (supplierCode == null || supplierHotelId == null) {
+            return recheck(issued.getOfferId(), checkIn, checkOut, guests, roomsCount);
+        }
+        
+        log.debug("SupplierOfferAdapter.recheck - offerId: {} resolved from snapshot", issued.getOfferId());
+        return recheckWithSupplier(issued.getOfferId(), supplierCode, supplierHotelId,
+                payload.path("rateKey").asText(null), payload.path("roomCode").asText(null), checkIn, checkOut);
+    }
+    
+    /**
+     * Steps 3-6 of recheck, once the supplier identifiers of the offer are known
+     */
+    private OffersRecheckResponse recheckWithSupplier(String offerId, SupplierCode supplierCode,
+                                                     String supplierHotelId, String rateKey, String roomCode,
+                                                     LocalDate checkIn, LocalDate checkOut) {
         // Step 3: Get supplier recheck adapter
-        SupplierRecheckAdapter adapter = supplierAdapterRegistry.getRecheckAdapter(segments.supplierCode);
+        SupplierRecheckAdapter adapter = supplierAdapterRegistry.getRecheckAdapter(supplierCode);
         
         // Step 4: Build offerPayloadJson string (SupplierRecheckRequest format)
         ObjectNode payload = objectMapper.createObjectNode();
-        payload.put("supplierHotelId", segments.supplierHotelId);
+        payload.put("supplierHotelId", supplierHotelId);
         
-        // Set rateKey (null if "NA")
-        if (segments.rateKey != null && !segments.rateKey.equals("NA")) {
-            payload.put("rateKey", segments.rateKey);
+        // Set rateKey / roomCode (null when the offer has none)
+        if (rateKey != null) {
+            payload.put("rateKey", rateKey);
         } else {
             payload.putNull("rateKey");
         }
-        
-        // Set roomCode (null if "NA")
-        if (segments.roomCode != null && !segments.roomCode.equals("NA")) {
-            payload.put("roomCode", segments.roomCode);
+        if (roomCode != null) {
+            payload.put("roomCode", roomCode);
         } else {
             payload.putNull("roomCode");
         }
@@ -153,7 +200,7 @@ public class SupplierOfferAdapter implements OfferSearchAdapter, OfferRecheckAda
         String offerPayloadJson = payload.toString();
         
         log.debug("Calling supplier recheck adapter with supplierCode: {}, supplierHotelId: {}, rateKey: {}, roomCode: {}",
-                segments.supplierCode, segments.supplierHotelId, segments.rateKey, segments.roomCode);
+                supplierCode, supplierHotelId, rateKey, roomCode);
         
         // Step 5: Call adapter.recheck(offerPayloadJson)
         SupplierRecheckResultDto recheckResult = adapter.recheck(offerPayloadJson);
@@ -181,6 +228,18 @@ public class SupplierOfferAdapter implements OfferSearchAdapter, OfferRecheckAda
         return responseBuilder.build();
     }
     
+    /**
+     * Supplier code as written to the offer payload, or null if unknown
+     */
+    private static SupplierCode supplierCode(String code) {
+        for (SupplierCode candidate : SupplierCode.values()) {
+            if (candidate.getCode().equals(code)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+    
     /**
      * Normalize SupplierOfferDto to OfferDto
      */
@@ -188,78 +247,15 @@ public class SupplierOfferAdapter implements OfferSearchAdapter, OfferRecheckAda
                                         LocalDate checkIn, LocalDate checkOut,
                                         SupplierHotelMappingEntity mapping) {
         
-        // Extract rateKey and roomCode from supplier offer
-        String rateKey = safeJsonExtract(supplierOffer.getRawPayloadJson(), 
-                "rateKey", "rate_key", "rateId", "bookingKey");
-        String roomCode = safeJsonExtract(supplierOffer.getRawPayloadJson(), 
-                "roomCode", "room_code", "roomId");
+        // Extract rateKey and roomCode from supplier offer (single streaming pass over rawPayloadJson)
+        SupplierOfferNormalizer.RawOfferKeys keys = offerNormalizer.scan(supplierOffer.getRawPayloadJson());
         
-        // Generate offerId: SUP-{supplierCode}-{base64Url(supplierHotelId)}-{base64Url(rateKey)}-{base64Url(roomCode)}
-        String encodedSupplierHotelId = base64UrlEncode(mapping.getSupplierHotelId());
-        String encodedRateKey = (rateKey != null && !rateKey.isEmpty()) 
-                ? base64UrlEncode(rateKey) 
-                : base64UrlEncode("NA");
-        String encodedRoomCode = (roomCode != null && !roomCode.isEmpty()) 
-                ? base64UrlEncode(roomCode) 
-                : base64UrlEncode("NA");
+        // Generate offerId: SUP-v2.{base64Url(supplier, supplierHotelId, rateKey, roomCode)}
+        String offerId = offerIdCodec.encode(mapping.getSupplierCode(), mapping.getSupplierHotelId(),
+                keys.rateKey(), keys.roomCode());
         
-        String offerId = String.format("SUP-%s-%s-%s-%s",
-                mapping.getSupplierCode(),
-                encodedSupplierHotelId,
-                encodedRateKey,
-                encodedRoomCode);
-        
-        // Create payload JsonNode with all required fields
-        ObjectNode payload = objectMapper.createObjectNode();
-        payload.put("supplierCode", mapping.getSupplierCode().toString());
-        payload.put("supplierHotelId", mapping.getSupplierHotelId());
-        if (rateKey != null) {
-            payload.put("rateKey", rateKey);
-        } else {
-            payload.putNull("rateKey");
-        }
-        if (roomCode != null) {
-            payload.put("roomCode", roomCode);
-        } else {
-            payload.putNull("roomCode");
-        }
-        payload.put("currency", supplierOffer.getCurrency() != null ? supplierOffer.getCurrency() : "USD");
-        payload.put("totalPrice", supplierOffer.getTotalPrice() != null 
-                ? supplierOffer.getTotalPrice().doubleValue() 
-                : 0.0);
-        if (supplierOffer.getBoard() != null) {
-            payload.put("board", supplierOffer.getBoard());
-        } else {
-            payload.putNull("board");
-        }
-        if (supplierOffer.getRoomName() != null) {
-            payload.put("roomName", supplierOffer.getRoomName());
-        } else {
-            payload.putNull("roomName");
-        }
-        
-        // Include perNightBreakdown if available
-        if (supplierOffer.getPerNightBreakdown() != null) {
-            JsonNode perNightBreakdown = objectMapper.valueToTree(supplierOffer.getPerNightBreakdown());
-            payload.set("perNightBreakdown", perNightBreakdown);
-        } else {
-            payload.putNull("perNightBreakdown");
-        }
-        
-        // Include taxesAndFees if available
-        if (supplierOffer.getTaxesAndFees() != null) {
-            JsonNode taxesAndFees = objectMapper.valueToTree(supplierOffer.getTaxesAndFees());
-            payload.set("taxesAndFees", taxesAndFees);
-        } else {
-            payload.putNull("taxesAndFees");
-        }
-        
-        // Include rawPayloadJson
-        if (supplierOffer.getRawPayloadJson() != null) {
-            payload.put("rawPayloadJson", supplierOffer.getRawPayloadJson());
-        } else {
-            payload.putNull("rawPayloadJson");
-        }
+        // Payload with all required fields, produced only if a response or snapshot includes it
+        OfferDto.PayloadSource payload = offerNormalizer.payloadSource(supplierOffer, mapping, keys);
         
         // Build OfferDto
         return OfferDto.builder()
@@ -273,149 +269,10 @@ public class SupplierOfferAdapter implements OfferSearchAdapter, OfferRecheckAda
                 .checkOut(checkOut)
                 .totalPrice(createMoneyDto(supplierOffer.getTotalPrice(), supplierOffer.getCurrency()))
                 .cancellationPolicySummary(supplierOffer.getCancellationSummary())
-                .payload(payload)
+                .payloadSource(payload)
                 .build();
     }
     
-    /**
-     * Parsed offerId segments
-     */
-    private static class ParsedOfferIdSegments {
-        SupplierCode supplierCode;
-        String supplierHotelId;
-        String rateKey;
-        String roomCode;
-        
-        ParsedOfferIdSegments(SupplierCode supplierCode, String supplierHotelId, String rateKey, String roomCode) {
-            this.supplierCode = supplierCode;
-            this.supplierHotelId = supplierHotelId;
-            this.rateKey = rateKey;
-            this.roomCode = roomCode;
-        }
-    }
-    
-    /**
-     * Parse offerId segments
-     * Format: SUP-{supplierCode}-{base64Url(supplierHotelId)}-{base64Url(rateKey)}-{base64Url(roomCode)}
-     * 
-     * Note: Base64 URL-safe encoding may contain dashes, so we parse carefully:
-     * - First segment after "SUP-" is supplierCode (known values: HOTELBEDS, TRAVELLANDA)
-     * - Remaining segments are base64-encoded values separated by single dashes
-     */
-    private ParsedOfferIdSegments parseOfferIdSegments(String offerId) {
-        if (offerId == null || !offerId.startsWith("SUP-")) {
-            return new ParsedOfferIdSegments(null, null, null, null);
-        }
-        
-        String withoutPrefix = offerId.substring(4); // Remove "SUP-"
-        
-        // Find supplierCode (first segment before dash)
-        int firstDash = withoutPrefix.indexOf('-');
-        if (firstDash < 0) {
-            log.warn("Invalid offerId format, missing segments after supplierCode: {}", offerId);
-            return new ParsedOfferIdSegments(null, null, null, null);
-        }
-        
-        String supplierCodeStr = withoutPrefix.substring(0, firstDash);
-        SupplierCode supplierCode;
-        try {
-            supplierCode = SupplierCode.valueOf(supplierCodeStr);
-        } catch (IllegalArgumentException e) {
-            log.warn("Invalid supplierCode in offerId: {}", supplierCodeStr);
-            return new ParsedOfferIdSegments(null, null, null, null);
-        }
-        
-        // Find remaining segments (base64-encoded values)
-        // Strategy: Find dashes that separate the segments
-        // We know there should be exactly 3 more segments after supplierCode
-        String remaining = withoutPrefix.substring(firstDash + 1);
-        
-        // Find second segment (supplierHotelId)
-        int secondDash = remaining.indexOf('-');
-        if (secondDash < 0) {
-            log.warn("Invalid offerId format, missing rateKey segment: {}", offerId);
-            return new ParsedOfferIdSegments(null, null, null, null);
-        }
-        String encodedSupplierHotelId = remaining.substring(0, secondDash);
-        
-        // Find third segment (rateKey)
-        String afterSecond = remaining.substring(secondDash + 1);
-        int thirdDash = afterSecond.indexOf('-');
-        if (thirdDash < 0) {
-            log.warn("Invalid offerId format, missing roomCode segment: {}", offerId);
-            return new ParsedOfferIdSegments(null, null, null, null);
-        }
-        String encodedRateKey = afterSecond.substring(0, thirdDash);
-        
-        // Fourth segment (roomCode) is everything after third dash
-        String encodedRoomCode = afterSecond.substring(thirdDash + 1);
-        
-        // Decode segments
-        String supplierHotelId = base64UrlDecode(encodedSupplierHotelId);
-        String rateKey = base64UrlDecode(encodedRateKey);
-        String roomCode = base64UrlDecode(encodedRoomCode);
-        
-        // Handle "NA" values
-        if ("NA".equals(rateKey)) {
-            rateKey = null;
-        }
-        if ("NA".equals(roomCode)) {
-            roomCode = null;
-        }
-        
-        return new ParsedOfferIdSegments(supplierCode, supplierHotelId, rateKey, roomCode);
-    }
-    
-    /**
-     * Base64 URL-safe encode without padding
-     */
-    private String base64UrlEncode(String value) {
-        if (value == null) {
-            return base64UrlEncode("NA");
-        }
-        return Base64.getUrlEncoder().withoutPadding()
-                .encodeToString(value.getBytes(StandardCharsets.UTF_8));
-    }
-    
-    /**
-     * Base64 URL-safe decode
-     */
-    private String base64UrlDecode(String encoded) {
-        if (encoded == null || encoded.isEmpty()) {
-            return null;
-        }
-        try {
-            byte[] decoded = Base64.getUrlDecoder().decode(encoded);
-            return new String(decoded, StandardCharsets.UTF_8);
-        } catch (IllegalArgumentException e) {
-            log.warn("Failed to decode base64Url string: {}", encoded);
-            return null;
-        }
-    }
-    
-    /**
-     * Safely extract value from JSON string using multiple possible keys
-     * Returns first matching key's value, or null if none found
-     */
-    private String safeJsonExtract(String jsonString, String... keys) {
-        if (jsonString == null || jsonString.isEmpty()) {
-            return null;
-        }
-        
-        try {
-            JsonNode jsonNode = objectMapper.readTree(jsonString);
-            for (String key : keys) {
-                if (jsonNode.has(key) && jsonNode.get(key).isTextual()) {
-                    return jsonNode.get(key).asText();
-                }
-            }
-        } catch (Exception e) {
-            log.debug("Could not parse JSON for key extraction: {}", e.getMessage());
-        }
-        
-        return null;
-    }
-    
     /**
      * Map SupplierRecheckResultDto.RecheckStatus to RecheckResult enum
      */
@@ -0,0 +1,357 @@
+package com.hotelsystems.ai.bookingmanagement.service.adapter.offer.impl;
+
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierCode;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Supplier Offer ID Codec
+ * 
+ * Compact, versioned supplier offer identifiers:
+ * 
+ *   SUP-v2.{base64Url(layout)}
+ * 
+ *   layout = version (1 byte) | supplier (1 byte) | 3 x (varint length | UTF-8 bytes)
+ *   segments = supplierHotelId, rateKey, roomCode; length 0 means absent
+ * 
+ * Encoding builds one byte array and base64-encodes it once. Decoding writes into a reusable
+ * View: base64 is decoded straight from the id's characters into the view's buffer and
+ * segments are kept as offsets, so strings are only created for the segments a caller reads.
+ * 
+ * Legacy ids (SUP-{supplierCode}-{base64Url(supplierHotelId)}-{base64Url(rateKey)}-{base64Url(roomCode)},
+ * "NA" for absent segments) decode into the same View.
+ */
+@Component
+public class SupplierOfferIdCodec {
+    
+    static final String PREFIX = "SUP-";
+    static final String V2_PREFIX = PREFIX + "v2.";
+    static final byte VERSION = 2;
+    private static final int SEGMENTS = 3;
+    private static final byte[] EMPTY = new byte[0];
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final byte[] BASE64_URL_VALUES = new byte[128];
+    
+    static {
+        Arrays.fill(BASE64_URL_VALUES, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64_URL_VALUES[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+    
+    /**
+     * Encode a supplier offer as a v2 offerId
+     * 
+     * @param rateKey Supplier rate key (null or empty when the supplier has none)
+     * @param roomCode Supplier room code (null or empty when the supplier has none)
+     */
+    public String encode(SupplierCode supplierCode, String supplierHotelId, String rateKey, String roomCode) {
+        byte[] hotel = utf8(supplierHotelId);
+        byte[] rate = utf8(rateKey);
+        byte[] room = utf8(roomCode);
+        byte[] layout = new byte[2 + segmentSize(hotel) + segmentSize(rate) + segmentSize(room)];
+        
+        layout[0] = VERSION;
+        layout[1] = supplierByte(supplierCode);
+        int pos = writeSegment(layout, 2, hotel);
+        pos = writeSegment(layout, pos, rate);
+        writeSegment(layout, pos, room);
+        
+        return V2_PREFIX.concat(ENCODER.encodeToString(layout));
+    }
+    
+    /**
+     * True if the offerId uses the v2 format (it may still fail decoding)
+     */
+    public boolean isV2(CharSequence offerId) {
+        return startsWith(offerId, V2_PREFIX);
+    }
+    
+    /**
+     * Decode a v2 offerId into the view
+     * 
+     * @return false if the id is not a well-formed v2 id (the view is then undefined)
+     */
+    public boolean decode(CharSequence offerId, View view) {
+        if (!isV2(offerId)) {
+            return false;
+        }
+        int start = V2_PREFIX.length();
+        int size = decodedSize(offerId.length() - start);
+        if (size < 2) {
+            return false;
+        }
+        byte[] buffer = view.buffer(size);
+        if (decodeBase64(offerId, start, offerId.length(), buffer, 0) != size || buffer[0] != VERSION) {
+            return false;
+        }
+        SupplierCode supplierCode = supplierCode(buffer[1]);
+        if (supplierCode == null) {
+            return false;
+        }
+        
+        int pos = 2;
+        for (int segment = 0; segment < SEGMENTS; segment++) {
+            int length = 0;
+            int shift = 0;
+            int next;
+            do {
+                if (pos >= size || shift > 21) {
+                    return false;
+                }
+                next = buffer[pos++];
+                length |= (next & 0x7f) << shift;
+                shift += 7;
+            } while ((next & 0x80) != 0);
+            if (length > size - pos) {
+                return false;
+            }
+            view.segment(segment, pos, length);
+            pos += length;
+        }
+        view.supplierCode = supplierCode;
+        return pos == size;
+    }
+    
+    /**
+     * Decode a legacy (pre-v2) offerId into the view
+     * 
+     * Segments are split at the first three dashes after the supplier code, like the original
+     * parser, so ids whose base64 segments contain '-' keep decoding the same way.
+     * 
+     * @return false if the id is not a well-formed legacy id (the view is then undefined)
+     */
+    public boolean decodeLegacy(CharSequence offerId, View view) {
+        if (!startsWith(offerId, PREFIX) || isV2(offerId)) {
+            return false;
+        }
+        // indexOf returns -1 for a negative start, so one missing dash fails all later lookups
+        int end = offerId.length();
+        int codeEnd = indexOf(offerId, '-', PREFIX.length(), end);
+        int hotelEnd = indexOf(offerId, '-', codeEnd + 1, end);
+        int rateEnd = indexOf(offerId, '-', hotelEnd + 1, end);
+        if (codeEnd < 0 || hotelEnd < 0 || rateEnd < 0) {
+            return false;
+        }
+        SupplierCode supplierCode = supplierCode(offerId, PREFIX.length(), codeEnd);
+        if (supplierCode == null) {
+            return false;
+        }
+        
+        byte[] buffer = view.buffer((end - codeEnd) * 3 / 4 + 3);
+        int pos = decodeLegacySegment(offerId, codeEnd + 1, hotelEnd, buffer, 0, 0, view);
+        pos = decodeLegacySegment(offerId, hotelEnd + 1, rateEnd, buffer, pos, 1, view);
+        pos = decodeLegacySegment(offerId, rateEnd + 1, end, buffer, pos, 2, view);
+        if (pos < 0) {
+            return false;
+        }
+        view.supplierCode = supplierCode;
+        return true;
+    }
+    
+    /**
+     * Decoded supplier offerId. Reusable: each decode overwrites it. Not thread-safe.
+     */
+    public static final class View {
+        
+        private byte[] buffer = new byte[96];
+        private final int[] offsets = new int[SEGMENTS];
+        private final int[] lengths = new int[SEGMENTS];
+        private SupplierCode supplierCode;
+        
+        public SupplierCode supplierCode() {
+            return supplierCode;
+        }
+        
+        public String supplierHotelId() {
+            return string(0);
+        }
+        
+        /**
+         * @return rate key, or null if the offer has none
+         */
+        public String rateKey() {
+            return string(1);
+        }
+        
+        /**
+         * @return room code, or null if the offer has none
+         */
+        public String roomCode() {
+            return string(2);
+        }
+        
+        byte[] buffer(int size) {
+            if (buffer.length < size) {
+                buffer = new byte[Math.max(size, buffer.length * 2)];
+            }
+            return buffer;
+        }
+        
+        void segment(int segment, int offset, int length) {
+            offsets[segment] = offset;
+            lengths[segment] = length;
+        }
+        
+        private String string(int segment) {
+            return lengths[segment] == 0 ? null : new String(buffer, offsets[segment], lengths[segment], StandardCharsets.UTF_8);
+        }
+    }
+    
+    /**
+     * Decode one legacy segment into the view
+     * 
+     * @return buffer position after the segment, or -1 if it (or an earlier one, pos < 0) is invalid
+     */
+    private static int decodeLegacySegment(CharSequence offerId, int from, int to, byte[] buffer, int pos,
+                                           int segment, View view) {
+        if (pos < 0) {
+            return -1;
+        }
+        int length = decodeBase64(offerId, from, to, buffer, pos);
+        if (length < 0) {
+            return -1;
+        }
+        // "NA" marked an absent rate key / room code
+        boolean absent = segment > 0 && length == 2 && buffer[pos] == 'N' && buffer[pos + 1] == 'A';
+        view.segment(segment, pos, absent ? 0 : length);
+        return pos + length;
+    }
+    
+    private static byte supplierByte(SupplierCode supplierCode) {
+        // Wire values are part of the id format: never renumber, only append
+        return switch (supplierCode) {
+            case HOTELBEDS -> 1;
+            case TRAVELLANDA -> 2;
+        };
+    }
+    
+    private static SupplierCode supplierCode(byte value) {
+        return switch (value) {
+            case 1 -> SupplierCode.HOTELBEDS;
+            case 2 -> SupplierCode.TRAVELLANDA;
+            default -> null;
+        };
+    }
+    
+    private static SupplierCode supplierCode(CharSequence text, int start, int end) {
+        for (SupplierCode candidate : SupplierCode.values()) {
+            String name = candidate.name();
+            if (name.length() == end - start && startsWith(text, start, name)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+    
+    private static byte[] utf8(String value) {
+        return value == null || value.isEmpty() ? EMPTY : value.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static int segmentSize(byte[] segment) {
+        int length = segment.length;
+        int varint = 1;
+        while ((length >>>= 7) != 0) {
+            varint++;
+        }
+        return varint + segment.length;
+    }
+    
+    private static int writeSegment(byte[] layout, int pos, byte[] segment) {
+        int length = segment.length;
+        while ((length & ~0x7f) != 0) {
+            layout[pos++] = (byte) ((length & 0x7f) | 0x80);
+            length >>>= 7;
+        }
+        layout[pos++] = (byte) length;
+        System.arraycopy(segment, 0, layout, pos, segment.length);
+        return pos + segment.length;
+    }
+    
+    /**
+     * Bytes encoded by unpadded base64 of the given length (-1 if no such encoding exists)
+     */
+    private static int decodedSize(int chars) {
+        int tail = chars % 4;
+        return tail == 1 ? -1 : chars / 4 * 3 + (tail == 0 ? 0 : tail - 1);
+    }
+    
+    /**
+     * Decode unpadded base64url chars [from, to) into dst at dstPos
+     * 
+     * @return bytes written, or -1 if the input is not valid base64url
+     */
+    private static int decodeBase64(CharSequence src, int from, int to, byte[] dst, int dstPos) {
+        int size = decodedSize(to - from);
+        if (size < 0 || dstPos + size > dst.length) {
+            return -1;
+        }
+        int out = dstPos;
+        int i = from;
+        for (int blocks = (to - from) / 4; blocks > 0; blocks--, i += 4) {
+            int b0 = base64Value(src.charAt(i));
+            int b1 = base64Value(src.charAt(i + 1));
+            int b2 = base64Value(src.charAt(i + 2));
+            int b3 = base64Value(src.charAt(i + 3));
+            if ((b0 | b1 | b2 | b3) < 0) {
+                return -1;
+            }
+            int bits = b0 << 18 | b1 << 12 | b2 << 6 | b3;
+            dst[out] = (byte) (bits >> 16);
+            dst[out + 1] = (byte) (bits >> 8);
+            dst[out + 2] = (byte) bits;
+            out += 3;
+        }
+        int tail = to - i;
+        if (tail > 0) {
+            int b0 = base64Value(src.charAt(i));
+            int b1 = base64Value(src.charAt(i + 1));
+            int b2 = tail == 3 ? base64Value(src.charAt(i + 2)) : 0;
+            if ((b0 | b1 | b2) < 0) {
+                return -1;
+            }
+            int bits = b0 << 18 | b1 << 12 | b2 << 6;
+            dst[out++] = (byte) (bits >> 16);
+            if (tail == 3) {
+                dst[out++] = (byte) (bits >> 8);
+            }
+        }
+        return out - dstPos;
+    }
+    
+    /**
+     * Sextet value of a base64url char, or negative if c is not in the alphabet (branch-free for c >= 128)
+     */
+    private static int base64Value(char c) {
+        return BASE64_URL_VALUES[c & 0x7f] | ((127 - c) >> 31);
+    }
+    
+    private static boolean startsWith(CharSequence text, String prefix) {
+        return text != null && text.length() >= prefix.length() && startsWith(text, 0, prefix);
+    }
+    
+    private static boolean startsWith(CharSequence text, int start, String prefix) {
+        for (int i = 0; i < prefix.length(); i++) {
+            if (text.charAt(start + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static int indexOf(CharSequence text, char c, int from, int end) {
+        if (from <= 0) {
+            return -1;
+        }
+        for (int i = from; i < end; i++) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
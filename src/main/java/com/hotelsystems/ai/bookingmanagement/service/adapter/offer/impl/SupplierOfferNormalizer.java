@@ -0,0 +1,239 @@
+package com.hotelsystems.ai.bookingmanagement.service.adapter.offer.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OfferDto;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.PerNightRateDto;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierOfferDto;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.TaxesAndFeesPlaceholderDto;
+import com.hotelsystems.ai.bookingmanagement.supplier.entity.SupplierHotelMappingEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Supplier Offer Normalizer
+ * 
+ * Per-offer work of supplier search normalization, done in one pass each:
+ * 
+ * - scan: reads rawPayloadJson once with a streaming JsonParser and picks up the rate key and
+ *   room code from the top-level fields (nested objects are skipped, not parsed)
+ * - payloadSource: keeps the DTO and mapping on the offer (OfferDto.PayloadSource) so the
+ *   payload is only produced when a response or snapshot includes it: written token by token
+ *   when serialized (writePayload), built as a tree only when read (payload)
+ * - payload / writePayload: the outgoing payload straight from the DTO getters instead of
+ *   serializing nested DTOs through valueToTree
+ * 
+ * The payload layout is unchanged: supplierCode, supplierHotelId, rateKey, roomCode, currency,
+ * totalPrice, board, roomName, perNightBreakdown, taxesAndFees, rawPayloadJson.
+ */
+@Component
+@Slf4j
+public class SupplierOfferNormalizer {
+    
+    // Candidate keys in priority order: the highest-priority key present wins, whatever its position in the payload
+    static final List<String> RATE_KEY_FIELDS = List.of("rateKey", "rate_key", "rateId", "bookingKey");
+    static final List<String> ROOM_CODE_FIELDS = List.of("roomCode", "room_code", "roomId");
+    
+    private final ObjectMapper objectMapper;
+    private final JsonNodeFactory nodeFactory;
+    
+    public SupplierOfferNormalizer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.nodeFactory = objectMapper.getNodeFactory();
+    }
+    
+    /**
+     * Keys pulled out of a supplier raw payload (null when absent)
+     */
+    public record RawOfferKeys(String rateKey, String roomCode) {
+        
+        static final RawOfferKeys NONE = new RawOfferKeys(null, null);
+    }
+    
+    /**
+     * Extract rate key and room code from the raw payload in one streaming pass
+     * 
+     * Only top-level string values count, as before; a payload that is not a JSON object or
+     * does not parse yields no keys.
+     */
+    public RawOfferKeys scan(String rawPayloadJson) {
+        if (rawPayloadJson == null || rawPayloadJson.isEmpty()) {
+            return RawOfferKeys.NONE;
+        }
+        
+        String rateKey = null;
+        String roomCode = null;
+        int rateKeyRank = RATE_KEY_FIELDS.size();
+        int roomCodeRank = ROOM_CODE_FIELDS.size();
+        try (JsonParser parser = objectMapper.getFactory().createParser(rawPayloadJson)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return RawOfferKeys.NONE;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.VALUE_STRING) {
+                    int rank = RATE_KEY_FIELDS.indexOf(field);
+                    if (rank >= 0 && rank <= rateKeyRank) {
+                        rateKey = parser.getText();
+                        rateKeyRank = rank;
+                        continue;
+                    }
+                    rank = ROOM_CODE_FIELDS.indexOf(field);
+                    if (rank >= 0 && rank <= roomCodeRank) {
+                        roomCode = parser.getText();
+                        roomCodeRank = rank;
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+                if (rateKeyRank == 0 && roomCodeRank == 0) {
+                    break; // Best candidates found; the rest of the payload is irrelevant
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Could not parse supplier raw payload for key extraction: {}", e.getMessage());
+        }
+        return new RawOfferKeys(rateKey, roomCode);
+    }
+    
+    /**
+     * Outgoing offer payload, produced on demand from the supplier offer and mapping
+     */
+    public OfferDto.PayloadSource payloadSource(SupplierOfferDto supplierOffer, SupplierHotelMappingEntity mapping,
+                                                RawOfferKeys keys) {
+        return new OfferDto.PayloadSource() {
+            @Override
+            public JsonNode build() {
+                return payload(supplierOffer, mapping, keys);
+            }
+            
+            @Override
+            public void write(JsonGenerator json) throws IOException {
+                writePayload(supplierOffer, mapping, keys, json);
+            }
+        };
+    }
+    
+    /**
+     * Build the outgoing offer payload
+     */
+    public ObjectNode payload(SupplierOfferDto supplierOffer, SupplierHotelMappingEntity mapping, RawOfferKeys keys) {
+        ObjectNode payload = nodeFactory.objectNode();
+        payload.put("supplierCode", mapping.getSupplierCode().toString());
+        payload.put("supplierHotelId", mapping.getSupplierHotelId());
+        payload.put("rateKey", keys.rateKey());
+        payload.put("roomCode", keys.roomCode());
+        payload.put("currency", supplierOffer.getCurrency() != null ? supplierOffer.getCurrency() : "USD");
+        payload.put("totalPrice", supplierOffer.getTotalPrice() != null
+                ? supplierOffer.getTotalPrice().doubleValue()
+                : 0.0);
+        payload.put("board", supplierOffer.getBoard());
+        payload.put("roomName", supplierOffer.getRoomName());
+        payload.set("perNightBreakdown", perNightBreakdown(supplierOffer.getPerNightBreakdown()));
+        payload.set("taxesAndFees", taxesAndFees(supplierOffer.getTaxesAndFees()));
+        payload.put("rawPayloadJson", supplierOffer.getRawPayloadJson());
+        return payload;
+    }
+    
+    /**
+     * Write the outgoing offer payload without building a tree (same JSON as payload)
+     */
+    public void writePayload(SupplierOfferDto supplierOffer, SupplierHotelMappingEntity mapping, RawOfferKeys keys,
+                             JsonGenerator json) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("supplierCode", mapping.getSupplierCode().toString());
+        json.writeStringField("supplierHotelId", mapping.getSupplierHotelId());
+        json.writeStringField("rateKey", keys.rateKey());
+        json.writeStringField("roomCode", keys.roomCode());
+        json.writeStringField("currency", supplierOffer.getCurrency() != null ? supplierOffer.getCurrency() : "USD");
+        json.writeNumberField("totalPrice", supplierOffer.getTotalPrice() != null
+                ? supplierOffer.getTotalPrice().doubleValue()
+                : 0.0);
+        json.writeStringField("board", supplierOffer.getBoard());
+        json.writeStringField("roomName", supplierOffer.getRoomName());
+        json.writeFieldName("perNightBreakdown");
+        writePerNightBreakdown(supplierOffer.getPerNightBreakdown(), json);
+        json.writeFieldName("taxesAndFees");
+        writeTaxesAndFees(supplierOffer.getTaxesAndFees(), json);
+        json.writeStringField("rawPayloadJson", supplierOffer.getRawPayloadJson());
+        json.writeEndObject();
+    }
+    
+    private JsonNode perNightBreakdown(List<PerNightRateDto> nights) {
+        if (nights == null) {
+            return nodeFactory.nullNode();
+        }
+        ArrayNode array = nodeFactory.arrayNode(nights.size());
+        for (PerNightRateDto night : nights) {
+            if (night == null) {
+                array.addNull();
+                continue;
+            }
+            ObjectNode node = array.addObject();
+            node.put("date", night.getDate() != null ? night.getDate().toString() : null);
+            node.put("amount", night.getAmount());
+        }
+        return array;
+    }
+    
+    private JsonNode taxesAndFees(TaxesAndFeesPlaceholderDto taxesAndFees) {
+        if (taxesAndFees == null) {
+            return nodeFactory.nullNode();
+        }
+        ObjectNode node = nodeFactory.objectNode();
+        node.put("included", taxesAndFees.isIncluded());
+        node.put("amountNullable", taxesAndFees.getAmountNullable());
+        node.put("note", taxesAndFees.getNote());
+        return node;
+    }
+    
+    private static void writePerNightBreakdown(List<PerNightRateDto> nights, JsonGenerator json) throws IOException {
+        if (nights == null) {
+            json.writeNull();
+            return;
+        }
+        json.writeStartArray();
+        for (PerNightRateDto night : nights) {
+            if (night == null) {
+                json.writeNull();
+                continue;
+            }
+            json.writeStartObject();
+            json.writeStringField("date", night.getDate() != null ? night.getDate().toString() : null);
+            writeNumberField(json, "amount", night.getAmount());
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+    }
+    
+    private static void writeTaxesAndFees(TaxesAndFeesPlaceholderDto taxesAndFees, JsonGenerator json) throws IOException {
+        if (taxesAndFees == null) {
+            json.writeNull();
+            return;
+        }
+        json.writeStartObject();
+        json.writeBooleanField("included", taxesAndFees.isIncluded());
+        writeNumberField(json, "amountNullable", taxesAndFees.getAmountNullable());
+        json.writeStringField("note", taxesAndFees.getNote());
+        json.writeEndObject();
+    }
+    
+    private static void writeNumberField(JsonGenerator json, String field, BigDecimal value) throws IOException {
+        if (value == null) {
+            json.writeNullField(field);
+        } else {
+            json.writeNumberField(field, value);
+        }
+    }
+}
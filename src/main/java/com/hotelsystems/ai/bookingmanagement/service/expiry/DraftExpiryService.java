@@ -0,0 +1,213 @@
+package com.hotelsystems.ai.bookingmanagement.service.expiry;
+
+import com.hotelsystems.ai.bookingmanagement.config.DraftExpiryProperties;
+import com.hotelsystems.ai.bookingmanagement.enums.BookingStatus;
+import com.hotelsystems.ai.bookingmanagement.repository.BookingRepository;
+import com.hotelsystems.ai.bookingmanagement.service.adapter.OwnerInventoryAdapter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Draft Expiry Service
+ *
+ * Moves DRAFT bookings to EXPIRED once their expiresAt passes and releases any holds they own.
+ *
+ * - Upcoming expirations live in an in-memory hierarchical timing wheel, so each tick only
+ *   touches the drafts that are actually due
+ * - The wheel is rebuilt from the (status, expires_at) index at startup with keyset paging
+ * - Due drafts are expired in batches of batchSize, one guarded UPDATE per transaction
+ * - A slower catch-up sweep range-scans the same index for drafts this node never scheduled
+ *   (created on another node, or lost on restart before the rebuild finished)
+ *
+ * Metrics: booking.draft.expired (counter, rate = expired per second),
+ * booking.draft.expiry.sweep (timer, per-sweep latency) and booking.draft.expiry.scheduled (gauge).
+ */
+@Service
+@Slf4j
+public class DraftExpiryService {
+
+    private static final UUID MIN_UUID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+
+    private final BookingRepository bookingRepository;
+    private final OwnerInventoryAdapter ownerInventoryAdapter;
+    private final TransactionTemplate transactionTemplate;
+    private final DraftExpiryProperties properties;
+    private final HierarchicalTimingWheel<UUID> wheel;
+    private final Counter expiredCounter;
+    private final Timer wheelSweepTimer;
+    private final Timer catchUpSweepTimer;
+
+    private volatile boolean ready;
+
+    public DraftExpiryService(BookingRepository bookingRepository,
+                              OwnerInventoryAdapter ownerInventoryAdapter,
+                              TransactionTemplate transactionTemplate,
+                              DraftExpiryProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.ownerInventoryAdapter = ownerInventoryAdapter;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.wheel = new HierarchicalTimingWheel<>(properties.getTickMs(), properties.getWheelSize(),
+            properties.getLevels(), System.currentTimeMillis());
+
+        this.expiredCounter = Counter.builder("booking.draft.expired")
+            .description("Draft bookings moved to EXPIRED")
+            .register(meterRegistry);
+        this.wheelSweepTimer = Timer.builder("booking.draft.expiry.sweep")
+            .description("Time spent expiring due drafts in one sweep")
+            .tag("type", "wheel")
+            .register(meterRegistry);
+        this.catchUpSweepTimer = Timer.builder("booking.draft.expiry.sweep")
+            .description("Time spent expiring due drafts in one sweep")
+            .tag("type", "catch-up")
+            .register(meterRegistry);
+        Gauge.builder("booking.draft.expiry.scheduled", wheel, HierarchicalTimingWheel::size)
+            .description("Draft expirations currently held in the timing wheel")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Schedules a newly created draft for expiry.
+     * If the creating transaction rolls back, the expiry later finds no DRAFT row and is a no-op.
+     */
+    public void schedule(UUID bookingId, Instant expiresAt) {
+        if (!properties.isEnabled() || bookingId == null || expiresAt == null) {
+            return;
+        }
+        wheel.schedule(bookingId, expiresAt.toEpochMilli());
+    }
+
+    /**
+     * Rebuilds the wheel from DRAFT bookings that have not expired yet.
+     * Already-overdue drafts are left to the catch-up sweep, which runs straight after.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        Instant afterExpiresAt = Instant.now();
+        UUID afterId = MIN_UUID;
+        PageRequest page = PageRequest.of(0, Math.max(1, properties.getRebuildPageSize()));
+        int loaded = 0;
+
+        while (true) {
+            List<BookingRepository.DraftExpiry> drafts =
+                bookingRepository.findDraftExpiriesAfter(afterExpiresAt, afterId, page);
+            for (BookingRepository.DraftExpiry draft : drafts) {
+                wheel.schedule(draft.getId(), draft.getExpiresAt().toEpochMilli());
+            }
+            loaded += drafts.size();
+            if (drafts.size() < page.getPageSize()) {
+                break;
+            }
+            BookingRepository.DraftExpiry last = drafts.get(drafts.size() - 1);
+            afterExpiresAt = last.getExpiresAt();
+            afterId = last.getId();
+        }
+
+        ready = true;
+        log.info("Draft expiry wheel rebuilt - scheduled drafts: {}", loaded);
+        catchUp();
+    }
+
+    /**
+     * Advances the wheel and expires every draft that has come due.
+     */
+    @Scheduled(fixedDelayString = "${booking.draft-expiry.tick-ms:1000}")
+    public void sweep() {
+        if (!properties.isEnabled() || !ready) {
+            return;
+        }
+
+        Timer.Sample sample = Timer.start();
+        List<UUID> due = wheel.advanceTo(System.currentTimeMillis());
+        if (due.isEmpty()) {
+            return;
+        }
+
+        int expired = 0;
+        int batchSize = Math.max(1, properties.getBatchSize());
+        for (int from = 0; from < due.size(); from += batchSize) {
+            expired += expireBatch(due.subList(from, Math.min(from + batchSize, due.size())));
+        }
+        sample.stop(wheelSweepTimer);
+
+        if (expired > 0) {
+            log.info("Draft expiry sweep - due: {}, expired: {}", due.size(), expired);
+        }
+    }
+
+    /**
+     * Expires drafts overdue by more than catchUpGraceMs that the wheel did not handle.
+     * Pages through the (status, expires_at) index; every page shrinks the range it scans.
+     */
+    @Scheduled(fixedDelayString = "${booking.draft-expiry.catch-up-interval-ms:60000}",
+               initialDelayString = "${booking.draft-expiry.catch-up-interval-ms:60000}")
+    public void catchUp() {
+        if (!properties.isEnabled() || !ready) {
+            return;
+        }
+
+        Timer.Sample sample = Timer.start();
+        Instant cutoff = Instant.now().minusMillis(properties.getCatchUpGraceMs());
+        PageRequest page = PageRequest.of(0, Math.max(1, properties.getBatchSize()));
+        int expired = 0;
+
+        while (true) {
+            List<UUID> ids = bookingRepository.findExpiredDraftIds(cutoff, page);
+            if (ids.isEmpty()) {
+                break;
+            }
+            int batchExpired = expireBatch(ids);
+            expired += batchExpired;
+            if (ids.size() < page.getPageSize() || batchExpired == 0) {
+                break;
+            }
+        }
+        sample.stop(catchUpSweepTimer);
+
+        if (expired > 0) {
+            log.info("Draft expiry catch-up - expired: {}", expired);
+        }
+    }
+
+    /**
+     * Expires one batch in its own transaction and releases the holds of every booking
+     * in the batch that is now EXPIRED (release is idempotent).
+     */
+    private int expireBatch(List<UUID> ids) {
+        try {
+            Integer expired = transactionTemplate.execute(status -> {
+                int count = bookingRepository.expireDrafts(ids, Instant.now());
+                if (count > 0) {
+                    List<UUID> expiredIds = bookingRepository.findIdsByIdInAndStatus(ids, BookingStatus.EXPIRED);
+                    ownerInventoryAdapter.releaseExpiredDrafts(expiredIds);
+                }
+                return count;
+            });
+            int count = expired != null ? expired : 0;
+            expiredCounter.increment(count);
+            return count;
+        } catch (RuntimeException e) {
+            // Leave the batch for the catch-up sweep rather than failing the whole tick
+            log.error("Draft expiry batch failed - size: {}", ids.size(), e);
+            return 0;
+        }
+    }
+}
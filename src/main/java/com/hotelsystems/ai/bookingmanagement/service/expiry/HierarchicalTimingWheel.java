@@ -0,0 +1,140 @@
+package com.hotelsystems.ai.bookingmanagement.service.expiry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical Timing Wheel
+ * 
+ * In-memory scheduler for many deadlines with O(1) insert and amortised O(1) expiry.
+ * Level 0 has one slot per tick; each higher level's slot spans a full rotation of the level
+ * below (tick * wheelSize^level). Entries cascade down a level when their slot comes round,
+ * and fire from level 0. Deadlines beyond the top level wait in an overflow list that is
+ * re-examined once per top-level rotation.
+ * 
+ * Not tied to any clock: callers pass epoch millis to schedule and advanceTo.
+ * Thread-safe via method-level synchronization; operations are short and allocation-light.
+ */
+public class HierarchicalTimingWheel<K> {
+    
+    private final long tickMs;
+    private final int wheelSize;
+    private final int levels;
+    private final long[] unitTicks; // wheelSize^level
+    private final List<Entry<K>>[][] slots;
+    private final List<Entry<K>> overflow = new ArrayList<>();
+    private final List<K> due = new ArrayList<>();
+    
+    private long currentTick;
+    private int size;
+    
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, int levels, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("tickMs must be > 0, wheelSize >= 2 and levels >= 1");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.levels = levels;
+        this.unitTicks = new long[levels + 1];
+        this.unitTicks[0] = 1;
+        for (int level = 1; level <= levels; level++) {
+            this.unitTicks[level] = Math.multiplyExact(unitTicks[level - 1], wheelSize);
+        }
+        this.slots = new List[levels][wheelSize];
+        for (int level = 0; level < levels; level++) {
+            for (int slot = 0; slot < wheelSize; slot++) {
+                slots[level][slot] = new ArrayList<>();
+            }
+        }
+        this.currentTick = startMs / tickMs;
+    }
+    
+    /**
+     * Schedules a key to fire at (or just after) deadlineMs.
+     * Deadlines at or before the current tick fire on the next advanceTo.
+     */
+    public synchronized void schedule(K key, long deadlineMs) {
+        // Round up so a key never fires before its deadline
+        long deadlineTick = (deadlineMs + tickMs - 1) / tickMs;
+        place(new Entry<>(key, deadlineTick));
+        size++;
+    }
+    
+    /**
+     * Advances the wheel to nowMs and returns every key whose deadline has passed.
+     */
+    public synchronized List<K> advanceTo(long nowMs) {
+        long targetTick = nowMs / tickMs;
+        while (currentTick < targetTick) {
+            currentTick++;
+            
+            // Cascade higher levels first so entries due this tick land in 'due' directly
+            if (currentTick % unitTicks[levels] == 0 && !overflow.isEmpty()) {
+                List<Entry<K>> pending = new ArrayList<>(overflow);
+                overflow.clear();
+                pending.forEach(this::place);
+            }
+            for (int level = levels - 1; level >= 1; level--) {
+                if (currentTick % unitTicks[level] == 0) {
+                    cascade(level, (int) ((currentTick / unitTicks[level]) % wheelSize));
+                }
+            }
+            
+            List<Entry<K>> firing = slots[0][(int) (currentTick % wheelSize)];
+            for (Entry<K> entry : firing) {
+                due.add(entry.key);
+            }
+            firing.clear();
+        }
+        
+        List<K> result = new ArrayList<>(due);
+        size -= result.size();
+        due.clear();
+        return result;
+    }
+    
+    /**
+     * Number of keys scheduled and not yet returned by advanceTo.
+     */
+    public synchronized int size() {
+        return size;
+    }
+    
+    private void cascade(int level, int slot) {
+        List<Entry<K>> entries = slots[level][slot];
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<Entry<K>> pending = new ArrayList<>(entries);
+        entries.clear();
+        pending.forEach(this::place);
+    }
+    
+    private void place(Entry<K> entry) {
+        if (entry.deadlineTick <= currentTick) {
+            due.add(entry.key);
+            return;
+        }
+        for (int level = 0; level < levels; level++) {
+            long unit = unitTicks[level];
+            // Slot distance at this level; must be < wheelSize so it is not the slot already passed
+            long distance = entry.deadlineTick / unit - currentTick / unit;
+            if (distance < wheelSize) {
+                slots[level][(int) ((entry.deadlineTick / unit) % wheelSize)].add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+    
+    private static final class Entry<K> {
+        private final K key;
+        private final long deadlineTick;
+        
+        private Entry(K key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
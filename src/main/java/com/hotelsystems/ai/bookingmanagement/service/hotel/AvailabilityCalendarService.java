@@ -0,0 +1,173 @@
+package com.hotelsystems.ai.bookingmanagement.service.hotel;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotelsystems.ai.bookingmanagement.dto.hotel.HotelResponse;
+import com.hotelsystems.ai.bookingmanagement.exception.BadRequestException;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.AvailabilityService;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.NightlyAvailability;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.dto.PricingQuote;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.RoomTypeEntity;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.pricing.PricingIntelligenceClient;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.RoomTypeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Availability Calendar Service
+ * 
+ * Builds a per-night availability / stop-sell / price calendar for every active room type
+ * of a hotel over a date window.
+ * 
+ * - One allotment range scan for the whole hotel and window (AvailabilityService.nightlyAvailability)
+ * - One pricing quote per room type, not per night; each night's priceMinor is that night's own
+ *   price from the quote's nightly breakdown
+ * - The JSON body is written night by night with a JsonGenerator, no per-night DTOs
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AvailabilityCalendarService {
+    
+    static final int MAX_WINDOW_DAYS = 366;
+    
+    private final BookingHotelService hotelService;
+    private final RoomTypeRepository roomTypeRepository;
+    private final AvailabilityService availabilityService;
+    private final PricingIntelligenceClient pricingClient;
+    private final ObjectMapper objectMapper;
+    
+    /**
+     * Loads the calendar and returns a body that streams it as JSON.
+     * 
+     * All validation and database reads happen here, before the response is committed,
+     * so errors still map to normal 4xx responses.
+     * 
+     * @param slug Hotel slug
+     * @param startDate Start date (inclusive)
+     * @param endDate End date (exclusive)
+     * @param currency Currency code for prices
+     * @return Streaming JSON body
+     * @throws BadRequestException if the window is empty or longer than MAX_WINDOW_DAYS
+     */
+    public StreamingResponseBody calendar(String slug, LocalDate startDate, LocalDate endDate, String currency) {
+        if (startDate == null || endDate == null || !startDate.isBefore(endDate)) {
+            throw new BadRequestException("startDate must be before endDate");
+        }
+        long nights = ChronoUnit.DAYS.between(startDate, endDate);
+        if (nights > MAX_WINDOW_DAYS) {
+            throw new BadRequestException("Calendar window cannot exceed " + MAX_WINDOW_DAYS + " days");
+        }
+        
+        HotelResponse hotel = hotelService.getHotelBySlug(slug);
+        String hotelId = hotel.getHotelId();
+        
+        List<RoomTypeEntity> roomTypes = new ArrayList<>();
+        for (RoomTypeEntity roomType : roomTypeRepository.findByHotelId(hotelId)) {
+            if (roomType.isActive()) {
+                roomTypes.add(roomType);
+            }
+        }
+        
+        List<String> roomTypeIds = new ArrayList<>();
+        roomTypes.forEach(roomType -> roomTypeIds.add(roomType.getId()));
+        Map<String, NightlyAvailability> availability =
+                availabilityService.nightlyAvailability(hotelId, roomTypeIds, startDate, endDate);
+        
+        Map<String, NightlyPrices> nightlyPrices = new HashMap<>();
+        for (RoomTypeEntity roomType : roomTypes) {
+            nightlyPrices.put(roomType.getId(), nightlyPrices(hotelId, roomType.getId(), startDate, endDate, currency));
+        }
+        
+        log.info("Availability calendar - slug: {}, hotelId: {}, start: {}, end: {}, roomTypes: {}",
+                slug, hotelId, startDate, endDate, roomTypes.size());
+        
+        return out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+                json.writeStartObject();
+                json.writeStringField("hotelSlug", hotel.getSlug());
+                json.writeStringField("hotelId", hotelId);
+                json.writeStringField("startDate", startDate.toString());
+                json.writeStringField("endDate", endDate.toString());
+                json.writeArrayFieldStart("roomTypes");
+                for (RoomTypeEntity roomType : roomTypes) {
+                    NightlyAvailability nightly = availability.get(roomType.getId());
+                    NightlyPrices prices = nightlyPrices.get(roomType.getId());
+                    
+                    json.writeStartObject();
+                    json.writeStringField("roomTypeId", roomType.getId());
+                    json.writeStringField("name", roomType.getName());
+                    json.writeStringField("currency", prices.currency());
+                    json.writeArrayFieldStart("nights");
+                    for (int i = 0; i < nightly.getNights(); i++) {
+                        json.writeStartObject();
+                        json.writeStringField("date", nightly.dateAt(i).toString());
+                        json.writeNumberField("available", nightly.availableAt(i));
+                        json.writeBooleanField("stopSell", nightly.isStopSellAt(i));
+                        json.writeNumberField("priceMinor", prices.priceMinor()[i]);
+                        json.writeEndObject();
+                    }
+                    json.writeEndArray();
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+        };
+    }
+    
+    /**
+     * Quotes the whole window once and returns the price of each night.
+     * 
+     * Uses the quote's nightly breakdown. A pricing source that only returns a total has its
+     * total split over the nights, the remainder going to the first nights, so the nights
+     * still add up to the quoted total.
+     */
+    private NightlyPrices nightlyPrices(String hotelId, String roomTypeId,
+                                        LocalDate startDate, LocalDate endDate, String currency) {
+        int nights = (int) ChronoUnit.DAYS.between(startDate, endDate);
+        long[] priceMinor = new long[nights];
+        PricingQuote quote;
+        try {
+            quote = pricingClient.getQuote(hotelId, roomTypeId, startDate, endDate, 1, currency);
+        } catch (Exception e) {
+            log.warn("Failed to get pricing quote for room type {}, using default: {}", roomTypeId, e.getMessage());
+            quote = null;
+        }
+        if (quote == null) {
+            // Same default as owner offer search: 100 per night in minor units
+            Arrays.fill(priceMinor, 10000L);
+            return new NightlyPrices(currency, priceMinor);
+        }
+        
+        List<Long> nightly = quote.getNightlyPricesMinor();
+        if (nightly != null && nightly.size() == nights) {
+            for (int i = 0; i < nights; i++) {
+                priceMinor[i] = nightly.get(i);
+            }
+        } else {
+            long total = quote.getTotalPriceMinor();
+            for (int i = 0; i < nights; i++) {
+                priceMinor[i] = total / nights + (i < total % nights ? 1 : 0);
+            }
+        }
+        return new NightlyPrices(quote.getCurrency(), priceMinor);
+    }
+    
+    /**
+     * Price of each night of the window in minor units, indexed by day offset
+     */
+    private record NightlyPrices(String currency, long[] priceMinor) {
+    }
+}
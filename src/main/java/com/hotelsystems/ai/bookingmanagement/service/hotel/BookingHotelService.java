@@ -6,6 +6,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * Booking Hotel Service
  * 
@@ -39,5 +42,25 @@ public class BookingHotelService {
         log.debug("Found hotel: {} ({})", hotel.getName(), hotel.getSlug());
         return hotel;
     }
+    
+    /**
+     * Get several hotels by slug in one catalog read
+     * 
+     * @param slugs Hotel slugs
+     * @return Hotels keyed by slug; unknown slugs are absent
+     */
+    public Map<String, HotelResponse> getHotelsBySlugs(Collection<String> slugs) {
+        return hotelCatalog.findBySlugs(slugs);
+    }
+    
+    /**
+     * Get several hotels by id in one catalog read
+     * 
+     * @param hotelIds Hotel identifiers
+     * @return Hotels keyed by hotelId; unknown hotelIds are absent
+     */
+    public Map<String, HotelResponse> getHotelsByIds(Collection<String> hotelIds) {
+        return hotelCatalog.findByIds(hotelIds);
+    }
 }
 
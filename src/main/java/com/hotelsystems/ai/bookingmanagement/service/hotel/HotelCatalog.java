@@ -6,7 +6,12 @@ import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.HotelRepo
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -56,6 +61,51 @@ public class HotelCatalog {
         return null;
     }
     
+    /**
+     * Get several hotels by slug with one read of the hotel table
+     * 
+     * @param slugs Hotel slugs
+     * @return Hotels keyed by slug; unknown slugs are absent
+     */
+    public Map<String, HotelResponse> findBySlugs(Collection<String> slugs) {
+        Set<String> wanted = new HashSet<>(slugs);
+        Map<String, HotelResponse> result = new HashMap<>();
+        if (wanted.isEmpty()) {
+            return result;
+        }
+        
+        for (HotelEntity hotel : hotelRepository.findAll()) {
+            if (!hotel.isActive()) {
+                continue;
+            }
+            String generatedSlug = generateSlug(hotel.getName());
+            if (wanted.contains(generatedSlug)) {
+                result.putIfAbsent(generatedSlug, toHotelResponse(hotel, generatedSlug));
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Get several hotels by id with one primary-key lookup
+     * 
+     * @param hotelIds Hotel identifiers
+     * @return Hotels keyed by hotelId; unknown or inactive hotels are absent
+     */
+    public Map<String, HotelResponse> findByIds(Collection<String> hotelIds) {
+        Map<String, HotelResponse> result = new HashMap<>();
+        if (hotelIds.isEmpty()) {
+            return result;
+        }
+        
+        for (HotelEntity hotel : hotelRepository.findAllById(new HashSet<>(hotelIds))) {
+            if (hotel.isActive()) {
+                result.put(hotel.getId(), toHotelResponse(hotel, generateSlug(hotel.getName())));
+            }
+        }
+        return result;
+    }
+    
     /**
      * Check if hotel exists by slug
      * 
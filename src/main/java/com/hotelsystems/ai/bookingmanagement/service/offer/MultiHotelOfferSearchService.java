@@ -0,0 +1,194 @@
+package com.hotelsystems.ai.bookingmanagement.service.offer;
+
+import com.hotelsystems.ai.bookingmanagement.config.OfferSearchProperties;
+import com.hotelsystems.ai.bookingmanagement.dto.hotel.HotelResponse;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.HotelOffersResultDto;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.MultiHotelOffersSearchRequest;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.MultiHotelOffersSearchResponse;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OffersSearchRequest;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OffersSearchResponse;
+import com.hotelsystems.ai.bookingmanagement.enums.HotelSearchStatus;
+import com.hotelsystems.ai.bookingmanagement.exception.BadRequestException;
+import com.hotelsystems.ai.bookingmanagement.exception.NotFoundException;
+import com.hotelsystems.ai.bookingmanagement.service.hotel.BookingHotelService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Multi-Hotel Offer Search Service
+ * 
+ * Runs the single-hotel offer search (OfferService) for a list of hotels with shared dates
+ * and occupancy.
+ * 
+ * - All hotels are resolved with one catalog read per key type (slugs, hotelIds); a hotel
+ *   requested more than once (e.g. by slug and by hotelId) is searched once
+ * - At most multiConcurrency hotels are searched at once (semaphore over the offer search executor)
+ * - One overall deadline: hotels still running when it passes are cancelled and reported TIMED_OUT
+ * - Every requested hotel gets a result, including NOT_FOUND and FAILED ones
+ */
+@Service
+@Slf4j
+public class MultiHotelOfferSearchService {
+    
+    private final OfferService offerService;
+    private final BookingHotelService hotelService;
+    private final ExecutorService offerSearchExecutor;
+    private final OfferSearchProperties properties;
+    
+    public MultiHotelOfferSearchService(OfferService offerService,
+                                        BookingHotelService hotelService,
+                                        @Qualifier("offerSearchExecutor") ExecutorService offerSearchExecutor,
+                                        OfferSearchProperties properties) {
+        this.offerService = offerService;
+        this.hotelService = hotelService;
+        this.offerSearchExecutor = offerSearchExecutor;
+        this.properties = properties;
+    }
+    
+    /**
+     * Search offers for several hotels
+     * 
+     * @param request Hotels, dates and occupancy
+     * @param bypassCache Skip the offer search cache lookup
+     * @return One result per distinct requested hotel (by resolved hotelId), slugs first, then hotelIds
+     * @throws BadRequestException if no hotels, too many hotels, or invalid dates
+     */
+    public MultiHotelOffersSearchResponse search(MultiHotelOffersSearchRequest request, boolean bypassCache) {
+        List<String> slugs = distinct(request.getSlugs());
+        List<String> hotelIds = distinct(request.getHotelIds());
+        int hotelCount = slugs.size() + hotelIds.size();
+        if (hotelCount == 0) {
+            throw new BadRequestException("At least one slug or hotelId is required");
+        }
+        if (hotelCount > properties.getMultiMaxHotels()) {
+            throw new BadRequestException("Cannot search more than " + properties.getMultiMaxHotels() + " hotels at once");
+        }
+        offerService.validateDates(request.getCheckIn(), request.getCheckOut());
+        
+        Map<String, HotelResponse> hotelsBySlug = hotelService.getHotelsBySlugs(slugs);
+        Map<String, HotelResponse> hotelsById = hotelService.getHotelsByIds(hotelIds);
+        
+        OffersSearchRequest hotelRequest = OffersSearchRequest.builder()
+                .checkIn(request.getCheckIn())
+                .checkOut(request.getCheckOut())
+                .guests(request.getGuests())
+                .roomsCount(request.getRoomsCount())
+                .fanOut(request.getFanOut())
+                .build();
+        
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getMultiDeadlineMs());
+        Semaphore permits = new Semaphore(Math.max(1, properties.getMultiConcurrency()));
+        
+        List<PendingSearch> pending = new ArrayList<>(hotelCount);
+        Set<String> searchedHotelIds = new HashSet<>();
+        for (String slug : slugs) {
+            HotelResponse hotel = hotelsBySlug.get(slug);
+            if (hotel == null || searchedHotelIds.add(hotel.getHotelId())) {
+                pending.add(submit(slug, null, hotel, hotelRequest, bypassCache, permits));
+            }
+        }
+        for (String hotelId : hotelIds) {
+            HotelResponse hotel = hotelsById.get(hotelId);
+            // Skip hotels already requested by slug
+            if (hotel == null || searchedHotelIds.add(hotel.getHotelId())) {
+                pending.add(submit(null, hotelId, hotel, hotelRequest, bypassCache, permits));
+            }
+        }
+        
+        List<HotelOffersResultDto> results = new ArrayList<>(pending.size());
+        for (PendingSearch search : pending) {
+            results.add(collect(search, deadlineNanos));
+        }
+        
+        boolean partial = results.stream().anyMatch(result -> result.getStatus() != HotelSearchStatus.OK);
+        log.info("Multi-hotel offer search completed - hotels: {}, notOk: {}",
+                results.size(), results.stream().filter(result -> result.getStatus() != HotelSearchStatus.OK).count());
+        
+        return MultiHotelOffersSearchResponse.builder()
+                .results(results)
+                .partial(partial)
+                .build();
+    }
+    
+    private PendingSearch submit(String slug, String hotelId, HotelResponse hotel,
+                                 OffersSearchRequest hotelRequest, boolean bypassCache, Semaphore permits) {
+        if (hotel == null) {
+            return new PendingSearch(slug, hotelId, null);
+        }
+        Future<OffersSearchResponse> future = offerSearchExecutor.submit(() -> {
+            permits.acquire();
+            try {
+                return offerService.searchOffers(hotel, hotelRequest, bypassCache);
+            } finally {
+                permits.release();
+            }
+        });
+        return new PendingSearch(hotel.getSlug(), hotel.getHotelId(), future);
+    }
+    
+    /**
+     * Wait for one hotel until the overall deadline and map the outcome to a result
+     */
+    private HotelOffersResultDto collect(PendingSearch search, long deadlineNanos) {
+        HotelOffersResultDto.HotelOffersResultDtoBuilder result = HotelOffersResultDto.builder()
+                .slug(search.slug())
+                .hotelId(search.hotelId());
+        if (search.future() == null) {
+            return result.status(HotelSearchStatus.NOT_FOUND).error("Hotel not found").build();
+        }
+        
+        try {
+            OffersSearchResponse response = search.future().get(
+                    Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return result.status(HotelSearchStatus.OK)
+                    .offers(response.getOffers())
+                    .sources(response.getSources())
+                    .partial(response.getPartial())
+                    .build();
+        } catch (TimeoutException e) {
+            search.future().cancel(true);
+            return result.status(HotelSearchStatus.TIMED_OUT)
+                    .error("Search did not finish within " + properties.getMultiDeadlineMs() + " ms")
+                    .build();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.warn("Offer search failed for hotel {} ({}): {}", search.slug(), search.hotelId(), cause.getMessage());
+            HotelSearchStatus status = cause instanceof NotFoundException ? HotelSearchStatus.NOT_FOUND : HotelSearchStatus.FAILED;
+            return result.status(status).error(cause.getMessage()).build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            search.future().cancel(true);
+            return result.status(HotelSearchStatus.FAILED).error("Interrupted").build();
+        }
+    }
+    
+    private static List<String> distinct(List<String> values) {
+        if (values == null) {
+            return List.of();
+        }
+        LinkedHashSet<String> distinct = new LinkedHashSet<>();
+        for (String value : values) {
+            if (value != null && !value.isBlank()) {
+                distinct.add(value.trim());
+            }
+        }
+        return new ArrayList<>(distinct);
+    }
+    
+    private record PendingSearch(String slug, String hotelId, Future<OffersSearchResponse> future) {
+    }
+}
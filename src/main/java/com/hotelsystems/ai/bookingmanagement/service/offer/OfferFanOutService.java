@@ -0,0 +1,151 @@
+package com.hotelsystems.ai.bookingmanagement.service.offer;
+
+import com.hotelsystems.ai.bookingmanagement.config.OfferSearchProperties;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OfferDto;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OffersSearchResponse;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.SourceResultDto;
+import com.hotelsystems.ai.bookingmanagement.enums.OfferSource;
+import com.hotelsystems.ai.bookingmanagement.enums.SourceSearchStatus;
+import com.hotelsystems.ai.bookingmanagement.service.adapter.offer.OfferSearchAdapter;
+import com.hotelsystems.ai.bookingmanagement.service.adapter.offer.impl.SupplierOfferAdapter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Offer Fan-Out Service
+ * 
+ * Searches owner inventory and the supplier adapter concurrently for one hotel.
+ * 
+ * - Each source runs on the offer search executor (virtual threads), off the request thread
+ * - Each source has its own deadline, measured from the start of the search
+ * - Offers from sources that answered in time are merged; late or failing sources are
+ *   cancelled and reported in the response's sources list, and partial is set
+ * - Sources that do not serve the hotel (OfferRoutingService.applicableSources, e.g. the
+ *   supplier for a hotel without an active mapping) are not called and reported SKIPPED
+ */
+@Service
+@Slf4j
+public class OfferFanOutService {
+    
+    private final OfferSearchAdapter ownerOfferSearchAdapter;
+    private final SupplierOfferAdapter supplierOfferAdapter;
+    private final ExecutorService offerSearchExecutor;
+    private final OfferSearchCache offerSearchCache;
+    private final OfferRoutingService offerRoutingService;
+    private final OfferSearchProperties properties;
+    
+    public OfferFanOutService(OfferSearchAdapter ownerOfferSearchAdapter,
+                              SupplierOfferAdapter supplierOfferAdapter,
+                              @Qualifier("offerSearchExecutor") ExecutorService offerSearchExecutor,
+                              OfferSearchCache offerSearchCache,
+                              OfferRoutingService offerRoutingService,
+                              OfferSearchProperties properties) {
+        this.ownerOfferSearchAdapter = ownerOfferSearchAdapter;
+        this.supplierOfferAdapter = supplierOfferAdapter;
+        this.offerSearchExecutor = offerSearchExecutor;
+        this.offerSearchCache = offerSearchCache;
+        this.offerRoutingService = offerRoutingService;
+        this.properties = properties;
+    }
+    
+    /**
+     * Search every applicable source concurrently and merge what arrives before each source's deadline.
+     * 
+     * @param hotelId Hotel identifier
+     * @param checkIn Check-in date
+     * @param checkOut Check-out date
+     * @param guests Number of guests
+     * @param roomsCount Number of rooms
+     * @param bypassCache Skip the offer search cache lookup
+     * @return Merged offers (owner first, then supplier) with per-source status
+     */
+    public OffersSearchResponse search(String hotelId, LocalDate checkIn, LocalDate checkOut,
+                                       Integer guests, Integer roomsCount, boolean bypassCache) {
+        long startNanos = System.nanoTime();
+        Set<OfferSource> applicable = offerRoutingService.applicableSources(hotelId);
+        
+        Future<List<OfferDto>> ownerFuture = applicable.contains(OfferSource.OWNER)
+                ? offerSearchExecutor.submit(() -> offerSearchCache.getOrSearch(OfferSource.OWNER, hotelId, checkIn,
+                        checkOut, guests, roomsCount, bypassCache,
+                        () -> ownerOfferSearchAdapter.searchOffers(hotelId, checkIn, checkOut, guests, roomsCount)))
+                : null;
+        Future<List<OfferDto>> supplierFuture = applicable.contains(OfferSource.SUPPLIER)
+                ? offerSearchExecutor.submit(() -> offerSearchCache.getOrSearch(OfferSource.SUPPLIER, hotelId, checkIn,
+                        checkOut, guests, roomsCount, bypassCache,
+                        () -> supplierOfferAdapter.searchOffers(hotelId, checkIn, checkOut, guests, roomsCount)))
+                : null;
+        
+        List<OfferDto> offers = new ArrayList<>();
+        List<SourceResultDto> sources = new ArrayList<>();
+        collect(OfferSource.OWNER, ownerFuture, properties.getOwnerDeadlineMs(), startNanos, offers, sources);
+        collect(OfferSource.SUPPLIER, supplierFuture, properties.getSupplierDeadlineMs(), startNanos, offers, sources);
+        
+        boolean partial = sources.stream().anyMatch(source -> source.getStatus() != SourceSearchStatus.OK
+                && source.getStatus() != SourceSearchStatus.SKIPPED);
+        log.info("Fan-out search completed - hotelId: {}, offers: {}, partial: {}, sources: {}",
+                hotelId, offers.size(), partial, sources);
+        
+        return OffersSearchResponse.builder()
+                .offers(offers)
+                .sources(sources)
+                .partial(partial)
+                .build();
+    }
+    
+    /**
+     * Wait for one source until its deadline (relative to startNanos) and record the outcome
+     * (future is null for a skipped source)
+     */
+    private void collect(OfferSource source, Future<List<OfferDto>> future, long deadlineMs, long startNanos,
+                         List<OfferDto> offers, List<SourceResultDto> sources) {
+        if (future == null) {
+            sources.add(SourceResultDto.builder()
+                    .source(source)
+                    .status(SourceSearchStatus.SKIPPED)
+                    .offerCount(0)
+                    .latencyMs(0)
+                    .build());
+            return;
+        }
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(deadlineMs) - (System.nanoTime() - startNanos);
+        SourceSearchStatus status;
+        List<OfferDto> sourceOffers = List.of();
+        try {
+            List<OfferDto> result = future.get(Math.max(0, remainingNanos), TimeUnit.NANOSECONDS);
+            if (result != null) {
+                sourceOffers = result;
+            }
+            status = SourceSearchStatus.OK;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Offer source {} missed its {} ms deadline", source, deadlineMs);
+            status = SourceSearchStatus.TIMED_OUT;
+        } catch (ExecutionException e) {
+            log.warn("Offer source {} failed: {}", source, e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            status = SourceSearchStatus.FAILED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            status = SourceSearchStatus.FAILED;
+        }
+        
+        offers.addAll(sourceOffers);
+        sources.add(SourceResultDto.builder()
+                .source(source)
+                .status(status)
+                .offerCount(sourceOffers.size())
+                .latencyMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos))
+                .build());
+    }
+}
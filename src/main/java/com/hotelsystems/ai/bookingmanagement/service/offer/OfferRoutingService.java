@@ -7,7 +7,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.EnumSet;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Offer Routing Service
@@ -49,5 +51,21 @@ public class OfferRoutingService {
         log.debug("OWNER route chosen because no ACTIVE mapping exists - hotelId: {}", hotelId);
         return OfferSource.OWNER;
     }
+    
+    /**
+     * Sources a fan-out search should call for a hotel
+     * 
+     * Owner inventory is always searched (it is the safe default route); the supplier only when
+     * the hotel has an ACTIVE supplier mapping, without which the supplier adapter cannot search.
+     * 
+     * @param hotelId Hotel identifier
+     * @return Applicable sources (never empty)
+     */
+    public Set<OfferSource> applicableSources(String hotelId) {
+        Set<OfferSource> sources = EnumSet.of(OfferSource.OWNER);
+        if (supplierMappingService.findActiveMapping(hotelId).isPresent()) {
+            sources.add(OfferSource.SUPPLIER);
+        }
+        return sources;
+    }
 }
-
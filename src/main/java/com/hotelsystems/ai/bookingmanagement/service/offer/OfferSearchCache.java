@@ -0,0 +1,244 @@
+package com.hotelsystems.ai.bookingmanagement.service.offer;
+
+import com.hotelsystems.ai.bookingmanagement.config.OfferSearchCacheProperties;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OfferDto;
+import com.hotelsystems.ai.bookingmanagement.enums.OfferSource;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.InventoryChangeListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Offer Search Cache
+ * 
+ * Size-bounded, TTL-based cache of adapter search results keyed by
+ * (source, hotel, checkIn, checkOut, guests, rooms).
+ * 
+ * - OWNER and SUPPLIER results have separate TTLs
+ * - OWNER results for a hotel are evicted when its inventory changes for overlapping nights
+ *   (InventoryChangeListener); a load that raced with such a write is not installed
+ * - Least recently used entries are dropped beyond maxEntries
+ * 
+ * Only the search path reads this cache; recheck and booking always go to the source.
+ * Misses for the same key that arrive while the first one is still loading share its load
+ * (OfferSearchCoalescer). This is the only place searches are coalesced; every search path
+ * (OfferService, OfferFanOutService, OfferStreamService) reaches the adapters through here.
+ * Cached and shared offers are never handed out: every caller gets its own copies.
+ * 
+ * Offers are recorded in OfferSnapshotStore when the source returns them, not per response;
+ * the snapshot TTL must stay longer than ownerTtlMs and supplierTtlMs.
+ * 
+ * Metrics: offers.search.cache.requests (counter, tags source and result=hit|miss|bypass),
+ * offers.search.cache.evictions (counter, tag cause=expired|size|invalidated) and
+ * offers.search.cache.size (gauge).
+ */
+@Component
+@Slf4j
+public class OfferSearchCache implements InventoryChangeListener {
+    
+    private final OfferSearchCacheProperties properties;
+    private final OfferSearchCoalescer coalescer;
+    private final OfferSnapshotStore offerSnapshotStore;
+    private final Clock clock;
+    
+    // Access-ordered for LRU eviction; guarded by this
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    // Bumped on every owner inventory change so a load that raced with a write is not installed
+    private final Map<String, AtomicLong> hotelGenerations = new ConcurrentHashMap<>();
+    
+    private final Map<OfferSource, Counter> hitCounters = new EnumMap<>(OfferSource.class);
+    private final Map<OfferSource, Counter> missCounters = new EnumMap<>(OfferSource.class);
+    private final Map<OfferSource, Counter> bypassCounters = new EnumMap<>(OfferSource.class);
+    private final Counter expiredEvictions;
+    private final Counter sizeEvictions;
+    private final Counter invalidatedEvictions;
+    
+    @Autowired
+    public OfferSearchCache(OfferSearchCacheProperties properties, OfferSearchCoalescer coalescer,
+                            OfferSnapshotStore offerSnapshotStore, MeterRegistry meterRegistry) {
+        this(properties, coalescer, offerSnapshotStore, meterRegistry, Clock.systemUTC());
+    }
+    
+    OfferSearchCache(OfferSearchCacheProperties properties, OfferSearchCoalescer coalescer,
+                     OfferSnapshotStore offerSnapshotStore, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.coalescer = coalescer;
+        this.offerSnapshotStore = offerSnapshotStore;
+        this.clock = clock;
+        
+        for (OfferSource source : OfferSource.values()) {
+            hitCounters.put(source, requestCounter(meterRegistry, source, "hit"));
+            missCounters.put(source, requestCounter(meterRegistry, source, "miss"));
+            bypassCounters.put(source, requestCounter(meterRegistry, source, "bypass"));
+        }
+        this.expiredEvictions = evictionCounter(meterRegistry, "expired");
+        this.sizeEvictions = evictionCounter(meterRegistry, "size");
+        this.invalidatedEvictions = evictionCounter(meterRegistry, "invalidated");
+        Gauge.builder("offers.search.cache.size", this, OfferSearchCache::size)
+            .description("Offer search results currently cached")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Returns cached offers for the search, or runs it and caches the result.
+     * 
+     * @param bypass Skip the lookup and do not join a running search (the fresh result still
+     *               replaces the cached one)
+     * @param search Adapter call to run on a miss
+     * @return Offers (unmodifiable list of copies owned by this caller)
+     */
+    public List<OfferDto> getOrSearch(OfferSource source, String hotelId, LocalDate checkIn, LocalDate checkOut,
+                                      Integer guests, Integer roomsCount, boolean bypass,
+                                      Supplier<List<OfferDto>> search) {
+        Key key = new Key(source, hotelId, checkIn, checkOut, guests, roomsCount);
+        if (!properties.isEnabled()) {
+            return copies(coalescer.coalesce(key, () -> issue(search)));
+        }
+        
+        long now = clock.millis();
+        if (bypass) {
+            bypassCounters.get(source).increment();
+            return copies(load(key, search));
+        }
+        List<OfferDto> cached = lookup(key, now);
+        if (cached != null) {
+            hitCounters.get(source).increment();
+            return copies(cached);
+        }
+        missCounters.get(source).increment();
+        return copies(coalescer.coalesce(key, () -> load(key, search)));
+    }
+    
+    /**
+     * Evicts cached OWNER results of the hotel whose stay overlaps [startDate, endDate).
+     * Results are keyed per hotel, not per room type, so every room type change counts.
+     */
+    @Override
+    public void onInventoryChanged(String hotelId, String roomTypeId, LocalDate startDate, LocalDate endDate) {
+        generation(hotelId).incrementAndGet();
+        int evicted = 0;
+        synchronized (this) {
+            Iterator<Key> keys = entries.keySet().iterator();
+            while (keys.hasNext()) {
+                Key key = keys.next();
+                if (key.source() == OfferSource.OWNER && key.hotelId().equals(hotelId)
+                        && key.overlaps(startDate, endDate)) {
+                    keys.remove();
+                    evicted++;
+                }
+            }
+        }
+        invalidatedEvictions.increment(evicted);
+    }
+    
+    /**
+     * Runs the search and caches its result
+     */
+    private List<OfferDto> load(Key key, Supplier<List<OfferDto>> search) {
+        long generation = generation(key.hotelId()).get();
+        List<OfferDto> offers = issue(search);
+        
+        // Owner results loaded across an inventory write may already be stale
+        if (key.source() != OfferSource.OWNER || generation(key.hotelId()).get() == generation) {
+            store(key, new Entry(offers, clock.millis() + ttlMs(key.source())));
+        } else {
+            log.debug("Discarding offer search result for {} - inventory changed during search", key);
+        }
+        return offers;
+    }
+    
+    synchronized int size() {
+        return entries.size();
+    }
+    
+    private synchronized List<OfferDto> lookup(Key key, long now) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= now) {
+            entries.remove(key);
+            expiredEvictions.increment();
+            return null;
+        }
+        return entry.offers();
+    }
+    
+    private synchronized void store(Key key, Entry entry) {
+        entries.put(key, entry);
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (entries.size() > properties.getMaxEntries() && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            sizeEvictions.increment();
+        }
+    }
+    
+    /**
+     * Runs the source call and records its offers in OfferSnapshotStore, once per source call
+     * rather than once per response: offers served from the cache were recorded when loaded,
+     * and the snapshot TTL is far longer than the search cache TTLs
+     */
+    private List<OfferDto> issue(Supplier<List<OfferDto>> search) {
+        List<OfferDto> offers = search.get();
+        List<OfferDto> issued = offers != null ? List.copyOf(offers) : List.of();
+        offerSnapshotStore.record(issued);
+        return issued;
+    }
+    
+    /**
+     * Per-caller copies: cached and coalesced offers are shared, and OfferDto is mutable
+     * (getPayload() builds the payload in place)
+     */
+    private static List<OfferDto> copies(List<OfferDto> offers) {
+        return offers.stream().map(OfferDto::copy).toList();
+    }
+    
+    private AtomicLong generation(String hotelId) {
+        return hotelGenerations.computeIfAbsent(hotelId, k -> new AtomicLong());
+    }
+    
+    private long ttlMs(OfferSource source) {
+        return source == OfferSource.OWNER ? properties.getOwnerTtlMs() : properties.getSupplierTtlMs();
+    }
+    
+    private static Counter requestCounter(MeterRegistry meterRegistry, OfferSource source, String result) {
+        return Counter.builder("offers.search.cache.requests")
+            .description("Offer search cache lookups")
+            .tag("source", source.name())
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+    
+    private static Counter evictionCounter(MeterRegistry meterRegistry, String cause) {
+        return Counter.builder("offers.search.cache.evictions")
+            .description("Offer search results removed from the cache")
+            .tag("cause", cause)
+            .register(meterRegistry);
+    }
+    
+    record Key(OfferSource source, String hotelId, LocalDate checkIn, LocalDate checkOut,
+               Integer guests, Integer roomsCount) {
+        
+        boolean overlaps(LocalDate startDate, LocalDate endDate) {
+            return checkIn.isBefore(endDate) && checkOut.isAfter(startDate);
+        }
+    }
+    
+    private record Entry(List<OfferDto> offers, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,169 @@
+package com.hotelsystems.ai.bookingmanagement.service.offer;
+
+import com.hotelsystems.ai.bookingmanagement.config.OfferSearchCoalescingProperties;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OfferDto;
+import com.hotelsystems.ai.bookingmanagement.enums.OfferSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Offer Search Coalescer
+ * 
+ * Single-flight for adapter searches: concurrent searches with the same OfferSearchCache key
+ * (source, hotel, dates, guests, rooms) share one in-flight source call.
+ * 
+ * - The first search for a key (leader) runs on its own thread; later ones (joined) wait for
+ *   its result, including its failure
+ * - A leader that was interrupted or cancelled (its caller gave up) did not fail on behalf of
+ *   the source, so its joined searches run their own search instead (retried)
+ * - A joined search waits at most maxWaitMs, then runs its own search (timeout)
+ * - The key is released as soon as the leader finishes, so only truly concurrent searches
+ *   share a result; reuse over time is OfferSearchCache's job
+ * 
+ * Metrics: offers.search.coalescing.requests (counter, tags source and
+ * result=leader|joined|retried|timeout; coalescing ratio = joined / total) and
+ * offers.search.coalescing.in_flight (gauge).
+ */
+@Component
+@Slf4j
+public class OfferSearchCoalescer {
+    
+    private final OfferSearchCoalescingProperties properties;
+    private final Map<OfferSearchCache.Key, CompletableFuture<List<OfferDto>>> inFlight = new ConcurrentHashMap<>();
+    
+    private final Map<OfferSource, Counter> leaderCounters = new EnumMap<>(OfferSource.class);
+    private final Map<OfferSource, Counter> joinedCounters = new EnumMap<>(OfferSource.class);
+    private final Map<OfferSource, Counter> retriedCounters = new EnumMap<>(OfferSource.class);
+    private final Map<OfferSource, Counter> timeoutCounters = new EnumMap<>(OfferSource.class);
+    
+    public OfferSearchCoalescer(OfferSearchCoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        
+        for (OfferSource source : OfferSource.values()) {
+            leaderCounters.put(source, requestCounter(meterRegistry, source, "leader"));
+            joinedCounters.put(source, requestCounter(meterRegistry, source, "joined"));
+            retriedCounters.put(source, requestCounter(meterRegistry, source, "retried"));
+            timeoutCounters.put(source, requestCounter(meterRegistry, source, "timeout"));
+        }
+        Gauge.builder("offers.search.coalescing.in_flight", this, OfferSearchCoalescer::inFlight)
+            .description("Offer searches currently running that identical searches can join")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Runs the search, or joins an identical one already running.
+     * 
+     * @param key Normalized search key
+     * @param search Source call; must not return null
+     * @return Offers of this or the joined search (shared between callers, so not to be modified;
+     *         OfferSearchCache hands out copies)
+     */
+    public List<OfferDto> coalesce(OfferSearchCache.Key key, Supplier<List<OfferDto>> search) {
+        if (!properties.isEnabled()) {
+            return search.get();
+        }
+        
+        CompletableFuture<List<OfferDto>> flight = new CompletableFuture<>();
+        CompletableFuture<List<OfferDto>> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            return join(key, running, search);
+        }
+        
+        leaderCounters.get(key.source()).increment();
+        List<OfferDto> offers;
+        try {
+            offers = search.get();
+        } catch (RuntimeException | Error e) {
+            // Released before completing, so a joined search that retries does not find this flight again
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(abandoned(e) ? new LeaderAbandonedException(e) : e);
+            throw e;
+        }
+        inFlight.remove(key, flight);
+        flight.complete(offers);
+        return offers;
+    }
+    
+    int inFlight() {
+        return inFlight.size();
+    }
+    
+    private List<OfferDto> join(OfferSearchCache.Key key, CompletableFuture<List<OfferDto>> running,
+                                Supplier<List<OfferDto>> search) {
+        try {
+            List<OfferDto> offers = running.get(properties.getMaxWaitMs(), TimeUnit.MILLISECONDS);
+            joinedCounters.get(key.source()).increment();
+            return offers;
+        } catch (TimeoutException e) {
+            timeoutCounters.get(key.source()).increment();
+            log.debug("Coalesced offer search {} still running after {} ms - searching separately",
+                    key, properties.getMaxWaitMs());
+            return search.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof LeaderAbandonedException) {
+                retriedCounters.get(key.source()).increment();
+                log.debug("Coalesced offer search {} was interrupted or cancelled - searching again", key);
+                return coalesce(key, search);
+            }
+            joinedCounters.get(key.source()).increment();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Coalesced offer search failed", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a coalesced offer search", e);
+        }
+    }
+    
+    /**
+     * Whether the leader stopped because its own caller gave up rather than because the source failed
+     */
+    private static boolean abandoned(Throwable failure) {
+        if (Thread.currentThread().isInterrupted()) {
+            return true;
+        }
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof InterruptedException || t instanceof CancellationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static Counter requestCounter(MeterRegistry meterRegistry, OfferSource source, String result) {
+        return Counter.builder("offers.search.coalescing.requests")
+            .description("Offer searches by whether they ran the source call or joined a running one")
+            .tag("source", source.name())
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Marks a flight whose leader was interrupted or cancelled; never thrown to callers
+     */
+    private static final class LeaderAbandonedException extends RuntimeException {
+        
+        LeaderAbandonedException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.hotelsystems.ai.bookingmanagement.service.offer;
 
+import com.hotelsystems.ai.bookingmanagement.config.OfferSearchProperties;
 import com.hotelsystems.ai.bookingmanagement.dto.hotel.HotelResponse;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.FlexibleOffersSearchRequest;
 import com.hotelsystems.ai.bookingmanagement.dto.offer.OfferDto;
 import com.hotelsystems.ai.bookingmanagement.dto.offer.OffersRecheckRequest;
 import com.hotelsystems.ai.bookingmanagement.dto.offer.OffersRecheckResponse;
@@ -18,7 +20,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Offer Service
@@ -30,30 +34,67 @@ import java.util.List;
 @Slf4j
 public class OfferService {
     
+    static final int MAX_FLEXIBLE_WINDOW_DAYS = 31;
+    
     private final BookingHotelService hotelService;
     private final OfferRoutingService offerRoutingService;
     private final SupplierOfferAdapter supplierOfferAdapter;
     private final OfferSearchAdapter ownerOfferSearchAdapter; // Use interface - @Primary will select RealOwnerOfferAdapter
     private final OfferRecheckAdapter ownerOfferRecheckAdapter; // Use interface - @Primary will select RealOwnerOfferAdapter
+    private final OfferFanOutService offerFanOutService;
+    private final OfferSearchCache offerSearchCache;
+    private final OfferSearchProperties offerSearchProperties;
+    private final OfferSnapshotStore offerSnapshotStore;
     
     /**
      * Search for offers by hotel slug
      * 
+     * Single-source by default (routed by OfferRoutingService); with fanOut, owner and
+     * supplier are searched concurrently and merged (see OfferFanOutService).
+     * 
      * @param slug Hotel slug
      * @param request Search request with dates, guests, rooms
      * @return Search response with list of offers
      */
     public OffersSearchResponse searchOffers(String slug, OffersSearchRequest request) {
+        return searchOffers(slug, request, false);
+    }
+    
+    /**
+     * Search for offers by hotel slug
+     * 
+     * Adapter results are served from OfferSearchCache unless bypassCache is set.
+     * 
+     * @param slug Hotel slug
+     * @param request Search request with dates, guests, rooms
+     * @param bypassCache Skip the cache lookup (debugging); the fresh result is still cached
+     * @return Search response with list of offers
+     */
+    public OffersSearchResponse searchOffers(String slug, OffersSearchRequest request, boolean bypassCache) {
         log.info("Searching offers for hotel slug: {}, checkIn: {}, checkOut: {}",
                 slug, request.getCheckIn(), request.getCheckOut());
         
         // Resolve hotel by slug (throws NotFoundException if not found)
         HotelResponse hotel = hotelService.getHotelBySlug(slug);
-        String hotelId = hotel.getHotelId() != null ? hotel.getHotelId() : hotel.getSlug();
         
         // Validate dates
         validateDates(request.getCheckIn(), request.getCheckOut());
         
+        return searchOffers(hotel, request, bypassCache);
+    }
+    
+    /**
+     * Search for offers of an already resolved hotel (dates must be validated by the caller)
+     * 
+     * @param hotel Resolved hotel
+     * @param request Search request with dates, guests, rooms
+     * @param bypassCache Skip the cache lookup (debugging); the fresh result is still cached
+     * @return Search response with list of offers
+     */
+    OffersSearchResponse searchOffers(HotelResponse hotel, OffersSearchRequest request, boolean bypassCache) {
+        String slug = hotel.getSlug();
+        String hotelId = hotel.getHotelId() != null ? hotel.getHotelId() : hotel.getSlug();
+        
         // Default roomsCount to 1 if null or 0
         Integer roomsCount = request.getRoomsCount();
         if (roomsCount == null || roomsCount <= 0) {
@@ -61,19 +102,37 @@ public class OfferService {
             log.debug("Defaulting roomsCount to 1");
         }
         
+        // Fan-out mode: owner and supplier concurrently, each with its own deadline
+        boolean fanOut = request.getFanOut() != null ? request.getFanOut() : offerSearchProperties.isFanOutDefault();
+        if (fanOut) {
+            OffersSearchResponse response = offerFanOutService.search(
+                    hotelId,
+                    request.getCheckIn(),
+                    request.getCheckOut(),
+                    request.getGuests(),
+                    roomsCount,
+                    bypassCache
+            );
+            return response;
+        }
+        
         // Decide routing: SUPPLIER vs OWNER
         OfferSource source = offerRoutingService.decideSourceForHotel(hotelId, slug);
         
         // Get appropriate adapter
         OfferSearchAdapter adapter = getSearchAdapter(source);
         
-        // Search offers
-        List<OfferDto> offers = adapter.searchOffers(
+        // Search offers (cached per source); rooms is an effectively final copy for the lambda
+        Integer rooms = roomsCount;
+        List<OfferDto> offers = offerSearchCache.getOrSearch(
+                source,
                 hotelId,
                 request.getCheckIn(),
                 request.getCheckOut(),
                 request.getGuests(),
-                roomsCount
+                rooms,
+                bypassCache,
+                () -> adapter.searchOffers(hotelId, request.getCheckIn(), request.getCheckOut(), request.getGuests(), rooms)
         );
         
         log.info("Found {} offers for hotel slug: {} (source: {})", offers.size(), slug, source);
@@ -83,10 +142,80 @@ public class OfferService {
                 .build();
     }
     
+    /**
+     * Flexible-date search: every stay of the requested length(s) inside a date window
+     * 
+     * Owner hotels read nightly availability once for the window and find bookable check-ins
+     * with a sliding-window minimum; supplier hotels fall back to one search per check-in date.
+     * 
+     * @param slug Hotel slug
+     * @param request Window, lengths of stay, guests, rooms
+     * @return Search response with one offer per bookable (room type, check-in, length of stay)
+     */
+    public OffersSearchResponse searchFlexibleOffers(String slug, FlexibleOffersSearchRequest request) {
+        log.info("Searching flexible offers for hotel slug: {}, windowStart: {}, windowEnd: {}, lengthsOfStay: {}",
+                slug, request.getWindowStart(), request.getWindowEnd(), request.getLengthsOfStay());
+        
+        // Resolve hotel by slug (throws NotFoundException if not found)
+        HotelResponse hotel = hotelService.getHotelBySlug(slug);
+        String hotelId = hotel.getHotelId() != null ? hotel.getHotelId() : hotel.getSlug();
+        
+        // Validate window and lengths of stay
+        validateDates(request.getWindowStart(), request.getWindowEnd());
+        long windowDays = ChronoUnit.DAYS.between(request.getWindowStart(), request.getWindowEnd());
+        if (windowDays > MAX_FLEXIBLE_WINDOW_DAYS) {
+            throw new BadRequestException("Flexible search window cannot exceed " + MAX_FLEXIBLE_WINDOW_DAYS + " days");
+        }
+        if (request.getLengthsOfStay() == null || request.getLengthsOfStay().isEmpty()) {
+            throw new BadRequestException("At least one length of stay is required");
+        }
+        List<Integer> lengthsOfStay = request.getLengthsOfStay().stream().distinct().sorted().toList();
+        for (Integer lengthOfStay : lengthsOfStay) {
+            if (lengthOfStay == null || lengthOfStay < 1 || lengthOfStay > windowDays) {
+                throw new BadRequestException("Length of stay must be between 1 and " + windowDays + " nights");
+            }
+        }
+        
+        // Default roomsCount to 1 if null or 0
+        Integer roomsCount = request.getRoomsCount();
+        if (roomsCount == null || roomsCount <= 0) {
+            roomsCount = 1;
+            log.debug("Defaulting roomsCount to 1");
+        }
+        
+        // Decide routing: SUPPLIER vs OWNER
+        OfferSource source = offerRoutingService.decideSourceForHotel(hotelId, slug);
+        OfferSearchAdapter adapter = getSearchAdapter(source);
+        
+        List<OfferDto> offers = adapter.searchFlexibleOffers(
+                hotelId,
+                request.getWindowStart(),
+                request.getWindowEnd(),
+                lengthsOfStay,
+                request.getGuests(),
+                roomsCount
+        );
+        
+        log.info("Found {} flexible offers for hotel slug: {} (source: {})", offers.size(), slug, source);
+        
+        // Not cached, so every result comes from the source: keep it so recheck and booking can resolve it
+        offerSnapshotStore.record(offers);
+        
+        return OffersSearchResponse.builder()
+                .offers(offers)
+                .build();
+    }
+    
     /**
      * Recheck offer availability and validity
      * 
-     * @param request Recheck request with offerId, dates, guests, rooms
+     * An offer found in OfferSnapshotStore is rechecked from its snapshot: the adapter is chosen
+     * by its source and reads its identifiers instead of decoding the offerId, and dates left
+     * out of the request are taken from it. Guests are always required (validated on the
+     * request): the same offerId is issued to searches for different occupancies, so the
+     * snapshot cannot tell whose occupancy to use.
+     * 
+     * @param request Recheck request with offerId, guests and optionally dates, rooms
      * @return Recheck response with result and updated offer
      */
     public OffersRecheckResponse recheck(OffersRecheckRequest request) {
@@ -98,8 +227,18 @@ public class OfferService {
             throw new BadRequestException("Offer ID is required");
         }
         
+        // Resolve the issued offer and fill what the client left out from it
+        Optional<OfferDto> issued = offerSnapshotStore.find(request.getOfferId())
+                .map(OfferSnapshotStore.OfferSnapshot::offer);
+        LocalDate checkIn = request.getCheckIn();
+        LocalDate checkOut = request.getCheckOut();
+        if (issued.isPresent()) {
+            checkIn = checkIn != null ? checkIn : issued.get().getCheckIn();
+            checkOut = checkOut != null ? checkOut : issued.get().getCheckOut();
+        }
+        
         // Validate dates
-        validateDates(request.getCheckIn(), request.getCheckOut());
+        validateDates(checkIn, checkOut);
         
         // Default roomsCount to 1 if null or 0
         Integer roomsCount = request.getRoomsCount();
@@ -108,17 +247,16 @@ public class OfferService {
             log.debug("Defaulting roomsCount to 1");
         }
         
-        // Decide adapter based on offerId prefix
-        OfferRecheckAdapter adapter = getRecheckAdapter(request.getOfferId());
-        
-        // Recheck offer
-        OffersRecheckResponse response = adapter.recheck(
-                request.getOfferId(),
-                request.getCheckIn(),
-                request.getCheckOut(),
-                request.getGuests(),
-                roomsCount
-        );
+        // Recheck offer: from its snapshot when issued here, otherwise by offerId prefix
+        OffersRecheckResponse response;
+        if (issued.isPresent() && issued.get().getSource() != null) {
+            log.debug("Recheck of {} resolved from offer snapshot", request.getOfferId());
+            response = getRecheckAdapter(issued.get().getSource())
+                    .recheck(issued.get(), checkIn, checkOut, request.getGuests(), roomsCount);
+        } else {
+            response = getRecheckAdapter(request.getOfferId())
+                    .recheck(request.getOfferId(), checkIn, checkOut, request.getGuests(), roomsCount);
+        }
         
         log.info("Recheck completed - offerId: {}, result: {}", request.getOfferId(), response.getResult());
         
@@ -136,6 +274,13 @@ public class OfferService {
         }
     }
     
+    /**
+     * Get recheck adapter based on an issued offer's source
+     */
+    private OfferRecheckAdapter getRecheckAdapter(OfferSource source) {
+        return source == OfferSource.SUPPLIER ? supplierOfferAdapter : ownerOfferRecheckAdapter;
+    }
+    
     /**
      * Get recheck adapter based on offerId prefix
      * 
@@ -165,7 +310,7 @@ public class OfferService {
      * @param checkOut Check-out date
      * @throws BadRequestException if validation fails
      */
-    private void validateDates(LocalDate checkIn, LocalDate checkOut) {
+    void validateDates(LocalDate checkIn, LocalDate checkOut) {
         if (checkIn == null || checkOut == null) {
             throw new BadRequestException("Check-in and check-out dates are required");
         }
@@ -0,0 +1,339 @@
+package com.hotelsystems.ai.bookingmanagement.service.offer;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotelsystems.ai.bookingmanagement.config.OfferSnapshotProperties;
+import com.hotelsystems.ai.bookingmanagement.domain.entity.OfferSnapshotEntity;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OfferDto;
+import com.hotelsystems.ai.bookingmanagement.repository.OfferSnapshotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Offer Snapshot Store
+ * 
+ * Keeps every issued offer (OfferDto including the supplier payload) for a TTL, so recheck
+ * and booking can resolve an offer's hotel, room type, dates, payload and price from its
+ * offerId.
+ * 
+ * Occupancy is not kept: offerIds do not encode it, and the same offer is issued to searches
+ * for different guests and rooms, so callers must send their own guests and roomsCount.
+ * 
+ * - Snapshots are held as serialized JSON bytes (deflated by default), not as object graphs;
+ *   a JsonNode payload costs several times its serialized size on the heap
+ * - Memory is bounded by serialized bytes; all snapshots share one TTL, so insertion order
+ *   is expiry order and the oldest snapshots are dropped first
+ * - With spillEnabled, live snapshots dropped for size are written to offer_snapshots and
+ *   memory misses fall back to one primary-key read there
+ * 
+ * Re-issuing an offerId (e.g. a cached search result) replaces its snapshot and restarts the TTL.
+ * 
+ * Metrics: offers.snapshot.lookups (counter, tag result=hit|spill_hit|miss),
+ * offers.snapshot.evictions (counter, tag cause=expired|size), offers.snapshot.entries and
+ * offers.snapshot.bytes (gauges).
+ */
+@Component
+@Slf4j
+public class OfferSnapshotStore {
+    
+    private final OfferSnapshotProperties properties;
+    private final OfferSnapshotRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Executor spillExecutor;
+    private final Clock clock;
+    
+    // Insertion-ordered, which is expiry order since every snapshot has the same TTL; guarded by this
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(1024);
+    private long totalBytes;
+    
+    private final Counter hits;
+    private final Counter spillHits;
+    private final Counter misses;
+    private final Counter expiredEvictions;
+    private final Counter sizeEvictions;
+    
+    @Autowired
+    public OfferSnapshotStore(OfferSnapshotProperties properties,
+                              OfferSnapshotRepository repository,
+                              ObjectMapper objectMapper,
+                              @Qualifier("offerSearchExecutor") Executor spillExecutor,
+                              MeterRegistry meterRegistry) {
+        this(properties, repository, objectMapper, spillExecutor, meterRegistry, Clock.systemUTC());
+    }
+    
+    OfferSnapshotStore(OfferSnapshotProperties properties, OfferSnapshotRepository repository,
+                       ObjectMapper objectMapper, Executor spillExecutor, MeterRegistry meterRegistry,
+                       Clock clock) {
+        this.properties = properties;
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.spillExecutor = spillExecutor;
+        this.clock = clock;
+        
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.spillHits = lookupCounter(meterRegistry, "spill_hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.expiredEvictions = evictionCounter(meterRegistry, "expired");
+        this.sizeEvictions = evictionCounter(meterRegistry, "size");
+        Gauge.builder("offers.snapshot.entries", this, OfferSnapshotStore::size)
+            .description("Offer snapshots held in memory")
+            .register(meterRegistry);
+        Gauge.builder("offers.snapshot.bytes", this, OfferSnapshotStore::bytes)
+            .description("Serialized bytes of offer snapshots held in memory")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Records issued offers
+     */
+    public void record(List<OfferDto> offers) {
+        if (!properties.isEnabled() || offers == null || offers.isEmpty()) {
+            return;
+        }
+        long expiresAt = clock.millis() + properties.getTtlMs();
+        List<Map.Entry<String, Entry>> serialized = new ArrayList<>(offers.size());
+        for (OfferDto offer : offers) {
+            if (offer == null || offer.getOfferId() == null) {
+                continue;
+            }
+            try {
+                byte[] data = serialize(new OfferSnapshot(offer));
+                serialized.add(Map.entry(offer.getOfferId(), new Entry(data, expiresAt)));
+            } catch (IOException e) {
+                log.warn("Failed to serialize offer snapshot {}: {}", offer.getOfferId(), e.getMessage());
+            }
+        }
+        
+        List<Map.Entry<String, Entry>> evicted = store(serialized);
+        if (!evicted.isEmpty() && properties.isSpillEnabled()) {
+            spillExecutor.execute(() -> spill(evicted));
+        }
+    }
+    
+    /**
+     * Records one issued offer
+     */
+    public void record(OfferDto offer) {
+        record(List.of(offer));
+    }
+    
+    /**
+     * Resolves an issued offer by id
+     * 
+     * @return Snapshot, or empty if the offer was never issued, has expired or was evicted
+     */
+    public Optional<OfferSnapshot> find(String offerId) {
+        if (!properties.isEnabled() || offerId == null) {
+            return Optional.empty();
+        }
+        
+        byte[] data = lookup(offerId, clock.millis());
+        if (data != null) {
+            try {
+                OfferSnapshot snapshot = deserialize(data);
+                hits.increment();
+                return Optional.of(snapshot);
+            } catch (IOException e) {
+                log.warn("Failed to read offer snapshot {}: {}", offerId, e.getMessage());
+            }
+        }
+        
+        if (properties.isSpillEnabled()) {
+            Optional<OfferSnapshot> spilled = findSpilled(offerId);
+            if (spilled.isPresent()) {
+                spillHits.increment();
+                return spilled;
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+    
+    /**
+     * Deletes expired spilled snapshots
+     * 
+     * @return number of rows deleted
+     */
+    @Scheduled(fixedDelayString = "${offers.snapshot.spill-purge-interval-ms:300000}",
+               initialDelayString = "${offers.snapshot.spill-purge-interval-ms:300000}")
+    public int purgeSpilled() {
+        if (!properties.isEnabled() || !properties.isSpillEnabled()) {
+            return 0;
+        }
+        int deleted = repository.deleteExpired(clock.instant());
+        if (deleted > 0) {
+            log.debug("Purged {} expired offer snapshots", deleted);
+        }
+        return deleted;
+    }
+    
+    synchronized int size() {
+        return entries.size();
+    }
+    
+    synchronized long bytes() {
+        return totalBytes;
+    }
+    
+    private synchronized byte[] lookup(String offerId, long now) {
+        Entry entry = entries.get(offerId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= now) {
+            remove(offerId);
+            expiredEvictions.increment();
+            return null;
+        }
+        return entry.data();
+    }
+    
+    /**
+     * Installs the snapshots, drops expired ones and enforces maxBytes
+     * 
+     * @return live snapshots dropped for size, oldest first
+     */
+    private synchronized List<Map.Entry<String, Entry>> store(List<Map.Entry<String, Entry>> serialized) {
+        for (Map.Entry<String, Entry> snapshot : serialized) {
+            remove(snapshot.getKey()); // Re-issued offers move to the young end
+            entries.put(snapshot.getKey(), snapshot.getValue());
+            totalBytes += snapshot.getValue().data().length;
+        }
+        
+        long now = clock.millis();
+        List<Map.Entry<String, Entry>> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (eldest.hasNext()) {
+            Map.Entry<String, Entry> candidate = eldest.next();
+            boolean expired = candidate.getValue().expiresAtMillis() <= now;
+            if (!expired && totalBytes <= properties.getMaxBytes()) {
+                break;
+            }
+            eldest.remove();
+            totalBytes -= candidate.getValue().data().length;
+            if (expired) {
+                expiredEvictions.increment();
+            } else {
+                sizeEvictions.increment();
+                evicted.add(Map.entry(candidate.getKey(), candidate.getValue()));
+            }
+        }
+        return evicted;
+    }
+    
+    private void remove(String offerId) {
+        Entry previous = entries.remove(offerId);
+        if (previous != null) {
+            totalBytes -= previous.data().length;
+        }
+    }
+    
+    private void spill(List<Map.Entry<String, Entry>> evicted) {
+        Instant now = clock.instant();
+        List<OfferSnapshotEntity> rows = new ArrayList<>(evicted.size());
+        for (Map.Entry<String, Entry> snapshot : evicted) {
+            try {
+                rows.add(OfferSnapshotEntity.builder()
+                        .offerId(snapshot.getKey())
+                        .snapshotJson(new String(json(snapshot.getValue().data()), StandardCharsets.UTF_8))
+                        .expiresAt(Instant.ofEpochMilli(snapshot.getValue().expiresAtMillis()))
+                        .createdAt(now)
+                        .build());
+            } catch (IOException e) {
+                log.warn("Failed to spill offer snapshot {}: {}", snapshot.getKey(), e.getMessage());
+            }
+        }
+        try {
+            repository.saveAll(rows);
+            log.debug("Spilled {} offer snapshots", rows.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to spill {} offer snapshots: {}", rows.size(), e.getMessage());
+        }
+    }
+    
+    private Optional<OfferSnapshot> findSpilled(String offerId) {
+        try {
+            Optional<OfferSnapshotEntity> row = repository.findById(offerId)
+                    .filter(candidate -> candidate.getExpiresAt().isAfter(clock.instant()));
+            if (row.isEmpty()) {
+                return Optional.empty();
+            }
+            return Optional.of(objectMapper.readValue(row.get().getSnapshotJson(), OfferSnapshot.class));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to read spilled offer snapshot {}: {}", offerId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+    
+    private byte[] serialize(OfferSnapshot snapshot) throws IOException {
+        if (!properties.isCompress()) {
+            return objectMapper.writeValueAsBytes(snapshot);
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(512);
+        try (OutputStream out = new DeflaterOutputStream(buffer)) {
+            objectMapper.writeValue(out, snapshot);
+        }
+        return buffer.toByteArray();
+    }
+    
+    private OfferSnapshot deserialize(byte[] data) throws IOException {
+        return objectMapper.readValue(json(data), OfferSnapshot.class);
+    }
+    
+    private byte[] json(byte[] data) throws IOException {
+        if (!properties.isCompress()) {
+            return data;
+        }
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        }
+    }
+    
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("offers.snapshot.lookups")
+            .description("Offer snapshot lookups by offerId")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+    
+    private static Counter evictionCounter(MeterRegistry meterRegistry, String cause) {
+        return Counter.builder("offers.snapshot.evictions")
+            .description("Offer snapshots removed from memory")
+            .tag("cause", cause)
+            .register(meterRegistry);
+    }
+    
+    /**
+     * An issued offer (ignores the guests/roomsCount that older spilled snapshots carried)
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record OfferSnapshot(OfferDto offer) {
+    }
+    
+    private record Entry(byte[] data, long expiresAtMillis) {
+    }
+}
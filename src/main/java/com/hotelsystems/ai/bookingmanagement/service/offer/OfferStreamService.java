@@ -0,0 +1,296 @@
+package com.hotelsystems.ai.bookingmanagement.service.offer;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotelsystems.ai.bookingmanagement.config.OfferSearchProperties;
+import com.hotelsystems.ai.bookingmanagement.dto.hotel.HotelResponse;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OfferDto;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OffersSearchRequest;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.SourceResultDto;
+import com.hotelsystems.ai.bookingmanagement.enums.OfferSource;
+import com.hotelsystems.ai.bookingmanagement.enums.SourceSearchStatus;
+import com.hotelsystems.ai.bookingmanagement.service.adapter.offer.OfferSearchAdapter;
+import com.hotelsystems.ai.bookingmanagement.service.adapter.offer.impl.SupplierOfferAdapter;
+import com.hotelsystems.ai.bookingmanagement.service.hotel.BookingHotelService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Offer Stream Service
+ * 
+ * Streaming variant of the offer search: offers are written as NDJSON lines as soon as a
+ * source produces them, so fast sources render before slow suppliers answer.
+ * 
+ * Frames (one JSON object per line):
+ * - {"type":"offer","offer":{...}} for every offer, flushed immediately
+ * - {"type":"summary","offerCount":n,"partial":b,"sources":[...]} once, last
+ * 
+ * Sources run on the offer search executor and push offers into a queue that the response
+ * thread drains. Each source keeps its fan-out deadline; offers arriving after it are dropped
+ * and the source is reported TIMED_OUT. Results go through OfferSearchCache like the
+ * buffered search, which records them in OfferSnapshotStore once the source call completes
+ * (offers of a source that missed its deadline are not recorded; recheck decodes their offerId).
+ */
+@Service
+@Slf4j
+public class OfferStreamService {
+    
+    private final BookingHotelService hotelService;
+    private final OfferService offerService;
+    private final OfferRoutingService offerRoutingService;
+    private final OfferSearchAdapter ownerOfferSearchAdapter;
+    private final SupplierOfferAdapter supplierOfferAdapter;
+    private final OfferSearchCache offerSearchCache;
+    private final ExecutorService offerSearchExecutor;
+    private final OfferSearchProperties properties;
+    private final ObjectMapper objectMapper;
+    
+    public OfferStreamService(BookingHotelService hotelService,
+                              OfferService offerService,
+                              OfferRoutingService offerRoutingService,
+                              OfferSearchAdapter ownerOfferSearchAdapter,
+                              SupplierOfferAdapter supplierOfferAdapter,
+                              OfferSearchCache offerSearchCache,
+                              @Qualifier("offerSearchExecutor") ExecutorService offerSearchExecutor,
+                              OfferSearchProperties properties,
+                              ObjectMapper objectMapper) {
+        this.hotelService = hotelService;
+        this.offerService = offerService;
+        this.offerRoutingService = offerRoutingService;
+        this.ownerOfferSearchAdapter = ownerOfferSearchAdapter;
+        this.supplierOfferAdapter = supplierOfferAdapter;
+        this.offerSearchCache = offerSearchCache;
+        this.offerSearchExecutor = offerSearchExecutor;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+    
+    /**
+     * Resolves the hotel, validates the request and returns a body that streams the offers.
+     * 
+     * Validation happens here, before the response is committed, so errors still map to
+     * normal 4xx responses. Sources are only started once the body is written.
+     * 
+     * @param slug Hotel slug
+     * @param request Search request (fanOut selects owner + supplier instead of the routed source)
+     * @param bypassCache Skip the offer search cache lookup
+     * @return Streaming NDJSON body
+     */
+    public StreamingResponseBody streamOffers(String slug, OffersSearchRequest request, boolean bypassCache) {
+        HotelResponse hotel = hotelService.getHotelBySlug(slug);
+        String hotelId = hotel.getHotelId() != null ? hotel.getHotelId() : hotel.getSlug();
+        offerService.validateDates(request.getCheckIn(), request.getCheckOut());
+        
+        Integer roomsCount = request.getRoomsCount() != null && request.getRoomsCount() > 0 ? request.getRoomsCount() : 1;
+        boolean fanOut = request.getFanOut() != null ? request.getFanOut() : properties.isFanOutDefault();
+        List<OfferSource> sources = fanOut
+                ? List.of(OfferSource.OWNER, OfferSource.SUPPLIER)
+                : List.of(offerRoutingService.decideSourceForHotel(hotelId, slug));
+        // Fan-out only calls the sources that serve the hotel; the others are reported SKIPPED
+        Set<OfferSource> skipped = EnumSet.noneOf(OfferSource.class);
+        if (fanOut) {
+            skipped.addAll(sources);
+            skipped.removeAll(offerRoutingService.applicableSources(hotelId));
+        }
+        
+        log.info("Streaming offers - slug: {}, hotelId: {}, sources: {}, skipped: {}", slug, hotelId, sources, skipped);
+        
+        SearchParams params = new SearchParams(hotelId, request.getCheckIn(), request.getCheckOut(),
+                request.getGuests(), roomsCount, bypassCache);
+        return out -> stream(out, sources, skipped, params);
+    }
+    
+    private void stream(OutputStream out, List<OfferSource> sources, Set<OfferSource> skipped,
+                        SearchParams params) throws IOException {
+        long startNanos = System.nanoTime();
+        BlockingQueue<Frame> frames = new LinkedBlockingQueue<>();
+        Map<OfferSource, SourceState> states = new EnumMap<>(OfferSource.class);
+        for (OfferSource source : sources) {
+            if (skipped.contains(source)) {
+                SourceState state = new SourceState(CompletableFuture.completedFuture(null), startNanos);
+                state.finish(SourceSearchStatus.SKIPPED, 0);
+                states.put(source, state);
+                continue;
+            }
+            long deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(deadlineMs(source));
+            Future<?> future = offerSearchExecutor.submit(() -> runSource(source, params, frames));
+            states.put(source, new SourceState(future, deadlineNanos));
+        }
+        
+        int offerCount = 0;
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            json.setRootValueSeparator(null); // Frames are newline-terminated instead
+            while (states.values().stream().anyMatch(SourceState::isRunning)) {
+                long nextDeadline = states.values().stream()
+                        .filter(SourceState::isRunning)
+                        .mapToLong(SourceState::getDeadlineNanos)
+                        .min()
+                        .orElse(System.nanoTime());
+                Frame frame = frames.poll(Math.max(0, nextDeadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                long now = System.nanoTime();
+                
+                if (frame == null) {
+                    for (Map.Entry<OfferSource, SourceState> entry : states.entrySet()) {
+                        SourceState state = entry.getValue();
+                        if (state.isRunning() && now >= state.getDeadlineNanos()) {
+                            state.getFuture().cancel(true);
+                            state.finish(SourceSearchStatus.TIMED_OUT, now - startNanos);
+                            log.warn("Offer source {} missed its {} ms deadline while streaming",
+                                    entry.getKey(), deadlineMs(entry.getKey()));
+                        }
+                    }
+                    continue;
+                }
+                
+                SourceState state = states.get(frame.source());
+                if (!state.isRunning()) {
+                    continue; // Late frame from a timed-out source
+                }
+                if (frame.offer() != null) {
+                    writeOffer(json, frame.offer());
+                    state.offerCount++;
+                    offerCount++;
+                } else {
+                    state.finish(frame.failure() == null ? SourceSearchStatus.OK : SourceSearchStatus.FAILED,
+                            now - startNanos);
+                }
+            }
+            writeSummary(json, offerCount, sources, states);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while streaming offers", e);
+        } finally {
+            // Client disconnects and interrupts must not leave source calls running
+            states.values().forEach(state -> state.getFuture().cancel(true));
+        }
+    }
+    
+    /**
+     * Runs one source on the executor, pushing each offer and then a completion frame
+     */
+    private void runSource(OfferSource source, SearchParams params, BlockingQueue<Frame> frames) {
+        OfferSearchAdapter adapter = source == OfferSource.SUPPLIER ? supplierOfferAdapter : ownerOfferSearchAdapter;
+        Consumer<OfferDto> sink = offer -> frames.add(new Frame(source, offer, null));
+        try {
+            boolean[] streamed = {false};
+            List<OfferDto> offers = offerSearchCache.getOrSearch(source, params.hotelId(), params.checkIn(),
+                    params.checkOut(), params.guests(), params.roomsCount(), params.bypassCache(), () -> {
+                        streamed[0] = true;
+                        List<OfferDto> collected = new ArrayList<>();
+                        adapter.streamOffers(params.hotelId(), params.checkIn(), params.checkOut(),
+                                params.guests(), params.roomsCount(), sink.andThen(collected::add));
+                        return collected;
+                    });
+            if (!streamed[0]) {
+                offers.forEach(sink); // Cache hit: replay
+            }
+            frames.add(new Frame(source, null, null));
+        } catch (RuntimeException e) {
+            log.warn("Offer source {} failed while streaming: {}", source, e.getMessage());
+            frames.add(new Frame(source, null, e));
+        }
+    }
+    
+    private void writeOffer(JsonGenerator json, OfferDto offer) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("type", "offer");
+        json.writeFieldName("offer");
+        json.writeObject(offer);
+        json.writeEndObject();
+        json.writeRaw('\n');
+        json.flush();
+    }
+    
+    private void writeSummary(JsonGenerator json, int offerCount, List<OfferSource> sources,
+                              Map<OfferSource, SourceState> states) throws IOException {
+        List<SourceResultDto> results = new ArrayList<>();
+        for (OfferSource source : sources) {
+            SourceState state = states.get(source);
+            results.add(SourceResultDto.builder()
+                    .source(source)
+                    .status(state.status)
+                    .offerCount(state.offerCount)
+                    .latencyMs(TimeUnit.NANOSECONDS.toMillis(state.elapsedNanos))
+                    .build());
+        }
+        boolean partial = results.stream().anyMatch(result -> result.getStatus() != SourceSearchStatus.OK
+                && result.getStatus() != SourceSearchStatus.SKIPPED);
+        
+        json.writeStartObject();
+        json.writeStringField("type", "summary");
+        json.writeNumberField("offerCount", offerCount);
+        json.writeBooleanField("partial", partial);
+        json.writeFieldName("sources");
+        json.writeObject(results);
+        json.writeEndObject();
+        json.writeRaw('\n');
+        json.flush();
+    }
+    
+    private long deadlineMs(OfferSource source) {
+        return source == OfferSource.SUPPLIER ? properties.getSupplierDeadlineMs() : properties.getOwnerDeadlineMs();
+    }
+    
+    private record SearchParams(String hotelId, LocalDate checkIn, LocalDate checkOut,
+                                Integer guests, Integer roomsCount, boolean bypassCache) {
+    }
+    
+    /**
+     * Offer from a source, or its completion (offer == null; failure set if it threw)
+     */
+    private record Frame(OfferSource source, OfferDto offer, RuntimeException failure) {
+    }
+    
+    /**
+     * Per-source progress, only touched by the response thread
+     */
+    private static class SourceState {
+        private final Future<?> future;
+        private final long deadlineNanos;
+        private SourceSearchStatus status;
+        private int offerCount;
+        private long elapsedNanos;
+        
+        SourceState(Future<?> future, long deadlineNanos) {
+            this.future = future;
+            this.deadlineNanos = deadlineNanos;
+        }
+        
+        Future<?> getFuture() {
+            return future;
+        }
+        
+        long getDeadlineNanos() {
+            return deadlineNanos;
+        }
+        
+        boolean isRunning() {
+            return status == null;
+        }
+        
+        void finish(SourceSearchStatus finalStatus, long elapsed) {
+            this.status = finalStatus;
+            this.elapsedNanos = elapsed;
+        }
+    }
+}
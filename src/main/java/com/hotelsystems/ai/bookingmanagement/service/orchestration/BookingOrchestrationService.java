@@ -1,6 +1,8 @@
 package com.hotelsystems.ai.bookingmanagement.service.orchestration;
 
 import com.hotelsystems.ai.bookingmanagement.domain.entity.BookingEntity;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OfferDto;
+import com.hotelsystems.ai.bookingmanagement.dto.request.CartLineDto;
 import com.hotelsystems.ai.bookingmanagement.dto.request.ConfirmBookingRequest;
 import com.hotelsystems.ai.bookingmanagement.dto.request.CreateBookingRequest;
 import com.hotelsystems.ai.bookingmanagement.dto.request.GuestDto;
@@ -20,6 +22,8 @@ import com.hotelsystems.ai.bookingmanagement.service.adapter.OwnerInventoryAdapt
 import com.hotelsystems.ai.bookingmanagement.service.adapter.RecheckResult;
 import com.hotelsystems.ai.bookingmanagement.service.adapter.RecheckStatus;
 import com.hotelsystems.ai.bookingmanagement.service.adapter.SupplierBookingAdapter;
+import com.hotelsystems.ai.bookingmanagement.service.expiry.DraftExpiryService;
+import com.hotelsystems.ai.bookingmanagement.service.offer.OfferSnapshotStore;
 import com.hotelsystems.ai.bookingmanagement.util.BookingMapper;
 import com.hotelsystems.ai.bookingmanagement.util.JsonUtil;
 import com.hotelsystems.ai.bookingmanagement.util.SecurityUtil;
@@ -28,10 +32,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -56,6 +62,9 @@ public class BookingOrchestrationService {
     private final ObjectMapper objectMapper;
     private final BookingMapper bookingMapper;
     private final JsonUtil jsonUtil;
+    private final TransactionTemplate transactionTemplate;
+    private final DraftExpiryService draftExpiryService;
+    private final OfferSnapshotStore offerSnapshotStore;
     
     /**
      * Create a new booking
@@ -70,7 +79,19 @@ public class BookingOrchestrationService {
      */
     @Transactional
     public CreateBookingResponse createBooking(CreateBookingRequest request) {
-        log.info("Creating booking - hotelId: {}, roomTypeId: {}", request.getHotelId(), request.getRoomTypeId());
+        log.info("Creating booking - hotelId: {}, roomTypeId: {}, offerId: {}",
+                request.getHotelId(), request.getRoomTypeId(), request.getOfferId());
+        
+        // Fields left out by the client come from the issued offer (clients may send only offerId)
+        applyOfferSnapshot(request);
+        
+        // Validate required references (not bean-validated: they may come from the offer snapshot)
+        if (request.getHotelId() == null || request.getHotelId().trim().isEmpty()) {
+            throw new BadRequestException("Hotel ID is required");
+        }
+        if (request.getRoomTypeId() == null || request.getRoomTypeId().trim().isEmpty()) {
+            throw new BadRequestException("Room type ID is required");
+        }
         
         // Validate dates (existing validation)
         validateDates(request.getCheckIn(), request.getCheckOut());
@@ -109,6 +130,11 @@ public class BookingOrchestrationService {
                 ? BookingSource.SUPPLIER 
                 : BookingSource.OWNER;
         
+        // Cart bookings are reserved atomically against owner inventory only
+        if (source == BookingSource.SUPPLIER && request.getCartLines() != null && !request.getCartLines().isEmpty()) {
+            throw new BadRequestException("cartLines are only supported for owner bookings");
+        }
+        
         // Use BookingMapper to create entity builder
         BookingEntity.BookingEntityBuilder entityBuilder = bookingMapper.toEntity(request, userId, supplierCode);
         
@@ -129,6 +155,9 @@ public class BookingOrchestrationService {
         BookingEntity booking = entityBuilder.build();
         booking = bookingRepository.save(booking);
         
+        // Track the draft in the expiry wheel so it is expired without scanning bookings_core
+        draftExpiryService.schedule(booking.getId(), expiresAt);
+        
         log.info("Booking created successfully - bookingId: {}, userId: {}, source: {}, expiresAt: {}", 
                 booking.getId(), userId, source, expiresAt);
         
@@ -144,7 +173,7 @@ public class BookingOrchestrationService {
      * Confirm a booking
      * 
      * - Idempotent
-     * - DRAFT → RECHECKING
+     * - DRAFT → RECHECKING (guarded UPDATE; an expired draft is rejected)
      * - Decide path: if supplierCode != null → SUPPLIER, else → OWNER
      * - Call recheck
      * - If SOLD_OUT/PRICE_CHANGED → FAILED
@@ -153,12 +182,33 @@ public class BookingOrchestrationService {
      * - Save confirmation ref
      * - status → CONFIRMED
      * 
+     * Owner bookings are confirmed under the owner inventory's reservation lock, taken before
+     * the transaction starts so queued confirms do not each hold a pooled connection.
+     * Cart bookings lock, recheck and reserve every line in the same confirm.
+     * 
      * @param bookingId Booking ID
      * @param request Optional confirm booking request (for idempotency key)
      * @return Confirmed booking response
      */
-    @Transactional
     public BookingResponse confirmBooking(UUID bookingId, ConfirmBookingRequest request) {
+        BookingEntity booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new NotFoundException("Booking not found: " + bookingId));
+        
+        if (booking.getSupplierCode() != null || booking.getStatus() == BookingStatus.CONFIRMED) {
+            return transactionTemplate.execute(status -> confirmBookingInTransaction(bookingId, request));
+        }
+        List<CartLineDto> cartLines = readCartLines(booking);
+        List<String> roomTypeIds = new ArrayList<>();
+        if (cartLines != null) {
+            cartLines.forEach(line -> roomTypeIds.add(line.getRoomTypeId()));
+        } else {
+            roomTypeIds.add(booking.getRoomTypeId());
+        }
+        return ownerInventoryAdapter.withReservationLock(booking, roomTypeIds,
+                () -> transactionTemplate.execute(status -> confirmBookingInTransaction(bookingId, request)));
+    }
+    
+    private BookingResponse confirmBookingInTransaction(UUID bookingId, ConfirmBookingRequest request) {
         log.info("Confirming booking - bookingId: {}", bookingId);
         
         // Get booking
@@ -186,11 +236,19 @@ public class BookingOrchestrationService {
             log.debug("Confirm booking request with idempotency key: {}", request.getIdempotencyKey());
         }
         
-        // Transition: DRAFT → RECHECKING (only if in DRAFT)
+        // Transition: DRAFT → RECHECKING (only if in DRAFT and not expired)
         if (booking.getStatus() == BookingStatus.DRAFT) {
             bookingStateMachine.validateTransition(BookingStatus.DRAFT, BookingStatus.RECHECKING);
-            booking.setStatus(BookingStatus.RECHECKING);
-            booking = bookingRepository.save(booking);
+            Instant now = Instant.now();
+            if (booking.getExpiresAt() != null && !booking.getExpiresAt().isAfter(now)) {
+                throw new ConflictException("Booking draft has expired: " + bookingId);
+            }
+            // Guarded UPDATE: the expiry sweep may have moved the draft since it was read
+            if (bookingRepository.startRecheck(bookingId, now) == 0) {
+                throw new ConflictException("Booking is no longer a draft that can be confirmed: " + bookingId);
+            }
+            booking = bookingRepository.findById(bookingId)
+                    .orElseThrow(() -> new NotFoundException("Booking not found: " + bookingId));
         }
         
         // If already in RECHECKING or PENDING_CONFIRMATION, continue from current state
@@ -199,6 +257,7 @@ public class BookingOrchestrationService {
                 ? BookingSource.SUPPLIER 
                 : BookingSource.OWNER;
         booking.setSource(source);
+        List<CartLineDto> cartLines = (source == BookingSource.OWNER) ? readCartLines(booking) : null;
         
         // Check if offer reference exists (for routing/logging)
         boolean hasOfferReference = booking.getOfferId() != null && !booking.getOfferId().trim().isEmpty();
@@ -220,6 +279,8 @@ public class BookingOrchestrationService {
             RecheckResult recheckResult;
             if (source == BookingSource.SUPPLIER) {
                 recheckResult = supplierBookingAdapter.recheck(booking);
+            } else if (cartLines != null) {
+                recheckResult = ownerInventoryAdapter.recheckCart(booking, cartLines);
             } else {
                 recheckResult = ownerInventoryAdapter.recheck(booking);
             }
@@ -271,6 +332,9 @@ public class BookingOrchestrationService {
                 if (source == BookingSource.SUPPLIER) {
                     confirmationRef = supplierBookingAdapter.createBooking(booking);
                     booking.setSupplierBookingRef(confirmationRef);
+                } else if (cartLines != null) {
+                    confirmationRef = ownerInventoryAdapter.reserveCartAndConfirm(booking, cartLines);
+                    booking.setInternalConfirmationRef(confirmationRef);
                 } else {
                     confirmationRef = ownerInventoryAdapter.reserveAndConfirm(booking);
                     booking.setInternalConfirmationRef(confirmationRef);
@@ -372,6 +436,65 @@ public class BookingOrchestrationService {
     
     // Helper methods
     
+    /**
+     * Fill booking fields the client left out from the issued offer's snapshot
+     * 
+     * Only applies when offerId resolves in OfferSnapshotStore. Fields the client did send
+     * must match the issued offer; payload and price snapshot are only filled when absent.
+     * Occupancy is never taken from the snapshot (the same offerId is issued to searches for
+     * different occupancies): roomsCount or cartLines must be sent.
+     * 
+     * @param request Create booking request (updated in place)
+     */
+    private void applyOfferSnapshot(CreateBookingRequest request) {
+        if (request.getOfferId() == null || request.getOfferId().trim().isEmpty()) {
+            return;
+        }
+        
+        Optional<OfferSnapshotStore.OfferSnapshot> snapshot = offerSnapshotStore.find(request.getOfferId());
+        if (snapshot.isEmpty()) {
+            log.debug("No snapshot for offerId: {} - using request fields as sent", request.getOfferId());
+            return;
+        }
+        OfferDto offer = snapshot.get().offer();
+        
+        request.setHotelId(matchOffer("hotelId", request.getHotelId(), offer.getHotelId()));
+        request.setRoomTypeId(matchOffer("roomTypeId", request.getRoomTypeId(), offer.getRoomTypeId()));
+        request.setCheckIn(matchOffer("checkIn", request.getCheckIn(), offer.getCheckIn()));
+        request.setCheckOut(matchOffer("checkOut", request.getCheckOut(), offer.getCheckOut()));
+        
+        if (request.getRoomsCount() == null && (request.getCartLines() == null || request.getCartLines().isEmpty())) {
+            throw new BadRequestException("roomsCount is required when booking by offerId");
+        }
+        if ((request.getOfferPayloadJson() == null || request.getOfferPayloadJson().trim().isEmpty())
+                && offer.getPayload() != null) {
+            request.setOfferPayloadJson(offer.getPayload().toString());
+        }
+        if (request.getPriceSnapshot() == null && offer.getTotalPrice() != null) {
+            request.setPriceSnapshot(PriceSnapshotDto.builder()
+                    .totalPrice(offer.getTotalPrice())
+                    .nights(offer.getCheckIn() != null && offer.getCheckOut() != null
+                            ? (int) ChronoUnit.DAYS.between(offer.getCheckIn(), offer.getCheckOut())
+                            : null)
+                    .build());
+        }
+        
+        log.debug("Booking request completed from offer snapshot - offerId: {}", request.getOfferId());
+    }
+    
+    /**
+     * Take a field from the issued offer unless the client sent it; a value that was sent must match
+     */
+    private <T> T matchOffer(String field, T requested, T issued) {
+        if (requested == null || (requested instanceof String text && text.trim().isEmpty())) {
+            return issued;
+        }
+        if (issued != null && !issued.equals(requested)) {
+            throw new BadRequestException(field + " does not match the offer");
+        }
+        return requested;
+    }
+    
     private void validateDates(LocalDate checkIn, LocalDate checkOut) {
         if (checkIn == null || checkOut == null) {
             throw new BadRequestException("Check-in and check-out dates are required");
@@ -462,6 +585,26 @@ public class BookingOrchestrationService {
                 throw new BadRequestException("Number of rooms must be greater than 0");
             }
         }
+        
+        // Validate cart lines (only if provided)
+        if (request.getCartLines() != null) {
+            for (CartLineDto line : request.getCartLines()) {
+                if (line.getRoomTypeId() == null || line.getRoomTypeId().trim().isEmpty()) {
+                    throw new BadRequestException("Cart line room type ID is required");
+                }
+                if (line.getRooms() != null && line.getRooms() <= 0) {
+                    throw new BadRequestException("Cart line rooms must be greater than 0");
+                }
+            }
+        }
+    }
+    
+    /**
+     * Cart lines of a multi-room-type booking, or null for single room type bookings
+     */
+    private List<CartLineDto> readCartLines(BookingEntity booking) {
+        List<CartLineDto> cartLines = jsonUtil.fromJsonList(booking.getCartLinesJson(), CartLineDto.class);
+        return (cartLines == null || cartLines.isEmpty()) ? null : cartLines;
     }
     
     private BookingResponse mapToResponse(BookingEntity booking) {
@@ -578,6 +721,7 @@ public class BookingOrchestrationService {
                 .expiresAt(booking.getExpiresAt())
                 .nextActions(nextActions)
                 .idempotencyKey(booking.getIdempotencyKey())
+                .cartLines(readCartLines(booking))
                 .build();
     }
     
@@ -30,7 +30,7 @@ public class BookingStateMachine {
         }
         
         boolean isValid = switch (from) {
-            case DRAFT -> to == BookingStatus.RECHECKING;
+            case DRAFT -> to == BookingStatus.RECHECKING || to == BookingStatus.EXPIRED;
             
             case RECHECKING -> to == BookingStatus.PENDING_CONFIRMATION || to == BookingStatus.FAILED;
             
@@ -38,7 +38,7 @@ public class BookingStateMachine {
             
             case CONFIRMED -> to == BookingStatus.CANCELLED;
             
-            case FAILED, CANCELLED -> false; // Terminal states - no transitions allowed
+            case FAILED, CANCELLED, EXPIRED -> false; // Terminal states - no transitions allowed
         };
         
         if (!isValid) {
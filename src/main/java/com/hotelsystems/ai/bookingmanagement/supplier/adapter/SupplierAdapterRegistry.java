@@ -1,6 +1,10 @@
 package com.hotelsystems.ai.bookingmanagement.supplier.adapter;
 
+import com.hotelsystems.ai.bookingmanagement.supplier.cache.SupplierAvailabilityCache;
 import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierCode;
+import com.hotelsystems.ai.bookingmanagement.supplier.resilience.SupplierHedging;
+import com.hotelsystems.ai.bookingmanagement.supplier.resilience.SupplierRateLimiter;
+import com.hotelsystems.ai.bookingmanagement.supplier.resilience.SupplierResilience;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
@@ -9,6 +13,11 @@ import java.util.Map;
 
 /**
  * Registry for accessing supplier adapters by supplier code.
+ * Adapters are returned wrapped in the supplier's bulkhead and circuit breaker (SupplierResilience);
+ * search and recheck adapters are hedged inside them (SupplierHedging). Every call first takes a
+ * token from the supplier's rate limiter (SupplierRateLimiter), outside all of these, so waiting
+ * for a token is not timed as supplier latency and does not hold a bulkhead slot.
+ * Search adapters answer from SupplierAvailabilityCache before any of these; recheck never does.
  */
 @Component
 public class SupplierAdapterRegistry {
@@ -19,7 +28,11 @@ public class SupplierAdapterRegistry {
 
     public SupplierAdapterRegistry(List<SupplierOfferSearchAdapter> offerSearchAdapters,
                                   List<SupplierRecheckAdapter> recheckAdapters,
-                                  List<SupplierBookingAdapter> bookingAdapters) {
+                                  List<SupplierBookingAdapter> bookingAdapters,
+                                  SupplierResilience resilience,
+                                  SupplierHedging hedging,
+                                  SupplierRateLimiter rateLimiter,
+                                  SupplierAvailabilityCache availabilityCache) {
         this.offerSearchAdapters = new HashMap<>();
         this.recheckAdapters = new HashMap<>();
         this.bookingAdapters = new HashMap<>();
@@ -28,21 +41,23 @@ public class SupplierAdapterRegistry {
         for (SupplierOfferSearchAdapter adapter : offerSearchAdapters) {
             SupplierCode code = determineSupplierCode(adapter);
             if (code != null) {
-                this.offerSearchAdapters.put(code, adapter);
+                SupplierOfferSearchAdapter resilient = resilience.wrap(code, hedging.wrap(code, adapter));
+                this.offerSearchAdapters.put(code, availabilityCache.wrap(code, rateLimiter.wrap(code, resilient)));
             }
         }
         
         for (SupplierRecheckAdapter adapter : recheckAdapters) {
             SupplierCode code = determineSupplierCode(adapter);
             if (code != null) {
-                this.recheckAdapters.put(code, adapter);
+                SupplierRecheckAdapter resilient = resilience.wrap(code, hedging.wrap(code, adapter));
+                this.recheckAdapters.put(code, rateLimiter.wrap(code, resilient));
             }
         }
         
         for (SupplierBookingAdapter adapter : bookingAdapters) {
             SupplierCode code = determineSupplierCode(adapter);
             if (code != null) {
-                this.bookingAdapters.put(code, adapter);
+                this.bookingAdapters.put(code, rateLimiter.wrap(code, resilience.wrap(code, adapter)));
             }
         }
     }
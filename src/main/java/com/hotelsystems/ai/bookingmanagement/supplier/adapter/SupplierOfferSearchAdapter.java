@@ -3,6 +3,7 @@ package com.hotelsystems.ai.bookingmanagement.supplier.adapter;
 import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierOfferDto;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Adapter interface for searching supplier offers.
@@ -24,5 +25,19 @@ public interface SupplierOfferSearchAdapter {
     List<SupplierOfferDto> searchOffers(String hotelId, String supplierHotelId, 
                                        LocalDate checkIn, LocalDate checkOut, 
                                        int adults, int children, int rooms);
+    
+    /**
+     * Search for offers and hand each one to the sink as soon as it is available.
+     * Default: runs searchOffers and replays the list; adapters that parse supplier
+     * responses incrementally should override this.
+     * 
+     * @param sink receives each offer, in supplier order
+     */
+    default void streamOffers(String hotelId, String supplierHotelId,
+                              LocalDate checkIn, LocalDate checkOut,
+                              int adults, int children, int rooms,
+                              Consumer<SupplierOfferDto> sink) {
+        searchOffers(hotelId, supplierHotelId, checkIn, checkOut, adults, children, rooms).forEach(sink);
+    }
 }
 
@@ -0,0 +1,265 @@
+package com.hotelsystems.ai.bookingmanagement.supplier.cache;
+
+import com.hotelsystems.ai.bookingmanagement.supplier.adapter.SupplierOfferSearchAdapter;
+import com.hotelsystems.ai.bookingmanagement.supplier.config.SupplierProperties;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierCode;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierOfferDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Supplier Availability Cache
+ *
+ * Supplier-level cache of search responses keyed by (supplierCode, supplierHotelId, checkIn,
+ * checkOut, adults, children, rooms), below and separate from the API-level OfferSearchCache:
+ * it saves supplier quota for every hotel mapped to the same supplier hotel and for callers
+ * that bypass the API cache.
+ *
+ * - Fresh (younger than freshTtlMs): served directly
+ * - Stale (up to staleTtlMs longer): served immediately while one background search refreshes
+ *   the entry on the offer search executor; a failed refresh keeps the stale entry
+ * - Expired: removed; the search goes to the supplier and its response is cached
+ * - Bounded by maxEntries and by maxOffers across all entries (least recently used first)
+ *
+ * Only search adapters are wrapped (SupplierAdapterRegistry, outside the resilience layer so a
+ * hit costs no rate limit token); recheck always goes to the supplier. Cached offers are shared
+ * between callers and must not be modified.
+ *
+ * Metrics: supplier.cache.requests (counter, tags supplier and result=fresh|stale|miss),
+ * supplier.cache.refreshes (counter, tag result=success|failure), supplier.cache.evictions
+ * (counter, tag cause=expired|size) and supplier.cache.entries / supplier.cache.offers (gauges).
+ */
+@Component
+public class SupplierAvailabilityCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SupplierAvailabilityCache.class);
+
+    private final SupplierProperties.CacheConfig config;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+
+    // Access-ordered for LRU eviction; guarded by this
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private int cachedOffers;
+
+    private final Map<SupplierCode, Map<String, Counter>> requestCounters = new EnumMap<>(SupplierCode.class);
+    private final Counter refreshSuccesses;
+    private final Counter refreshFailures;
+    private final Counter expiredEvictions;
+    private final Counter sizeEvictions;
+
+    @Autowired
+    public SupplierAvailabilityCache(SupplierProperties properties,
+                                     @Qualifier("offerSearchExecutor") Executor refreshExecutor,
+                                     MeterRegistry meterRegistry) {
+        this(properties.getCache(), refreshExecutor, meterRegistry, Clock.systemUTC());
+    }
+
+    SupplierAvailabilityCache(SupplierProperties.CacheConfig config, Executor refreshExecutor,
+                              MeterRegistry meterRegistry, Clock clock) {
+        this.config = config;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+
+        for (SupplierCode supplier : SupplierCode.values()) {
+            Map<String, Counter> byResult = new HashMap<>();
+            for (String result : List.of("fresh", "stale", "miss")) {
+                byResult.put(result, Counter.builder("supplier.cache.requests")
+                    .description("Supplier availability cache lookups")
+                    .tag("supplier", supplier.getCode())
+                    .tag("result", result)
+                    .register(meterRegistry));
+            }
+            requestCounters.put(supplier, byResult);
+        }
+        this.refreshSuccesses = refreshCounter(meterRegistry, "success");
+        this.refreshFailures = refreshCounter(meterRegistry, "failure");
+        this.expiredEvictions = evictionCounter(meterRegistry, "expired");
+        this.sizeEvictions = evictionCounter(meterRegistry, "size");
+        Gauge.builder("supplier.cache.entries", this, SupplierAvailabilityCache::size)
+            .description("Supplier searches currently cached")
+            .register(meterRegistry);
+        Gauge.builder("supplier.cache.offers", this, SupplierAvailabilityCache::offers)
+            .description("Supplier offers currently cached")
+            .register(meterRegistry);
+    }
+
+    public SupplierOfferSearchAdapter wrap(SupplierCode supplier, SupplierOfferSearchAdapter adapter) {
+        return new SupplierOfferSearchAdapter() {
+            @Override
+            public List<SupplierOfferDto> searchOffers(String hotelId, String supplierHotelId,
+                                                       LocalDate checkIn, LocalDate checkOut,
+                                                       int adults, int children, int rooms) {
+                if (!config.isEnabled()) {
+                    return adapter.searchOffers(hotelId, supplierHotelId, checkIn, checkOut, adults, children, rooms);
+                }
+                Key key = new Key(supplier, supplierHotelId, checkIn, checkOut, adults, children, rooms);
+                List<SupplierOfferDto> cached = lookup(key, () -> adapter.searchOffers(
+                        hotelId, supplierHotelId, checkIn, checkOut, adults, children, rooms));
+                if (cached != null) {
+                    return cached;
+                }
+                List<SupplierOfferDto> offers = adapter.searchOffers(
+                        hotelId, supplierHotelId, checkIn, checkOut, adults, children, rooms);
+                store(key, offers);
+                return offers;
+            }
+
+            @Override
+            public void streamOffers(String hotelId, String supplierHotelId,
+                                     LocalDate checkIn, LocalDate checkOut,
+                                     int adults, int children, int rooms,
+                                     Consumer<SupplierOfferDto> sink) {
+                if (!config.isEnabled()) {
+                    adapter.streamOffers(hotelId, supplierHotelId, checkIn, checkOut, adults, children, rooms, sink);
+                    return;
+                }
+                Key key = new Key(supplier, supplierHotelId, checkIn, checkOut, adults, children, rooms);
+                List<SupplierOfferDto> cached = lookup(key, () -> adapter.searchOffers(
+                        hotelId, supplierHotelId, checkIn, checkOut, adults, children, rooms));
+                if (cached != null) {
+                    cached.forEach(sink);
+                    return;
+                }
+                // Miss: stream through, caching what was streamed once the search completed
+                List<SupplierOfferDto> offers = new ArrayList<>();
+                adapter.streamOffers(hotelId, supplierHotelId, checkIn, checkOut, adults, children, rooms, offer -> {
+                    offers.add(offer);
+                    sink.accept(offer);
+                });
+                store(key, offers);
+            }
+        };
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized int offers() {
+        return cachedOffers;
+    }
+
+    /**
+     * Cached offers for the key (refreshing a stale entry in the background), null on a miss
+     */
+    private List<SupplierOfferDto> lookup(Key key, Supplier<List<SupplierOfferDto>> search) {
+        long now = clock.millis();
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry != null && entry.expiresAtMillis() <= now) {
+                remove(key);
+                expiredEvictions.increment();
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            count(key, "miss");
+            return null;
+        }
+        if (entry.freshUntilMillis() > now) {
+            count(key, "fresh");
+            return entry.offers();
+        }
+        count(key, "stale");
+        if (entry.refreshing().compareAndSet(false, true)) {
+            refresh(key, entry, search);
+        }
+        return entry.offers();
+    }
+
+    private void refresh(Key key, Entry entry, Supplier<List<SupplierOfferDto>> search) {
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    store(key, search.get());
+                    refreshSuccesses.increment();
+                } catch (RuntimeException e) {
+                    refreshFailures.increment();
+                    entry.refreshing().set(false); // Next stale hit tries again
+                    logger.warn("Background refresh of supplier search {} failed: {}", key, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            entry.refreshing().set(false);
+        }
+    }
+
+    private void store(Key key, List<SupplierOfferDto> offers) {
+        List<SupplierOfferDto> copy = offers != null ? List.copyOf(offers) : List.of();
+        if (copy.size() > config.getMaxOffers()) {
+            return; // Would evict everything else
+        }
+        long now = clock.millis();
+        Entry entry = new Entry(copy, now + config.getFreshTtlMs(),
+                now + config.getFreshTtlMs() + config.getStaleTtlMs(), new AtomicBoolean());
+        synchronized (this) {
+            remove(key);
+            entries.put(key, entry);
+            cachedOffers += copy.size();
+            Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+            while ((entries.size() > config.getMaxEntries() || cachedOffers > config.getMaxOffers())
+                    && eldest.hasNext()) {
+                Map.Entry<Key, Entry> evicted = eldest.next();
+                cachedOffers -= evicted.getValue().offers().size();
+                eldest.remove();
+                sizeEvictions.increment();
+            }
+        }
+    }
+
+    private void remove(Key key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            cachedOffers -= removed.offers().size();
+        }
+    }
+
+    private void count(Key key, String result) {
+        requestCounters.get(key.supplier()).get(result).increment();
+    }
+
+    private static Counter refreshCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("supplier.cache.refreshes")
+            .description("Background refreshes of stale supplier searches")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private static Counter evictionCounter(MeterRegistry meterRegistry, String cause) {
+        return Counter.builder("supplier.cache.evictions")
+            .description("Supplier searches removed from the cache")
+            .tag("cause", cause)
+            .register(meterRegistry);
+    }
+
+    record Key(SupplierCode supplier, String supplierHotelId, LocalDate checkIn, LocalDate checkOut,
+               int adults, int children, int rooms) {
+    }
+
+    private record Entry(List<SupplierOfferDto> offers, long freshUntilMillis, long expiresAtMillis,
+                         AtomicBoolean refreshing) {
+    }
+}
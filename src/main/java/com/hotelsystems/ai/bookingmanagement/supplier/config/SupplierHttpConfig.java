@@ -1,44 +1,52 @@
 package com.hotelsystems.ai.bookingmanagement.supplier.config;
 
+import com.hotelsystems.ai.bookingmanagement.config.PooledClientHttpRequestFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Configuration for HTTP client used by supplier integrations.
- * Provides RestTemplate with timeouts and safe logging interceptor.
+ * Provides RestTemplate on a pooled keep-alive client (PooledClientHttpRequestFactory) with
+ * timeouts from supplier.http and a safe logging interceptor.
  * 
  * This configuration is behind "supplier-real" profile as it's used by real supplier services.
  */
 @Configuration
-@ConfigurationProperties(prefix = "supplier.http")
 @Profile("supplier-real")
 public class SupplierHttpConfig {
 
     private static final Logger logger = LoggerFactory.getLogger(SupplierHttpConfig.class);
 
-    private int connectTimeoutMs = 5000;
-    private int readTimeoutMs = 10000;
+    @Bean(destroyMethod = "close")
+    public PooledClientHttpRequestFactory supplierHttpRequestFactory(SupplierProperties properties,
+                                                                     MeterRegistry meterRegistry) {
+        SupplierProperties.HttpConfig http = properties.getHttp();
+        return new PooledClientHttpRequestFactory("supplier", settings(http), meterRegistry);
+    }
 
     @Bean
-    public RestTemplate supplierRestTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(connectTimeoutMs);
-        factory.setReadTimeout(readTimeoutMs);
+    public RestTemplate supplierRestTemplate(
+            @Qualifier("supplierHttpRequestFactory") PooledClientHttpRequestFactory supplierHttpRequestFactory) {
+        return restTemplate(supplierHttpRequestFactory);
+    }
 
+    private static RestTemplate restTemplate(ClientHttpRequestFactory factory) {
         RestTemplate restTemplate = new RestTemplate(factory);
 
         // Add safe logging interceptor
@@ -49,6 +57,15 @@ public class SupplierHttpConfig {
         return restTemplate;
     }
 
+    private static PooledClientHttpRequestFactory.Settings settings(SupplierProperties.HttpConfig http) {
+        return new PooledClientHttpRequestFactory.Settings(
+                http.getMaxConnections(),
+                Duration.ofMillis(http.getConnectTimeoutMs()),
+                Duration.ofMillis(http.getReadTimeoutMs()),
+                Duration.ofMillis(http.getPoolAcquireTimeoutMs()),
+                http.isHttp2());
+    }
+
     /**
      * Interceptor that logs HTTP method, URL, and status code only.
      * Does not log request/response bodies to avoid sensitive data exposure.
@@ -76,21 +93,5 @@ public class SupplierHttpConfig {
             return response;
         }
     }
-
-    public int getConnectTimeoutMs() {
-        return connectTimeoutMs;
-    }
-
-    public void setConnectTimeoutMs(int connectTimeoutMs) {
-        this.connectTimeoutMs = connectTimeoutMs;
-    }
-
-    public int getReadTimeoutMs() {
-        return readTimeoutMs;
-    }
-
-    public void setReadTimeoutMs(int readTimeoutMs) {
-        this.readTimeoutMs = readTimeoutMs;
-    }
 }
 
@@ -12,6 +12,11 @@ public class SupplierProperties {
 
     private HotelbedsConfig hotelbeds;
     private TravellandaConfig travellanda;
+    private HttpConfig http = new HttpConfig();
+    private ResilienceConfig resilience = new ResilienceConfig();
+    private HedgingConfig hedging = new HedgingConfig();
+    private RateLimitConfig rateLimit = new RateLimitConfig();
+    private CacheConfig cache = new CacheConfig();
 
     public HotelbedsConfig getHotelbeds() {
         return hotelbeds;
@@ -29,9 +34,50 @@ public class SupplierProperties {
         this.travellanda = travellanda;
     }
 
+    public HttpConfig getHttp() {
+        return http;
+    }
+
+    public void setHttp(HttpConfig http) {
+        this.http = http;
+    }
+
+    public ResilienceConfig getResilience() {
+        return resilience;
+    }
+
+    public void setResilience(ResilienceConfig resilience) {
+        this.resilience = resilience;
+    }
+
+    public HedgingConfig getHedging() {
+        return hedging;
+    }
+
+    public void setHedging(HedgingConfig hedging) {
+        this.hedging = hedging;
+    }
+
+    public RateLimitConfig getRateLimit() {
+        return rateLimit;
+    }
+
+    public void setRateLimit(RateLimitConfig rateLimit) {
+        this.rateLimit = rateLimit;
+    }
+
+    public CacheConfig getCache() {
+        return cache;
+    }
+
+    public void setCache(CacheConfig cache) {
+        this.cache = cache;
+    }
+
     public static class HotelbedsConfig {
         private String baseUrl;
         private String apiKey;
+        private Double qps; // Overrides supplier.rate-limit.qps for this supplier
 
         public String getBaseUrl() {
             return baseUrl;
@@ -48,11 +94,20 @@ public class SupplierProperties {
         public void setApiKey(String apiKey) {
             this.apiKey = apiKey;
         }
+
+        public Double getQps() {
+            return qps;
+        }
+
+        public void setQps(Double qps) {
+            this.qps = qps;
+        }
     }
 
     public static class TravellandaConfig {
         private String baseUrl;
         private String apiKey;
+        private Double qps; // Overrides supplier.rate-limit.qps for this supplier
 
         public String getBaseUrl() {
             return baseUrl;
@@ -69,6 +124,323 @@ public class SupplierProperties {
         public void setApiKey(String apiKey) {
             this.apiKey = apiKey;
         }
+
+        public Double getQps() {
+            return qps;
+        }
+
+        public void setQps(Double qps) {
+            this.qps = qps;
+        }
+    }
+
+    /**
+     * HTTP client pool settings for supplier integrations
+     */
+    public static class HttpConfig {
+        private int connectTimeoutMs = 5000;
+        private int readTimeoutMs = 10000;
+        private int poolAcquireTimeoutMs = 1000; // Waiting for a free connection when max-connections are in use
+        private int maxConnections = 50; // Requests in flight to suppliers
+        private boolean http2 = true; // Negotiated on https, HTTP/1.1 otherwise
+
+        public int getConnectTimeoutMs() {
+            return connectTimeoutMs;
+        }
+
+        public void setConnectTimeoutMs(int connectTimeoutMs) {
+            this.connectTimeoutMs = connectTimeoutMs;
+        }
+
+        public int getReadTimeoutMs() {
+            return readTimeoutMs;
+        }
+
+        public void setReadTimeoutMs(int readTimeoutMs) {
+            this.readTimeoutMs = readTimeoutMs;
+        }
+
+        public int getPoolAcquireTimeoutMs() {
+            return poolAcquireTimeoutMs;
+        }
+
+        public void setPoolAcquireTimeoutMs(int poolAcquireTimeoutMs) {
+            this.poolAcquireTimeoutMs = poolAcquireTimeoutMs;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public boolean isHttp2() {
+            return http2;
+        }
+
+        public void setHttp2(boolean http2) {
+            this.http2 = http2;
+        }
+    }
+
+    /**
+     * Bulkhead and circuit breaker settings, applied per supplier and operation
+     */
+    public static class ResilienceConfig {
+        private boolean enabled = true;
+        private int bulkheadMaxConcurrent = 20; // Calls in flight per supplier and operation
+        private long bulkheadMaxWaitMs = 50; // Waiting for a bulkhead slot before failing fast
+        private int windowSize = 50; // Last N calls the failure and slow-call rates are computed over
+        private int minimumCalls = 10; // Calls needed in the window before the breaker can open
+        private int failureRateThreshold = 50; // Percent of failed calls that opens the breaker
+        private int slowCallRateThreshold = 80; // Percent of slow calls that opens the breaker
+        private long slowCallDurationMs = 3000; // Calls taking longer than this are slow
+        private long openStateMs = 30000; // How long the breaker fails fast before letting trial calls through
+        private int halfOpenCalls = 5; // Trial calls that decide whether the breaker closes again
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getBulkheadMaxConcurrent() {
+            return bulkheadMaxConcurrent;
+        }
+
+        public void setBulkheadMaxConcurrent(int bulkheadMaxConcurrent) {
+            this.bulkheadMaxConcurrent = bulkheadMaxConcurrent;
+        }
+
+        public long getBulkheadMaxWaitMs() {
+            return bulkheadMaxWaitMs;
+        }
+
+        public void setBulkheadMaxWaitMs(long bulkheadMaxWaitMs) {
+            this.bulkheadMaxWaitMs = bulkheadMaxWaitMs;
+        }
+
+        public int getWindowSize() {
+            return windowSize;
+        }
+
+        public void setWindowSize(int windowSize) {
+            this.windowSize = windowSize;
+        }
+
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        public int getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(int failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public int getSlowCallRateThreshold() {
+            return slowCallRateThreshold;
+        }
+
+        public void setSlowCallRateThreshold(int slowCallRateThreshold) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+        }
+
+        public long getSlowCallDurationMs() {
+            return slowCallDurationMs;
+        }
+
+        public void setSlowCallDurationMs(long slowCallDurationMs) {
+            this.slowCallDurationMs = slowCallDurationMs;
+        }
+
+        public long getOpenStateMs() {
+            return openStateMs;
+        }
+
+        public void setOpenStateMs(long openStateMs) {
+            this.openStateMs = openStateMs;
+        }
+
+        public int getHalfOpenCalls() {
+            return halfOpenCalls;
+        }
+
+        public void setHalfOpenCalls(int halfOpenCalls) {
+            this.halfOpenCalls = halfOpenCalls;
+        }
+    }
+
+    /**
+     * Request hedging for idempotent supplier calls (search, recheck)
+     */
+    public static class HedgingConfig {
+        private boolean enabled = false; // Off by default; only search and recheck are ever hedged
+        private int percentile = 95; // A second request is sent once a call runs longer than this latency percentile
+        private long minDelayMs = 20; // Lower bound for the hedge delay
+        private int minSamples = 50; // Latencies needed per supplier and operation before hedging starts
+        private int sampleWindow = 500; // Last N latencies the percentile is computed over
+        private int maxHedgeRatePercent = 10; // Hedges allowed as a percentage of calls
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(int percentile) {
+            this.percentile = percentile;
+        }
+
+        public long getMinDelayMs() {
+            return minDelayMs;
+        }
+
+        public void setMinDelayMs(long minDelayMs) {
+            this.minDelayMs = minDelayMs;
+        }
+
+        public int getMinSamples() {
+            return minSamples;
+        }
+
+        public void setMinSamples(int minSamples) {
+            this.minSamples = minSamples;
+        }
+
+        public int getSampleWindow() {
+            return sampleWindow;
+        }
+
+        public void setSampleWindow(int sampleWindow) {
+            this.sampleWindow = sampleWindow;
+        }
+
+        public int getMaxHedgeRatePercent() {
+            return maxHedgeRatePercent;
+        }
+
+        public void setMaxHedgeRatePercent(int maxHedgeRatePercent) {
+            this.maxHedgeRatePercent = maxHedgeRatePercent;
+        }
+    }
+
+    /**
+     * Per-supplier QPS quota, shared by all operations in priority order (book/cancel, recheck, search)
+     */
+    public static class RateLimitConfig {
+        private boolean enabled = true;
+        private double qps = 20; // Requests per second per supplier, unless the supplier sets its own
+        private int burst = 20; // Tokens that can build up while a supplier is idle
+        private long maxQueueWaitMs = 500; // Longest a request waits for a token before it is rejected
+        private int maxQueueSize = 200; // Waiting requests per supplier; when full, the lowest-priority one is shed
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getQps() {
+            return qps;
+        }
+
+        public void setQps(double qps) {
+            this.qps = qps;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+
+        public long getMaxQueueWaitMs() {
+            return maxQueueWaitMs;
+        }
+
+        public void setMaxQueueWaitMs(long maxQueueWaitMs) {
+            this.maxQueueWaitMs = maxQueueWaitMs;
+        }
+
+        public int getMaxQueueSize() {
+            return maxQueueSize;
+        }
+
+        public void setMaxQueueSize(int maxQueueSize) {
+            this.maxQueueSize = maxQueueSize;
+        }
+    }
+
+    /**
+     * Supplier availability cache (search responses only; recheck always goes to the supplier)
+     */
+    public static class CacheConfig {
+        private boolean enabled = true;
+        private long freshTtlMs = 15000; // Served directly for this long after a supplier search
+        private long staleTtlMs = 60000; // Then served while one background refresh runs, for at most this long
+        private int maxEntries = 5000; // Cached searches (LRU beyond this)
+        private int maxOffers = 200000; // Cached offers across all entries (LRU beyond this)
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getFreshTtlMs() {
+            return freshTtlMs;
+        }
+
+        public void setFreshTtlMs(long freshTtlMs) {
+            this.freshTtlMs = freshTtlMs;
+        }
+
+        public long getStaleTtlMs() {
+            return staleTtlMs;
+        }
+
+        public void setStaleTtlMs(long staleTtlMs) {
+            this.staleTtlMs = staleTtlMs;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public int getMaxOffers() {
+            return maxOffers;
+        }
+
+        public void setMaxOffers(int maxOffers) {
+            this.maxOffers = maxOffers;
+        }
     }
 }
 
@@ -0,0 +1,33 @@
+package com.hotelsystems.ai.bookingmanagement.supplier.controller.admin;
+
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierResilienceStatus;
+import com.hotelsystems.ai.bookingmanagement.supplier.resilience.SupplierResilience;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Admin controller for supplier circuit breaker and bulkhead state.
+ */
+@RestController
+@RequestMapping("/v1/admin/suppliers")
+public class SupplierResilienceAdminController {
+
+    private final SupplierResilience resilience;
+
+    public SupplierResilienceAdminController(SupplierResilience resilience) {
+        this.resilience = resilience;
+    }
+
+    /**
+     * GET /v1/admin/suppliers/circuit-breakers
+     * Get breaker state, failure and slow-call rates and bulkhead usage per supplier and operation.
+     */
+    @GetMapping("/circuit-breakers")
+    public ResponseEntity<List<SupplierResilienceStatus>> getCircuitBreakers() {
+        return ResponseEntity.ok(resilience.status());
+    }
+}
@@ -0,0 +1,96 @@
+package com.hotelsystems.ai.bookingmanagement.supplier.dto;
+
+/**
+ * Response DTO for the circuit breaker and bulkhead state of one supplier operation.
+ */
+public class SupplierResilienceStatus {
+
+    private SupplierCode supplierCode;
+    private String operation;
+    private String circuitState;
+    private float failureRate;
+    private float slowCallRate;
+    private int recordedCalls;
+    private int bulkheadInUse;
+    private int bulkheadMaxConcurrent;
+
+    public SupplierResilienceStatus() {
+    }
+
+    public SupplierResilienceStatus(SupplierCode supplierCode, String operation, String circuitState,
+                                    float failureRate, float slowCallRate, int recordedCalls,
+                                    int bulkheadInUse, int bulkheadMaxConcurrent) {
+        this.supplierCode = supplierCode;
+        this.operation = operation;
+        this.circuitState = circuitState;
+        this.failureRate = failureRate;
+        this.slowCallRate = slowCallRate;
+        this.recordedCalls = recordedCalls;
+        this.bulkheadInUse = bulkheadInUse;
+        this.bulkheadMaxConcurrent = bulkheadMaxConcurrent;
+    }
+
+    public SupplierCode getSupplierCode() {
+        return supplierCode;
+    }
+
+    public void setSupplierCode(SupplierCode supplierCode) {
+        this.supplierCode = supplierCode;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public String getCircuitState() {
+        return circuitState;
+    }
+
+    public void setCircuitState(String circuitState) {
+        this.circuitState = circuitState;
+    }
+
+    public float getFailureRate() {
+        return failureRate;
+    }
+
+    public void setFailureRate(float failureRate) {
+        this.failureRate = failureRate;
+    }
+
+    public float getSlowCallRate() {
+        return slowCallRate;
+    }
+
+    public void setSlowCallRate(float slowCallRate) {
+        this.slowCallRate = slowCallRate;
+    }
+
+    public int getRecordedCalls() {
+        return recordedCalls;
+    }
+
+    public void setRecordedCalls(int recordedCalls) {
+        this.recordedCalls = recordedCalls;
+    }
+
+    public int getBulkheadInUse() {
+        return bulkheadInUse;
+    }
+
+    public void setBulkheadInUse(int bulkheadInUse) {
+        this.bulkheadInUse = bulkheadInUse;
+    }
+
+    public int getBulkheadMaxConcurrent() {
+        return bulkheadMaxConcurrent;
+    }
+
+    public void setBulkheadMaxConcurrent(int bulkheadMaxConcurrent) {
+        this.bulkheadMaxConcurrent = bulkheadMaxConcurrent;
+    }
+}
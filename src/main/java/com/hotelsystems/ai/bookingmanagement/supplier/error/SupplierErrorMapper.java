@@ -119,6 +119,25 @@ public class SupplierErrorMapper {
         return new ConflictException("Supplier temporarily unavailable", e);
     }
 
+    /**
+     * Checks if an exception means the supplier itself failed (timeout, connection error, 5xx),
+     * as opposed to a business outcome such as sold out or a rejected request.
+     * Failures count toward the supplier's circuit breaker.
+     * 
+     * @param e the exception thrown by a supplier adapter
+     * @return true for failures mapped by mapServerError and the supplier timeout/connection exceptions
+     */
+    public static boolean isSupplierFailure(Throwable e) {
+        if (e instanceof ConflictException && e.getCause() != null) {
+            // mapServerError wraps the original server error or timeout
+            return isSupplierFailure(e.getCause());
+        }
+        return e instanceof SupplierTimeoutException
+                || e instanceof SupplierConnectionException
+                || e instanceof ResourceAccessException
+                || e instanceof HttpServerErrorException;
+    }
+
     /**
      * Checks if an HTTP status indicates the booking was already cancelled.
      * Used to swallow "already cancelled" errors as success.
@@ -0,0 +1,11 @@
+package com.hotelsystems.ai.bookingmanagement.supplier.error;
+
+/**
+ * Exception thrown without calling the supplier when its circuit breaker is open
+ * or its bulkhead is full.
+ */
+public class SupplierUnavailableException extends SupplierBookingException {
+    public SupplierUnavailableException(String message, String supplierId, String errorCode) {
+        super(message, supplierId, errorCode);
+    }
+}
@@ -0,0 +1,47 @@
+package com.hotelsystems.ai.bookingmanagement.supplier.resilience;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of the last N calls of one supplier operation, with a latency
+ * percentile recomputed every REFRESH_EVERY samples (sorting a copy of at most N longs),
+ * so reading it costs nothing on the call path.
+ */
+class LatencyWindow {
+
+    private static final int REFRESH_EVERY = 16;
+
+    private final long[] samples;
+    private final int minSamples;
+    private int next;
+    private int count;
+    private int sinceRefresh;
+    private volatile long percentileMs = -1;
+
+    LatencyWindow(int size, int minSamples) {
+        this.samples = new long[Math.max(1, size)];
+        this.minSamples = Math.min(Math.max(1, minSamples), samples.length);
+    }
+
+    synchronized void record(long latencyMs, int percentile) {
+        samples[next] = latencyMs;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        if (count >= minSamples && (++sinceRefresh >= REFRESH_EVERY || percentileMs < 0)) {
+            sinceRefresh = 0;
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+            percentileMs = sorted[Math.max(0, Math.min(count - 1, index))];
+        }
+    }
+
+    /**
+     * @return the latency percentile in ms, -1 until minSamples latencies are recorded
+     */
+    long percentileMs() {
+        return percentileMs;
+    }
+}
@@ -0,0 +1,153 @@
+package com.hotelsystems.ai.bookingmanagement.supplier.resilience;
+
+import com.hotelsystems.ai.bookingmanagement.supplier.config.SupplierProperties;
+
+import java.time.Clock;
+
+/**
+ * Count-based circuit breaker for one supplier operation.
+ *
+ * - CLOSED: calls pass; the outcome of the last windowSize calls is kept. Once minimumCalls
+ *   are recorded, a failure rate or slow-call rate at or above its threshold opens the breaker
+ * - OPEN: calls are rejected until openStateMs have passed
+ * - HALF_OPEN: halfOpenCalls trial calls pass; when they have completed the breaker closes
+ *   (fresh window) or opens again, using the same thresholds
+ *
+ * Thresholds and timings are read on every call, so changed properties apply immediately;
+ * the window size is fixed when the breaker is created.
+ */
+public class SupplierCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final SupplierProperties.ResilienceConfig config;
+    private final Clock clock;
+    private final byte[] window;
+
+    private State state = State.CLOSED;
+    private long openedAtMillis;
+    private int next;
+    private int recorded;
+    private int failed;
+    private int slow;
+    private int halfOpenPermits;
+
+    public SupplierCircuitBreaker(SupplierProperties.ResilienceConfig config, Clock clock) {
+        this.config = config;
+        this.clock = clock;
+        this.window = new byte[Math.max(1, config.getWindowSize())];
+    }
+
+    /**
+     * Asks to make a call. Every permitted call must be followed by onResult or release.
+     *
+     * @return false when the call must fail fast
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (clock.millis() - openedAtMillis < config.getOpenStateMs()) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits >= config.getHalfOpenCalls()) {
+                return false;
+            }
+            halfOpenPermits++;
+        }
+        return true;
+    }
+
+    /**
+     * Gives back a permission that was not used for a call
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN && halfOpenPermits > 0) {
+            halfOpenPermits--;
+        }
+    }
+
+    /**
+     * Records the outcome of a permitted call
+     *
+     * @param failure true when the supplier failed (see SupplierErrorMapper.isSupplierFailure)
+     * @param durationMs how long the call took
+     */
+    public synchronized void onResult(boolean failure, long durationMs) {
+        if (state == State.OPEN) {
+            return; // Call started before the breaker opened
+        }
+        byte outcome = (byte) ((failure ? FAILED : 0) | (durationMs > config.getSlowCallDurationMs() ? SLOW : 0));
+        record(outcome);
+
+        if (state == State.HALF_OPEN) {
+            if (recorded >= Math.min(config.getHalfOpenCalls(), window.length)) {
+                transitionTo(overThreshold() ? State.OPEN : State.CLOSED);
+            }
+        } else if (recorded >= config.getMinimumCalls() && overThreshold()) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Failure rate in percent over the recorded calls, -1 when none are recorded
+     */
+    public synchronized float getFailureRate() {
+        return recorded == 0 ? -1 : failed * 100f / recorded;
+    }
+
+    /**
+     * Slow-call rate in percent over the recorded calls, -1 when none are recorded
+     */
+    public synchronized float getSlowCallRate() {
+        return recorded == 0 ? -1 : slow * 100f / recorded;
+    }
+
+    public synchronized int getRecordedCalls() {
+        return recorded;
+    }
+
+    private void record(byte outcome) {
+        if (recorded == window.length) {
+            byte evicted = window[next];
+            failed -= evicted & FAILED;
+            slow -= (evicted & SLOW) >> 1;
+        } else {
+            recorded++;
+        }
+        window[next] = outcome;
+        next = (next + 1) % window.length;
+        failed += outcome & FAILED;
+        slow += (outcome & SLOW) >> 1;
+    }
+
+    private boolean overThreshold() {
+        return failed * 100 >= config.getFailureRateThreshold() * recorded
+                || slow * 100 >= config.getSlowCallRateThreshold() * recorded;
+    }
+
+    private void transitionTo(State newState) {
+        state = newState;
+        halfOpenPermits = 0;
+        if (newState == State.OPEN) {
+            openedAtMillis = clock.millis(); // Rates stay visible while open
+            return;
+        }
+        next = 0;
+        recorded = 0;
+        failed = 0;
+        slow = 0;
+    }
+}
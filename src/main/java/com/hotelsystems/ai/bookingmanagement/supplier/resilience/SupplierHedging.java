@@ -0,0 +1,285 @@
+package com.hotelsystems.ai.bookingmanagement.supplier.resilience;
+
+import com.hotelsystems.ai.bookingmanagement.supplier.adapter.SupplierOfferSearchAdapter;
+import com.hotelsystems.ai.bookingmanagement.supplier.adapter.SupplierRecheckAdapter;
+import com.hotelsystems.ai.bookingmanagement.supplier.config.SupplierProperties;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierCode;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierOfferDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Request hedging for idempotent supplier calls (search and recheck; booking and cancellation
+ * are never hedged).
+ *
+ * - The latency of each call's first request is tracked per supplier and operation
+ *   (LatencyWindow), whether it wins or not: a first request cancelled because the hedge
+ *   answered first is recorded with the time it had run, a lower bound. Hedge requests are
+ *   not recorded, so the percentile tracks unhedged latency instead of drifting down as
+ *   hedges win
+ * - A call still running after the configured latency percentile (at least minDelayMs) gets a
+ *   second, identical request; the first successful response is used and the other request
+ *   is cancelled (its thread is interrupted)
+ * - Budget: every call adds maxHedgeRatePercent / 100 of a hedge token, every hedge spends one,
+ *   so hedges stay below that share of traffic even when the supplier slows down as a whole;
+ *   at most MAX_BUDGET unused tokens are kept for bursts
+ *
+ * - A hedge is a request of its own and needs a free rate limit token (SupplierRateLimiter.tryAcquire);
+ *   it is never queued for one, since a late hedge is of no use
+ *
+ * Both requests run on the offer search executor (virtual threads). A hedged streamOffers is
+ * buffered: the winning search's offers are handed to the sink once it has completed.
+ * SupplierAdapterRegistry applies hedging inside SupplierResilience, so the bulkhead and
+ * circuit breaker see one call with the hedged latency and outcome, and both inside the rate
+ * limiter, so the first request's token has been granted before its latency is measured.
+ *
+ * Metrics (tags supplier, operation): supplier.hedging.requests (counter, tag
+ * result=hedged|won|budget_exhausted|rate_limited) and supplier.hedging.delay (gauge, current hedge delay
+ * in ms, -1 while warming up).
+ */
+@Component
+public class SupplierHedging {
+
+    private static final double MAX_BUDGET = 10;
+
+    private final SupplierProperties.HedgingConfig config;
+    private final ExecutorService executor;
+    private final BiPredicate<SupplierCode, SupplierOperation> hedgeTokens;
+    private final Map<SupplierCode, Map<SupplierOperation, Lane>> lanes = new EnumMap<>(SupplierCode.class);
+
+    @Autowired
+    public SupplierHedging(SupplierProperties properties,
+                           @Qualifier("offerSearchExecutor") ExecutorService executor,
+                           SupplierRateLimiter rateLimiter,
+                           MeterRegistry meterRegistry) {
+        this(properties.getHedging(), executor, rateLimiter::tryAcquire, meterRegistry);
+    }
+
+    SupplierHedging(SupplierProperties.HedgingConfig config, ExecutorService executor, MeterRegistry meterRegistry) {
+        this(config, executor, (supplier, operation) -> true, meterRegistry);
+    }
+
+    SupplierHedging(SupplierProperties.HedgingConfig config, ExecutorService executor,
+                    BiPredicate<SupplierCode, SupplierOperation> hedgeTokens, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.executor = executor;
+        this.hedgeTokens = hedgeTokens;
+        for (SupplierCode supplier : SupplierCode.values()) {
+            Map<SupplierOperation, Lane> byOperation = new EnumMap<>(SupplierOperation.class);
+            byOperation.put(SupplierOperation.SEARCH, new Lane(supplier, SupplierOperation.SEARCH, meterRegistry));
+            byOperation.put(SupplierOperation.RECHECK, new Lane(supplier, SupplierOperation.RECHECK, meterRegistry));
+            lanes.put(supplier, byOperation);
+        }
+    }
+
+    /**
+     * Runs an idempotent supplier call, sending a second identical request when it is slow.
+     *
+     * @throws IllegalArgumentException for operations that must not be hedged (BOOK, CANCEL)
+     */
+    public <T> T call(SupplierCode supplier, SupplierOperation operation, Supplier<T> call) {
+        Lane lane = lanes.get(supplier).get(operation);
+        if (lane == null) {
+            throw new IllegalArgumentException("Supplier " + operation + " calls are not idempotent and cannot be hedged");
+        }
+        if (!config.isEnabled()) {
+            return call.get();
+        }
+        lane.earnBudget(config.getMaxHedgeRatePercent());
+        long percentileMs = lane.latency.percentileMs();
+        if (percentileMs < 0) {
+            return lane.timed(call, config.getPercentile()); // Warming up: no latency estimate yet
+        }
+
+        ExecutorCompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        List<Future<T>> attempts = new ArrayList<>(2);
+        long startNanos = System.nanoTime();
+        AtomicBoolean primaryRecorded = new AtomicBoolean();
+        attempts.add(completion.submit(() -> {
+            T result = call.get();
+            lane.recordOnce(startNanos, primaryRecorded, config.getPercentile());
+            return result;
+        }));
+        try {
+            Future<T> first = completion.poll(Math.max(config.getMinDelayMs(), percentileMs), TimeUnit.MILLISECONDS);
+            if (first == null) {
+                if (!lane.spendBudget()) {
+                    lane.budgetExhausted.increment();
+                } else if (!hedgeTokens.test(supplier, operation)) {
+                    lane.refundBudget();
+                    lane.rateLimited.increment();
+                } else {
+                    lane.hedged.increment();
+                    attempts.add(completion.submit(call::get));
+                }
+                first = completion.take();
+            }
+            return firstSuccess(first, completion, attempts, lane);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for supplier " + supplier + " " + operation, e);
+        } finally {
+            if (!attempts.get(0).isDone()) {
+                // The first request lost to the hedge: it would have taken at least this long
+                lane.recordOnce(startNanos, primaryRecorded, config.getPercentile());
+            }
+            for (Future<T> attempt : attempts) {
+                attempt.cancel(true);
+            }
+        }
+    }
+
+    public SupplierOfferSearchAdapter wrap(SupplierCode supplier, SupplierOfferSearchAdapter adapter) {
+        return new SupplierOfferSearchAdapter() {
+            @Override
+            public List<SupplierOfferDto> searchOffers(String hotelId, String supplierHotelId,
+                                                       LocalDate checkIn, LocalDate checkOut,
+                                                       int adults, int children, int rooms) {
+                return call(supplier, SupplierOperation.SEARCH, () -> adapter.searchOffers(
+                        hotelId, supplierHotelId, checkIn, checkOut, adults, children, rooms));
+            }
+
+            @Override
+            public void streamOffers(String hotelId, String supplierHotelId,
+                                     LocalDate checkIn, LocalDate checkOut,
+                                     int adults, int children, int rooms,
+                                     Consumer<SupplierOfferDto> sink) {
+                if (!config.isEnabled()) {
+                    adapter.streamOffers(hotelId, supplierHotelId, checkIn, checkOut, adults, children, rooms, sink);
+                    return;
+                }
+                searchOffers(hotelId, supplierHotelId, checkIn, checkOut, adults, children, rooms).forEach(sink);
+            }
+        };
+    }
+
+    public SupplierRecheckAdapter wrap(SupplierCode supplier, SupplierRecheckAdapter adapter) {
+        return offerPayloadJson -> call(supplier, SupplierOperation.RECHECK, () -> adapter.recheck(offerPayloadJson));
+    }
+
+    long delayMs(SupplierCode supplier, SupplierOperation operation) {
+        return lanes.get(supplier).get(operation).latency.percentileMs();
+    }
+
+    /**
+     * Result of the first attempt that succeeds; the first failure if every attempt fails
+     */
+    private static <T> T firstSuccess(Future<T> first, ExecutorCompletionService<T> completion,
+                                      List<Future<T>> attempts, Lane lane) throws InterruptedException {
+        try {
+            T result = first.get();
+            if (attempts.size() > 1 && first == attempts.get(1)) {
+                lane.won.increment();
+            }
+            return result;
+        } catch (ExecutionException firstFailure) {
+            if (attempts.size() > 1) {
+                Future<T> second = completion.take();
+                try {
+                    T result = second.get();
+                    if (second == attempts.get(1)) {
+                        lane.won.increment();
+                    }
+                    return result;
+                } catch (ExecutionException ignored) {
+                    // Both failed: report the first failure
+                }
+            }
+            Throwable cause = firstFailure.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Supplier call failed", cause);
+        }
+    }
+
+    /**
+     * Latency window, hedge budget and meters of one supplier operation
+     */
+    private final class Lane {
+
+        private final LatencyWindow latency;
+        private final Counter hedged;
+        private final Counter won;
+        private final Counter budgetExhausted;
+        private final Counter rateLimited;
+        private double budget;
+
+        Lane(SupplierCode supplier, SupplierOperation operation, MeterRegistry meterRegistry) {
+            this.latency = new LatencyWindow(config.getSampleWindow(), config.getMinSamples());
+            this.hedged = requestCounter(meterRegistry, supplier, operation, "hedged");
+            this.won = requestCounter(meterRegistry, supplier, operation, "won");
+            this.budgetExhausted = requestCounter(meterRegistry, supplier, operation, "budget_exhausted");
+            this.rateLimited = requestCounter(meterRegistry, supplier, operation, "rate_limited");
+            Gauge.builder("supplier.hedging.delay", latency, LatencyWindow::percentileMs)
+                .description("Latency after which a supplier call is hedged (ms, -1 while warming up)")
+                .tag("supplier", supplier.getCode())
+                .tag("operation", operation.name())
+                .register(meterRegistry);
+        }
+
+        <T> T timed(Supplier<T> call, int percentile) {
+            long startNanos = System.nanoTime();
+            T result = call.get();
+            latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), percentile);
+            return result;
+        }
+
+        /**
+         * Records the time since startNanos unless it was already recorded for this request
+         */
+        void recordOnce(long startNanos, AtomicBoolean recorded, int percentile) {
+            if (recorded.compareAndSet(false, true)) {
+                latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), percentile);
+            }
+        }
+
+        synchronized void earnBudget(int maxHedgeRatePercent) {
+            budget = Math.min(MAX_BUDGET, budget + maxHedgeRatePercent / 100.0);
+        }
+
+        synchronized boolean spendBudget() {
+            if (budget < 1) {
+                return false;
+            }
+            budget -= 1;
+            return true;
+        }
+
+        synchronized void refundBudget() {
+            budget = Math.min(MAX_BUDGET, budget + 1);
+        }
+
+        private Counter requestCounter(MeterRegistry meterRegistry, SupplierCode supplier,
+                                       SupplierOperation operation, String result) {
+            return Counter.builder("supplier.hedging.requests")
+                .description("Supplier calls that were hedged, won by the hedge, or not hedged for lack of budget or rate limit tokens")
+                .tag("supplier", supplier.getCode())
+                .tag("operation", operation.name())
+                .tag("result", result)
+                .register(meterRegistry);
+        }
+    }
+}
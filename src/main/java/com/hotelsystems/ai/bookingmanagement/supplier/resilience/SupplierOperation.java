@@ -0,0 +1,11 @@
+package com.hotelsystems.ai.bookingmanagement.supplier.resilience;
+
+/**
+ * Supplier adapter operations, each with its own bulkhead and circuit breaker.
+ */
+public enum SupplierOperation {
+    SEARCH,
+    RECHECK,
+    BOOK,
+    CANCEL
+}
@@ -0,0 +1,302 @@
+package com.hotelsystems.ai.bookingmanagement.supplier.resilience;
+
+import com.hotelsystems.ai.bookingmanagement.supplier.adapter.SupplierBookingAdapter;
+import com.hotelsystems.ai.bookingmanagement.supplier.adapter.SupplierOfferSearchAdapter;
+import com.hotelsystems.ai.bookingmanagement.supplier.adapter.SupplierRecheckAdapter;
+import com.hotelsystems.ai.bookingmanagement.supplier.config.SupplierProperties;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierBookResponse;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierCode;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierOfferDto;
+import com.hotelsystems.ai.bookingmanagement.supplier.error.SupplierUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Per-supplier token-bucket rate limiter with a priority queue in front.
+ *
+ * - Each supplier has one bucket of qps tokens per second (up to burst tokens saved up),
+ *   shared by all its operations
+ * - A request takes a token immediately when nobody is waiting; otherwise it queues.
+ *   Tokens go to the head of the queue: booking and cancellation first, then recheck,
+ *   then search, first come first served within a priority
+ * - A queued request waits at most maxQueueWaitMs. When maxQueueSize requests are waiting,
+ *   the newest lowest-priority one is shed to make room for a higher-priority request, so
+ *   a search surge cannot delay bookings
+ *
+ * Rejected requests throw SupplierUnavailableException (RATE_LIMITED). The registry applies
+ * the limiter outside SupplierResilience and SupplierHedging, so time spent queued for a token
+ * neither holds a bulkhead slot nor counts as supplier latency for the circuit breaker or the
+ * hedge delay. A hedge request takes its own token through tryAcquire and is not sent when
+ * none is free.
+ *
+ * Metrics (tag supplier): supplier.rate_limiter.requests (counter, tags operation and
+ * result=immediate|queued|shed|timeout) and supplier.rate_limiter.queue (gauge).
+ */
+@Component
+public class SupplierRateLimiter {
+
+    private final SupplierProperties.RateLimitConfig config;
+    private final Map<SupplierCode, Bucket> buckets = new EnumMap<>(SupplierCode.class);
+
+    public SupplierRateLimiter(SupplierProperties properties, MeterRegistry meterRegistry) {
+        this.config = properties.getRateLimit();
+        for (SupplierCode supplier : SupplierCode.values()) {
+            buckets.put(supplier, new Bucket(supplier, qps(properties, supplier), meterRegistry));
+        }
+    }
+
+    /**
+     * Waits for a token for one request to the supplier.
+     *
+     * @throws SupplierUnavailableException when the request was shed or waited too long
+     */
+    public void acquire(SupplierCode supplier, SupplierOperation operation) {
+        if (config.isEnabled()) {
+            buckets.get(supplier).acquire(operation);
+        }
+    }
+
+    /**
+     * Takes a token for one request to the supplier only if one is free and nobody is waiting.
+     *
+     * @return false when the request would have to queue
+     */
+    public boolean tryAcquire(SupplierCode supplier, SupplierOperation operation) {
+        return !config.isEnabled() || buckets.get(supplier).tryAcquire(operation);
+    }
+
+    int queued(SupplierCode supplier) {
+        return buckets.get(supplier).queued();
+    }
+
+    public SupplierOfferSearchAdapter wrap(SupplierCode supplier, SupplierOfferSearchAdapter adapter) {
+        return new SupplierOfferSearchAdapter() {
+            @Override
+            public List<SupplierOfferDto> searchOffers(String hotelId, String supplierHotelId,
+                                                       LocalDate checkIn, LocalDate checkOut,
+                                                       int adults, int children, int rooms) {
+                acquire(supplier, SupplierOperation.SEARCH);
+                return adapter.searchOffers(hotelId, supplierHotelId, checkIn, checkOut, adults, children, rooms);
+            }
+
+            @Override
+            public void streamOffers(String hotelId, String supplierHotelId,
+                                     LocalDate checkIn, LocalDate checkOut,
+                                     int adults, int children, int rooms,
+                                     Consumer<SupplierOfferDto> sink) {
+                acquire(supplier, SupplierOperation.SEARCH);
+                adapter.streamOffers(hotelId, supplierHotelId, checkIn, checkOut, adults, children, rooms, sink);
+            }
+        };
+    }
+
+    public SupplierRecheckAdapter wrap(SupplierCode supplier, SupplierRecheckAdapter adapter) {
+        return offerPayloadJson -> {
+            acquire(supplier, SupplierOperation.RECHECK);
+            return adapter.recheck(offerPayloadJson);
+        };
+    }
+
+    public SupplierBookingAdapter wrap(SupplierCode supplier, SupplierBookingAdapter adapter) {
+        return new SupplierBookingAdapter() {
+            @Override
+            public SupplierBookResponse createBooking(String offerPayloadJson, String guestPayloadJson) {
+                acquire(supplier, SupplierOperation.BOOK);
+                return adapter.createBooking(offerPayloadJson, guestPayloadJson);
+            }
+
+            @Override
+            public void cancelBooking(String supplierBookingRef) {
+                acquire(supplier, SupplierOperation.CANCEL);
+                adapter.cancelBooking(supplierBookingRef);
+            }
+        };
+    }
+
+    private static double qps(SupplierProperties properties, SupplierCode supplier) {
+        Double override = switch (supplier) {
+            case HOTELBEDS -> properties.getHotelbeds() != null ? properties.getHotelbeds().getQps() : null;
+            case TRAVELLANDA -> properties.getTravellanda() != null ? properties.getTravellanda().getQps() : null;
+        };
+        return override != null && override > 0 ? override : properties.getRateLimit().getQps();
+    }
+
+    /**
+     * Lower value = served first
+     */
+    private static int priority(SupplierOperation operation) {
+        return switch (operation) {
+            case BOOK, CANCEL -> 0;
+            case RECHECK -> 1;
+            case SEARCH -> 2;
+        };
+    }
+
+    /**
+     * A queued request; ordered by priority, then arrival
+     */
+    private record Waiter(int priority, long sequence) {
+    }
+
+    /**
+     * Token bucket and waiting queue of one supplier
+     */
+    private final class Bucket {
+
+        private final SupplierCode supplier;
+        private final double qps;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private final TreeSet<Waiter> queue = new TreeSet<>(
+                Comparator.comparingInt(Waiter::priority).thenComparingLong(Waiter::sequence));
+        private final TreeSet<Waiter> shed = new TreeSet<>(queue.comparator());
+        private final Map<SupplierOperation, Map<String, Counter>> counters = new EnumMap<>(SupplierOperation.class);
+
+        private double tokens;
+        private long refilledAtNanos = System.nanoTime();
+        private long sequence;
+
+        Bucket(SupplierCode supplier, double qps, MeterRegistry meterRegistry) {
+            this.supplier = supplier;
+            this.qps = Math.max(0.01, qps);
+            this.tokens = Math.max(1, config.getBurst());
+            for (SupplierOperation operation : SupplierOperation.values()) {
+                Map<String, Counter> byResult = new HashMap<>();
+                for (String result : List.of("immediate", "queued", "shed", "timeout")) {
+                    byResult.put(result, Counter.builder("supplier.rate_limiter.requests")
+                        .description("Supplier requests by how they got (or failed to get) a rate limit token")
+                        .tag("supplier", supplier.getCode())
+                        .tag("operation", operation.name())
+                        .tag("result", result)
+                        .register(meterRegistry));
+                }
+                counters.put(operation, byResult);
+            }
+            Gauge.builder("supplier.rate_limiter.queue", this, Bucket::queued)
+                .description("Supplier requests waiting for a rate limit token")
+                .tag("supplier", supplier.getCode())
+                .register(meterRegistry);
+        }
+
+        void acquire(SupplierOperation operation) {
+            lock.lock();
+            try {
+                refill();
+                if (queue.isEmpty() && tokens >= 1) {
+                    tokens -= 1;
+                    count(operation, "immediate");
+                    return;
+                }
+
+                Waiter waiter = new Waiter(priority(operation), sequence++);
+                if (queue.size() >= Math.max(0, config.getMaxQueueSize())) {
+                    Waiter lowest = queue.isEmpty() ? null : queue.last();
+                    if (lowest == null || queue.comparator().compare(waiter, lowest) > 0) {
+                        throw rejected(operation, "shed", "queue is full");
+                    }
+                    queue.remove(lowest); // Its thread sees it in shed and gives up
+                    shed.add(lowest);
+                }
+                queue.add(waiter);
+                changed.signalAll();
+                waitForToken(waiter, operation);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean tryAcquire(SupplierOperation operation) {
+            lock.lock();
+            try {
+                refill();
+                if (queue.isEmpty() && tokens >= 1) {
+                    tokens -= 1;
+                    count(operation, "immediate");
+                    return true;
+                }
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void waitForToken(Waiter waiter, SupplierOperation operation) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getMaxQueueWaitMs());
+            try {
+                while (true) {
+                    if (shed.remove(waiter)) {
+                        throw rejected(operation, "shed", "request shed for higher-priority work");
+                    }
+                    refill();
+                    if (queue.first().equals(waiter) && tokens >= 1) {
+                        tokens -= 1;
+                        queue.remove(waiter);
+                        changed.signalAll();
+                        count(operation, "queued");
+                        return;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        queue.remove(waiter);
+                        changed.signalAll();
+                        throw rejected(operation, "timeout", "no token within " + config.getMaxQueueWaitMs() + " ms");
+                    }
+                    if (queue.first().equals(waiter)) {
+                        remaining = Math.min(remaining, nanosUntilToken());
+                    }
+                    changed.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                queue.remove(waiter);
+                shed.remove(waiter);
+                changed.signalAll();
+                Thread.currentThread().interrupt();
+                throw new SupplierUnavailableException("Interrupted while waiting for supplier " + supplier
+                        + " rate limit", supplier.getCode(), "RATE_LIMITED");
+            }
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(Math.max(1, config.getBurst()), tokens + (now - refilledAtNanos) * qps / 1_000_000_000d);
+            refilledAtNanos = now;
+        }
+
+        private long nanosUntilToken() {
+            return Math.max(1, (long) Math.ceil((1 - tokens) * 1_000_000_000d / qps));
+        }
+
+        private SupplierUnavailableException rejected(SupplierOperation operation, String result, String reason) {
+            count(operation, result);
+            return new SupplierUnavailableException("Supplier " + supplier + " " + operation + " rate limited: "
+                    + reason, supplier.getCode(), "RATE_LIMITED");
+        }
+
+        private void count(SupplierOperation operation, String result) {
+            counters.get(operation).get(result).increment();
+        }
+
+        int queued() {
+            lock.lock();
+            try {
+                return queue.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
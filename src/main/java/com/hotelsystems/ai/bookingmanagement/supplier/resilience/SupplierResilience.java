@@ -0,0 +1,241 @@
+package com.hotelsystems.ai.bookingmanagement.supplier.resilience;
+
+import com.hotelsystems.ai.bookingmanagement.supplier.adapter.SupplierBookingAdapter;
+import com.hotelsystems.ai.bookingmanagement.supplier.adapter.SupplierOfferSearchAdapter;
+import com.hotelsystems.ai.bookingmanagement.supplier.adapter.SupplierRecheckAdapter;
+import com.hotelsystems.ai.bookingmanagement.supplier.config.SupplierProperties;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierBookResponse;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierCode;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierOfferDto;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierRecheckResultDto;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierResilienceStatus;
+import com.hotelsystems.ai.bookingmanagement.supplier.error.SupplierErrorMapper;
+import com.hotelsystems.ai.bookingmanagement.supplier.error.SupplierUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Resilience layer around supplier adapter calls, keyed by supplier code and operation.
+ *
+ * - Bulkhead: at most bulkheadMaxConcurrent calls in flight per supplier and operation; a call
+ *   waits up to bulkheadMaxWaitMs for a slot, so a degraded supplier cannot tie up every
+ *   request thread
+ * - Circuit breaker (SupplierCircuitBreaker): opens on failure rate or slow-call rate and then
+ *   fails fast. Failures are what SupplierErrorMapper.isSupplierFailure reports (timeouts,
+ *   connection errors, 5xx); sold out and rejected requests count as successful calls
+ *
+ * Rejected calls throw SupplierUnavailableException (CIRCUIT_OPEN or BULKHEAD_FULL) without
+ * reaching the supplier. SupplierAdapterRegistry hands out adapters wrapped by this class.
+ *
+ * Metrics (tags supplier, operation): supplier.calls (counter, tag
+ * outcome=success|failure|rejected), supplier.circuit.state (gauge: 0 closed, 1 half-open,
+ * 2 open) and supplier.bulkhead.in_use (gauge).
+ */
+@Component
+public class SupplierResilience {
+
+    private static final Logger logger = LoggerFactory.getLogger(SupplierResilience.class);
+
+    private final SupplierProperties.ResilienceConfig config;
+    private final Map<SupplierCode, Map<SupplierOperation, Guard>> guards = new EnumMap<>(SupplierCode.class);
+
+    @Autowired
+    public SupplierResilience(SupplierProperties properties, MeterRegistry meterRegistry) {
+        this(properties.getResilience(), meterRegistry, Clock.systemUTC());
+    }
+
+    SupplierResilience(SupplierProperties.ResilienceConfig config, MeterRegistry meterRegistry, Clock clock) {
+        this.config = config;
+        for (SupplierCode supplier : SupplierCode.values()) {
+            Map<SupplierOperation, Guard> byOperation = new EnumMap<>(SupplierOperation.class);
+            for (SupplierOperation operation : SupplierOperation.values()) {
+                byOperation.put(operation, new Guard(supplier, operation, config, clock, meterRegistry));
+            }
+            guards.put(supplier, byOperation);
+        }
+    }
+
+    /**
+     * Runs a supplier call inside the supplier's bulkhead and circuit breaker for the operation.
+     *
+     * @throws SupplierUnavailableException when the breaker is open or the bulkhead stays full
+     */
+    public <T> T call(SupplierCode supplier, SupplierOperation operation, Supplier<T> call) {
+        if (!config.isEnabled()) {
+            return call.get();
+        }
+        Guard guard = guards.get(supplier).get(operation);
+        if (!guard.breaker.tryAcquirePermission()) {
+            guard.rejected.increment();
+            throw new SupplierUnavailableException("Supplier " + supplier + " " + operation
+                    + " circuit breaker is open", supplier.getCode(), "CIRCUIT_OPEN");
+        }
+        if (!guard.acquireBulkhead(config.getBulkheadMaxWaitMs())) {
+            guard.breaker.release();
+            guard.rejected.increment();
+            throw new SupplierUnavailableException("Supplier " + supplier + " " + operation
+                    + " bulkhead is full", supplier.getCode(), "BULKHEAD_FULL");
+        }
+
+        long startNanos = System.nanoTime();
+        boolean failure = false;
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            failure = SupplierErrorMapper.isSupplierFailure(e);
+            throw e;
+        } finally {
+            guard.bulkhead.release();
+            guard.breaker.onResult(failure, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            (failure ? guard.failed : guard.succeeded).increment();
+        }
+    }
+
+    public void run(SupplierCode supplier, SupplierOperation operation, Runnable call) {
+        call(supplier, operation, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * Breaker and bulkhead state for every supplier and operation
+     */
+    public List<SupplierResilienceStatus> status() {
+        List<SupplierResilienceStatus> status = new ArrayList<>();
+        for (Map<SupplierOperation, Guard> byOperation : guards.values()) {
+            for (Guard guard : byOperation.values()) {
+                status.add(new SupplierResilienceStatus(guard.supplier, guard.operation.name(),
+                        guard.breaker.getState().name(), guard.breaker.getFailureRate(),
+                        guard.breaker.getSlowCallRate(), guard.breaker.getRecordedCalls(),
+                        guard.inUse(), config.getBulkheadMaxConcurrent()));
+            }
+        }
+        return status;
+    }
+
+    SupplierCircuitBreaker breaker(SupplierCode supplier, SupplierOperation operation) {
+        return guards.get(supplier).get(operation).breaker;
+    }
+
+    public SupplierOfferSearchAdapter wrap(SupplierCode supplier, SupplierOfferSearchAdapter adapter) {
+        return new SupplierOfferSearchAdapter() {
+            @Override
+            public List<SupplierOfferDto> searchOffers(String hotelId, String supplierHotelId,
+                                                       LocalDate checkIn, LocalDate checkOut,
+                                                       int adults, int children, int rooms) {
+                return call(supplier, SupplierOperation.SEARCH, () -> adapter.searchOffers(
+                        hotelId, supplierHotelId, checkIn, checkOut, adults, children, rooms));
+            }
+
+            @Override
+            public void streamOffers(String hotelId, String supplierHotelId,
+                                     LocalDate checkIn, LocalDate checkOut,
+                                     int adults, int children, int rooms,
+                                     Consumer<SupplierOfferDto> sink) {
+                run(supplier, SupplierOperation.SEARCH, () -> adapter.streamOffers(
+                        hotelId, supplierHotelId, checkIn, checkOut, adults, children, rooms, sink));
+            }
+        };
+    }
+
+    public SupplierRecheckAdapter wrap(SupplierCode supplier, SupplierRecheckAdapter adapter) {
+        return offerPayloadJson -> call(supplier, SupplierOperation.RECHECK, () -> adapter.recheck(offerPayloadJson));
+    }
+
+    public SupplierBookingAdapter wrap(SupplierCode supplier, SupplierBookingAdapter adapter) {
+        return new SupplierBookingAdapter() {
+            @Override
+            public SupplierBookResponse createBooking(String offerPayloadJson, String guestPayloadJson) {
+                return call(supplier, SupplierOperation.BOOK,
+                        () -> adapter.createBooking(offerPayloadJson, guestPayloadJson));
+            }
+
+            @Override
+            public void cancelBooking(String supplierBookingRef) {
+                run(supplier, SupplierOperation.CANCEL, () -> adapter.cancelBooking(supplierBookingRef));
+            }
+        };
+    }
+
+    /**
+     * Bulkhead, breaker and meters of one supplier operation
+     */
+    private static final class Guard {
+
+        private final SupplierCode supplier;
+        private final SupplierOperation operation;
+        private final SupplierCircuitBreaker breaker;
+        private final int maxConcurrent;
+        private final Semaphore bulkhead;
+        private final Counter succeeded;
+        private final Counter failed;
+        private final Counter rejected;
+
+        Guard(SupplierCode supplier, SupplierOperation operation, SupplierProperties.ResilienceConfig config,
+              Clock clock, MeterRegistry meterRegistry) {
+            this.supplier = supplier;
+            this.operation = operation;
+            this.breaker = new SupplierCircuitBreaker(config, clock);
+            this.maxConcurrent = config.getBulkheadMaxConcurrent();
+            this.bulkhead = new Semaphore(maxConcurrent, true);
+            this.succeeded = callCounter(meterRegistry, "success");
+            this.failed = callCounter(meterRegistry, "failure");
+            this.rejected = callCounter(meterRegistry, "rejected");
+
+            Gauge.builder("supplier.circuit.state", breaker, b -> switch (b.getState()) {
+                    case CLOSED -> 0;
+                    case HALF_OPEN -> 1;
+                    case OPEN -> 2;
+                })
+                .description("Supplier circuit breaker state (0 closed, 1 half-open, 2 open)")
+                .tag("supplier", supplier.getCode())
+                .tag("operation", operation.name())
+                .register(meterRegistry);
+            Gauge.builder("supplier.bulkhead.in_use", this, Guard::inUse)
+                .description("Supplier calls currently holding a bulkhead slot")
+                .tag("supplier", supplier.getCode())
+                .tag("operation", operation.name())
+                .register(meterRegistry);
+        }
+
+        boolean acquireBulkhead(long maxWaitMs) {
+            try {
+                return bulkhead.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Interrupted while waiting for supplier {} {} bulkhead", supplier, operation);
+                return false;
+            }
+        }
+
+        int inUse() {
+            return maxConcurrent - bulkhead.availablePermits();
+        }
+
+        private Counter callCounter(MeterRegistry meterRegistry, String outcome) {
+            return Counter.builder("supplier.calls")
+                .description("Supplier adapter calls by outcome")
+                .tag("supplier", supplier.getCode())
+                .tag("operation", operation.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.hotelsystems.ai.bookingmanagement.util;
 
 import com.hotelsystems.ai.bookingmanagement.domain.entity.BookingEntity;
+import com.hotelsystems.ai.bookingmanagement.dto.request.CartLineDto;
 import com.hotelsystems.ai.bookingmanagement.dto.request.CreateBookingRequest;
 import com.hotelsystems.ai.bookingmanagement.dto.request.GuestDto;
 import com.hotelsystems.ai.bookingmanagement.dto.request.OccupancyDto;
@@ -99,6 +100,15 @@ public class BookingMapper {
             }
         }
         
+        // Cart bookings: keep the lines and count every room across them
+        String cartLinesJson = null;
+        if (request.getCartLines() != null && !request.getCartLines().isEmpty()) {
+            cartLinesJson = jsonUtil.toJson(request.getCartLines());
+            roomsCount = request.getCartLines().stream()
+                    .mapToInt(line -> line.getRooms() != null ? line.getRooms() : 1)
+                    .sum();
+        }
+        
         // Handle childrenAges from request (if provided)
         if (request.getChildrenAges() != null && !request.getChildrenAges().isEmpty()) {
             childrenAgesJson = jsonUtil.toJson(request.getChildrenAges());
@@ -182,6 +192,7 @@ public class BookingMapper {
                 .childrenAgesJson(childrenAgesJson)
                 .leadGuestJson(leadGuestJson)
                 .supplierRateKey(supplierRateKey)
+                .cartLinesJson(cartLinesJson)
                 // expiresAt, nextActionsJson are not set from request
                 // They can be set separately if needed
                 ;
@@ -249,6 +260,12 @@ public class BookingMapper {
             nextActions = jsonUtil.fromJsonList(booking.getNextActionsJson(), String.class);
         }
         
+        // Deserialize cart lines
+        List<CartLineDto> cartLines = null;
+        if (booking.getCartLinesJson() != null && !booking.getCartLinesJson().trim().isEmpty()) {
+            cartLines = jsonUtil.fromJsonList(booking.getCartLinesJson(), CartLineDto.class);
+        }
+        
         return BookingResponse.builder()
                 .bookingId(booking.getId())
                 .status(booking.getStatus())
@@ -277,6 +294,7 @@ public class BookingMapper {
                 .expiresAt(booking.getExpiresAt())
                 .nextActions(nextActions)
                 .idempotencyKey(booking.getIdempotencyKey())
+                .cartLines(cartLines)
                 .build();
     }
 }
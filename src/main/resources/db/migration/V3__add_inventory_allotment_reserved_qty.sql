@@ -0,0 +1,19 @@
+-- Add maintained reserved_qty counter to inventory_allotments
+-- Compatible with both H2 (PostgreSQL mode) and PostgreSQL
+--
+-- reserved_qty = SUM(rooms_count) of RESERVED inventory_reservations overlapping the night
+-- (check_in <= date < check_out). ReservationService keeps it up to date on reserve/release,
+-- so availability becomes MIN(allotment_qty - reserved_qty) over a single range scan.
+ALTER TABLE inventory_allotments ADD COLUMN reserved_qty INTEGER NOT NULL DEFAULT 0;
+
+-- Backfill counters from existing reservations
+UPDATE inventory_allotments ia
+SET reserved_qty = (
+    SELECT COALESCE(SUM(ir.rooms_count), 0)
+    FROM inventory_reservations ir
+    WHERE ir.hotel_id = ia.hotel_id
+      AND ir.room_type_id = ia.room_type_id
+      AND ir.status = 'RESERVED'
+      AND ir.check_in <= ia.date
+      AND ir.check_out > ia.date
+);
@@ -0,0 +1,6 @@
+-- Add cart lines to bookings_core for multi-room-type owner bookings
+-- Compatible with both H2 (PostgreSQL mode) and PostgreSQL
+--
+-- JSON array of {"roomTypeId": ..., "rooms": ...}. NULL for single room type bookings,
+-- which keep using room_type_id / rooms_count.
+ALTER TABLE bookings_core ADD COLUMN cart_lines_json TEXT;
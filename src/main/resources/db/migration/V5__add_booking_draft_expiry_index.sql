@@ -0,0 +1,6 @@
+-- Composite index for draft expiry
+-- Compatible with both H2 (PostgreSQL mode) and PostgreSQL
+--
+-- The draft expiry engine rebuilds its timing wheel and runs catch-up sweeps with
+-- status = 'DRAFT' AND expires_at range predicates; this keeps both as index range scans.
+CREATE INDEX idx_bookings_core_status_expires_at ON bookings_core(status, expires_at);
@@ -0,0 +1,30 @@
+-- Covering index and archive table for inventory_reservations
+-- Compatible with both H2 (PostgreSQL mode) and PostgreSQL
+--
+-- Availability / overlap queries filter hotel_id, room_type_id, status and the stay dates;
+-- the covering index answers them without touching the base rows.
+-- ReservationArchiver moves finished and RELEASED reservations into
+-- inventory_reservations_archive in bounded batches so the live table stays small.
+CREATE INDEX idx_inventory_reservations_covering
+    ON inventory_reservations(hotel_id, room_type_id, status, check_in, check_out);
+
+-- Lets the archiver find RELEASED rows past their retention without a table scan
+CREATE INDEX idx_inventory_reservations_status_updated_at
+    ON inventory_reservations(status, updated_at);
+
+CREATE TABLE inventory_reservations_archive (
+    id UUID NOT NULL PRIMARY KEY,
+    booking_id UUID NOT NULL,
+    hotel_id VARCHAR(255) NOT NULL,
+    room_type_id VARCHAR(255) NOT NULL,
+    check_in DATE NOT NULL,
+    check_out DATE NOT NULL,
+    rooms_count INTEGER NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_reservations_archive_booking_id ON inventory_reservations_archive(booking_id);
+CREATE INDEX idx_reservations_archive_check_out ON inventory_reservations_archive(check_out);
@@ -0,0 +1,15 @@
+-- Spilled offer snapshots
+-- Compatible with both H2 (PostgreSQL mode) and PostgreSQL
+--
+-- OfferSnapshotStore keeps issued offers in memory; when offers.snapshot.spill-enabled is on,
+-- snapshots pushed out by the memory bound are written here until they expire, so recheck and
+-- booking can still resolve them by offer_id.
+CREATE TABLE offer_snapshots (
+    offer_id VARCHAR(512) NOT NULL PRIMARY KEY,
+    snapshot_json TEXT NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+-- Lets the purge job delete expired rows without a table scan
+CREATE INDEX idx_offer_snapshots_expires_at ON offer_snapshots(expires_at);
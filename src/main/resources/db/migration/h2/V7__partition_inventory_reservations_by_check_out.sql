@@ -0,0 +1,6 @@
+-- Emulated check_out partitioning of inventory_reservations (H2 only)
+-- PostgreSQL uses native RANGE partitions in db/migration/postgresql/V7
+--
+-- H2 has no declarative partitioning; a check_out index gives the archiver and
+-- date-bounded queries the same month-range pruning as a partition scan.
+CREATE INDEX idx_inventory_reservations_check_out ON inventory_reservations(check_out);
@@ -0,0 +1,57 @@
+-- Partition inventory_reservations by check_out month (PostgreSQL only)
+-- H2 gets an emulated equivalent in db/migration/h2/V7
+--
+-- Live queries and the archiver both bound check_out, so the planner prunes to the
+-- months that can still matter. The primary key must include the partition key.
+-- Monthly partitions ahead of today are created by ReservationPartitionManager;
+-- anything outside the covered months lands in the DEFAULT partition.
+ALTER TABLE inventory_reservations RENAME TO inventory_reservations_unpartitioned;
+DROP INDEX IF EXISTS idx_booking_id;
+DROP INDEX IF EXISTS idx_hotel_roomtype;
+DROP INDEX IF EXISTS idx_inventory_reservations_covering;
+DROP INDEX IF EXISTS idx_inventory_reservations_status_updated_at;
+
+CREATE TABLE inventory_reservations (
+    id UUID NOT NULL,
+    booking_id UUID NOT NULL,
+    hotel_id VARCHAR(255) NOT NULL,
+    room_type_id VARCHAR(255) NOT NULL,
+    check_in DATE NOT NULL,
+    check_out DATE NOT NULL,
+    rooms_count INTEGER NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, check_out)
+) PARTITION BY RANGE (check_out);
+
+CREATE TABLE inventory_reservations_default PARTITION OF inventory_reservations DEFAULT;
+
+-- One partition per month from the oldest existing check_out through 12 months ahead
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', LEAST(
+        COALESCE((SELECT MIN(check_out) FROM inventory_reservations_unpartitioned), CURRENT_DATE),
+        CURRENT_DATE))::DATE;
+    last_month DATE := date_trunc('month', CURRENT_DATE + INTERVAL '12 months')::DATE;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE inventory_reservations_p%s PARTITION OF inventory_reservations FOR VALUES FROM (%L) TO (%L)',
+            to_char(month_start, 'YYYYMM'), month_start, (month_start + INTERVAL '1 month')::DATE);
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+INSERT INTO inventory_reservations
+SELECT id, booking_id, hotel_id, room_type_id, check_in, check_out, rooms_count, status, created_at, updated_at
+FROM inventory_reservations_unpartitioned;
+
+DROP TABLE inventory_reservations_unpartitioned;
+
+CREATE INDEX idx_booking_id ON inventory_reservations(booking_id);
+CREATE INDEX idx_hotel_roomtype ON inventory_reservations(hotel_id, room_type_id);
+CREATE INDEX idx_inventory_reservations_covering
+    ON inventory_reservations(hotel_id, room_type_id, status, check_in, check_out);
+CREATE INDEX idx_inventory_reservations_status_updated_at
+    ON inventory_reservations(status, updated_at);
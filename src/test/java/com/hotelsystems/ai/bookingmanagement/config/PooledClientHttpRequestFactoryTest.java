@@ -0,0 +1,133 @@
+package com.hotelsystems.ai.bookingmanagement.config;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for PooledClientHttpRequestFactory against a local stub HTTP server.
+ */
+class PooledClientHttpRequestFactoryTest {
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
+    private PooledClientHttpRequestFactory factory;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch slowResponse = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/rates", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort()); // One port per TCP connection
+            respond(exchange, "{\"rates\":[]}");
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                slowResponse.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, "{}");
+        });
+        server.start();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowResponse.countDown();
+        if (factory != null) {
+            factory.close();
+        }
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void sequentialRequests_ReuseOneConnection() {
+        RestTemplate restTemplate = new RestTemplate(factory(4, 1000));
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("{\"rates\":[]}", restTemplate.getForObject(url("/rates"), String.class));
+        }
+
+        assertEquals(1, clientPorts.size());
+        assertEquals(0.0, gauge("http.client.pool.leased"));
+    }
+
+    @Test
+    void allSlotsInUse_RequestFailsAfterAcquireTimeout() throws Exception {
+        RestTemplate restTemplate = new RestTemplate(factory(1, 100));
+        Future<String> first = executor.submit(() -> restTemplate.getForObject(url("/slow"), String.class));
+        awaitLeased(1);
+
+        ResourceAccessException e = assertThrows(ResourceAccessException.class,
+                () -> restTemplate.getForObject(url("/rates"), String.class));
+        assertInstanceOf(HttpTimeoutException.class, e.getCause());
+        assertEquals(1.0, meterRegistry.get("http.client.pool.acquire.timeouts").tag("pool", "test").counter().count());
+
+        // The slot is given back once the slow response completes
+        slowResponse.countDown();
+        assertEquals("{}", first.get(5, TimeUnit.SECONDS));
+        assertEquals("{\"rates\":[]}", restTemplate.getForObject(url("/rates"), String.class));
+        assertEquals(0.0, gauge("http.client.pool.leased"));
+    }
+
+    private PooledClientHttpRequestFactory factory(int maxConnections, long acquireTimeoutMs) {
+        factory = new PooledClientHttpRequestFactory("test", new PooledClientHttpRequestFactory.Settings(
+                maxConnections,
+                Duration.ofSeconds(1),
+                Duration.ofSeconds(5),
+                Duration.ofMillis(acquireTimeoutMs),
+                false), meterRegistry);
+        return factory;
+    }
+
+    private void awaitLeased(int leased) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (gauge("http.client.pool.leased") < leased && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(leased, gauge("http.client.pool.leased"));
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("pool", "test").gauge().value();
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
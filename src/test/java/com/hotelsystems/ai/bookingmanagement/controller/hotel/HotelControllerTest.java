@@ -0,0 +1,100 @@
+package com.hotelsystems.ai.bookingmanagement.controller.hotel;
+
+import com.hotelsystems.ai.bookingmanagement.dto.hotel.HotelResponse;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.InventoryAllotmentEntity;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.RoomTypeEntity;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.InventoryAllotmentRepository;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.RoomTypeRepository;
+import com.hotelsystems.ai.bookingmanagement.service.hotel.BookingHotelService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the availability calendar endpoint of HotelController.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class HotelControllerTest {
+
+    private static final String SLUG = "calendar-hotel";
+    private static final String HOTEL_ID = "hotel-calendar";
+    private static final LocalDate START = LocalDate.now().plusDays(30);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    @SuppressWarnings("removal") // MockBean is deprecated but still functional in Spring Boot 3.x
+    private BookingHotelService hotelService;
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private InventoryAllotmentRepository allotmentRepository;
+
+    @BeforeEach
+    void setUp() {
+        when(hotelService.getHotelBySlug(SLUG)).thenReturn(HotelResponse.builder().slug(SLUG).hotelId(HOTEL_ID).build());
+        roomTypeRepository.save(new RoomTypeEntity("DELUXE", HOTEL_ID, "Deluxe"));
+        allotmentRepository.save(new InventoryAllotmentEntity(HOTEL_ID, "DELUXE", START, 5));
+        InventoryAllotmentEntity stopSell = new InventoryAllotmentEntity(HOTEL_ID, "DELUXE", START.plusDays(1), 5);
+        stopSell.setStopSell(true);
+        allotmentRepository.save(stopSell);
+    }
+
+    @AfterEach
+    void tearDown() {
+        allotmentRepository.deleteAll();
+        roomTypeRepository.deleteAll();
+    }
+
+    @Test
+    void getAvailabilityCalendar_StreamsNightlyAvailabilityAndPrices() throws Exception {
+        // Given: DELUXE costs 12000 per night; the third night has no allotment row
+        MvcResult result = mockMvc.perform(get("/v1/hotels/{slug}/availability-calendar", SLUG)
+                .header("Authorization", "Bearer user-test")
+                .param("startDate", START.toString())
+                .param("endDate", START.plusDays(3).toString()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // When / Then
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.hotelId").value(HOTEL_ID))
+            .andExpect(jsonPath("$.roomTypes[0].roomTypeId").value("DELUXE"))
+            .andExpect(jsonPath("$.roomTypes[0].currency").value("USD"))
+            .andExpect(jsonPath("$.roomTypes[0].nights.length()").value(3))
+            .andExpect(jsonPath("$.roomTypes[0].nights[0].date").value(START.toString()))
+            .andExpect(jsonPath("$.roomTypes[0].nights[0].available").value(5))
+            .andExpect(jsonPath("$.roomTypes[0].nights[0].priceMinor").value(12000))
+            .andExpect(jsonPath("$.roomTypes[0].nights[1].available").value(0))
+            .andExpect(jsonPath("$.roomTypes[0].nights[1].stopSell").value(true))
+            .andExpect(jsonPath("$.roomTypes[0].nights[2].available").value(0))
+            .andExpect(jsonPath("$.roomTypes[0].nights[2].priceMinor").value(12000));
+    }
+
+    @Test
+    void getAvailabilityCalendar_EndBeforeStart_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/v1/hotels/{slug}/availability-calendar", SLUG)
+                .header("Authorization", "Bearer user-test")
+                .param("startDate", START.toString())
+                .param("endDate", START.minusDays(1).toString()))
+            .andExpect(status().isBadRequest());
+    }
+}
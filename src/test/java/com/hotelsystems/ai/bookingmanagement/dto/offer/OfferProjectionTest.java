@@ -0,0 +1,112 @@
+package com.hotelsystems.ai.bookingmanagement.dto.offer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hotelsystems.ai.bookingmanagement.enums.OfferSource;
+import com.hotelsystems.ai.bookingmanagement.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for OfferProjection and ProjectedOffersSearchResponse serialization.
+ */
+class OfferProjectionTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void of_NoParameters_IsFull() {
+        assertSame(OfferProjection.FULL, OfferProjection.of(null, null));
+        assertSame(OfferProjection.FULL, OfferProjection.of("full", " "));
+        assertTrue(OfferProjection.of(null, null).isFull());
+        assertFalse(OfferProjection.of("summary", null).isFull());
+    }
+
+    @Test
+    void of_UnknownViewOrField_IsBadRequest() {
+        assertThrows(BadRequestException.class, () -> OfferProjection.of("lean", null));
+        assertThrows(BadRequestException.class, () -> OfferProjection.of(null, "offerId,price"));
+    }
+
+    @Test
+    void projectedFull_MatchesPlainSerialization() throws Exception {
+        OffersSearchResponse response = response();
+        OfferProjection everything = OfferProjection.of(null,
+                "offerId,source,hotelId,roomTypeId,checkIn,checkOut,totalPrice,cancellationPolicySummary,payload");
+
+        JsonNode projected = objectMapper.valueToTree(new ProjectedOffersSearchResponse(response, everything));
+
+        assertEquals(objectMapper.valueToTree(response), projected);
+    }
+
+    @Test
+    void summaryView_OmitsPayload() {
+        JsonNode json = objectMapper.valueToTree(
+                new ProjectedOffersSearchResponse(response(), OfferProjection.of("summary", null)));
+
+        JsonNode offer = json.get("offers").get(0);
+        assertEquals("SUP-v2.abc", offer.get("offerId").asText());
+        assertEquals("2026-11-01", offer.get("checkIn").asText());
+        assertEquals("EUR", offer.get("totalPrice").get("currency").asText());
+        assertTrue(offer.has("cancellationPolicySummary"));
+        assertFalse(offer.has("payload"));
+        assertFalse(json.has("sources"));
+        assertFalse(json.has("partial"));
+    }
+
+    @Test
+    void fields_SelectOfferAndPayloadKeys() {
+        JsonNode json = objectMapper.valueToTree(new ProjectedOffersSearchResponse(response(),
+                OfferProjection.of(null, "offerId, totalPrice, payload.rateKey, payload.missing")));
+
+        JsonNode offer = json.get("offers").get(0);
+        assertEquals(3, offer.size());
+        assertEquals("SUP-v2.abc", offer.get("offerId").asText());
+        assertEquals(240.5, offer.get("totalPrice").get("amount").asDouble());
+        JsonNode payload = offer.get("payload");
+        assertEquals(1, payload.size());
+        assertEquals("RK-1", payload.get("rateKey").asText());
+    }
+
+    @Test
+    void fields_ExtendView() {
+        JsonNode json = objectMapper.valueToTree(new ProjectedOffersSearchResponse(response(),
+                OfferProjection.of("summary", "payload.perNightBreakdown")));
+
+        JsonNode offer = json.get("offers").get(0);
+        assertTrue(offer.has("hotelId"));
+        assertEquals(1, offer.get("payload").size());
+        assertTrue(offer.get("payload").get("perNightBreakdown").isArray());
+    }
+
+    private OffersSearchResponse response() {
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.put("rateKey", "RK-1");
+        payload.putArray("perNightBreakdown").addObject().put("date", "2026-11-01");
+        payload.put("rawPayloadJson", "{\"rateKey\":\"RK-1\"}");
+
+        OfferDto offer = OfferDto.builder()
+                .offerId("SUP-v2.abc")
+                .source(OfferSource.SUPPLIER)
+                .hotelId("hotel-1")
+                .roomTypeId("DBL.ST")
+                .checkIn(LocalDate.of(2026, 11, 1))
+                .checkOut(LocalDate.of(2026, 11, 3))
+                .totalPrice(MoneyDto.builder().amount(new BigDecimal("240.50")).currency("EUR").build())
+                .payload(payload)
+                .build();
+        return OffersSearchResponse.builder()
+                .offers(List.of(offer))
+                .build();
+    }
+}
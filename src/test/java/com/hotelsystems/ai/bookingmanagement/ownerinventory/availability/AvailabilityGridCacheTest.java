@@ -0,0 +1,141 @@
+package com.hotelsystems.ai.bookingmanagement.ownerinventory.availability;
+
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.config.AvailabilityCacheProperties;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.InventoryAllotmentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for AvailabilityGridCache.
+ */
+class AvailabilityGridCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-15T00:00:00Z");
+    private static final LocalDate CHECK_IN = LocalDate.of(2025, 6, 20);
+    private static final LocalDate CHECK_OUT = CHECK_IN.plusDays(2);
+
+    private InventoryAllotmentRepository allotmentRepository;
+    private AvailabilityCacheProperties properties;
+    private AvailabilityGridCache cache;
+
+    @BeforeEach
+    void setUp() {
+        allotmentRepository = mock(InventoryAllotmentRepository.class);
+        when(allotmentRepository.findByHotelIdAndOptionalRoomTypeIdAndDateRange(any(), any(), any(), any()))
+            .thenReturn(List.of());
+        properties = new AvailabilityCacheProperties();
+        cache = new AvailabilityGridCache(allotmentRepository, properties, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void invalidateHotel_InsideTransaction_EvictsAgainAfterCompletion() {
+        // Given: a grid reloaded inside the writing transaction after invalidateHotel
+        TransactionSynchronizationManager.initSynchronization();
+        lookup("room-1");
+        cache.invalidateHotel("hotel-1");
+        lookup("room-1");
+        assertEquals(1, cache.size());
+
+        // When: the transaction completes
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        // Then: the reloaded grid is gone and the next lookup loads again
+        assertEquals(0, cache.size());
+        lookup("room-1");
+        verifyLoads("room-1", 3);
+    }
+
+    @Test
+    void invalidateDuringLoad_LoadedGridIsNotInstalled() {
+        // Given: a write invalidates the key while its grid is being loaded
+        when(allotmentRepository.findByHotelIdAndOptionalRoomTypeIdAndDateRange(eq("hotel-1"), eq("room-1"), any(), any()))
+            .thenAnswer(invocation -> {
+                cache.invalidate("hotel-1", "room-1");
+                return List.of();
+            })
+            .thenReturn(List.of());
+
+        // When
+        lookup("room-1");
+
+        // Then: the raced load is discarded, the next lookup loads again and is cached
+        assertEquals(0, cache.size());
+        lookup("room-1");
+        lookup("room-1");
+        verifyLoads("room-1", 2);
+    }
+
+    @Test
+    void maxEntries_EvictsLeastRecentlyUsedGrid() {
+        properties.setMaxEntries(2);
+        lookup("room-1");
+        lookup("room-2");
+        lookup("room-1");
+        lookup("room-3");
+
+        // room-2 was least recently used
+        assertEquals(2, cache.size());
+        lookup("room-1");
+        verifyLoads("room-1", 1);
+        lookup("room-2");
+        verifyLoads("room-2", 2);
+    }
+
+    @Test
+    void minAvailableByRoomType_LoadsMissingGridsWithOneHotelWideQuery() {
+        // Given: room-1 already cached
+        lookup("room-1");
+
+        // When
+        Map<String, OptionalInt> result = cache.minAvailableByRoomType(
+            "hotel-1", List.of("room-1", "room-2", "room-3"), CHECK_IN, CHECK_OUT);
+
+        // Then: one hotel-wide load for the two misses, and every grid is now cached
+        assertEquals(3, result.size());
+        verify(allotmentRepository, times(1))
+            .findByHotelIdAndOptionalRoomTypeIdAndDateRange(eq("hotel-1"), isNull(), any(), any());
+        assertEquals(3, cache.size());
+        lookup("room-2");
+        lookup("room-3");
+        verifyLoads("room-2", 0);
+        verifyLoads("room-3", 0);
+    }
+
+    private void lookup(String roomTypeId) {
+        assertTrue(cache.minAvailable("hotel-1", roomTypeId, CHECK_IN, CHECK_OUT).isPresent());
+    }
+
+    private void verifyLoads(String roomTypeId, int times) {
+        verify(allotmentRepository, times(times))
+            .findByHotelIdAndOptionalRoomTypeIdAndDateRange(eq("hotel-1"), eq(roomTypeId), any(), any());
+    }
+}
@@ -1,10 +1,14 @@
 package com.hotelsystems.ai.bookingmanagement.ownerinventory.availability;
 
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.config.AvailabilityCacheProperties;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.InventoryAllotmentEntity;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.InventoryReservationEntity;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.ReservationStatus;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.InventoryAllotmentRepository;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.InventoryReservationRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +18,10 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,8 +30,9 @@ import static org.junit.jupiter.api.Assertions.*;
  * Tests for AvailabilityService.
  */
 @DataJpaTest
-@Import(AvailabilityService.class)
-@TestPropertySource(locations = "classpath:application-test.properties")
+@Import({AvailabilityService.class, AvailabilityGridCache.class, AvailabilityCacheProperties.class})
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @Transactional
 class AvailabilityServiceTest {
     
@@ -36,6 +45,12 @@ class AvailabilityServiceTest {
     @Autowired
     private AvailabilityService availabilityService;
     
+    @Autowired
+    private AvailabilityGridCache gridCache;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
     private String hotelId;
     private String roomTypeId;
     private LocalDate checkIn;
@@ -204,6 +219,136 @@ class AvailabilityServiceTest {
     
     // Helper methods
     
+    @Test
+    void minAvailable_ServedFromGridCache_UntilInvalidated() {
+        // Given: Allotments inside the cached window (future dates) with qty = 5
+        LocalDate futureCheckIn = LocalDate.now().plusDays(10);
+        LocalDate futureCheckOut = futureCheckIn.plusDays(3);
+        createAllotments(hotelId, roomTypeId, futureCheckIn, futureCheckOut, 5, false);
+        assertEquals(5, availabilityService.minAvailable(hotelId, roomTypeId, futureCheckIn, futureCheckOut));
+        
+        // When: A row changes without invalidation
+        InventoryAllotmentEntity allotment = allotmentRepository
+            .findByHotelIdAndRoomTypeIdAndDate(hotelId, roomTypeId, futureCheckIn.plusDays(1))
+            .orElseThrow();
+        allotment.setAllotmentQty(2);
+        allotmentRepository.saveAndFlush(allotment);
+        
+        // Then: The cached grid still answers, and invalidation picks up the new value
+        assertEquals(5, availabilityService.minAvailable(hotelId, roomTypeId, futureCheckIn, futureCheckOut));
+        gridCache.invalidate(hotelId, roomTypeId);
+        assertEquals(2, availabilityService.minAvailable(hotelId, roomTypeId, futureCheckIn, futureCheckOut));
+    }
+    
+    @Test
+    void minAvailableByRoomType_ReturnsPerRoomTypeValues() {
+        // Given: Three room types - one free, one partly reserved, one with a stop-sell night
+        createAllotments(hotelId, "rt-free", checkIn, checkOut, 5, false);
+        createAllotments(hotelId, "rt-reserved", checkIn, checkOut, 3, false);
+        createReservation(UUID.randomUUID(), hotelId, "rt-reserved", checkIn, checkOut, 2);
+        createAllotments(hotelId, "rt-stopsell", checkIn, checkOut, 5, false);
+        allotmentRepository.findByHotelIdAndRoomTypeIdAndDate(hotelId, "rt-stopsell", checkIn.plusDays(2))
+            .ifPresent(a -> a.setStopSell(true));
+        
+        // When: Batch lookup including a room type without allotments
+        Map<String, Integer> result = availabilityService.minAvailableByRoomType(
+            hotelId, List.of("rt-free", "rt-reserved", "rt-stopsell", "rt-missing"), checkIn, checkOut);
+        
+        // Then: Same values as the single room type lookup
+        assertEquals(5, result.get("rt-free"));
+        assertEquals(1, result.get("rt-reserved"));
+        assertEquals(0, result.get("rt-stopsell"));
+        assertEquals(0, result.get("rt-missing"));
+    }
+    
+    @Test
+    void minAvailableByRoomType_QueryCountConstant_AsRoomTypesGrow() {
+        // Given/When/Then: Past dates bypass the grid cache; one range scan for 1 and 15 room types
+        long singleRoomTypeQueries = countBatchQueries(1, checkIn, checkOut);
+        long manyRoomTypesQueries = countBatchQueries(15, checkIn, checkOut);
+        
+        assertEquals(1, singleRoomTypeQueries);
+        assertEquals(singleRoomTypeQueries, manyRoomTypesQueries);
+    }
+    
+    @Test
+    void minAvailableByRoomType_ColdGridCache_LoadsAllRoomTypesWithOneQuery() {
+        // Given: Future dates inside the grid window, nothing cached yet
+        LocalDate futureCheckIn = LocalDate.now(ZoneOffset.UTC).plusDays(10);
+        LocalDate futureCheckOut = futureCheckIn.plusDays(4);
+        
+        // When/Then: One hotel-wide grid load for 1 and 15 room types
+        long singleRoomTypeQueries = countBatchQueries(1, futureCheckIn, futureCheckOut);
+        long manyRoomTypesQueries = countBatchQueries(15, futureCheckIn, futureCheckOut);
+        
+        assertEquals(1, singleRoomTypeQueries);
+        assertEquals(singleRoomTypeQueries, manyRoomTypesQueries);
+        
+        // And: The grids are now warm, so repeating the lookup runs no query
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<String> roomTypeIds = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            roomTypeIds.add("rt-" + i);
+        }
+        Map<String, Integer> result = availabilityService.minAvailableByRoomType(
+            "hotel-batch-15-" + futureCheckIn, roomTypeIds, futureCheckIn, futureCheckOut);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        result.values().forEach(available -> assertEquals(5, available));
+    }
+    
+    @Test
+    void nightlyAvailability_ReturnsPerNightValuesFromOneRangeScan() {
+        // Given: One room type with a reservation and a stop-sell night, one with a missing night
+        createAllotments(hotelId, "rt-a", checkIn, checkOut, 4, false);
+        createReservation(UUID.randomUUID(), hotelId, "rt-a", checkIn.plusDays(1), checkIn.plusDays(3), 3);
+        allotmentRepository.findByHotelIdAndRoomTypeIdAndDate(hotelId, "rt-a", checkIn.plusDays(3))
+            .ifPresent(a -> a.setStopSell(true));
+        createAllotment(hotelId, "rt-b", checkIn, 2, false);
+        allotmentRepository.flush();
+        
+        // When
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Map<String, NightlyAvailability> result = availabilityService.nightlyAvailability(
+            hotelId, List.of("rt-a", "rt-b"), checkIn, checkOut);
+        
+        // Then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        NightlyAvailability a = result.get("rt-a");
+        assertEquals(4, a.getNights());
+        assertEquals(4, a.availableAt(0));
+        assertEquals(1, a.availableAt(1));
+        assertEquals(1, a.availableAt(2));
+        assertEquals(0, a.availableAt(3));
+        assertTrue(a.isStopSellAt(3));
+        NightlyAvailability b = result.get("rt-b");
+        assertEquals(2, b.availableAt(0));
+        assertEquals(0, b.availableAt(1));
+        assertFalse(b.isLoadedAt(1));
+    }
+    
+    private long countBatchQueries(int roomTypeCount, LocalDate checkIn, LocalDate checkOut) {
+        String batchHotelId = "hotel-batch-" + roomTypeCount + "-" + checkIn;
+        List<String> roomTypeIds = new ArrayList<>();
+        for (int i = 0; i < roomTypeCount; i++) {
+            String id = "rt-" + i;
+            roomTypeIds.add(id);
+            createAllotments(batchHotelId, id, checkIn, checkOut, 5, false);
+        }
+        allotmentRepository.flush();
+        
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Map<String, Integer> result = availabilityService.minAvailableByRoomType(
+            batchHotelId, roomTypeIds, checkIn, checkOut);
+        long queries = statistics.getPrepareStatementCount();
+        
+        assertEquals(roomTypeCount, result.size());
+        result.values().forEach(available -> assertEquals(5, available));
+        return queries;
+    }
+    
     private void createAllotments(String hotelId, String roomTypeId, LocalDate start, LocalDate end, int qty, boolean stopSell) {
         LocalDate current = start;
         while (current.isBefore(end)) {
@@ -224,5 +369,12 @@ class AvailabilityServiceTest {
             bookingId, hotelId, roomTypeId, checkIn, checkOut, roomsCount);
         reservation.setStatus(ReservationStatus.RESERVED);
         reservationRepository.save(reservation);
+        
+        // Keep the maintained per-night counters in step, as ReservationService.reserve does
+        allotmentRepository.findByHotelIdAndRoomTypeIdAndDateBetween(hotelId, roomTypeId, checkIn, checkOut.minusDays(1))
+            .forEach(allotment -> {
+                allotment.setReservedQty(allotment.getReservedQty() + roomsCount);
+                allotmentRepository.save(allotment);
+            });
     }
 }
@@ -0,0 +1,47 @@
+package com.hotelsystems.ai.bookingmanagement.ownerinventory.availability;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SlidingWindowMinimum.
+ */
+class SlidingWindowMinimumTest {
+    
+    @Test
+    void of_ReturnsMinimumPerWindowStart() {
+        int[] nightly = {5, 3, 4, 0, 2, 6, 6, 1};
+        
+        assertArrayEquals(new int[] {3, 0, 0, 0, 2, 1}, SlidingWindowMinimum.of(nightly, 3));
+        assertArrayEquals(nightly, SlidingWindowMinimum.of(nightly, 1));
+        assertArrayEquals(new int[] {0}, SlidingWindowMinimum.of(nightly, nightly.length));
+    }
+    
+    @Test
+    void of_ReturnsEmpty_WhenWindowLongerThanValues() {
+        assertEquals(0, SlidingWindowMinimum.of(new int[] {1, 2}, 3).length);
+    }
+    
+    @Test
+    void of_MatchesBruteForce() {
+        Random random = new Random(42);
+        int[] nightly = new int[90];
+        for (int i = 0; i < nightly.length; i++) {
+            nightly[i] = random.nextInt(5);
+        }
+        
+        for (int window = 1; window <= 14; window++) {
+            int[] minimums = SlidingWindowMinimum.of(nightly, window);
+            for (int start = 0; start < minimums.length; start++) {
+                int expected = Integer.MAX_VALUE;
+                for (int i = start; i < start + window; i++) {
+                    expected = Math.min(expected, nightly[i]);
+                }
+                assertEquals(expected, minimums[start], "window " + window + " start " + start);
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.hotelsystems.ai.bookingmanagement.ownerinventory.controller;
+
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.AvailabilityGridCache;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.InventoryChangeNotifier;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.config.AvailabilityCacheProperties;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.config.ReservationProperties;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.dto.BulkUpsertInventoryRequest;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.dto.InventoryUpdateRequest;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.InventoryAllotmentEntity;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.RoomTypeEntity;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.pricing.PricingIntelligenceClient;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.InventoryAllotmentRepository;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.InventoryReservationRepository;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.RoomTypeRepository;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.reservation.ReservationService;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.reservation.ReservedQuantityReconciliationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests that admin inventory edits running concurrently with a reservation do not
+ * overwrite its reserved_qty increment.
+ * Each side commits in its own transaction so they really contend on the allotment row.
+ */
+@DataJpaTest
+@Import({ReservationService.class, ReservedQuantityReconciliationService.class, AvailabilityGridCache.class,
+         InventoryChangeNotifier.class, AvailabilityCacheProperties.class, ReservationProperties.class})
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AdminInventoryConcurrencyTest {
+
+    private final String hotelId = "hotel-admin-race";
+    private final String roomTypeId = "room-type-admin-race";
+    private final LocalDate night = LocalDate.now().plusDays(30);
+
+    @Autowired
+    private InventoryAllotmentRepository allotmentRepository;
+
+    @Autowired
+    private InventoryReservationRepository reservationRepository;
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservedQuantityReconciliationService reconciliationService;
+
+    @Autowired
+    private AvailabilityGridCache gridCache;
+
+    @Autowired
+    private InventoryChangeNotifier changeNotifier;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        roomTypeRepository.save(new RoomTypeEntity(roomTypeId, hotelId, "Double"));
+        allotmentRepository.save(new InventoryAllotmentEntity(hotelId, roomTypeId, night, 10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    @Test
+    void updateInventory_DuringReserve_KeepsReservedQty() throws Exception {
+        UUID rowId = allotmentRepository.findByHotelIdAndRoomTypeIdAndDate(hotelId, roomTypeId, night)
+            .orElseThrow().getId();
+        AdminInventoryUpdateController controller = new AdminInventoryUpdateController(
+            allotmentRepository, mock(PricingIntelligenceClient.class), gridCache, changeNotifier);
+
+        editDuringReserve(() -> controller.updateInventory(rowId, new InventoryUpdateRequest(8, null)));
+
+        InventoryAllotmentEntity allotment = allotmentRepository.findById(rowId).orElseThrow();
+        assertEquals(8, allotment.getAllotmentQty());
+        assertEquals(3, allotment.getReservedQty());
+    }
+
+    @Test
+    void bulkUpsertInventory_DuringReserve_KeepsReservedQty() throws Exception {
+        AdminInventoryController controller = new AdminInventoryController(
+            allotmentRepository, mock(PricingIntelligenceClient.class), roomTypeRepository,
+            reconciliationService, gridCache, changeNotifier);
+
+        editDuringReserve(() -> controller.bulkUpsertInventory(hotelId,
+            new BulkUpsertInventoryRequest(roomTypeId, night, night.plusDays(1), 8, false)));
+
+        InventoryAllotmentEntity allotment = allotmentRepository
+            .findByHotelIdAndRoomTypeIdAndDate(hotelId, roomTypeId, night).orElseThrow();
+        assertEquals(8, allotment.getAllotmentQty());
+        assertEquals(3, allotment.getReservedQty());
+        assertTrue(reconciliationService.reconcile(hotelId, roomTypeId, night, night.plusDays(1), false).isEmpty());
+    }
+
+    /**
+     * Runs the admin edit while a reservation of 3 rooms holds its transaction open, then
+     * lets the reservation commit before the edit can.
+     */
+    private void editDuringReserve(Runnable adminEdit) throws Exception {
+        CountDownLatch reserved = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> reservation = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            reservationService.reserve(UUID.randomUUID(), hotelId, roomTypeId, night, night.plusDays(1), 3);
+            reserved.countDown();
+            try {
+                commit.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(reserved.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> edit = CompletableFuture.runAsync(
+            () -> transactionTemplate.executeWithoutResult(status -> adminEdit.run()));
+        Thread.sleep(200); // Give the edit time to read the row before the reservation commits
+        commit.countDown();
+
+        reservation.get(10, TimeUnit.SECONDS);
+        edit.get(10, TimeUnit.SECONDS);
+    }
+
+    private void cleanUp() {
+        reservationRepository.deleteAll();
+        allotmentRepository.deleteAll();
+        roomTypeRepository.deleteAll();
+    }
+}
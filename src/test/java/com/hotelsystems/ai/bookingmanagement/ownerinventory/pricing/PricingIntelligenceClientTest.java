@@ -39,6 +39,7 @@ class PricingIntelligenceClientTest {
         assertThat(quote).isNotNull();
         assertThat(quote.getCurrency()).isEqualTo("INR");
         assertThat(quote.getTotalPriceMinor()).isEqualTo(24000L);
+        assertThat(quote.getNightlyPricesMinor()).containsExactly(12000L, 12000L);
     }
     
     @Test
@@ -0,0 +1,147 @@
+package com.hotelsystems.ai.bookingmanagement.ownerinventory.reservation;
+
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.AvailabilityGridCache;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.InventoryChangeNotifier;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.config.AvailabilityCacheProperties;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.config.ReservationArchiveProperties;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.InventoryAllotmentEntity;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.InventoryReservationArchiveEntity;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.InventoryReservationEntity;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.ReservationStatus;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.InventoryAllotmentRepository;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.InventoryReservationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ReservationArchiver.
+ */
+@DataJpaTest
+@Import({ReservedQuantityReconciliationService.class, AvailabilityGridCache.class, InventoryChangeNotifier.class,
+         AvailabilityCacheProperties.class})
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Transactional
+class ReservationArchiverTest {
+    
+    private static final Instant NOW = Instant.parse("2025-06-15T00:00:00Z");
+    
+    @Autowired
+    private InventoryReservationRepository reservationRepository;
+    
+    @Autowired
+    private InventoryAllotmentRepository allotmentRepository;
+    
+    @Autowired
+    private ReservedQuantityReconciliationService reconciliationService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    private ReservationArchiveProperties properties;
+    private ReservationArchiver archiver;
+    
+    @BeforeEach
+    void setUp() {
+        properties = new ReservationArchiveProperties();
+        properties.setPastStayRetentionDays(30);
+        properties.setReleasedRetentionMs(3600000);
+        properties.setBatchSize(2);
+        properties.setMaxBatchesPerRun(10);
+        archiver = new ReservationArchiver(reservationRepository, new TransactionTemplate(transactionManager),
+            properties, new SimpleMeterRegistry(), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+    
+    @Test
+    void archive_MovesFinishedStaysAndOldReleasedRows_KeepsLiveReservations() {
+        // Given: two finished stays, one old RELEASED upcoming stay, one live RESERVED stay
+        LocalDate today = LocalDate.ofInstant(NOW, ZoneOffset.UTC);
+        UUID finished1 = createReservation(today.minusDays(60), today.minusDays(58), ReservationStatus.RESERVED);
+        UUID finished2 = createReservation(today.minusDays(45), today.minusDays(40), ReservationStatus.RELEASED);
+        UUID released = createReservation(today.plusDays(10), today.plusDays(12), ReservationStatus.RELEASED);
+        UUID live = createReservation(today.plusDays(10), today.plusDays(12), ReservationStatus.RESERVED);
+        entityManager.createQuery("UPDATE InventoryReservationEntity ir SET ir.updatedAt = :old WHERE ir.id = :id")
+            .setParameter("old", NOW.minus(2, ChronoUnit.HOURS))
+            .setParameter("id", released)
+            .executeUpdate();
+        
+        // When
+        int archived = archiver.archive();
+        
+        // Then
+        assertEquals(3, archived);
+        assertTrue(reservationRepository.findById(live).isPresent());
+        for (UUID id : new UUID[] {finished1, finished2, released}) {
+            assertTrue(reservationRepository.findById(id).isEmpty());
+            InventoryReservationArchiveEntity archive = entityManager.find(InventoryReservationArchiveEntity.class, id);
+            assertNotNull(archive);
+            assertEquals(NOW, archive.getArchivedAt());
+        }
+    }
+    
+    @Test
+    void archive_StopsAfterMaxBatchesPerRun() {
+        // Given: more finished stays than one run may move
+        LocalDate today = LocalDate.ofInstant(NOW, ZoneOffset.UTC);
+        for (int i = 0; i < 5; i++) {
+            createReservation(today.minusDays(90 + i), today.minusDays(88 + i), ReservationStatus.RESERVED);
+        }
+        properties.setMaxBatchesPerRun(2);
+        
+        // When / Then: 2 batches of 2, the rest waits for the next run
+        assertEquals(4, archiver.archive());
+        assertEquals(1, archiver.archive());
+        assertEquals(0, archiver.archive());
+    }
+    
+    @Test
+    void reconcile_AfterFinishedStayIsArchived_ReportsNoDrift() {
+        // Given: a finished RESERVED stay whose rooms are counted in reserved_qty
+        LocalDate today = LocalDate.ofInstant(NOW, ZoneOffset.UTC);
+        LocalDate checkIn = today.minusDays(60);
+        LocalDate checkOut = today.minusDays(58);
+        for (LocalDate date = checkIn; date.isBefore(checkOut); date = date.plusDays(1)) {
+            InventoryAllotmentEntity allotment = new InventoryAllotmentEntity("hotel-archive", "room-archive", date, 5);
+            allotment.setReservedQty(1);
+            allotmentRepository.saveAndFlush(allotment);
+        }
+        UUID finished = createReservation(checkIn, checkOut, ReservationStatus.RESERVED);
+        
+        // When
+        assertEquals(1, archiver.archive());
+        
+        // Then: the archived reservation is still counted, nothing is reported or repaired
+        assertTrue(reservationRepository.findById(finished).isEmpty());
+        assertTrue(reconciliationService.reconcile("hotel-archive", "room-archive", checkIn, checkOut, true).isEmpty());
+        allotmentRepository.findByHotelIdAndRoomTypeIdAndDateBetween("hotel-archive", "room-archive", checkIn,
+                checkOut.minusDays(1))
+            .forEach(allotment -> assertEquals(1, allotment.getReservedQty()));
+    }
+    
+    private UUID createReservation(LocalDate checkIn, LocalDate checkOut, ReservationStatus status) {
+        InventoryReservationEntity reservation = new InventoryReservationEntity(
+            UUID.randomUUID(), "hotel-archive", "room-archive", checkIn, checkOut, 1);
+        reservation.setStatus(status);
+        return reservationRepository.saveAndFlush(reservation).getId();
+    }
+}
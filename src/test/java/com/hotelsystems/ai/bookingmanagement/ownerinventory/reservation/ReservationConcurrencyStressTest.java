@@ -0,0 +1,176 @@
+package com.hotelsystems.ai.bookingmanagement.ownerinventory.reservation;
+
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.AvailabilityGridCache;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.InventoryChangeNotifier;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.config.AvailabilityCacheProperties;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.config.ReservationProperties;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.InventoryAllotmentEntity;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.InventoryReservationEntity;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.ReservationStatus;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.exception.ConflictException;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.InventoryAllotmentRepository;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.InventoryReservationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrency stress test for the two ReservationService strategies.
+ * Each reservation commits in its own transaction so threads really contend on the allotment rows;
+ * afterwards no night may be oversold and every reserved_qty must equal its live RESERVED rows.
+ * Every attempt must end in a reservation or a ConflictException, and each strategy publishes
+ * its throughput (attempts/s, reservations/s) through the TestReporter so runs can be compared.
+ */
+@DataJpaTest
+@Import({ReservationService.class, AvailabilityGridCache.class, InventoryChangeNotifier.class, AvailabilityCacheProperties.class, ReservationProperties.class})
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReservationConcurrencyStressTest {
+    
+    private static final int THREADS = 12;
+    private static final int ATTEMPTS_PER_THREAD = 8;
+    private static final int CAPACITY = 40;
+    
+    @Autowired
+    private InventoryAllotmentRepository allotmentRepository;
+    
+    @Autowired
+    private InventoryReservationRepository reservationRepository;
+    
+    @Autowired
+    private ReservationService reservationService;
+    
+    @Autowired
+    private ReservationProperties reservationProperties;
+    
+    private final String hotelId = "hotel-stress";
+    private final String roomTypeId = "room-type-stress";
+    private final LocalDate firstNight = LocalDate.of(2024, 3, 1);
+    
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        // 4 nights with the same capacity
+        for (int i = 0; i < 4; i++) {
+            allotmentRepository.save(new InventoryAllotmentEntity(hotelId, roomTypeId, firstNight.plusDays(i), CAPACITY));
+        }
+    }
+    
+    @AfterEach
+    void tearDown() {
+        reservationProperties.setStrategy(ReservationProperties.Strategy.PESSIMISTIC_LOCK);
+        cleanUp();
+    }
+    
+    @Test
+    void pessimisticLock_NeverOversells_UnderContention(TestReporter testReporter) throws Exception {
+        // Given: Row-lock strategy
+        reservationProperties.setStrategy(ReservationProperties.Strategy.PESSIMISTIC_LOCK);
+        
+        // When/Then: Hammer overlapping stays and verify counters
+        runStressAndVerify(testReporter);
+    }
+    
+    @Test
+    void conditionalUpdate_NeverOversells_UnderContention(TestReporter testReporter) throws Exception {
+        // Given: Guarded UPDATE strategy
+        reservationProperties.setStrategy(ReservationProperties.Strategy.CONDITIONAL_UPDATE);
+        
+        // When/Then: Hammer overlapping stays and verify counters
+        runStressAndVerify(testReporter);
+    }
+    
+    private void runStressAndVerify(TestReporter testReporter) throws Exception {
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        Queue<RuntimeException> errors = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    // Overlapping stays: full 4 nights, first 2 nights, last 3 nights
+                    int shape = (thread + i) % 3;
+                    LocalDate checkIn = shape == 2 ? firstNight.plusDays(1) : firstNight;
+                    LocalDate checkOut = shape == 1 ? firstNight.plusDays(2) : firstNight.plusDays(4);
+                    try {
+                        reservationService.reserve(UUID.randomUUID(), hotelId, roomTypeId, checkIn, checkOut, 1);
+                        reserved.incrementAndGet();
+                    } catch (ConflictException e) {
+                        conflicts.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        errors.add(e);
+                    }
+                }
+                return null;
+            }));
+        }
+        
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        executor.shutdown();
+        
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+        assertTrue(errors.isEmpty(), () -> errors.size() + " attempts failed with something other than a conflict, first: "
+            + errors.peek());
+        assertEquals(attempts, reserved.get() + conflicts.get());
+        assertTrue(reserved.get() > 0, "Expected some reservations to succeed");
+        
+        double seconds = elapsedNanos / 1e9;
+        testReporter.publishEntry(Map.of(
+            "strategy", reservationProperties.getStrategy().name(),
+            "attemptsPerSecond", String.format("%.1f", attempts / seconds),
+            "reservationsPerSecond", String.format("%.1f", reserved.get() / seconds),
+            "conflicts", String.valueOf(conflicts.get())));
+        
+        // No night may exceed capacity, and every counter must match the committed reservations
+        List<InventoryReservationEntity> reservations = reservationRepository.findAll();
+        assertEquals(reserved.get(), reservations.size());
+        for (InventoryAllotmentEntity allotment : allotmentRepository
+                .findByHotelIdAndOptionalRoomTypeIdAndDateRange(hotelId, roomTypeId, firstNight, firstNight.plusDays(4))) {
+            int expected = reservations.stream()
+                .filter(r -> r.getStatus() == ReservationStatus.RESERVED)
+                .filter(r -> !allotment.getDate().isBefore(r.getCheckIn()) && allotment.getDate().isBefore(r.getCheckOut()))
+                .mapToInt(InventoryReservationEntity::getRoomsCount)
+                .sum();
+            assertTrue(allotment.getReservedQty() <= CAPACITY, "Oversold night " + allotment.getDate());
+            assertEquals(expected, allotment.getReservedQty(), "Counter drift on " + allotment.getDate());
+        }
+    }
+    
+    private void cleanUp() {
+        reservationRepository.deleteAll();
+        allotmentRepository.deleteAll();
+    }
+}
@@ -0,0 +1,75 @@
+package com.hotelsystems.ai.bookingmanagement.ownerinventory.reservation;
+
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.config.ReservationProperties;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.exception.ConflictException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ReservationLockManager.
+ */
+class ReservationLockManagerTest {
+    
+    private SimpleMeterRegistry meterRegistry;
+    private ReservationLockManager lockManager;
+    
+    @BeforeEach
+    void setUp() {
+        ReservationProperties properties = new ReservationProperties();
+        properties.setLockStripes(16);
+        properties.setLockTimeoutMs(100);
+        meterRegistry = new SimpleMeterRegistry();
+        lockManager = new ReservationLockManager(properties, meterRegistry);
+    }
+    
+    @Test
+    void withLock_ThrowsConflict_WhenSameKeyHeldPastTimeout() throws Exception {
+        // Given: Another thread holds the lock for the same hotel/room type
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> holder = executor.submit(() -> lockManager.withLock("hotel-1", "room-1", () -> {
+            held.countDown();
+            awaitQuietly(release);
+            return null;
+        }));
+        assertTrue(held.await(5, TimeUnit.SECONDS));
+        
+        // When/Then: A second caller fails fast with ConflictException
+        assertThrows(ConflictException.class,
+            () -> lockManager.withLock("hotel-1", "room-1", () -> "should not run"));
+        assertEquals(1, meterRegistry.get("owner.inventory.reservation.lock.wait").tag("outcome", "timeout").timer().count());
+        
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+    }
+    
+    @Test
+    void withLock_IsReentrant_ForSameThread() {
+        // When: Nested calls for the same key on one thread
+        String result = lockManager.withLock("hotel-1", "room-1",
+            () -> lockManager.withLock("hotel-1", "room-1", () -> "done"));
+        
+        // Then: No self-deadlock, queue is drained
+        assertEquals("done", result);
+        assertEquals(0, lockManager.getQueueDepth());
+    }
+    
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
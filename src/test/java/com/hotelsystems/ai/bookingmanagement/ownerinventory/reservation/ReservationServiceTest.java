@@ -1,5 +1,7 @@
 package com.hotelsystems.ai.bookingmanagement.ownerinventory.reservation;
 
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.config.ReservationProperties;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.dto.ReservedQtyDriftResponse;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.InventoryAllotmentEntity;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.InventoryReservationEntity;
 import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.ReservationStatus;
@@ -24,7 +26,11 @@ import static org.junit.jupiter.api.Assertions.*;
  * Tests for ReservationService.
  */
 @DataJpaTest
-@Import({ReservationService.class, com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.AvailabilityService.class})
+@Import({ReservationService.class, ReservedQuantityReconciliationService.class, com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.AvailabilityService.class,
+         com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.AvailabilityGridCache.class,
+         com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.InventoryChangeNotifier.class,
+         com.hotelsystems.ai.bookingmanagement.ownerinventory.config.AvailabilityCacheProperties.class,
+         com.hotelsystems.ai.bookingmanagement.ownerinventory.config.ReservationProperties.class})
 @TestPropertySource(locations = "classpath:application-test.properties")
 @Transactional
 class ReservationServiceTest {
@@ -38,6 +44,12 @@ class ReservationServiceTest {
     @Autowired
     private ReservationService reservationService;
     
+    @Autowired
+    private ReservedQuantityReconciliationService reconciliationService;
+    
+    @Autowired
+    private ReservationProperties reservationProperties;
+    
     private String hotelId;
     private String roomTypeId;
     private LocalDate checkIn;
@@ -175,6 +187,92 @@ class ReservationServiceTest {
         assertEquals(ReservationStatus.RELEASED, reservations.get(0).getStatus());
     }
     
+    @Test
+    void reserveAndRelease_MaintainReservedQtyCounters() {
+        // Given: Allotments exist with qty = 3
+        createAllotments(hotelId, roomTypeId, checkIn, checkOut, 3, false);
+        
+        // When: Reserve 2 rooms
+        reservationService.reserve(bookingId, hotelId, roomTypeId, checkIn, checkOut, 2);
+        
+        // Then: Every night carries reservedQty = 2
+        List<InventoryAllotmentEntity> allotments = allotmentRepository
+            .findByHotelIdAndRoomTypeIdAndDateBetween(hotelId, roomTypeId, checkIn, checkOut.minusDays(1));
+        assertEquals(4, allotments.size());
+        allotments.forEach(allotment -> assertEquals(2, allotment.getReservedQty()));
+        
+        // When: Release
+        reservationService.releaseByBookingId(bookingId);
+        
+        // Then: Counters are back to 0
+        allotmentRepository.findByHotelIdAndRoomTypeIdAndDateBetween(hotelId, roomTypeId, checkIn, checkOut.minusDays(1))
+            .forEach(allotment -> assertEquals(0, allotment.getReservedQty()));
+    }
+    
+    @Test
+    void reserveCart_ReservesEveryLine_InOneCall() {
+        // Given: Two room types with capacity
+        String otherRoomTypeId = "room-type-789";
+        createAllotments(hotelId, roomTypeId, checkIn, checkOut, 3, false);
+        createAllotments(hotelId, otherRoomTypeId, checkIn, checkOut, 2, false);
+        
+        // When: Reserve a cart with both room types (duplicate line merged)
+        List<UUID> reservationIds = reservationService.reserveCart(bookingId, hotelId, checkIn, checkOut, List.of(
+            new CartReservationLine(otherRoomTypeId, 1),
+            new CartReservationLine(roomTypeId, 2),
+            new CartReservationLine(otherRoomTypeId, 1)));
+        
+        // Then: One reservation per room type, counters updated on every night
+        assertEquals(2, reservationIds.size());
+        assertEquals(2, reservationRepository.findByBookingId(bookingId).size());
+        allotmentRepository.findByHotelIdAndRoomTypeIdAndDateBetween(hotelId, roomTypeId, checkIn, checkOut.minusDays(1))
+            .forEach(allotment -> assertEquals(2, allotment.getReservedQty()));
+        allotmentRepository.findByHotelIdAndRoomTypeIdAndDateBetween(hotelId, otherRoomTypeId, checkIn, checkOut.minusDays(1))
+            .forEach(allotment -> assertEquals(2, allotment.getReservedQty()));
+    }
+    
+    @Test
+    void reserveCart_ReservesNothing_WhenAnyLineInsufficient() {
+        // Given: Second room type only has 1 room
+        String otherRoomTypeId = "room-type-789";
+        createAllotments(hotelId, roomTypeId, checkIn, checkOut, 3, false);
+        createAllotments(hotelId, otherRoomTypeId, checkIn, checkOut, 1, false);
+        
+        // When/Then: Cart asking for 2 of the second room type fails
+        assertThrows(ConflictException.class, () -> reservationService.reserveCart(bookingId, hotelId, checkIn, checkOut, List.of(
+            new CartReservationLine(roomTypeId, 1),
+            new CartReservationLine(otherRoomTypeId, 2))));
+        
+        // And: No line was reserved
+        assertTrue(reservationRepository.findByBookingId(bookingId).isEmpty());
+        allotmentRepository.findByHotelIdAndRoomTypeIdAndDateBetween(hotelId, roomTypeId, checkIn, checkOut.minusDays(1))
+            .forEach(allotment -> assertEquals(0, allotment.getReservedQty()));
+    }
+    
+    @Test
+    void reconcile_ReportsAndRepairsDriftedCounters() {
+        // Given: A reservation exists but one night's counter has drifted
+        createAllotments(hotelId, roomTypeId, checkIn, checkOut, 5, false);
+        reservationService.reserve(bookingId, hotelId, roomTypeId, checkIn, checkOut, 1);
+        InventoryAllotmentEntity drifted = allotmentRepository
+            .findByHotelIdAndRoomTypeIdAndDate(hotelId, roomTypeId, checkIn.plusDays(2)).orElseThrow();
+        drifted.setReservedQty(4);
+        allotmentRepository.save(drifted);
+        
+        // When: Reconcile with repair
+        List<ReservedQtyDriftResponse> drifts = reconciliationService.reconcile(
+            hotelId, roomTypeId, checkIn, checkOut, true);
+        
+        // Then: Only the drifted night is reported and it is repaired
+        assertEquals(1, drifts.size());
+        assertEquals(checkIn.plusDays(2), drifts.get(0).getDate());
+        assertEquals(4, drifts.get(0).getStoredReservedQty());
+        assertEquals(1, drifts.get(0).getExpectedReservedQty());
+        assertEquals(1, allotmentRepository
+            .findByHotelIdAndRoomTypeIdAndDate(hotelId, roomTypeId, checkIn.plusDays(2)).orElseThrow().getReservedQty());
+        assertTrue(reconciliationService.reconcile(hotelId, roomTypeId, checkIn, checkOut, false).isEmpty());
+    }
+    
     @Test
     void releaseByBookingId_NoOp_WhenNoReservationsExist() {
         // Given: No reservations exist for bookingId
@@ -187,6 +285,28 @@ class ReservationServiceTest {
         assertTrue(reservations.isEmpty());
     }
     
+    @Test
+    void conditionalUpdate_ReserveAndRelease_AllotmentsReadAfterwardsSeeCounters() {
+        // Given: Allotments already loaded into the persistence context
+        reservationProperties.setStrategy(ReservationProperties.Strategy.CONDITIONAL_UPDATE);
+        try {
+            createAllotments(hotelId, roomTypeId, checkIn, checkOut, 5, false);
+            allotmentRepository.findByHotelIdAndRoomTypeIdAndDateBetween(hotelId, roomTypeId, checkIn, checkOut.minusDays(1));
+            
+            // When/Then: The bulk updates are visible to later reads in the same transaction
+            reservationService.reserve(bookingId, hotelId, roomTypeId, checkIn, checkOut, 2);
+            allotmentRepository.findByHotelIdAndRoomTypeIdAndDateBetween(hotelId, roomTypeId, checkIn, checkOut.minusDays(1))
+                .forEach(allotment -> assertEquals(2, allotment.getReservedQty()));
+            
+            reservationService.releaseByBookingId(bookingId);
+            allotmentRepository.findByHotelIdAndRoomTypeIdAndDateBetween(hotelId, roomTypeId, checkIn, checkOut.minusDays(1))
+                .forEach(allotment -> assertEquals(0, allotment.getReservedQty()));
+            assertEquals(ReservationStatus.RELEASED, reservationRepository.findByBookingId(bookingId).get(0).getStatus());
+        } finally {
+            reservationProperties.setStrategy(ReservationProperties.Strategy.PESSIMISTIC_LOCK);
+        }
+    }
+    
     // Helper methods
     
     private void createAllotments(String hotelId, String roomTypeId, LocalDate start, LocalDate end, int qty, boolean stopSell) {
@@ -209,5 +329,12 @@ class ReservationServiceTest {
             bookingId, hotelId, roomTypeId, checkIn, checkOut, roomsCount);
         reservation.setStatus(ReservationStatus.RESERVED);
         reservationRepository.save(reservation);
+        
+        // Keep the maintained per-night counters in step, as ReservationService.reserve does
+        allotmentRepository.findByHotelIdAndRoomTypeIdAndDateBetween(hotelId, roomTypeId, checkIn, checkOut.minusDays(1))
+            .forEach(allotment -> {
+                allotment.setReservedQty(allotment.getReservedQty() + roomsCount);
+                allotmentRepository.save(allotment);
+            });
     }
 }
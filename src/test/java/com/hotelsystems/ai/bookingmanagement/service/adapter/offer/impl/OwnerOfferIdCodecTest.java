@@ -0,0 +1,75 @@
+package com.hotelsystems.ai.bookingmanagement.service.adapter.offer.impl;
+
+import com.hotelsystems.ai.bookingmanagement.config.OwnerOfferIdProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for OwnerOfferIdCodec.
+ */
+class OwnerOfferIdCodecTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2026, 11, 1);
+    private static final LocalDate CHECK_OUT = LocalDate.of(2026, 11, 4);
+
+    private final OwnerOfferIdCodec codec = codec("test-owner-offer-id-signing-key-0123456789");
+
+    @Test
+    void encode_DecodesBackToSameOffer() {
+        String offerId = codec.encode("hotel-1", "room-type-7", CHECK_IN, CHECK_OUT);
+
+        assertTrue(offerId.startsWith("OWN-v2."));
+        assertEquals(Optional.of(new OwnerOfferIdCodec.OwnerOfferId("hotel-1", "room-type-7", CHECK_IN, CHECK_OUT)),
+            codec.decode(offerId));
+    }
+
+    @Test
+    void decode_TamperedBody_IsRejected() {
+        String offerId = codec.encode("hotel-1", "room-type-7", CHECK_IN, CHECK_OUT);
+        String otherBody = codec.encode("hotel-1", "room-type-8", CHECK_IN, CHECK_OUT).split("\\.")[1];
+        String signature = offerId.split("\\.")[2];
+
+        assertTrue(codec.decode("OWN-v2." + otherBody + "." + signature).isEmpty());
+    }
+
+    @Test
+    void decode_DifferentSigningKey_IsRejected() {
+        String offerId = codec("other-owner-offer-id-signing-key-0123456789").encode("hotel-1", "room-type-7", CHECK_IN, CHECK_OUT);
+
+        assertTrue(codec.decode(offerId).isEmpty());
+    }
+
+    @Test
+    void decode_MalformedIds_AreRejected() {
+        assertTrue(codec.decode(null).isEmpty());
+        assertTrue(codec.decode("OWN-1a2b3c4d").isEmpty());
+        assertTrue(codec.decode("OWN-v2.").isEmpty());
+        assertTrue(codec.decode("OWN-v2.abc").isEmpty());
+        assertTrue(codec.decode("OWN-v2.!!!.???").isEmpty());
+    }
+
+    @Test
+    void encodeLegacy_MatchesPreV2Format() {
+        String legacy = codec.encodeLegacy("hotel-1", "room-type-7", CHECK_IN, CHECK_OUT);
+
+        assertTrue(legacy.matches("OWN-[0-9a-f]{8}"));
+        assertFalse(codec.isV2(legacy));
+    }
+
+    @Test
+    void missingOrShortSigningKey_FailsAtStartup() {
+        assertThrows(IllegalStateException.class, () -> codec(null));
+        assertThrows(IllegalStateException.class, () -> codec(" "));
+        assertThrows(IllegalStateException.class, () -> codec("too-short-key"));
+    }
+
+    private static OwnerOfferIdCodec codec(String key) {
+        OwnerOfferIdProperties properties = new OwnerOfferIdProperties();
+        properties.setSigningKey(key);
+        return new OwnerOfferIdCodec(properties);
+    }
+}
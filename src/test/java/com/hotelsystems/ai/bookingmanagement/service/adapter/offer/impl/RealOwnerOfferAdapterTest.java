@@ -0,0 +1,106 @@
+package com.hotelsystems.ai.bookingmanagement.service.adapter.offer.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotelsystems.ai.bookingmanagement.config.OwnerOfferIdProperties;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OfferDto;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.AvailabilityService;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.NightlyAvailability;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.dto.PricingQuote;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.RoomTypeEntity;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.pricing.PricingIntelligenceClient;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.RoomTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for RealOwnerOfferAdapter flexible-date search.
+ */
+class RealOwnerOfferAdapterTest {
+
+    private static final String HOTEL_ID = "hotel-1";
+    private static final String ROOM_TYPE_ID = "room-type-1";
+    private static final LocalDate WINDOW_START = LocalDate.of(2026, 11, 1);
+    private static final LocalDate WINDOW_END = WINDOW_START.plusDays(4);
+
+    private RoomTypeRepository roomTypeRepository;
+    private AvailabilityService availabilityService;
+    private PricingIntelligenceClient pricingClient;
+    private RealOwnerOfferAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        roomTypeRepository = mock(RoomTypeRepository.class);
+        availabilityService = mock(AvailabilityService.class);
+        pricingClient = mock(PricingIntelligenceClient.class);
+        OwnerOfferIdProperties offerIdProperties = new OwnerOfferIdProperties();
+        offerIdProperties.setSigningKey("test-owner-offer-id-signing-key-0123456789");
+        adapter = new RealOwnerOfferAdapter(roomTypeRepository, availabilityService, pricingClient,
+            new ObjectMapper(), new OwnerOfferIdCodec(offerIdProperties), offerIdProperties);
+
+        when(roomTypeRepository.findByHotelId(HOTEL_ID))
+            .thenReturn(List.of(new RoomTypeEntity(ROOM_TYPE_ID, HOTEL_ID, "Double", 2)));
+        NightlyAvailability nightly = mock(NightlyAvailability.class);
+        when(nightly.getNights()).thenReturn(4);
+        when(nightly.dateAt(anyInt())).thenAnswer(invocation -> WINDOW_START.plusDays(invocation.<Integer>getArgument(0)));
+        when(nightly.minAvailableByCheckIn(1)).thenReturn(new int[]{1, 1, 1, 1});
+        when(nightly.minAvailableByCheckIn(2)).thenReturn(new int[]{1, 0, 1});
+        when(availabilityService.nightlyAvailability(eq(HOTEL_ID), any(), eq(WINDOW_START), eq(WINDOW_END)))
+            .thenReturn(Map.of(ROOM_TYPE_ID, nightly));
+    }
+
+    @Test
+    void searchFlexibleOffers_QuotesEachRoomTypeOnceForTheWindow() {
+        // Given: nightly prices 100, 200, 300, 400
+        when(pricingClient.getQuote(HOTEL_ID, ROOM_TYPE_ID, WINDOW_START, WINDOW_END, 2, "USD"))
+            .thenReturn(new PricingQuote("USD", 100000L, List.of(10000L, 20000L, 30000L, 40000L)));
+
+        // When
+        List<OfferDto> offers = adapter.searchFlexibleOffers(HOTEL_ID, WINDOW_START, WINDOW_END, List.of(1, 2), 2, 1);
+
+        // Then: one quote, and every stay is the sum of its own nights
+        verify(pricingClient, times(1)).getQuote(anyString(), anyString(), any(), any(), anyInt(), anyString());
+        assertEquals(6, offers.size());
+        assertEquals(new BigDecimal("400"), total(offers, WINDOW_START.plusDays(3), 1));
+        assertEquals(new BigDecimal("300"), total(offers, WINDOW_START, 2));
+        assertEquals(new BigDecimal("700"), total(offers, WINDOW_START.plusDays(2), 2));
+    }
+
+    @Test
+    void searchFlexibleOffers_QuoteWithoutNightlyPrices_QuotesEachStay() {
+        // Given: a pricing source that only returns totals
+        when(pricingClient.getQuote(anyString(), anyString(), any(), any(), anyInt(), anyString()))
+            .thenReturn(new PricingQuote("USD", 12300L));
+
+        // When
+        List<OfferDto> offers = adapter.searchFlexibleOffers(HOTEL_ID, WINDOW_START, WINDOW_END, List.of(1, 2), 2, 1);
+
+        // Then: the window quote plus one quote per stay
+        verify(pricingClient, times(7)).getQuote(anyString(), anyString(), any(), any(), anyInt(), anyString());
+        assertEquals(6, offers.size());
+        assertEquals(new BigDecimal("123"), total(offers, WINDOW_START, 2));
+    }
+
+    private static BigDecimal total(List<OfferDto> offers, LocalDate checkIn, int nights) {
+        return offers.stream()
+            .filter(offer -> offer.getCheckIn().equals(checkIn) && offer.getCheckOut().equals(checkIn.plusDays(nights)))
+            .findFirst()
+            .orElseThrow()
+            .getTotalPrice()
+            .getAmount();
+    }
+}
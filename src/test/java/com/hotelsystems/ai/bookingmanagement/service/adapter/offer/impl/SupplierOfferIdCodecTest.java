@@ -0,0 +1,90 @@
+package com.hotelsystems.ai.bookingmanagement.service.adapter.offer.impl;
+
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierCode;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SupplierOfferIdCodec.
+ */
+class SupplierOfferIdCodecTest {
+
+    private static final String RATE_KEY = "20261101|20261103|W|1|12345|DBL.ST|ID_B2B_26|RO|NRF|1~2~0||N@07~~2001a~-1234";
+
+    private final SupplierOfferIdCodec codec = new SupplierOfferIdCodec();
+    private final SupplierOfferIdCodec.View view = new SupplierOfferIdCodec.View();
+
+    @Test
+    void encode_DecodesBackToSameSegments() {
+        String offerId = codec.encode(SupplierCode.HOTELBEDS, "12345", RATE_KEY, "DBL.ST");
+
+        assertTrue(offerId.startsWith("SUP-v2."));
+        assertTrue(codec.decode(offerId, view));
+        assertEquals(SupplierCode.HOTELBEDS, view.supplierCode());
+        assertEquals("12345", view.supplierHotelId());
+        assertEquals(RATE_KEY, view.rateKey());
+        assertEquals("DBL.ST", view.roomCode());
+    }
+
+    @Test
+    void encode_MissingSegments_DecodeAsNull() {
+        String offerId = codec.encode(SupplierCode.TRAVELLANDA, "hotel-9", null, "");
+
+        assertTrue(codec.decode(offerId, view));
+        assertEquals(SupplierCode.TRAVELLANDA, view.supplierCode());
+        assertNull(view.rateKey());
+        assertNull(view.roomCode());
+    }
+
+    @Test
+    void decode_ReusedView_HoldsOnlyLatestId() {
+        String longId = codec.encode(SupplierCode.HOTELBEDS, "h".repeat(500), "r".repeat(300), "room-é");
+        String shortId = codec.encode(SupplierCode.TRAVELLANDA, "hotel-1", "rate-1", null);
+
+        assertTrue(codec.decode(longId, view));
+        assertEquals("room-é", view.roomCode());
+        assertTrue(codec.decode(shortId, view));
+        assertEquals(SupplierCode.TRAVELLANDA, view.supplierCode());
+        assertEquals("hotel-1", view.supplierHotelId());
+        assertEquals("rate-1", view.rateKey());
+        assertNull(view.roomCode());
+    }
+
+    @Test
+    void decode_MalformedIds_AreRejected() {
+        String offerId = codec.encode(SupplierCode.HOTELBEDS, "12345", RATE_KEY, "DBL.ST");
+
+        assertFalse(codec.decode(offerId.substring(0, offerId.length() - 3), view));
+        assertFalse(codec.decode("SUP-v2.", view));
+        assertFalse(codec.decode("SUP-v2.!!!!", view));
+        assertFalse(codec.decode(offerId.replace("SUP-v2.A", "SUP-v2.B"), view));
+        assertFalse(codec.decode(null, view));
+    }
+
+    @Test
+    void decodeLegacy_ReadsDashSeparatedIds() {
+        String offerId = "SUP-HOTELBEDS-" + base64("12345") + "-" + base64("NA") + "-" + base64("DBL.ST");
+
+        assertFalse(codec.isV2(offerId));
+        assertTrue(codec.decodeLegacy(offerId, view));
+        assertEquals(SupplierCode.HOTELBEDS, view.supplierCode());
+        assertEquals("12345", view.supplierHotelId());
+        assertNull(view.rateKey());
+        assertEquals("DBL.ST", view.roomCode());
+    }
+
+    @Test
+    void decodeLegacy_UnknownSupplierOrMissingSegment_IsRejected() {
+        assertFalse(codec.decodeLegacy("SUP-ACME-" + base64("1") + "-" + base64("2") + "-" + base64("3"), view));
+        assertFalse(codec.decodeLegacy("SUP-HOTELBEDS-" + base64("1") + "-" + base64("2"), view));
+        assertFalse(codec.decodeLegacy(codec.encode(SupplierCode.HOTELBEDS, "1", "2", "3"), view));
+    }
+
+    private static String base64(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
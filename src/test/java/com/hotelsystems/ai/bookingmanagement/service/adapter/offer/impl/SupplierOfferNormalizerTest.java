@@ -0,0 +1,179 @@
+package com.hotelsystems.ai.bookingmanagement.service.adapter.offer.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OfferDto;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OfferProjection;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OffersSearchResponse;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.ProjectedOffersSearchResponse;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.PerNightRateDto;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierCode;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierOfferDto;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.TaxesAndFeesPlaceholderDto;
+import com.hotelsystems.ai.bookingmanagement.supplier.entity.SupplierHotelMappingEntity;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for SupplierOfferNormalizer.
+ */
+class SupplierOfferNormalizerTest {
+
+    // Same date handling as the application's mapper (ISO dates, not timestamps)
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final SupplierOfferNormalizer normalizer = new SupplierOfferNormalizer(objectMapper);
+
+    @Test
+    void scan_PicksTopLevelKeys_SkippingNestedObjects() {
+        String raw = "{\"rooms\":[{\"rateKey\":\"nested\"}],\"policy\":{\"roomCode\":\"nested\"},"
+                + "\"rateKey\":\"RK-1\",\"roomCode\":\"DBL.ST\"}";
+
+        SupplierOfferNormalizer.RawOfferKeys keys = normalizer.scan(raw);
+
+        assertEquals("RK-1", keys.rateKey());
+        assertEquals("DBL.ST", keys.roomCode());
+    }
+
+    @Test
+    void scan_KeyPriorityWinsOverPosition() {
+        String raw = "{\"bookingKey\":\"BK\",\"room_code\":\"rc\",\"rate_key\":\"rk\",\"roomId\":\"rid\"}";
+
+        SupplierOfferNormalizer.RawOfferKeys keys = normalizer.scan(raw);
+
+        assertEquals("rk", keys.rateKey());
+        assertEquals("rc", keys.roomCode());
+    }
+
+    @Test
+    void scan_NonTextualValuesAreIgnored() {
+        SupplierOfferNormalizer.RawOfferKeys keys = normalizer.scan("{\"rateKey\":42,\"rateId\":\"R\",\"roomCode\":null}");
+
+        assertEquals("R", keys.rateKey());
+        assertNull(keys.roomCode());
+    }
+
+    @Test
+    void scan_MissingOrInvalidPayload_YieldsNoKeys() {
+        assertNull(normalizer.scan(null).rateKey());
+        assertNull(normalizer.scan("").rateKey());
+        assertNull(normalizer.scan("[\"rateKey\"]").rateKey());
+        assertNull(normalizer.scan("not json").rateKey());
+    }
+
+    @Test
+    void payload_MatchesTreeSerialization() {
+        SupplierOfferDto offer = new SupplierOfferDto();
+        offer.setRoomName("Double Standard");
+        offer.setBoard("RO");
+        offer.setTotalPrice(new BigDecimal("240.50"));
+        offer.setCurrency("EUR");
+        offer.setPerNightBreakdown(List.of(
+                new PerNightRateDto(LocalDate.of(2026, 11, 1), new BigDecimal("120.25")),
+                new PerNightRateDto(LocalDate.of(2026, 11, 2), new BigDecimal("120.25"))));
+        offer.setTaxesAndFees(new TaxesAndFeesPlaceholderDto(true, new BigDecimal("12.00"), "City tax"));
+        offer.setRawPayloadJson("{\"rateKey\":\"RK-1\",\"roomCode\":\"DBL.ST\"}");
+
+        JsonNode payload = normalizer.payload(offer, mapping(), normalizer.scan(offer.getRawPayloadJson()));
+
+        assertEquals("HOTELBEDS", payload.get("supplierCode").asText());
+        assertEquals("RK-1", payload.get("rateKey").asText());
+        assertEquals("DBL.ST", payload.get("roomCode").asText());
+        assertEquals(240.5, payload.get("totalPrice").asDouble());
+        assertEquals(objectMapper.valueToTree(offer.getPerNightBreakdown()), payload.get("perNightBreakdown"));
+        assertEquals(objectMapper.valueToTree(offer.getTaxesAndFees()), payload.get("taxesAndFees"));
+        assertEquals(offer.getRawPayloadJson(), payload.get("rawPayloadJson").asText());
+    }
+
+    @Test
+    void payload_AbsentFieldsAreExplicitNulls() {
+        JsonNode payload = normalizer.payload(new SupplierOfferDto(), mapping(), normalizer.scan(null));
+
+        assertEquals("USD", payload.get("currency").asText());
+        assertEquals(0.0, payload.get("totalPrice").asDouble());
+        for (String field : List.of("rateKey", "roomCode", "board", "roomName",
+                "perNightBreakdown", "taxesAndFees", "rawPayloadJson")) {
+            assertTrue(payload.has(field), field);
+            assertTrue(payload.get(field).isNull(), field);
+        }
+    }
+
+    @Test
+    void writePayload_MatchesPayload() throws Exception {
+        SupplierOfferDto offer = fullOffer();
+        SupplierOfferNormalizer.RawOfferKeys keys = normalizer.scan(offer.getRawPayloadJson());
+
+        assertEquals(objectMapper.writeValueAsString(normalizer.payload(offer, mapping(), keys)),
+                written(offer, keys));
+        assertEquals(objectMapper.writeValueAsString(normalizer.payload(new SupplierOfferDto(), mapping(), keys)),
+                written(new SupplierOfferDto(), keys));
+    }
+
+    @Test
+    void payloadSource_ProjectionWithoutPayload_NeverBuildsIt() throws Exception {
+        SupplierOfferNormalizer spy = spy(normalizer);
+        SupplierOfferDto supplierOffer = fullOffer();
+        OfferDto offer = OfferDto.builder()
+            .offerId("SUP-1")
+            .payloadSource(spy.payloadSource(supplierOffer, mapping(), spy.scan(supplierOffer.getRawPayloadJson())))
+            .build();
+        OffersSearchResponse response = OffersSearchResponse.builder().offers(List.of(offer)).build();
+
+        String summary = objectMapper.writeValueAsString(
+                new ProjectedOffersSearchResponse(response, OfferProjection.of("summary", null)));
+        String full = objectMapper.writeValueAsString(response); // Full view and offer snapshots: streamed
+
+        verify(spy, never()).payload(any(), any(), any());
+        assertFalse(objectMapper.readTree(summary).get("offers").get(0).has("payload"));
+        assertEquals("RK-1", objectMapper.readTree(full).get("offers").get(0).get("payload").get("rateKey").asText());
+
+        assertEquals("RK-1", offer.getPayload().get("rateKey").asText());
+        offer.getPayload();
+        verify(spy, times(1)).payload(any(), any(), any());
+    }
+
+    private String written(SupplierOfferDto offer, SupplierOfferNormalizer.RawOfferKeys keys) throws Exception {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            normalizer.writePayload(offer, mapping(), keys, json);
+        }
+        return out.toString();
+    }
+
+    private static SupplierOfferDto fullOffer() {
+        SupplierOfferDto offer = new SupplierOfferDto();
+        offer.setRoomName("Double Standard");
+        offer.setBoard("RO");
+        offer.setTotalPrice(new BigDecimal("240.50"));
+        offer.setCurrency("EUR");
+        offer.setPerNightBreakdown(List.of(
+                new PerNightRateDto(LocalDate.of(2026, 11, 1), new BigDecimal("120.25")),
+                new PerNightRateDto(LocalDate.of(2026, 11, 2), null)));
+        offer.setTaxesAndFees(new TaxesAndFeesPlaceholderDto(true, null, "City tax"));
+        offer.setRawPayloadJson("{\"rateKey\":\"RK-1\",\"roomCode\":\"DBL.ST\"}");
+        return offer;
+    }
+
+    private static SupplierHotelMappingEntity mapping() {
+        SupplierHotelMappingEntity mapping = new SupplierHotelMappingEntity();
+        mapping.setHotelId("hotel-1");
+        mapping.setSupplierCode(SupplierCode.HOTELBEDS);
+        mapping.setSupplierHotelId("12345");
+        return mapping;
+    }
+}
@@ -0,0 +1,68 @@
+package com.hotelsystems.ai.bookingmanagement.service.expiry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for HierarchicalTimingWheel.
+ */
+class HierarchicalTimingWheelTest {
+
+    private static final long START_MS = 1_000_000L;
+
+    @Test
+    void advanceTo_FiresKeyOnlyOnceDeadlinePassed() {
+        // Given: 1s ticks, 8 slots, 2 levels
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 8, 2, START_MS);
+        wheel.schedule("draft-1", START_MS + 3000);
+
+        // When / Then
+        assertTrue(wheel.advanceTo(START_MS + 2999).isEmpty());
+        assertEquals(List.of("draft-1"), wheel.advanceTo(START_MS + 3000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advanceTo_CascadesHigherLevelsAndOverflow() {
+        // Given: level 0 covers 8s, level 1 covers 64s; anything later overflows
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 8, 2, START_MS);
+        wheel.schedule("level-1", START_MS + 20_000);
+        wheel.schedule("overflow", START_MS + 200_000);
+        assertEquals(2, wheel.size());
+
+        // When / Then: neither fires early, each fires at its own tick
+        assertTrue(wheel.advanceTo(START_MS + 19_999).isEmpty());
+        assertEquals(List.of("level-1"), wheel.advanceTo(START_MS + 20_000));
+        assertTrue(wheel.advanceTo(START_MS + 199_999).isEmpty());
+        assertEquals(List.of("overflow"), wheel.advanceTo(START_MS + 200_000));
+    }
+
+    @Test
+    void schedule_PastDeadline_FiresOnNextAdvance() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 8, 2, START_MS);
+        wheel.schedule("overdue", START_MS - 60_000);
+
+        assertEquals(List.of("overdue"), wheel.advanceTo(START_MS));
+    }
+
+    @Test
+    void advanceTo_ReturnsEveryKeyAcrossLargeJump() {
+        // Given: deadlines spread over all levels
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(1000, 4, 3, START_MS);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 1; i <= 200; i++) {
+            wheel.schedule(i, START_MS + i * 1000L);
+            expected.add(i);
+        }
+
+        // When: the sweeper was paused and catches up in one call
+        List<Integer> fired = wheel.advanceTo(START_MS + 200_000);
+
+        // Then: nothing lost, returned in deadline order
+        assertEquals(expected, fired);
+    }
+}
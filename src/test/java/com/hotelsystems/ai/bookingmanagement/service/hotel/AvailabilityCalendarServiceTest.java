@@ -0,0 +1,114 @@
+package com.hotelsystems.ai.bookingmanagement.service.hotel;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotelsystems.ai.bookingmanagement.dto.hotel.HotelResponse;
+import com.hotelsystems.ai.bookingmanagement.exception.BadRequestException;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.AvailabilityService;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.availability.NightlyAvailability;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.dto.PricingQuote;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.entity.RoomTypeEntity;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.pricing.PricingIntelligenceClient;
+import com.hotelsystems.ai.bookingmanagement.ownerinventory.repository.RoomTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for AvailabilityCalendarService.
+ */
+class AvailabilityCalendarServiceTest {
+
+    private static final String SLUG = "grand-hotel";
+    private static final String HOTEL_ID = "hotel-1";
+    private static final LocalDate START = LocalDate.of(2026, 11, 1);
+    private static final LocalDate END = START.plusDays(3);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private RoomTypeRepository roomTypeRepository;
+    private AvailabilityService availabilityService;
+    private PricingIntelligenceClient pricingClient;
+    private AvailabilityCalendarService service;
+
+    @BeforeEach
+    void setUp() {
+        BookingHotelService hotelService = mock(BookingHotelService.class);
+        roomTypeRepository = mock(RoomTypeRepository.class);
+        availabilityService = mock(AvailabilityService.class);
+        pricingClient = mock(PricingIntelligenceClient.class);
+        service = new AvailabilityCalendarService(hotelService, roomTypeRepository, availabilityService,
+            pricingClient, objectMapper);
+
+        when(hotelService.getHotelBySlug(SLUG)).thenReturn(HotelResponse.builder().slug(SLUG).hotelId(HOTEL_ID).build());
+        when(roomTypeRepository.findByHotelId(HOTEL_ID)).thenReturn(List.of(new RoomTypeEntity("room-1", HOTEL_ID, "Double")));
+        NightlyAvailability nightly = mock(NightlyAvailability.class);
+        when(nightly.getNights()).thenReturn(3);
+        when(nightly.dateAt(anyInt())).thenAnswer(invocation -> START.plusDays(invocation.<Integer>getArgument(0)));
+        when(nightly.availableAt(anyInt())).thenReturn(4);
+        when(nightly.isStopSellAt(2)).thenReturn(true);
+        when(availabilityService.nightlyAvailability(eq(HOTEL_ID), any(), eq(START), eq(END)))
+            .thenReturn(Map.of("room-1", nightly));
+    }
+
+    @Test
+    void calendar_WritesEachNightsOwnPrice() throws IOException {
+        // Given: a weekend-priced window
+        when(pricingClient.getQuote(HOTEL_ID, "room-1", START, END, 1, "USD"))
+            .thenReturn(new PricingQuote("USD", 45000L, List.of(10000L, 15000L, 20000L)));
+
+        // When
+        JsonNode calendar = render(service.calendar(SLUG, START, END, "USD"));
+
+        // Then: one quote for the window, and the nights carry its breakdown
+        verify(pricingClient, times(1)).getQuote(any(), any(), any(), any(), anyInt(), any());
+        JsonNode roomType = calendar.get("roomTypes").get(0);
+        assertEquals("USD", roomType.get("currency").asText());
+        JsonNode nights = roomType.get("nights");
+        assertEquals(3, nights.size());
+        assertEquals("2026-11-02", nights.get(1).get("date").asText());
+        assertEquals(List.of(10000L, 15000L, 20000L),
+            List.of(nights.get(0).get("priceMinor").asLong(), nights.get(1).get("priceMinor").asLong(),
+                nights.get(2).get("priceMinor").asLong()));
+        assertTrue(nights.get(2).get("stopSell").asBoolean());
+    }
+
+    @Test
+    void calendar_QuoteWithoutNightlyPrices_SplitsTotalWithoutLosingTheRemainder() throws IOException {
+        when(pricingClient.getQuote(HOTEL_ID, "room-1", START, END, 1, "USD"))
+            .thenReturn(new PricingQuote("USD", 10001L));
+
+        JsonNode nights = render(service.calendar(SLUG, START, END, "USD")).get("roomTypes").get(0).get("nights");
+
+        assertEquals(3334L, nights.get(0).get("priceMinor").asLong());
+        assertEquals(3334L, nights.get(1).get("priceMinor").asLong());
+        assertEquals(3333L, nights.get(2).get("priceMinor").asLong());
+    }
+
+    @Test
+    void calendar_EmptyWindow_IsRejectedBeforeAnyRead() {
+        assertThrows(BadRequestException.class, () -> service.calendar(SLUG, START, START, "USD"));
+        verify(roomTypeRepository, never()).findByHotelId(any());
+    }
+
+    private JsonNode render(StreamingResponseBody body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return objectMapper.readTree(out.toByteArray());
+    }
+}
@@ -0,0 +1,151 @@
+package com.hotelsystems.ai.bookingmanagement.service.offer;
+
+import com.hotelsystems.ai.bookingmanagement.config.OfferSearchProperties;
+import com.hotelsystems.ai.bookingmanagement.dto.hotel.HotelResponse;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.HotelOffersResultDto;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.MultiHotelOffersSearchRequest;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.MultiHotelOffersSearchResponse;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OffersSearchResponse;
+import com.hotelsystems.ai.bookingmanagement.enums.HotelSearchStatus;
+import com.hotelsystems.ai.bookingmanagement.exception.BadRequestException;
+import com.hotelsystems.ai.bookingmanagement.service.hotel.BookingHotelService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MultiHotelOfferSearchServiceTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.now().plusDays(10);
+    private static final LocalDate CHECK_OUT = CHECK_IN.plusDays(2);
+
+    @Mock
+    private OfferService offerService;
+
+    @Mock
+    private BookingHotelService hotelService;
+
+    private ExecutorService executor;
+    private OfferSearchProperties properties;
+    private MultiHotelOfferSearchService service;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        properties = new OfferSearchProperties();
+        properties.setMultiConcurrency(2);
+        properties.setMultiDeadlineMs(1000);
+        service = new MultiHotelOfferSearchService(offerService, hotelService, executor, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void search_RunsAtMostConcurrencyLimitAtOnce() {
+        // Given: six known hotels, concurrency limit 2
+        List<String> slugs = List.of("h1", "h2", "h3", "h4", "h5", "h6");
+        when(hotelService.getHotelsBySlugs(slugs)).thenReturn(Map.of(
+            "h1", hotel("h1"), "h2", hotel("h2"), "h3", hotel("h3"),
+            "h4", hotel("h4"), "h5", hotel("h5"), "h6", hotel("h6")));
+        when(hotelService.getHotelsByIds(List.of())).thenReturn(Map.of());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(offerService.searchOffers(any(HotelResponse.class), any(), anyBoolean())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            running.decrementAndGet();
+            return OffersSearchResponse.builder().offers(List.of()).build();
+        });
+
+        // When
+        MultiHotelOffersSearchResponse response = service.search(request(slugs, null), false);
+
+        // Then: every hotel OK, in request order, never more than 2 in flight
+        assertEquals(slugs, response.getResults().stream().map(HotelOffersResultDto::getSlug).toList());
+        assertTrue(response.getResults().stream().allMatch(r -> r.getStatus() == HotelSearchStatus.OK));
+        assertFalse(response.isPartial());
+        assertTrue(maxRunning.get() <= 2, "max concurrent searches: " + maxRunning.get());
+    }
+
+    @Test
+    void search_ReportsNotFoundFailedAndTimedOutPerHotel() {
+        properties.setMultiDeadlineMs(200);
+        when(hotelService.getHotelsBySlugs(List.of("ok", "broken", "slow", "missing"))).thenReturn(Map.of(
+            "ok", hotel("ok"), "broken", hotel("broken"), "slow", hotel("slow")));
+        when(hotelService.getHotelsByIds(List.of())).thenReturn(Map.of());
+        when(offerService.searchOffers(any(HotelResponse.class), any(), anyBoolean())).thenAnswer(invocation -> {
+            HotelResponse hotel = invocation.getArgument(0);
+            switch (hotel.getSlug()) {
+                case "broken" -> throw new IllegalStateException("adapter down");
+                case "slow" -> Thread.sleep(5000);
+                default -> { }
+            }
+            return OffersSearchResponse.builder().offers(List.of()).build();
+        });
+
+        MultiHotelOffersSearchResponse response =
+            service.search(request(List.of("ok", "broken", "slow", "missing"), null), false);
+
+        assertTrue(response.isPartial());
+        assertEquals(List.of(HotelSearchStatus.OK, HotelSearchStatus.FAILED, HotelSearchStatus.TIMED_OUT, HotelSearchStatus.NOT_FOUND),
+            response.getResults().stream().map(HotelOffersResultDto::getStatus).toList());
+        assertEquals("adapter down", response.getResults().get(1).getError());
+    }
+
+    @Test
+    void search_SameHotelBySlugAndHotelId_IsSearchedOnce() {
+        when(hotelService.getHotelsBySlugs(List.of("h1", "h2"))).thenReturn(Map.of("h1", hotel("h1"), "h2", hotel("h2")));
+        when(hotelService.getHotelsByIds(List.of("id-h1", "id-h3"))).thenReturn(Map.of("id-h1", hotel("h1"), "id-h3", hotel("h3")));
+        when(offerService.searchOffers(any(HotelResponse.class), any(), anyBoolean()))
+            .thenReturn(OffersSearchResponse.builder().offers(List.of()).build());
+
+        MultiHotelOffersSearchResponse response =
+            service.search(request(List.of("h1", "h2"), List.of("id-h1", "id-h3")), false);
+
+        assertEquals(List.of("id-h1", "id-h2", "id-h3"),
+            response.getResults().stream().map(HotelOffersResultDto::getHotelId).toList());
+        verify(offerService, times(3)).searchOffers(any(HotelResponse.class), any(), anyBoolean());
+    }
+
+    @Test
+    void search_TooManyHotels_IsRejected() {
+        properties.setMultiMaxHotels(2);
+
+        assertThrows(BadRequestException.class,
+            () -> service.search(request(List.of("a", "b"), List.of("c")), false));
+    }
+
+    private static MultiHotelOffersSearchRequest request(List<String> slugs, List<String> hotelIds) {
+        return MultiHotelOffersSearchRequest.builder()
+            .slugs(slugs)
+            .hotelIds(hotelIds)
+            .checkIn(CHECK_IN)
+            .checkOut(CHECK_OUT)
+            .guests(2)
+            .build();
+    }
+
+    private static HotelResponse hotel(String slug) {
+        return HotelResponse.builder().slug(slug).hotelId("id-" + slug).name(slug).build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.hotelsystems.ai.bookingmanagement.service.offer;
+
+import com.hotelsystems.ai.bookingmanagement.config.OfferSearchCacheProperties;
+import com.hotelsystems.ai.bookingmanagement.config.OfferSearchCoalescingProperties;
+import com.hotelsystems.ai.bookingmanagement.config.OfferSearchProperties;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OfferDto;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OffersSearchResponse;
+import com.hotelsystems.ai.bookingmanagement.enums.OfferSource;
+import com.hotelsystems.ai.bookingmanagement.enums.SourceSearchStatus;
+import com.hotelsystems.ai.bookingmanagement.service.adapter.offer.OfferSearchAdapter;
+import com.hotelsystems.ai.bookingmanagement.service.adapter.offer.impl.SupplierOfferAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OfferFanOutServiceTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2026, 11, 1);
+    private static final LocalDate CHECK_OUT = LocalDate.of(2026, 11, 3);
+
+    @Mock
+    private OfferSearchAdapter ownerAdapter;
+
+    @Mock
+    private SupplierOfferAdapter supplierAdapter;
+
+    @Mock
+    private OfferRoutingService offerRoutingService;
+
+    private ExecutorService executor;
+    private OfferFanOutService service;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        OfferSearchProperties properties = new OfferSearchProperties();
+        properties.setOwnerDeadlineMs(500);
+        properties.setSupplierDeadlineMs(100);
+        OfferSearchCacheProperties cacheProperties = new OfferSearchCacheProperties();
+        cacheProperties.setEnabled(false);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OfferSearchCoalescer coalescer = new OfferSearchCoalescer(new OfferSearchCoalescingProperties(), meterRegistry);
+        OfferSearchCache cache = new OfferSearchCache(cacheProperties, coalescer, mock(OfferSnapshotStore.class), meterRegistry);
+        service = new OfferFanOutService(ownerAdapter, supplierAdapter, executor, cache, offerRoutingService, properties);
+        lenient().when(offerRoutingService.applicableSources("hotel-1")).thenReturn(EnumSet.allOf(OfferSource.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void search_MergesBothSourcesWhenInTime() {
+        when(ownerAdapter.searchOffers(anyString(), any(), any(), anyInt(), anyInt()))
+            .thenReturn(List.of(offer("owner-1", OfferSource.OWNER)));
+        when(supplierAdapter.searchOffers(anyString(), any(), any(), anyInt(), anyInt()))
+            .thenReturn(List.of(offer("supplier-1", OfferSource.SUPPLIER)));
+
+        OffersSearchResponse response = service.search("hotel-1", CHECK_IN, CHECK_OUT, 2, 1, false);
+
+        assertEquals(2, response.getOffers().size());
+        assertFalse(response.getPartial());
+        assertTrue(response.getSources().stream().allMatch(s -> s.getStatus() == SourceSearchStatus.OK));
+    }
+
+    @Test
+    void search_SlowSupplier_ReturnsOwnerOffersAndFlagsTimeout() {
+        // Given: supplier takes longer than its 100 ms deadline
+        when(ownerAdapter.searchOffers(anyString(), any(), any(), anyInt(), anyInt()))
+            .thenReturn(List.of(offer("owner-1", OfferSource.OWNER)));
+        when(supplierAdapter.searchOffers(anyString(), any(), any(), anyInt(), anyInt()))
+            .thenAnswer(invocation -> {
+                Thread.sleep(2000);
+                return List.of(offer("supplier-1", OfferSource.SUPPLIER));
+            });
+
+        // When
+        long start = System.nanoTime();
+        OffersSearchResponse response = service.search("hotel-1", CHECK_IN, CHECK_OUT, 2, 1, false);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Then: owner offers only, supplier reported as timed out, no waiting for the slow source
+        assertEquals(List.of("owner-1"), response.getOffers().stream().map(OfferDto::getOfferId).toList());
+        assertTrue(response.getPartial());
+        assertEquals(SourceSearchStatus.OK, response.getSources().get(0).getStatus());
+        assertEquals(SourceSearchStatus.TIMED_OUT, response.getSources().get(1).getStatus());
+        assertTrue(elapsedMs < 1000, "search waited " + elapsedMs + " ms");
+    }
+
+    @Test
+    void search_FailingOwner_IsReportedAsFailed() {
+        when(ownerAdapter.searchOffers(anyString(), any(), any(), anyInt(), anyInt()))
+            .thenThrow(new IllegalStateException("db down"));
+        when(supplierAdapter.searchOffers(anyString(), any(), any(), anyInt(), anyInt()))
+            .thenReturn(List.of(offer("supplier-1", OfferSource.SUPPLIER)));
+
+        OffersSearchResponse response = service.search("hotel-1", CHECK_IN, CHECK_OUT, 2, 1, false);
+
+        assertEquals(1, response.getOffers().size());
+        assertTrue(response.getPartial());
+        assertEquals(SourceSearchStatus.FAILED, response.getSources().get(0).getStatus());
+    }
+
+    @Test
+    void search_OwnerOnlyHotel_SkipsSupplierWithoutPartial() {
+        when(offerRoutingService.applicableSources("hotel-1")).thenReturn(EnumSet.of(OfferSource.OWNER));
+        when(ownerAdapter.searchOffers(anyString(), any(), any(), anyInt(), anyInt()))
+            .thenReturn(List.of(offer("owner-1", OfferSource.OWNER)));
+
+        OffersSearchResponse response = service.search("hotel-1", CHECK_IN, CHECK_OUT, 2, 1, false);
+
+        assertEquals(List.of("owner-1"), response.getOffers().stream().map(OfferDto::getOfferId).toList());
+        assertFalse(response.getPartial());
+        assertEquals(SourceSearchStatus.OK, response.getSources().get(0).getStatus());
+        assertEquals(OfferSource.SUPPLIER, response.getSources().get(1).getSource());
+        assertEquals(SourceSearchStatus.SKIPPED, response.getSources().get(1).getStatus());
+        verify(supplierAdapter, never()).searchOffers(anyString(), any(), any(), anyInt(), anyInt());
+    }
+
+    private static OfferDto offer(String offerId, OfferSource source) {
+        return OfferDto.builder()
+            .offerId(offerId)
+            .source(source)
+            .hotelId("hotel-1")
+            .build();
+    }
+}
@@ -0,0 +1,180 @@
+package com.hotelsystems.ai.bookingmanagement.service.offer;
+
+import com.hotelsystems.ai.bookingmanagement.config.OfferSearchCacheProperties;
+import com.hotelsystems.ai.bookingmanagement.config.OfferSearchCoalescingProperties;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.MoneyDto;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OfferDto;
+import com.hotelsystems.ai.bookingmanagement.enums.OfferSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for OfferSearchCache.
+ */
+class OfferSearchCacheTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2026, 11, 1);
+    private static final LocalDate CHECK_OUT = LocalDate.of(2026, 11, 3);
+    private static final long NOW = 1_000_000L;
+
+    private Clock clock;
+    private OfferSearchCacheProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private OfferSnapshotStore offerSnapshotStore;
+    private OfferSearchCache cache;
+    private AtomicInteger searches;
+
+    @BeforeEach
+    void setUp() {
+        clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(NOW);
+        properties = new OfferSearchCacheProperties();
+        properties.setOwnerTtlMs(60_000);
+        properties.setSupplierTtlMs(10_000);
+        meterRegistry = new SimpleMeterRegistry();
+        OfferSearchCoalescer coalescer = new OfferSearchCoalescer(new OfferSearchCoalescingProperties(), meterRegistry);
+        offerSnapshotStore = mock(OfferSnapshotStore.class);
+        cache = new OfferSearchCache(properties, coalescer, offerSnapshotStore, meterRegistry, clock);
+        searches = new AtomicInteger();
+    }
+
+    @Test
+    void getOrSearch_RepeatedSearch_IsServedFromCache() {
+        search(OfferSource.OWNER, "hotel-1", false);
+        List<OfferDto> second = search(OfferSource.OWNER, "hotel-1", false);
+
+        assertEquals(1, searches.get());
+        assertEquals(1, second.size());
+        assertEquals(1.0, requests(OfferSource.OWNER, "hit"));
+        assertEquals(1.0, requests(OfferSource.OWNER, "miss"));
+    }
+
+    @Test
+    void getOrSearch_RecordsSnapshotsOnSourceCallsOnly() {
+        search(OfferSource.OWNER, "hotel-1", false);
+        search(OfferSource.OWNER, "hotel-1", false);
+        search(OfferSource.OWNER, "hotel-1", false);
+
+        verify(offerSnapshotStore, times(1)).record(anyList());
+
+        search(OfferSource.OWNER, "hotel-1", true);
+        verify(offerSnapshotStore, times(2)).record(anyList());
+    }
+
+    @Test
+    void getOrSearch_EachCallerGetsItsOwnCopies() {
+        List<OfferDto> first = search(OfferSource.OWNER, "hotel-1", false);
+        first.get(0).setOfferId("changed");
+        first.get(0).getTotalPrice().setAmount(BigDecimal.ONE);
+
+        List<OfferDto> second = search(OfferSource.OWNER, "hotel-1", false);
+
+        assertEquals(1, searches.get());
+        assertNotSame(first.get(0), second.get(0));
+        assertEquals("offer-1", second.get(0).getOfferId());
+        assertEquals(new BigDecimal("100.00"), second.get(0).getTotalPrice().getAmount());
+    }
+
+    @Test
+    void getOrSearch_UsesSeparateTtlPerSource() {
+        search(OfferSource.OWNER, "hotel-1", false);
+        search(OfferSource.SUPPLIER, "hotel-1", false);
+
+        // When: past the supplier TTL but within the owner TTL
+        when(clock.millis()).thenReturn(NOW + 10_000);
+        search(OfferSource.OWNER, "hotel-1", false);
+        search(OfferSource.SUPPLIER, "hotel-1", false);
+
+        // Then: only the supplier search ran again
+        assertEquals(3, searches.get());
+        assertEquals(1.0, meterRegistry.get("offers.search.cache.evictions").tag("cause", "expired").counter().count());
+    }
+
+    @Test
+    void onInventoryChanged_EvictsOverlappingOwnerResultsOnly() {
+        search(OfferSource.OWNER, "hotel-1", false);
+        search(OfferSource.SUPPLIER, "hotel-1", false);
+        search(OfferSource.OWNER, "hotel-2", false);
+
+        // Non-overlapping nights: nothing evicted
+        cache.onInventoryChanged("hotel-1", "rt-1", CHECK_OUT, CHECK_OUT.plusDays(5));
+        assertEquals(3, cache.size());
+
+        // Overlapping nights: the hotel's owner result goes, supplier and other hotels stay
+        cache.onInventoryChanged("hotel-1", "rt-1", CHECK_IN.plusDays(1), CHECK_IN.plusDays(2));
+        assertEquals(2, cache.size());
+        search(OfferSource.OWNER, "hotel-1", false);
+        assertEquals(4, searches.get());
+    }
+
+    @Test
+    void getOrSearch_InventoryChangeDuringSearch_ResultNotCached() {
+        cache.getOrSearch(OfferSource.OWNER, "hotel-1", CHECK_IN, CHECK_OUT, 2, 1, false, () -> {
+            cache.onInventoryChanged("hotel-1", "rt-1", CHECK_IN, CHECK_OUT);
+            return List.of(offer());
+        });
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void getOrSearch_Bypass_SkipsLookupButRefreshesEntry() {
+        search(OfferSource.OWNER, "hotel-1", false);
+        search(OfferSource.OWNER, "hotel-1", true);
+        search(OfferSource.OWNER, "hotel-1", false);
+
+        assertEquals(2, searches.get());
+        assertEquals(1.0, requests(OfferSource.OWNER, "bypass"));
+    }
+
+    @Test
+    void getOrSearch_BeyondMaxEntries_EvictsLeastRecentlyUsed() {
+        properties.setMaxEntries(2);
+        search(OfferSource.OWNER, "hotel-1", false);
+        search(OfferSource.OWNER, "hotel-2", false);
+        search(OfferSource.OWNER, "hotel-1", false); // hotel-2 is now least recently used
+        search(OfferSource.OWNER, "hotel-3", false);
+
+        search(OfferSource.OWNER, "hotel-1", false);
+        assertEquals(3, searches.get());
+        search(OfferSource.OWNER, "hotel-2", false);
+        assertEquals(4, searches.get());
+    }
+
+    private List<OfferDto> search(OfferSource source, String hotelId, boolean bypass) {
+        Supplier<List<OfferDto>> adapter = () -> {
+            searches.incrementAndGet();
+            return List.of(offer());
+        };
+        return cache.getOrSearch(source, hotelId, CHECK_IN, CHECK_OUT, 2, 1, bypass, adapter);
+    }
+
+    private double requests(OfferSource source, String result) {
+        return meterRegistry.get("offers.search.cache.requests")
+            .tag("source", source.name())
+            .tag("result", result)
+            .counter()
+            .count();
+    }
+
+    private static OfferDto offer() {
+        return OfferDto.builder().offerId("offer-1").hotelId("hotel-1")
+            .totalPrice(new MoneyDto(new BigDecimal("100.00"), "EUR"))
+            .build();
+    }
+}
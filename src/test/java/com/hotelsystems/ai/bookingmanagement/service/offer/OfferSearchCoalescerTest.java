@@ -0,0 +1,194 @@
+package com.hotelsystems.ai.bookingmanagement.service.offer;
+
+import com.hotelsystems.ai.bookingmanagement.config.OfferSearchCoalescingProperties;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OfferDto;
+import com.hotelsystems.ai.bookingmanagement.enums.OfferSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for OfferSearchCoalescer.
+ */
+class OfferSearchCoalescerTest {
+
+    private static final OfferSearchCache.Key KEY = new OfferSearchCache.Key(OfferSource.SUPPLIER, "hotel-1",
+            LocalDate.of(2026, 11, 1), LocalDate.of(2026, 11, 3), 2, 1);
+
+    private OfferSearchCoalescingProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private OfferSearchCoalescer coalescer;
+    private ExecutorService executor;
+    private AtomicInteger searches;
+    private CountDownLatch started;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OfferSearchCoalescingProperties();
+        properties.setMaxWaitMs(2000);
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new OfferSearchCoalescer(properties, meterRegistry);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        searches = new AtomicInteger();
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void coalesce_ConcurrentIdenticalSearches_ShareOneCall() throws Exception {
+        Future<List<OfferDto>> leader = executor.submit(() -> coalescer.coalesce(KEY, blockingSearch()));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        Future<List<OfferDto>> joined = executor.submit(() -> coalescer.coalesce(KEY, blockingSearch()));
+        awaitJoined(joined);
+
+        release.countDown();
+
+        assertSame(leader.get(1, TimeUnit.SECONDS), joined.get(1, TimeUnit.SECONDS));
+        assertEquals(1, searches.get());
+        assertEquals(1.0, requests("leader"));
+        assertEquals(1.0, requests("joined"));
+    }
+
+    @Test
+    void coalesce_AfterLeaderFinished_RunsAgain() {
+        coalescer.coalesce(KEY, countingSearch());
+        coalescer.coalesce(KEY, countingSearch());
+
+        assertEquals(2, searches.get());
+        assertEquals(2.0, requests("leader"));
+        assertEquals(0, coalescer.inFlight());
+    }
+
+    @Test
+    void coalesce_LeaderFails_JoinedSearchGetsSameFailure() throws Exception {
+        IllegalStateException failure = new IllegalStateException("supplier down");
+        Future<List<OfferDto>> leader = executor.submit(() -> coalescer.coalesce(KEY, () -> {
+            started.countDown();
+            await(release);
+            throw failure;
+        }));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        Future<List<OfferDto>> joined = executor.submit(() -> coalescer.coalesce(KEY, countingSearch()));
+        awaitJoined(joined);
+
+        release.countDown();
+
+        Exception thrown = assertThrows(Exception.class, () -> joined.get(1, TimeUnit.SECONDS));
+        assertSame(failure, thrown.getCause());
+        assertThrows(Exception.class, () -> leader.get(1, TimeUnit.SECONDS));
+        assertEquals(0, searches.get());
+    }
+
+    @Test
+    void coalesce_LeaderInterrupted_JoinedSearchRunsItsOwn() throws Exception {
+        Future<List<OfferDto>> leader = executor.submit(() -> coalescer.coalesce(KEY, () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Search interrupted", e);
+            }
+            return List.of(offer());
+        }));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        Future<List<OfferDto>> joined = executor.submit(() -> coalescer.coalesce(KEY, countingSearch()));
+        awaitJoined(joined);
+
+        leader.cancel(true);
+
+        assertEquals(1, joined.get(1, TimeUnit.SECONDS).size());
+        assertEquals(1, searches.get());
+        assertEquals(1.0, requests("retried"));
+        assertEquals(0.0, requests("joined"));
+        assertEquals(0, coalescer.inFlight());
+    }
+
+    @Test
+    void coalesce_LeaderSlowerThanMaxWait_JoinedSearchRunsItsOwn() throws Exception {
+        properties.setMaxWaitMs(50);
+        executor.submit(() -> coalescer.coalesce(KEY, blockingSearch()));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        List<OfferDto> offers = coalescer.coalesce(KEY, countingSearch());
+
+        assertEquals(1, offers.size());
+        assertEquals(1.0, requests("timeout"));
+    }
+
+    @Test
+    void coalesce_Disabled_AlwaysSearches() throws Exception {
+        properties.setEnabled(false);
+        executor.submit(() -> coalescer.coalesce(KEY, blockingSearch()));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        coalescer.coalesce(KEY, countingSearch());
+
+        assertEquals(2, searches.get());
+        assertEquals(0.0, requests("joined"));
+    }
+
+    private Supplier<List<OfferDto>> blockingSearch() {
+        return () -> {
+            searches.incrementAndGet();
+            started.countDown();
+            await(release);
+            return List.of(offer());
+        };
+    }
+
+    private Supplier<List<OfferDto>> countingSearch() {
+        return () -> {
+            searches.incrementAndGet();
+            return List.of(offer());
+        };
+    }
+
+    /**
+     * Gives the second search time to reach the leader's result; it must still be waiting
+     */
+    private static void awaitJoined(Future<?> joined) throws InterruptedException {
+        Thread.sleep(100);
+        assertFalse(joined.isDone());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("offers.search.coalescing.requests")
+            .tag("source", OfferSource.SUPPLIER.name())
+            .tag("result", result)
+            .counter()
+            .count();
+    }
+
+    private static OfferDto offer() {
+        return OfferDto.builder().offerId("offer-1").hotelId("hotel-1").build();
+    }
+}
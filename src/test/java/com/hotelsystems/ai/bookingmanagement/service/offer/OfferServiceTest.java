@@ -0,0 +1,109 @@
+package com.hotelsystems.ai.bookingmanagement.service.offer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hotelsystems.ai.bookingmanagement.config.OfferSearchProperties;
+import com.hotelsystems.ai.bookingmanagement.config.OfferSnapshotProperties;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OfferDto;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OffersRecheckRequest;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OffersRecheckResponse;
+import com.hotelsystems.ai.bookingmanagement.enums.OfferSource;
+import com.hotelsystems.ai.bookingmanagement.enums.RecheckResult;
+import com.hotelsystems.ai.bookingmanagement.repository.OfferSnapshotRepository;
+import com.hotelsystems.ai.bookingmanagement.service.adapter.offer.OfferRecheckAdapter;
+import com.hotelsystems.ai.bookingmanagement.service.adapter.offer.OfferSearchAdapter;
+import com.hotelsystems.ai.bookingmanagement.service.adapter.offer.impl.SupplierOfferAdapter;
+import com.hotelsystems.ai.bookingmanagement.service.hotel.BookingHotelService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for OfferService.recheck with offers resolved from OfferSnapshotStore.
+ */
+class OfferServiceTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.now().plusDays(10);
+    private static final LocalDate CHECK_OUT = CHECK_IN.plusDays(2);
+
+    private OfferSnapshotStore offerSnapshotStore;
+    private OfferRecheckAdapter ownerRecheckAdapter;
+    private OfferService service;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        offerSnapshotStore = new OfferSnapshotStore(new OfferSnapshotProperties(), mock(OfferSnapshotRepository.class),
+                objectMapper, Runnable::run, new SimpleMeterRegistry());
+        ownerRecheckAdapter = mock(OfferRecheckAdapter.class);
+        OffersRecheckResponse ok = OffersRecheckResponse.builder().result(RecheckResult.OK).build();
+        when(ownerRecheckAdapter.recheck(any(OfferDto.class), any(), any(), any(), any())).thenReturn(ok);
+        when(ownerRecheckAdapter.recheck(anyString(), any(), any(), any(), any())).thenReturn(ok);
+        service = new OfferService(mock(BookingHotelService.class), mock(OfferRoutingService.class),
+                mock(SupplierOfferAdapter.class), mock(OfferSearchAdapter.class), ownerRecheckAdapter,
+                mock(OfferFanOutService.class), mock(OfferSearchCache.class), new OfferSearchProperties(),
+                offerSnapshotStore);
+    }
+
+    @Test
+    void recheck_OfferIssuedToTwoSearches_UsesRequestOccupancyAndIssuedDates() {
+        // The same offer is issued to a 2-guest search and then to a 4-guest, 2-room search
+        offerSnapshotStore.record(List.of(offer()));
+        offerSnapshotStore.record(List.of(offer()));
+
+        service.recheck(OffersRecheckRequest.builder().offerId("OWN-1").guests(2).build());
+
+        ArgumentCaptor<OfferDto> issued = ArgumentCaptor.forClass(OfferDto.class);
+        verify(ownerRecheckAdapter).recheck(issued.capture(), eq(CHECK_IN), eq(CHECK_OUT), eq(2), eq(1));
+        assertEquals("OWN-1", issued.getValue().getOfferId());
+        assertEquals("DBL", issued.getValue().getRoomTypeId());
+    }
+
+    @Test
+    void recheck_OfferNotIssuedHere_RechecksByOfferId() {
+        service.recheck(OffersRecheckRequest.builder()
+                .offerId("OWN-2").checkIn(CHECK_IN).checkOut(CHECK_OUT).guests(2).build());
+
+        verify(ownerRecheckAdapter).recheck("OWN-2", CHECK_IN, CHECK_OUT, 2, 1);
+        verify(ownerRecheckAdapter, never()).recheck(any(OfferDto.class), any(), any(), any(), any());
+    }
+
+    @Test
+    void recheckRequest_WithoutGuests_IsRejected() {
+        try (ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory()) {
+            Set<ConstraintViolation<OffersRecheckRequest>> violations = validatorFactory.getValidator()
+                    .validate(OffersRecheckRequest.builder().offerId("OWN-1").build());
+
+            assertEquals(1, violations.size());
+            assertEquals("guests", violations.iterator().next().getPropertyPath().toString());
+        }
+    }
+
+    private static OfferDto offer() {
+        return OfferDto.builder()
+            .offerId("OWN-1")
+            .source(OfferSource.OWNER)
+            .hotelId("hotel-1")
+            .roomTypeId("DBL")
+            .checkIn(CHECK_IN)
+            .checkOut(CHECK_OUT)
+            .build();
+    }
+}
@@ -0,0 +1,170 @@
+package com.hotelsystems.ai.bookingmanagement.service.offer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hotelsystems.ai.bookingmanagement.config.OfferSnapshotProperties;
+import com.hotelsystems.ai.bookingmanagement.domain.entity.OfferSnapshotEntity;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.MoneyDto;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OfferDto;
+import com.hotelsystems.ai.bookingmanagement.enums.OfferSource;
+import com.hotelsystems.ai.bookingmanagement.repository.OfferSnapshotRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for OfferSnapshotStore.
+ */
+class OfferSnapshotStoreTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2026, 11, 1);
+    private static final LocalDate CHECK_OUT = LocalDate.of(2026, 11, 3);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private OfferSnapshotProperties properties;
+    private OfferSnapshotRepository repository;
+    private SimpleMeterRegistry meterRegistry;
+    private OfferSnapshotStore store;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenAnswer(invocation -> now.get());
+        when(clock.instant()).thenAnswer(invocation -> Instant.ofEpochMilli(now.get()));
+        properties = new OfferSnapshotProperties();
+        properties.setTtlMs(60_000);
+        repository = mock(OfferSnapshotRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        store = new OfferSnapshotStore(properties, repository, objectMapper, Runnable::run, meterRegistry, clock);
+    }
+
+    @Test
+    void find_RecordedOffer_ReturnsOfferWithPayload() {
+        store.record(List.of(offer("SUP-1")));
+
+        Optional<OfferSnapshotStore.OfferSnapshot> snapshot = store.find("SUP-1");
+
+        assertTrue(snapshot.isPresent());
+        OfferDto offer = snapshot.get().offer();
+        assertEquals("hotel-1", offer.getHotelId());
+        assertEquals(CHECK_IN, offer.getCheckIn());
+        assertEquals(0, new BigDecimal("250.00").compareTo(offer.getTotalPrice().getAmount()));
+        assertEquals("rate-SUP-1", offer.getPayload().get("rateKey").asText());
+        assertEquals(1.0, lookups("hit"));
+    }
+
+    @Test
+    void find_AfterTtl_ReturnsEmpty() {
+        store.record(List.of(offer("SUP-1")));
+
+        now.addAndGet(60_000);
+
+        assertTrue(store.find("SUP-1").isEmpty());
+        assertEquals(0, store.size());
+        assertEquals(0, store.bytes());
+        assertEquals(1.0, lookups("miss"));
+        assertEquals(1.0, evictions("expired"));
+    }
+
+    @Test
+    void record_ReissuedOffer_RestartsTtlWithoutGrowing() {
+        store.record(List.of(offer("SUP-1")));
+
+        now.addAndGet(50_000);
+        store.record(List.of(offer("SUP-1")));
+        now.addAndGet(50_000);
+
+        Optional<OfferSnapshotStore.OfferSnapshot> snapshot = store.find("SUP-1");
+        assertTrue(snapshot.isPresent());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void record_OverMaxBytes_EvictsOldestWithoutSpill() {
+        store.record(List.of(offer("SUP-1")));
+        properties.setMaxBytes(store.bytes() * 3 / 2);
+
+        store.record(List.of(offer("SUP-2")));
+
+        assertTrue(store.find("SUP-1").isEmpty());
+        assertTrue(store.find("SUP-2").isPresent());
+        assertEquals(1.0, evictions("size"));
+        verify(repository, never()).saveAll(anyIterable());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void find_SpilledOffer_IsReadBackFromRepository() {
+        properties.setSpillEnabled(true);
+        store.record(List.of(offer("SUP-1")));
+        properties.setMaxBytes(store.bytes() * 3 / 2);
+
+        store.record(List.of(offer("SUP-2")));
+
+        ArgumentCaptor<List<OfferSnapshotEntity>> spilled = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(spilled.capture());
+        assertEquals(1, spilled.getValue().size());
+        OfferSnapshotEntity row = spilled.getValue().get(0);
+        assertEquals("SUP-1", row.getOfferId());
+        assertEquals(Instant.ofEpochMilli(now.get() + 60_000), row.getExpiresAt());
+
+        when(repository.findById("SUP-1")).thenReturn(Optional.of(row));
+        Optional<OfferSnapshotStore.OfferSnapshot> snapshot = store.find("SUP-1");
+
+        assertTrue(snapshot.isPresent());
+        assertEquals("hotel-1", snapshot.get().offer().getHotelId());
+        assertEquals(1.0, lookups("spill_hit"));
+    }
+
+    @Test
+    void find_Disabled_ReturnsEmpty() {
+        properties.setEnabled(false);
+        store.record(List.of(offer("SUP-1")));
+
+        assertTrue(store.find("SUP-1").isEmpty());
+        assertEquals(0, store.size());
+    }
+
+    private OfferDto offer(String offerId) {
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.put("supplierCode", "HOTELBEDS");
+        payload.put("supplierHotelId", "sup-hotel-1");
+        payload.put("rateKey", "rate-" + offerId);
+        return OfferDto.builder()
+            .offerId(offerId)
+            .source(OfferSource.SUPPLIER)
+            .hotelId("hotel-1")
+            .roomTypeId("DBL")
+            .checkIn(CHECK_IN)
+            .checkOut(CHECK_OUT)
+            .totalPrice(MoneyDto.builder().amount(new BigDecimal("250.00")).currency("USD").build())
+            .payload(payload)
+            .build();
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("offers.snapshot.lookups").tag("result", result).counter().count();
+    }
+
+    private double evictions(String cause) {
+        return meterRegistry.get("offers.snapshot.evictions").tag("cause", cause).counter().count();
+    }
+}
@@ -0,0 +1,192 @@
+package com.hotelsystems.ai.bookingmanagement.service.offer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hotelsystems.ai.bookingmanagement.config.OfferSearchCacheProperties;
+import com.hotelsystems.ai.bookingmanagement.config.OfferSearchCoalescingProperties;
+import com.hotelsystems.ai.bookingmanagement.config.OfferSearchProperties;
+import com.hotelsystems.ai.bookingmanagement.dto.hotel.HotelResponse;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OfferDto;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OffersSearchRequest;
+import com.hotelsystems.ai.bookingmanagement.enums.OfferSource;
+import com.hotelsystems.ai.bookingmanagement.service.adapter.offer.OfferSearchAdapter;
+import com.hotelsystems.ai.bookingmanagement.service.adapter.offer.impl.SupplierOfferAdapter;
+import com.hotelsystems.ai.bookingmanagement.service.hotel.BookingHotelService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OfferStreamServiceTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.now().plusDays(10);
+    private static final LocalDate CHECK_OUT = CHECK_IN.plusDays(2);
+
+    @Mock
+    private BookingHotelService hotelService;
+
+    @Mock
+    private OfferService offerService;
+
+    @Mock
+    private OfferRoutingService offerRoutingService;
+
+    @Mock
+    private OfferSearchAdapter ownerAdapter;
+
+    @Mock
+    private SupplierOfferAdapter supplierAdapter;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private ExecutorService executor;
+    private OfferStreamService service;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        OfferSearchProperties properties = new OfferSearchProperties();
+        properties.setOwnerDeadlineMs(1000);
+        properties.setSupplierDeadlineMs(200);
+        OfferSearchCacheProperties cacheProperties = new OfferSearchCacheProperties();
+        cacheProperties.setEnabled(false);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OfferSearchCoalescer coalescer = new OfferSearchCoalescer(new OfferSearchCoalescingProperties(), meterRegistry);
+        OfferSearchCache cache = new OfferSearchCache(cacheProperties, coalescer, mock(OfferSnapshotStore.class), meterRegistry);
+        service = new OfferStreamService(hotelService, offerService, offerRoutingService, ownerAdapter,
+            supplierAdapter, cache, executor, properties, objectMapper);
+
+        when(hotelService.getHotelBySlug("grand-hotel"))
+            .thenReturn(HotelResponse.builder().slug("grand-hotel").hotelId("hotel-1").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void streamOffers_FanOut_WritesOffersThenSummaryAndFlagsSlowSource() throws Exception {
+        // Given: owner answers at once; supplier sends one offer, then stalls past its deadline
+        doAnswer(invocation -> {
+            Consumer<OfferDto> sink = invocation.getArgument(5);
+            sink.accept(offer("OWN-1", OfferSource.OWNER));
+            sink.accept(offer("OWN-2", OfferSource.OWNER));
+            return null;
+        }).when(ownerAdapter).streamOffers(anyString(), any(), any(), anyInt(), anyInt(), any());
+        doAnswer(invocation -> {
+            Consumer<OfferDto> sink = invocation.getArgument(5);
+            sink.accept(offer("SUP-1", OfferSource.SUPPLIER));
+            Thread.sleep(5000);
+            sink.accept(offer("SUP-2", OfferSource.SUPPLIER));
+            return null;
+        }).when(supplierAdapter).streamOffers(anyString(), any(), any(), anyInt(), anyInt(), any());
+        when(offerRoutingService.applicableSources("hotel-1")).thenReturn(EnumSet.allOf(OfferSource.class));
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.streamOffers("grand-hotel", request(true), false).writeTo(out);
+
+        // Then: one line per offer that arrived in time, summary last
+        List<JsonNode> frames = frames(out);
+        assertEquals(4, frames.size());
+        List<String> offerIds = new ArrayList<>();
+        frames.subList(0, 3).forEach(frame -> {
+            assertEquals("offer", frame.get("type").asText());
+            offerIds.add(frame.get("offer").get("offerId").asText());
+        });
+        assertTrue(offerIds.containsAll(List.of("OWN-1", "OWN-2", "SUP-1")));
+
+        JsonNode summary = frames.get(3);
+        assertEquals("summary", summary.get("type").asText());
+        assertEquals(3, summary.get("offerCount").asInt());
+        assertTrue(summary.get("partial").asBoolean());
+        assertEquals("OK", summary.get("sources").get(0).get("status").asText());
+        assertEquals("TIMED_OUT", summary.get("sources").get(1).get("status").asText());
+        assertEquals(1, summary.get("sources").get(1).get("offerCount").asInt());
+    }
+
+    @Test
+    void streamOffers_RoutedSource_StreamsOnlyThatSource() throws Exception {
+        when(offerRoutingService.decideSourceForHotel("hotel-1", "grand-hotel")).thenReturn(OfferSource.OWNER);
+        doAnswer(invocation -> {
+            Consumer<OfferDto> sink = invocation.getArgument(5);
+            sink.accept(offer("OWN-1", OfferSource.OWNER));
+            return null;
+        }).when(ownerAdapter).streamOffers(anyString(), any(), any(), anyInt(), anyInt(), any());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.streamOffers("grand-hotel", request(false), false).writeTo(out);
+
+        List<JsonNode> frames = frames(out);
+        assertEquals(2, frames.size());
+        assertFalse(frames.get(1).get("partial").asBoolean());
+        assertEquals(1, frames.get(1).get("sources").size());
+    }
+
+    @Test
+    void streamOffers_FanOutForOwnerOnlyHotel_SkipsSupplier() throws Exception {
+        when(offerRoutingService.applicableSources("hotel-1")).thenReturn(EnumSet.of(OfferSource.OWNER));
+        doAnswer(invocation -> {
+            Consumer<OfferDto> sink = invocation.getArgument(5);
+            sink.accept(offer("OWN-1", OfferSource.OWNER));
+            return null;
+        }).when(ownerAdapter).streamOffers(anyString(), any(), any(), anyInt(), anyInt(), any());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.streamOffers("grand-hotel", request(true), false).writeTo(out);
+
+        List<JsonNode> frames = frames(out);
+        assertEquals(2, frames.size());
+        JsonNode summary = frames.get(1);
+        assertFalse(summary.get("partial").asBoolean());
+        assertEquals("OK", summary.get("sources").get(0).get("status").asText());
+        assertEquals("SKIPPED", summary.get("sources").get(1).get("status").asText());
+        verify(supplierAdapter, never()).streamOffers(anyString(), any(), any(), anyInt(), anyInt(), any());
+    }
+
+    private List<JsonNode> frames(ByteArrayOutputStream out) throws Exception {
+        List<JsonNode> frames = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            frames.add(objectMapper.readTree(line));
+        }
+        return frames;
+    }
+
+    private static OffersSearchRequest request(boolean fanOut) {
+        return OffersSearchRequest.builder()
+            .checkIn(CHECK_IN)
+            .checkOut(CHECK_OUT)
+            .guests(2)
+            .fanOut(fanOut)
+            .build();
+    }
+
+    private static OfferDto offer(String offerId, OfferSource source) {
+        return OfferDto.builder().offerId(offerId).source(source).hotelId("hotel-1").build();
+    }
+}
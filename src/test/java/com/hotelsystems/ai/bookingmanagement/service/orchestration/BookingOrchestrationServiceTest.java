@@ -0,0 +1,194 @@
+package com.hotelsystems.ai.bookingmanagement.service.orchestration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hotelsystems.ai.bookingmanagement.config.OfferSnapshotProperties;
+import com.hotelsystems.ai.bookingmanagement.domain.entity.BookingEntity;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.MoneyDto;
+import com.hotelsystems.ai.bookingmanagement.dto.offer.OfferDto;
+import com.hotelsystems.ai.bookingmanagement.dto.request.CreateBookingRequest;
+import com.hotelsystems.ai.bookingmanagement.enums.BookingStatus;
+import com.hotelsystems.ai.bookingmanagement.enums.OfferSource;
+import com.hotelsystems.ai.bookingmanagement.enums.SupplierCode;
+import com.hotelsystems.ai.bookingmanagement.exception.BadRequestException;
+import com.hotelsystems.ai.bookingmanagement.exception.ConflictException;
+import com.hotelsystems.ai.bookingmanagement.repository.BookingRepository;
+import com.hotelsystems.ai.bookingmanagement.repository.OfferSnapshotRepository;
+import com.hotelsystems.ai.bookingmanagement.service.adapter.OwnerInventoryAdapter;
+import com.hotelsystems.ai.bookingmanagement.service.adapter.SupplierBookingAdapter;
+import com.hotelsystems.ai.bookingmanagement.service.expiry.DraftExpiryService;
+import com.hotelsystems.ai.bookingmanagement.service.offer.OfferSnapshotStore;
+import com.hotelsystems.ai.bookingmanagement.util.BookingMapper;
+import com.hotelsystems.ai.bookingmanagement.util.JsonUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for BookingOrchestrationService.createBooking with offers resolved from OfferSnapshotStore.
+ */
+class BookingOrchestrationServiceTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.now().plusDays(10);
+    private static final LocalDate CHECK_OUT = CHECK_IN.plusDays(2);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private BookingRepository bookingRepository;
+    private SupplierBookingAdapter supplierBookingAdapter;
+    private OfferSnapshotStore offerSnapshotStore;
+    private BookingOrchestrationService service;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        when(bookingRepository.save(any(BookingEntity.class))).thenAnswer(invocation -> {
+            BookingEntity booking = invocation.getArgument(0);
+            booking.setId(UUID.randomUUID());
+            return booking;
+        });
+        offerSnapshotStore = new OfferSnapshotStore(new OfferSnapshotProperties(), mock(OfferSnapshotRepository.class),
+                objectMapper, Runnable::run, new SimpleMeterRegistry());
+        JsonUtil jsonUtil = new JsonUtil(objectMapper);
+        supplierBookingAdapter = mock(SupplierBookingAdapter.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        service = new BookingOrchestrationService(bookingRepository, new BookingStateMachine(),
+                supplierBookingAdapter, mock(OwnerInventoryAdapter.class), objectMapper,
+                new BookingMapper(jsonUtil), jsonUtil, transactionTemplate,
+                mock(DraftExpiryService.class), offerSnapshotStore);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user-1", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void createBooking_ByOfferId_UsesOwnOccupancyWhenOfferIssuedToTwoSearches() {
+        // The same offer is issued to a 1-room search and then to a 2-room search
+        offerSnapshotStore.record(List.of(offer()));
+        offerSnapshotStore.record(List.of(offer()));
+
+        service.createBooking(bookingRequest(1));
+        service.createBooking(bookingRequest(2));
+
+        ArgumentCaptor<BookingEntity> saved = ArgumentCaptor.forClass(BookingEntity.class);
+        verify(bookingRepository, times(2)).save(saved.capture());
+        assertEquals(1, saved.getAllValues().get(0).getRoomsCount());
+        assertEquals(2, saved.getAllValues().get(1).getRoomsCount());
+        BookingEntity booking = saved.getAllValues().get(0);
+        assertEquals("hotel-1", booking.getHotelId());
+        assertEquals("DBL", booking.getRoomTypeId());
+        assertEquals(CHECK_IN, booking.getCheckIn());
+        assertEquals(CHECK_OUT, booking.getCheckOut());
+    }
+
+    @Test
+    void createBooking_ByOfferIdWithoutRoomsCount_IsRejected() {
+        offerSnapshotStore.record(List.of(offer()));
+
+        BadRequestException error = assertThrows(BadRequestException.class,
+                () -> service.createBooking(bookingRequest(null)));
+
+        assertTrue(error.getMessage().contains("roomsCount"));
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void createBooking_ByOfferIdWithDifferentHotel_IsRejected() {
+        offerSnapshotStore.record(List.of(offer()));
+        CreateBookingRequest request = bookingRequest(1);
+        request.setHotelId("hotel-2");
+
+        assertThrows(BadRequestException.class, () -> service.createBooking(request));
+    }
+
+    @Test
+    void confirmBooking_ExpiredDraft_IsRejected() {
+        BookingEntity booking = supplierDraft(Instant.now().minusSeconds(60));
+
+        assertThrows(ConflictException.class, () -> service.confirmBooking(booking.getId(), null));
+
+        verify(bookingRepository, never()).startRecheck(any(), any());
+        verify(supplierBookingAdapter, never()).recheck(any());
+        assertEquals(BookingStatus.DRAFT, booking.getStatus());
+    }
+
+    @Test
+    void confirmBooking_DraftExpiredAfterRead_IsRejected() {
+        // The expiry sweep moved the draft to EXPIRED between confirm's read and its update
+        BookingEntity booking = supplierDraft(Instant.now().plusSeconds(600));
+        when(bookingRepository.startRecheck(eq(booking.getId()), any())).thenReturn(0);
+
+        assertThrows(ConflictException.class, () -> service.confirmBooking(booking.getId(), null));
+
+        verify(supplierBookingAdapter, never()).recheck(any());
+        verify(supplierBookingAdapter, never()).createBooking(any());
+    }
+
+    private BookingEntity supplierDraft(Instant expiresAt) {
+        BookingEntity booking = BookingEntity.builder()
+            .id(UUID.randomUUID())
+            .userId("user-1")
+            .hotelId("hotel-1")
+            .roomTypeId("DBL")
+            .checkIn(CHECK_IN)
+            .checkOut(CHECK_OUT)
+            .supplierCode(SupplierCode.HOTELBEDS)
+            .expiresAt(expiresAt)
+            .build();
+        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+        return booking;
+    }
+
+    private CreateBookingRequest bookingRequest(Integer roomsCount) {
+        return CreateBookingRequest.builder()
+            .offerId("OWN-1")
+            .roomsCount(roomsCount)
+            .guestName("Guest")
+            .guestEmail("guest@example.com")
+            .guestPhone("+10000000000")
+            .build();
+    }
+
+    private OfferDto offer() {
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.put("roomTypeId", "DBL");
+        return OfferDto.builder()
+            .offerId("OWN-1")
+            .source(OfferSource.OWNER)
+            .hotelId("hotel-1")
+            .roomTypeId("DBL")
+            .checkIn(CHECK_IN)
+            .checkOut(CHECK_OUT)
+            .totalPrice(MoneyDto.builder().amount(new BigDecimal("250.00")).currency("USD").build())
+            .payload(payload)
+            .build();
+    }
+}
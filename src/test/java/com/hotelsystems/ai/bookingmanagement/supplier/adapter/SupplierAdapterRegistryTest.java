@@ -0,0 +1,105 @@
+package com.hotelsystems.ai.bookingmanagement.supplier.adapter;
+
+import com.hotelsystems.ai.bookingmanagement.supplier.cache.SupplierAvailabilityCache;
+import com.hotelsystems.ai.bookingmanagement.supplier.config.SupplierProperties;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierCode;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierOfferDto;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierResilienceStatus;
+import com.hotelsystems.ai.bookingmanagement.supplier.resilience.SupplierHedging;
+import com.hotelsystems.ai.bookingmanagement.supplier.resilience.SupplierRateLimiter;
+import com.hotelsystems.ai.bookingmanagement.supplier.resilience.SupplierResilience;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for SupplierAdapterRegistry.
+ */
+class SupplierAdapterRegistryTest {
+
+    private SupplierProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SupplierProperties();
+        properties.getRateLimit().setQps(10);
+        properties.getRateLimit().setBurst(1);
+        properties.getRateLimit().setMaxQueueWaitMs(2000);
+        properties.getResilience().setWindowSize(10);
+        properties.getResilience().setMinimumCalls(4);
+        properties.getResilience().setSlowCallRateThreshold(50);
+        properties.getResilience().setSlowCallDurationMs(100);
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void queuedSearches_DoNotCountAsSlowSupplierCalls() throws Exception {
+        // Given: a fast supplier behind a rate limit of one search per 100 ms
+        SupplierResilience resilience = new SupplierResilience(properties, meterRegistry);
+        SupplierAdapterRegistry registry = registry(resilience);
+        SupplierOfferSearchAdapter adapter = registry.getOfferSearchAdapter(SupplierCode.HOTELBEDS);
+
+        // When: a burst of searches waits up to 700 ms for tokens
+        List<Future<List<SupplierOfferDto>>> searches = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            searches.add(executor.submit(() -> adapter.searchOffers("hotel-1", "hb-1",
+                LocalDate.of(2025, 6, 20), LocalDate.of(2025, 6, 22), 2, 0, 1)));
+        }
+        for (Future<List<SupplierOfferDto>> search : searches) {
+            search.get(5, TimeUnit.SECONDS);
+        }
+
+        // Then: the breaker only saw the supplier's own latency
+        SupplierResilienceStatus status = resilience.status().stream()
+            .filter(s -> s.getSupplierCode() == SupplierCode.HOTELBEDS && s.getOperation().equals("SEARCH"))
+            .findFirst().orElseThrow();
+        assertEquals("CLOSED", status.getCircuitState());
+        assertEquals(8, status.getRecordedCalls());
+        assertEquals(0f, status.getSlowCallRate());
+    }
+
+    private SupplierAdapterRegistry registry(SupplierResilience resilience) {
+        SupplierAvailabilityCache availabilityCache = mock(SupplierAvailabilityCache.class);
+        when(availabilityCache.wrap(any(), any(SupplierOfferSearchAdapter.class)))
+            .thenAnswer(invocation -> invocation.getArgument(1));
+        SupplierRateLimiter rateLimiter = new SupplierRateLimiter(properties, meterRegistry);
+        SupplierHedging hedging = new SupplierHedging(properties, executor, rateLimiter, meterRegistry);
+        return new SupplierAdapterRegistry(List.of(new HotelbedsSearchAdapter()), List.of(), List.of(),
+            resilience, hedging, rateLimiter, availabilityCache);
+    }
+
+    /**
+     * Answers at once; the name maps it to HOTELBEDS
+     */
+    private static class HotelbedsSearchAdapter implements SupplierOfferSearchAdapter {
+
+        @Override
+        public List<SupplierOfferDto> searchOffers(String hotelId, String supplierHotelId,
+                                                   LocalDate checkIn, LocalDate checkOut,
+                                                   int adults, int children, int rooms) {
+            return List.of();
+        }
+    }
+}
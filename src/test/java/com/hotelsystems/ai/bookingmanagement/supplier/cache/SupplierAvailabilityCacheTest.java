@@ -0,0 +1,200 @@
+package com.hotelsystems.ai.bookingmanagement.supplier.cache;
+
+import com.hotelsystems.ai.bookingmanagement.supplier.adapter.SupplierOfferSearchAdapter;
+import com.hotelsystems.ai.bookingmanagement.supplier.config.SupplierProperties;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierCode;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierOfferDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for SupplierAvailabilityCache.
+ */
+class SupplierAvailabilityCacheTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2026, 11, 1);
+    private static final LocalDate CHECK_OUT = LocalDate.of(2026, 11, 3);
+    private static final long NOW = 1_000_000L;
+
+    private Clock clock;
+    private SupplierProperties.CacheConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private List<Runnable> refreshes;
+    private SupplierAvailabilityCache cache;
+    private AtomicInteger searches;
+    private AtomicBoolean failing;
+    private SupplierOfferSearchAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(NOW);
+        config = new SupplierProperties.CacheConfig();
+        config.setFreshTtlMs(10_000);
+        config.setStaleTtlMs(30_000);
+        meterRegistry = new SimpleMeterRegistry();
+        refreshes = new ArrayList<>();
+        cache = new SupplierAvailabilityCache(config, refreshes::add, meterRegistry, clock);
+        searches = new AtomicInteger();
+        failing = new AtomicBoolean();
+        adapter = cache.wrap(SupplierCode.HOTELBEDS,
+                (hotelId, supplierHotelId, checkIn, checkOut, adults, children, rooms) -> {
+                    if (failing.get()) {
+                        throw new IllegalStateException("supplier error");
+                    }
+                    return List.of(offer(supplierHotelId + "-" + searches.incrementAndGet()));
+                });
+    }
+
+    @Test
+    void freshEntry_IsServedWithoutSupplierCall() {
+        search("sh-1");
+        // Another hotel mapped to the same supplier hotel shares the entry
+        List<SupplierOfferDto> second = adapter.searchOffers("hotel-2", "sh-1", CHECK_IN, CHECK_OUT, 2, 0, 1);
+
+        assertEquals(1, searches.get());
+        assertEquals("sh-1-1", second.get(0).getOfferId());
+        assertEquals(1.0, requests("miss"));
+        assertEquals(1.0, requests("fresh"));
+    }
+
+    @Test
+    void differentOccupancy_IsSeparateEntry() {
+        search("sh-1");
+        adapter.searchOffers("hotel-1", "sh-1", CHECK_IN, CHECK_OUT, 3, 0, 1);
+
+        assertEquals(2, searches.get());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void staleEntry_IsServedWhileOneRefreshRuns() {
+        search("sh-1");
+        when(clock.millis()).thenReturn(NOW + 15_000);
+
+        assertEquals("sh-1-1", search("sh-1").get(0).getOfferId());
+        assertEquals("sh-1-1", search("sh-1").get(0).getOfferId());
+        assertEquals(1, refreshes.size()); // Only the first stale hit refreshes
+        assertEquals(1, searches.get());
+
+        refreshes.get(0).run();
+
+        assertEquals(2, searches.get());
+        assertEquals("sh-1-2", search("sh-1").get(0).getOfferId());
+        assertEquals(2.0, requests("stale"));
+        assertEquals(1.0, requests("fresh"));
+    }
+
+    @Test
+    void failedRefresh_KeepsStaleEntryAndRetries() {
+        search("sh-1");
+        when(clock.millis()).thenReturn(NOW + 15_000);
+        failing.set(true);
+
+        search("sh-1");
+        refreshes.get(0).run();
+
+        assertEquals("sh-1-1", search("sh-1").get(0).getOfferId());
+        assertEquals(2, refreshes.size());
+        assertEquals(1.0, meterRegistry.get("supplier.cache.refreshes").tag("result", "failure").counter().count());
+    }
+
+    @Test
+    void expiredEntry_IsReloaded() {
+        search("sh-1");
+        when(clock.millis()).thenReturn(NOW + 40_000);
+
+        assertEquals("sh-1-2", search("sh-1").get(0).getOfferId());
+        assertTrue(refreshes.isEmpty());
+        assertEquals(2.0, requests("miss"));
+        assertEquals(1.0, meterRegistry.get("supplier.cache.evictions").tag("cause", "expired").counter().count());
+    }
+
+    @Test
+    void failure_IsNotCached() {
+        failing.set(true);
+        assertThrows(IllegalStateException.class, () -> search("sh-1"));
+        failing.set(false);
+
+        search("sh-1");
+
+        assertEquals(1, searches.get());
+        assertEquals(2.0, requests("miss"));
+    }
+
+    @Test
+    void boundedByEntries_EvictsLeastRecentlyUsed() {
+        config.setMaxEntries(2);
+        search("sh-1");
+        search("sh-2");
+        search("sh-1");
+        search("sh-3");
+
+        assertEquals(2, cache.size());
+        search("sh-1");
+        assertEquals(3, searches.get()); // sh-1 was still cached, sh-2 was evicted
+        search("sh-2");
+        assertEquals(4, searches.get());
+    }
+
+    @Test
+    void boundedByOffers_EvictsUntilWithinLimit() {
+        config.setMaxOffers(2);
+        search("sh-1");
+        search("sh-2");
+        search("sh-3");
+
+        assertEquals(2, cache.offers());
+        assertEquals(1.0, meterRegistry.get("supplier.cache.evictions").tag("cause", "size").counter().count());
+    }
+
+    @Test
+    void streamOffers_ReplaysCachedOffers() {
+        List<SupplierOfferDto> streamed = new ArrayList<>();
+        adapter.streamOffers("hotel-1", "sh-1", CHECK_IN, CHECK_OUT, 2, 0, 1, streamed::add);
+        adapter.streamOffers("hotel-1", "sh-1", CHECK_IN, CHECK_OUT, 2, 0, 1, streamed::add);
+
+        assertEquals(1, searches.get());
+        assertEquals(2, streamed.size());
+    }
+
+    @Test
+    void disabled_CallsSupplierEveryTime() {
+        config.setEnabled(false);
+        search("sh-1");
+        search("sh-1");
+
+        assertEquals(2, searches.get());
+        assertEquals(0, cache.size());
+    }
+
+    private List<SupplierOfferDto> search(String supplierHotelId) {
+        return adapter.searchOffers("hotel-1", supplierHotelId, CHECK_IN, CHECK_OUT, 2, 0, 1);
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("supplier.cache.requests")
+            .tag("supplier", "HOTELBEDS")
+            .tag("result", result)
+            .counter()
+            .count();
+    }
+
+    private static SupplierOfferDto offer(String offerId) {
+        SupplierOfferDto offer = new SupplierOfferDto();
+        offer.setOfferId(offerId);
+        return offer;
+    }
+}
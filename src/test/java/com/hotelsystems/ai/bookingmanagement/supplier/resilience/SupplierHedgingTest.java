@@ -0,0 +1,215 @@
+package com.hotelsystems.ai.bookingmanagement.supplier.resilience;
+
+import com.hotelsystems.ai.bookingmanagement.supplier.config.SupplierProperties;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SupplierHedging.
+ */
+class SupplierHedgingTest {
+
+    private SupplierProperties.HedgingConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+    private SupplierHedging hedging;
+    private AtomicInteger attempts;
+
+    @BeforeEach
+    void setUp() {
+        config = new SupplierProperties.HedgingConfig();
+        config.setEnabled(true);
+        config.setMinSamples(10);
+        config.setMinDelayMs(20);
+        config.setMaxHedgeRatePercent(100);
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        hedging = new SupplierHedging(config, executor, meterRegistry);
+        attempts = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void slowCall_IsHedgedAndFirstResponseWins() {
+        warmUp();
+        AtomicBoolean primaryInterrupted = new AtomicBoolean();
+
+        long startNanos = System.nanoTime();
+        String result = hedging.call(SupplierCode.HOTELBEDS, SupplierOperation.RECHECK, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                if (!sleep(2000)) {
+                    primaryInterrupted.set(true);
+                }
+                return "primary";
+            }
+            return "hedge";
+        });
+
+        assertEquals("hedge", result);
+        assertTrue(System.nanoTime() - startNanos < 1_000_000_000L);
+        assertEquals(2, attempts.get());
+        assertEquals(1.0, requests("hedged"));
+        assertEquals(1.0, requests("won"));
+        awaitTrue(primaryInterrupted);
+    }
+
+    @Test
+    void slowPrimariesCancelledByHedge_RaiseHedgeDelay() {
+        warmUp();
+        assertTrue(hedging.delayMs(SupplierCode.HOTELBEDS, SupplierOperation.RECHECK) < config.getMinDelayMs());
+
+        // Every primary is slow and loses to an instant hedge; 16 samples refresh the percentile
+        for (int i = 0; i < 16; i++) {
+            AtomicInteger callAttempts = new AtomicInteger();
+            hedging.call(SupplierCode.HOTELBEDS, SupplierOperation.RECHECK, () -> {
+                if (callAttempts.incrementAndGet() == 1) {
+                    sleep(2000);
+                    return "primary";
+                }
+                return "hedge";
+            });
+        }
+
+        // Cancelled primaries are recorded with the time they ran, not replaced by the fast hedges
+        assertEquals(16.0, requests("won"));
+        assertTrue(hedging.delayMs(SupplierCode.HOTELBEDS, SupplierOperation.RECHECK) >= config.getMinDelayMs());
+    }
+
+    @Test
+    void fastCall_IsNotHedged() {
+        warmUp();
+
+        String result = hedging.call(SupplierCode.HOTELBEDS, SupplierOperation.RECHECK, countingCall("ok"));
+
+        assertEquals("ok", result);
+        assertEquals(1, attempts.get());
+        assertEquals(0.0, requests("hedged"));
+    }
+
+    @Test
+    void failedPrimary_UsesHedgeResponse() {
+        warmUp();
+
+        String result = hedging.call(SupplierCode.HOTELBEDS, SupplierOperation.RECHECK, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(50); // Fails after the hedge was sent, before the hedge answers
+                throw new IllegalStateException("supplier error");
+            }
+            sleep(100);
+            return "hedge";
+        });
+
+        assertEquals("hedge", result);
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void exhaustedBudget_WaitsForPrimary() {
+        config.setMaxHedgeRatePercent(0);
+        warmUp();
+
+        String result = hedging.call(SupplierCode.HOTELBEDS, SupplierOperation.RECHECK, () -> {
+            attempts.incrementAndGet();
+            sleep(100);
+            return "primary";
+        });
+
+        assertEquals("primary", result);
+        assertEquals(1, attempts.get());
+        assertEquals(1.0, requests("budget_exhausted"));
+    }
+
+    @Test
+    void noRateLimitToken_WaitsForPrimary() {
+        hedging = new SupplierHedging(config, executor, (supplier, operation) -> false, meterRegistry);
+        warmUp();
+
+        String result = hedging.call(SupplierCode.HOTELBEDS, SupplierOperation.RECHECK, () -> {
+            attempts.incrementAndGet();
+            sleep(100);
+            return "primary";
+        });
+
+        assertEquals("primary", result);
+        assertEquals(1, attempts.get());
+        assertEquals(1.0, requests("rate_limited"));
+        assertEquals(0.0, requests("hedged"));
+    }
+
+    @Test
+    void withoutLatencySamples_CallsDirectly() {
+        String result = hedging.call(SupplierCode.HOTELBEDS, SupplierOperation.RECHECK, countingCall("ok"));
+
+        assertEquals("ok", result);
+        assertEquals(-1, hedging.delayMs(SupplierCode.HOTELBEDS, SupplierOperation.RECHECK));
+    }
+
+    @Test
+    void booking_IsNeverHedged() {
+        assertThrows(IllegalArgumentException.class,
+                () -> hedging.call(SupplierCode.HOTELBEDS, SupplierOperation.BOOK, countingCall("ref")));
+        assertEquals(0, attempts.get());
+    }
+
+    /**
+     * Records minSamples fast calls so the hedge delay is known (minDelayMs)
+     */
+    private void warmUp() {
+        for (int i = 0; i < config.getMinSamples(); i++) {
+            hedging.call(SupplierCode.HOTELBEDS, SupplierOperation.RECHECK, () -> "warm-up");
+        }
+        assertTrue(hedging.delayMs(SupplierCode.HOTELBEDS, SupplierOperation.RECHECK) >= 0);
+    }
+
+    private Supplier<String> countingCall(String result) {
+        return () -> {
+            attempts.incrementAndGet();
+            return result;
+        };
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("supplier.hedging.requests")
+            .tag("supplier", "HOTELBEDS")
+            .tag("operation", SupplierOperation.RECHECK.name())
+            .tag("result", result)
+            .counter()
+            .count();
+    }
+
+    /**
+     * @return false when interrupted
+     */
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void awaitTrue(AtomicBoolean flag) {
+        long deadline = System.nanoTime() + 1_000_000_000L;
+        while (!flag.get() && System.nanoTime() < deadline) {
+            sleep(10);
+        }
+        assertTrue(flag.get());
+    }
+}
@@ -0,0 +1,163 @@
+package com.hotelsystems.ai.bookingmanagement.supplier.resilience;
+
+import com.hotelsystems.ai.bookingmanagement.supplier.config.SupplierProperties;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierCode;
+import com.hotelsystems.ai.bookingmanagement.supplier.error.SupplierUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SupplierRateLimiter.
+ */
+class SupplierRateLimiterTest {
+
+    private SupplierProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SupplierProperties();
+        properties.getRateLimit().setQps(10);
+        properties.getRateLimit().setBurst(1);
+        properties.getRateLimit().setMaxQueueWaitMs(2000);
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void withinBurst_IsGrantedImmediately() {
+        properties.getRateLimit().setBurst(3);
+        SupplierRateLimiter limiter = new SupplierRateLimiter(properties, meterRegistry);
+
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(SupplierCode.HOTELBEDS, SupplierOperation.SEARCH);
+        }
+
+        assertTrue(System.nanoTime() - startNanos < TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(3.0, requests(SupplierOperation.SEARCH, "immediate"));
+    }
+
+    @Test
+    void overQuota_WaitsForNextToken() {
+        SupplierRateLimiter limiter = new SupplierRateLimiter(properties, meterRegistry);
+        limiter.acquire(SupplierCode.HOTELBEDS, SupplierOperation.SEARCH);
+
+        long startNanos = System.nanoTime();
+        limiter.acquire(SupplierCode.HOTELBEDS, SupplierOperation.SEARCH);
+
+        assertTrue(System.nanoTime() - startNanos >= TimeUnit.MILLISECONDS.toNanos(50)); // One token per 100 ms
+        assertEquals(1.0, requests(SupplierOperation.SEARCH, "queued"));
+        // Other suppliers have their own quota
+        limiter.acquire(SupplierCode.TRAVELLANDA, SupplierOperation.SEARCH);
+    }
+
+    @Test
+    void queuedBooking_IsServedBeforeEarlierSearches() throws Exception {
+        properties.getRateLimit().setQps(5);
+        SupplierRateLimiter limiter = new SupplierRateLimiter(properties, meterRegistry);
+        limiter.acquire(SupplierCode.HOTELBEDS, SupplierOperation.SEARCH);
+        List<SupplierOperation> served = new CopyOnWriteArrayList<>();
+
+        Future<?> search = executor.submit(() -> acquire(limiter, SupplierOperation.SEARCH, served));
+        Future<?> recheck = executor.submit(() -> acquire(limiter, SupplierOperation.RECHECK, served));
+        awaitQueued(limiter, 2);
+        Future<?> book = executor.submit(() -> acquire(limiter, SupplierOperation.BOOK, served));
+
+        book.get(2, TimeUnit.SECONDS);
+        recheck.get(2, TimeUnit.SECONDS);
+        search.get(2, TimeUnit.SECONDS);
+        assertEquals(List.of(SupplierOperation.BOOK, SupplierOperation.RECHECK, SupplierOperation.SEARCH), served);
+    }
+
+    @Test
+    void fullQueue_ShedsLowestPriorityFirst() throws Exception {
+        properties.getRateLimit().setQps(5);
+        properties.getRateLimit().setMaxQueueSize(1);
+        SupplierRateLimiter limiter = new SupplierRateLimiter(properties, meterRegistry);
+        limiter.acquire(SupplierCode.HOTELBEDS, SupplierOperation.SEARCH);
+
+        Future<?> search = executor.submit(() -> limiter.acquire(SupplierCode.HOTELBEDS, SupplierOperation.SEARCH));
+        awaitQueued(limiter, 1);
+        // A second search does not fit and is lowest priority itself
+        assertThrows(SupplierUnavailableException.class,
+                () -> limiter.acquire(SupplierCode.HOTELBEDS, SupplierOperation.SEARCH));
+        // A booking takes the queued search's place
+        Future<?> book = executor.submit(() -> limiter.acquire(SupplierCode.HOTELBEDS, SupplierOperation.BOOK));
+
+        ExecutionException shed = assertThrows(ExecutionException.class, () -> search.get(2, TimeUnit.SECONDS));
+        assertEquals("RATE_LIMITED", ((SupplierUnavailableException) shed.getCause()).getErrorCode());
+        book.get(2, TimeUnit.SECONDS);
+        assertEquals(2.0, requests(SupplierOperation.SEARCH, "shed"));
+        assertEquals(1.0, requests(SupplierOperation.BOOK, "queued"));
+    }
+
+    @Test
+    void longWait_IsRejected() {
+        properties.getRateLimit().setQps(1);
+        properties.getRateLimit().setMaxQueueWaitMs(50);
+        SupplierRateLimiter limiter = new SupplierRateLimiter(properties, meterRegistry);
+        limiter.acquire(SupplierCode.HOTELBEDS, SupplierOperation.RECHECK);
+
+        assertThrows(SupplierUnavailableException.class,
+                () -> limiter.acquire(SupplierCode.HOTELBEDS, SupplierOperation.RECHECK));
+        assertEquals(1.0, requests(SupplierOperation.RECHECK, "timeout"));
+        assertEquals(0, limiter.queued(SupplierCode.HOTELBEDS));
+    }
+
+    @Test
+    void perSupplierQps_OverridesDefault() {
+        properties.getRateLimit().setQps(0.5);
+        SupplierProperties.HotelbedsConfig hotelbeds = new SupplierProperties.HotelbedsConfig();
+        hotelbeds.setQps(100.0);
+        properties.setHotelbeds(hotelbeds);
+        SupplierRateLimiter limiter = new SupplierRateLimiter(properties, meterRegistry);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire(SupplierCode.HOTELBEDS, SupplierOperation.SEARCH); // 10 ms apart, not 2 s
+        }
+
+        assertEquals(4.0, requests(SupplierOperation.SEARCH, "queued"));
+    }
+
+    private static void acquire(SupplierRateLimiter limiter, SupplierOperation operation,
+                                List<SupplierOperation> served) {
+        limiter.acquire(SupplierCode.HOTELBEDS, operation);
+        served.add(operation);
+    }
+
+    private static void awaitQueued(SupplierRateLimiter limiter, int queued) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (limiter.queued(SupplierCode.HOTELBEDS) < queued && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(queued, limiter.queued(SupplierCode.HOTELBEDS));
+    }
+
+    private double requests(SupplierOperation operation, String result) {
+        return meterRegistry.get("supplier.rate_limiter.requests")
+            .tag("supplier", "HOTELBEDS")
+            .tag("operation", operation.name())
+            .tag("result", result)
+            .counter()
+            .count();
+    }
+}
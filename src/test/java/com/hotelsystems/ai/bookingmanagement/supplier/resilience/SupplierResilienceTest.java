@@ -0,0 +1,219 @@
+package com.hotelsystems.ai.bookingmanagement.supplier.resilience;
+
+import com.hotelsystems.ai.bookingmanagement.supplier.config.SupplierProperties;
+import com.hotelsystems.ai.bookingmanagement.supplier.dto.SupplierCode;
+import com.hotelsystems.ai.bookingmanagement.supplier.error.BadRequestException;
+import com.hotelsystems.ai.bookingmanagement.supplier.error.SupplierErrorMapper;
+import com.hotelsystems.ai.bookingmanagement.supplier.error.SupplierUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.time.Clock;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for SupplierResilience and SupplierCircuitBreaker.
+ */
+class SupplierResilienceTest {
+
+    private static final long NOW = 1_000_000L;
+
+    private Clock clock;
+    private SupplierProperties.ResilienceConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private SupplierResilience resilience;
+    private AtomicInteger calls;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(NOW);
+        config = new SupplierProperties.ResilienceConfig();
+        config.setWindowSize(10);
+        config.setMinimumCalls(4);
+        config.setFailureRateThreshold(50);
+        config.setOpenStateMs(30_000);
+        config.setHalfOpenCalls(2);
+        meterRegistry = new SimpleMeterRegistry();
+        resilience = new SupplierResilience(config, meterRegistry, clock);
+        calls = new AtomicInteger();
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void supplierFailures_OpenBreakerAndFailFast() {
+        succeed();
+        succeed();
+        fail();
+        fail();
+
+        assertEquals(SupplierCircuitBreaker.State.OPEN, state(SupplierOperation.SEARCH));
+        SupplierUnavailableException e = assertThrows(SupplierUnavailableException.class, this::succeed);
+        assertEquals("CIRCUIT_OPEN", e.getErrorCode());
+        assertEquals(4, calls.get());
+        assertEquals(1.0, count(SupplierOperation.SEARCH, "rejected"));
+        assertEquals(2.0, gauge("supplier.circuit.state", SupplierOperation.SEARCH));
+        // Other operations and suppliers are not affected
+        assertEquals(SupplierCircuitBreaker.State.CLOSED, state(SupplierOperation.RECHECK));
+        assertEquals("ok", resilience.call(SupplierCode.TRAVELLANDA, SupplierOperation.SEARCH, () -> "ok"));
+    }
+
+    @Test
+    void businessErrors_DoNotCountAsFailures() {
+        for (int i = 0; i < 6; i++) {
+            assertThrows(BadRequestException.class, () -> resilience.call(SupplierCode.HOTELBEDS,
+                    SupplierOperation.SEARCH, () -> {
+                        throw new BadRequestException("Invalid request to supplier");
+                    }));
+        }
+
+        assertEquals(SupplierCircuitBreaker.State.CLOSED, state(SupplierOperation.SEARCH));
+        assertEquals(6.0, count(SupplierOperation.SEARCH, "success"));
+    }
+
+    @Test
+    void mappedServerErrors_CountAsFailures() {
+        for (int i = 0; i < 4; i++) {
+            assertThrows(RuntimeException.class, () -> resilience.call(SupplierCode.HOTELBEDS,
+                    SupplierOperation.BOOK, () -> {
+                        throw SupplierErrorMapper.mapServerError(
+                                new HttpServerErrorException(HttpStatus.BAD_GATEWAY), "b-1", "book", "HOTELBEDS");
+                    }));
+        }
+
+        assertEquals(SupplierCircuitBreaker.State.OPEN, state(SupplierOperation.BOOK));
+    }
+
+    @Test
+    void slowCalls_OpenBreaker() {
+        config.setSlowCallDurationMs(20);
+        config.setSlowCallRateThreshold(50);
+        for (int i = 0; i < 4; i++) {
+            resilience.call(SupplierCode.HOTELBEDS, SupplierOperation.RECHECK, () -> {
+                sleep(30);
+                return "late";
+            });
+        }
+
+        assertEquals(SupplierCircuitBreaker.State.OPEN, state(SupplierOperation.RECHECK));
+        assertEquals(100f, resilience.breaker(SupplierCode.HOTELBEDS, SupplierOperation.RECHECK).getSlowCallRate());
+    }
+
+    @Test
+    void afterOpenState_TrialCallsCloseBreaker() {
+        for (int i = 0; i < 4; i++) {
+            fail();
+        }
+        when(clock.millis()).thenReturn(NOW + 30_000);
+
+        succeed();
+        assertEquals(SupplierCircuitBreaker.State.HALF_OPEN, state(SupplierOperation.SEARCH));
+        succeed();
+
+        assertEquals(SupplierCircuitBreaker.State.CLOSED, state(SupplierOperation.SEARCH));
+        assertEquals(0, resilience.breaker(SupplierCode.HOTELBEDS, SupplierOperation.SEARCH).getRecordedCalls());
+    }
+
+    @Test
+    void afterOpenState_FailedTrialCallsReopenBreaker() {
+        for (int i = 0; i < 4; i++) {
+            fail();
+        }
+        when(clock.millis()).thenReturn(NOW + 30_000);
+
+        fail();
+        fail();
+
+        assertEquals(SupplierCircuitBreaker.State.OPEN, state(SupplierOperation.SEARCH));
+        assertThrows(SupplierUnavailableException.class, this::succeed);
+    }
+
+    @Test
+    void fullBulkhead_RejectsCall() throws Exception {
+        config.setBulkheadMaxConcurrent(1);
+        config.setBulkheadMaxWaitMs(10);
+        meterRegistry = new SimpleMeterRegistry();
+        resilience = new SupplierResilience(config, meterRegistry, clock);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> resilience.call(SupplierCode.HOTELBEDS, SupplierOperation.SEARCH, () -> {
+            started.countDown();
+            await(release);
+            return "slow";
+        }));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        SupplierUnavailableException e = assertThrows(SupplierUnavailableException.class, this::succeed);
+
+        assertEquals("BULKHEAD_FULL", e.getErrorCode());
+        assertEquals(1.0, gauge("supplier.bulkhead.in_use", SupplierOperation.SEARCH));
+        release.countDown();
+    }
+
+    private void succeed() {
+        resilience.call(SupplierCode.HOTELBEDS, SupplierOperation.SEARCH, () -> calls.incrementAndGet());
+    }
+
+    private void fail() {
+        assertThrows(HttpServerErrorException.class, () -> resilience.call(SupplierCode.HOTELBEDS,
+                SupplierOperation.SEARCH, () -> {
+                    calls.incrementAndGet();
+                    throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+                }));
+    }
+
+    private SupplierCircuitBreaker.State state(SupplierOperation operation) {
+        return resilience.breaker(SupplierCode.HOTELBEDS, operation).getState();
+    }
+
+    private double count(SupplierOperation operation, String outcome) {
+        return meterRegistry.get("supplier.calls")
+            .tag("supplier", "HOTELBEDS")
+            .tag("operation", operation.name())
+            .tag("outcome", outcome)
+            .counter()
+            .count();
+    }
+
+    private double gauge(String name, SupplierOperation operation) {
+        return meterRegistry.get(name)
+            .tag("supplier", "HOTELBEDS")
+            .tag("operation", operation.name())
+            .gauge()
+            .value();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}